@@ -64,6 +64,7 @@ dependencies {
     implementation(projects.hashing)
     implementation(projects.inputTracking)
     implementation(projects.instrumentationAgentServices)
+    implementation(projects.io)
     implementation(projects.logging)
     implementation(projects.modelCore)
     implementation(projects.persistentCache)
@@ -91,7 +92,6 @@ dependencies {
 
     testImplementation(projects.beanSerializationServices)
     testImplementation(testFixtures(projects.beanSerializationServices))
-    testImplementation(projects.io)
     testImplementation(testFixtures(projects.core))
     testImplementation(libs.mockitoKotlin)
     testImplementation(libs.kotlinCoroutinesDebug)
@@ -82,11 +82,13 @@ interface ConfigurationCacheBuildTreeIO : ConfigurationCacheOperationIO {
     ): Pair<CloseableWriteContext, ConfigurationCacheCodecs>
 
     fun encoderFor(
+        name: String,
         stateType: StateType,
         outputStream: () -> OutputStream
     ): PositionAwareEncoder
 
     fun decoderFor(
+        name: String,
         stateType: StateType,
         inputStream: () -> InputStream
     ): Decoder
@@ -73,6 +73,8 @@ class ConfigurationCacheKey(
         putBoolean(encryptionConfiguration.isEncrypting)
         putHash(encryptionConfiguration.encryptionKeyHashCode)
         putBoolean(startParameter.isDeduplicatingStrings)
+        // Compression affects the way state files are stored.
+        putAll(startParameter.compressedStateTypes.map { it.name }.sorted())
         putBoolean(startParameter.isFineGrainedPropertyTracking)
         // Integrity check affects the way fingerprint is stored.
         putBoolean(startParameter.isIntegrityCheckEnabled)
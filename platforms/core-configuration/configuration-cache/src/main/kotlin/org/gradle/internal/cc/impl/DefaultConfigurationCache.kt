@@ -660,7 +660,7 @@ class DefaultConfigurationCache internal constructor(
             }
 
         override fun encoderFor(stateFile: ConfigurationCacheStateStore.StateFile) =
-            cacheIO.encoderFor(stateFile.stateType, stateFile.file::outputStream)
+            cacheIO.encoderFor(stateFile.name, stateFile.stateType, stateFile.file::outputStream)
     }
 
     private
@@ -840,7 +840,7 @@ class DefaultConfigurationCache internal constructor(
     fun ConfigurationCacheRepository.Layout.checkClassLoaderScopes(): InvalidationReason? =
         fileFor(StateType.ClassLoaderScopes).let { stateFile ->
             classLoaderScopes.checkClassLoaderScopes {
-                cacheIO.decoderFor(stateFile.stateType, stateFile::inputStream)
+                cacheIO.decoderFor(stateFile.stateFile.name, stateFile.stateType, stateFile::inputStream)
             }
         }
 
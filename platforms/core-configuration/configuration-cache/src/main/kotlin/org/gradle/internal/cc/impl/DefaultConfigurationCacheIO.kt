@@ -30,6 +30,8 @@ import org.gradle.internal.cc.impl.cacheentry.EntryDetails
 import org.gradle.internal.cc.impl.cacheentry.ModelKey
 import org.gradle.internal.cc.impl.fingerprint.ClassLoaderScopesFingerprintController
 import org.gradle.internal.cc.impl.initialization.ConfigurationCacheStartParameter
+import org.gradle.internal.cc.impl.io.compressingOutputStream
+import org.gradle.internal.cc.impl.io.decompressingInputStream
 import org.gradle.internal.cc.impl.io.safeWrap
 import org.gradle.internal.cc.impl.problems.ConfigurationCacheProblems
 import org.gradle.internal.cc.impl.serialize.ConfigurationCacheCodecs
@@ -272,14 +274,14 @@ class DefaultConfigurationCacheIO internal constructor(
     private
     fun stringEncoderFor(stringsFile: ConfigurationCacheStateFile): StringEncoder =
         if (isUsingParallelStringDeduplicationStrategy(stringsFile))
-            outputStreamFor(stringsFile.stateType, stringsFile::outputStream).let(::ParallelStringEncoder)
+            outputStreamFor(stringsFile.stateFile.name, stringsFile.stateType, stringsFile::outputStream).let(::ParallelStringEncoder)
         else
             InlineStringEncoder
 
     private
     fun stringDecoderFor(stringsFile: ConfigurationCacheStateFile): StringDecoder =
         if (isUsingParallelStringDeduplicationStrategy(stringsFile))
-            inputStreamFor(stringsFile.stateType, stringsFile::inputStream).let(::ParallelStringDecoder)
+            inputStreamFor(stringsFile.stateFile.name, stringsFile.stateType, stringsFile::inputStream).let(::ParallelStringDecoder)
         else
             InlineStringDecoder
 
@@ -400,7 +402,7 @@ class DefaultConfigurationCacheIO internal constructor(
         specialEncoders: SpecialEncoders,
         customClassEncoder: ClassEncoder?
     ): Pair<CloseableWriteContext, ConfigurationCacheCodecs> =
-        encoderFor(stateType, outputStream).let { encoder ->
+        encoderFor(name, stateType, outputStream).let { encoder ->
             writeContextFor(
                 name,
                 encoder,
@@ -411,31 +413,47 @@ class DefaultConfigurationCacheIO internal constructor(
             ) to codecs
         }
 
-    override fun encoderFor(stateType: StateType, outputStream: () -> OutputStream): PositionAwareEncoder =
-        outputStreamFor(stateType, outputStream).let { stream ->
+    override fun encoderFor(name: String, stateType: StateType, outputStream: () -> OutputStream): PositionAwareEncoder =
+        outputStreamFor(name, stateType, outputStream).let { stream ->
             if (isUsingSequentialStringDeduplicationStrategy(stateType)) StringDeduplicatingKryoBackedEncoder(stream)
             else KryoBackedEncoder(stream)
         }
 
-    override fun decoderFor(stateType: StateType, inputStream: () -> InputStream): Decoder =
-        inputStreamFor(stateType, inputStream).let { stream ->
+    override fun decoderFor(name: String, stateType: StateType, inputStream: () -> InputStream): Decoder =
+        inputStreamFor(name, stateType, inputStream).let { stream ->
             if (isUsingSequentialStringDeduplicationStrategy(stateType)) StringDeduplicatingKryoBackedDecoder(stream)
             else KryoBackedDecoder(stream)
         }
 
+    /**
+     * Data is compressed before it is encrypted, since encrypted data does not compress.
+     */
     private
-    fun outputStreamFor(stateType: StateType, outputStream: () -> OutputStream) =
-        maybeEncrypt(stateType, outputStream, encryptionService::outputStream)
+    fun outputStreamFor(name: String, stateType: StateType, outputStream: () -> OutputStream) =
+        maybeCompress(stateType, { maybeEncrypt(stateType, outputStream, encryptionService::outputStream) }) { stream ->
+            compressingOutputStream(stream) { rawSize, compressedSize ->
+                problems.compressedStateFile(name, rawSize, compressedSize)
+            }
+        }
 
     private
-    fun inputStreamFor(stateType: StateType, inputStream: () -> InputStream) =
-        maybeEncrypt(stateType, inputStream, encryptionService::inputStream)
+    fun inputStreamFor(name: String, stateType: StateType, inputStream: () -> InputStream) =
+        maybeCompress(stateType, { maybeEncrypt(stateType, inputStream, encryptionService::inputStream) }) { stream ->
+            decompressingInputStream(stream) { rawSize, compressedSize ->
+                problems.compressedStateFile(name, rawSize, compressedSize)
+            }
+        }
 
     private
     fun <I : Closeable, O : I> maybeEncrypt(stateType: StateType, inner: () -> I, outer: (I) -> O): I =
         if (stateType.encryptable) safeWrap(inner, outer)
         else inner()
 
+    private
+    fun <I : Closeable, O : I> maybeCompress(stateType: StateType, inner: () -> I, outer: (I) -> O): I =
+        if (stateType in startParameter.compressedStateTypes) safeWrap(inner, outer)
+        else inner()
+
     /**
      * For the [work graph state][StateType.Work], we use the parallel string deduplication strategy since it spans multiple files,
      * for everything else we use the sequential, per encoder/decoder, deduplication strategy.
@@ -537,7 +555,7 @@ class DefaultConfigurationCacheIO internal constructor(
         customClassDecoder: ClassDecoder? = null
     ) = readContextFor(
         name,
-        decoderFor(stateType, inputStream),
+        decoderFor(name, stateType, inputStream),
         specialDecoders,
         customClassDecoder
     )
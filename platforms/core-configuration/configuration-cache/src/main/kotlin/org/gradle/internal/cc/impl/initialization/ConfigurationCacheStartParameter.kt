@@ -21,7 +21,9 @@ import org.gradle.api.internal.StartParameterInternal
 import org.gradle.api.logging.LogLevel
 import org.gradle.initialization.StartParameterBuildOptions.ConfigurationCacheProblemsOption
 import org.gradle.internal.buildoption.InternalOptions
+import org.gradle.internal.buildoption.Origin
 import org.gradle.internal.buildtree.BuildModelParameters
+import org.gradle.internal.cc.impl.StateType
 import org.gradle.internal.cc.impl.Workarounds
 import org.gradle.internal.extensions.core.getInternalFlag
 import org.gradle.internal.extensions.core.getStringOrNull
@@ -31,6 +33,7 @@ import org.gradle.internal.service.scopes.Scope
 import org.gradle.internal.service.scopes.ServiceScope
 import org.gradle.util.internal.IncubationLogger
 import java.io.File
+import java.util.EnumSet
 
 
 @ServiceScope(Scope.BuildTree::class)
@@ -48,6 +51,11 @@ class ConfigurationCacheStartParameter internal constructor(
          * See [org.gradle.internal.cc.impl.initialization.ConfigurationCacheStartParameter.customReportOutputDirectory].
          */
         const val REPORT_OUTPUT_DIR = "org.gradle.configuration-cache.internal.report-output-directory"
+
+        /**
+         * See [org.gradle.internal.cc.impl.initialization.ConfigurationCacheStartParameter.compressedStateTypes].
+         */
+        const val COMPRESSED_STATE_TYPES = "org.gradle.configuration-cache.internal.compressed-state-types"
     }
 
     val taskExecutionAccessPreStable: Boolean = options.getInternalFlag("org.gradle.configuration-cache.internal.task-execution-access-pre-stable")
@@ -86,6 +94,33 @@ class ConfigurationCacheStartParameter internal constructor(
      */
     val isSharingObjects: Boolean = options.getInternalFlag("org.gradle.configuration-cache.internal.share-objects", true)
 
+    /**
+     * The [state types][StateType] whose files should be compressed,
+     * given as a comma-separated list of state type names, for instance `Work,WorkShared`.
+     * Compression trades some CPU time for less I/O, which pays off for large entries on slow disks.
+     *
+     * The default is to compress no state files.
+     */
+    internal
+    val compressedStateTypes: Set<StateType> by lazy {
+        options.getStringOrNull(Options.COMPRESSED_STATE_TYPES)
+            ?.split(',')
+            ?.map { it.trim() }
+            ?.filter { it.isNotEmpty() }
+            ?.mapTo(EnumSet.noneOf(StateType::class.java)) { stateTypeNamed(it) }
+            ?: emptySet()
+    }
+
+    private
+    fun stateTypeNamed(name: String): StateType {
+        val stateType = StateType.entries.firstOrNull { it.name == name }
+        if (stateType == null) {
+            Origin.forGradleProperty(Options.COMPRESSED_STATE_TYPES)
+                .handleInvalidValue(name, "must be a comma-separated list of ${StateType.entries.joinToString()}")
+        }
+        return stateType!!
+    }
+
     /**
      * See [org.gradle.initialization.StartParameterBuildOptions.ConfigurationCacheFineGrainedPropertyTracking].
      */
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.cc.impl.io
+
+import com.google.common.io.CountingInputStream
+import com.google.common.io.CountingOutputStream
+import org.gradle.internal.io.Lz4FrameInputStream
+import org.gradle.internal.io.Lz4FrameOutputStream
+import java.io.FilterInputStream
+import java.io.FilterOutputStream
+import java.io.InputStream
+import java.io.OutputStream
+
+
+/**
+ * Compresses everything written to the returned stream into [output], in the LZ4 frame format.
+ *
+ * @param onClose receives the number of bytes written before and after compression once the stream is closed
+ */
+internal
+fun compressingOutputStream(output: OutputStream, onClose: (rawSize: Long, compressedSize: Long) -> Unit): OutputStream {
+    val compressedBytes = CountingOutputStream(output)
+    return object : FilterOutputStream(Lz4FrameOutputStream(compressedBytes)) {
+        var rawSize = 0L
+
+        override fun write(b: Int) {
+            out.write(b)
+            rawSize += 1
+        }
+
+        override fun write(b: ByteArray, off: Int, len: Int) {
+            out.write(b, off, len)
+            rawSize += len
+        }
+
+        override fun close() {
+            super.close()
+            onClose(rawSize, compressedBytes.count)
+        }
+    }
+}
+
+
+/**
+ * Decompresses [input] as written by [compressingOutputStream].
+ *
+ * @param onClose receives the number of bytes read after and before decompression once the stream is closed
+ */
+internal
+fun decompressingInputStream(input: InputStream, onClose: (rawSize: Long, compressedSize: Long) -> Unit): InputStream {
+    val compressedBytes = CountingInputStream(input)
+    return object : FilterInputStream(Lz4FrameInputStream(compressedBytes)) {
+        var rawSize = 0L
+
+        override fun read(): Int =
+            super.read().also { if (it >= 0) rawSize += 1 }
+
+        override fun read(b: ByteArray, off: Int, len: Int): Int =
+            super.read(b, off, len).also { if (it > 0) rawSize += it }
+
+        override fun skip(n: Long): Long =
+            super.skip(n).also { rawSize += it }
+
+        override fun markSupported(): Boolean = false
+
+        override fun close() {
+            super.close()
+            onClose(rawSize, compressedBytes.count)
+        }
+    }
+}
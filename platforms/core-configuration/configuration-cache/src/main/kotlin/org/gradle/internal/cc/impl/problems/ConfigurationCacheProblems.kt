@@ -43,6 +43,7 @@ import org.gradle.internal.cc.impl.DefaultConfigurationCacheDegradationControlle
 import org.gradle.internal.cc.impl.TooManyConfigurationCacheProblemsException
 import org.gradle.internal.cc.impl.initialization.ConfigurationCacheStartParameter
 import org.gradle.internal.configuration.problems.CommonReport
+import org.gradle.internal.configuration.problems.CompressedStateFile
 import org.gradle.internal.configuration.problems.DocumentationSection
 import org.gradle.internal.configuration.problems.ProblemFactory
 import org.gradle.internal.configuration.problems.ProblemReportDetails
@@ -63,6 +64,7 @@ import org.gradle.problems.buildtree.ProblemReporter
 import org.gradle.problems.buildtree.ProblemReporter.ProblemConsumer
 import java.io.File
 import java.io.IOException
+import java.util.concurrent.ConcurrentHashMap
 
 
 @ServiceScope(Scope.BuildTree::class)
@@ -118,6 +120,9 @@ class ConfigurationCacheProblems(
     private
     val incompatibleTasks = newConcurrentHashSet<PropertyTrace>()
 
+    private
+    val compressedStateFiles = ConcurrentHashMap<String, CompressedStateFile>()
+
     private
     lateinit var cacheAction: ConfigurationCacheAction
 
@@ -164,6 +169,11 @@ class ConfigurationCacheProblems(
         this.updatedProjects = updatedProjects
     }
 
+    fun compressedStateFile(name: String, rawSize: Long, compressedSize: Long) {
+        // A file that is loaded right after being stored is only reported once
+        compressedStateFiles[name] = CompressedStateFile(name, rawSize, compressedSize)
+    }
+
     override fun onError(trace: PropertyTrace, error: Exception, message: StructuredMessageBuilder) {
         // Let IO and configuration cache exceptions surface to the top.
         if (error is IOException || error is ConfigurationCacheThrowable) {
@@ -347,6 +357,7 @@ class ConfigurationCacheProblems(
         val hasNoProblemsForConsole = summary.reportableProblemCount == 0
         val outputDirectory = outputDirectoryFor(reportDir)
         val details = detailsFor(summary)
+        logCompressedStateFiles(details)
         val htmlReportFile = report.writeReportFileTo(outputDirectory, ProblemReportDetailsJsonSource(details))
         val areTaskDegradationReasonsPresent = degradationDecision.degradedTaskCount > 0
         if (htmlReportFile == null) {
@@ -370,6 +381,13 @@ class ConfigurationCacheProblems(
         }
     }
 
+    private
+    fun logCompressedStateFiles(details: ProblemReportDetails) {
+        details.compressedStateFiles.forEach { file ->
+            logger.info("Configuration cache state file '{}': {} bytes, {} bytes compressed.", file.name, file.rawSize, file.compressedSize)
+        }
+    }
+
     private
     fun addNotReportedDegradingTasks() {
         degradationDecision.onDegradedTask { taskIdentity, reasons ->
@@ -392,7 +410,14 @@ class ConfigurationCacheProblems(
     fun detailsFor(summary: Summary): ProblemReportDetails {
         val cacheActionText = cacheAction.summaryText()
         val requestedTasks = startParameter.requestedTasksOrDefault()
-        return ProblemReportDetails(buildNameProvider.buildName(), cacheActionText, cacheActionDescription, requestedTasks, summary.totalProblemCount)
+        return ProblemReportDetails(
+            buildNameProvider.buildName(),
+            cacheActionText,
+            cacheActionDescription,
+            requestedTasks,
+            summary.totalProblemCount,
+            compressedStateFiles.values.sortedBy { it.name }
+        )
     }
 
     private
@@ -33,7 +33,9 @@ import org.gradle.util.internal.EncryptionAlgorithm
 import org.gradle.util.internal.SupportedEncryptionAlgorithm
 import org.hamcrest.CoreMatchers.equalTo
 import org.hamcrest.CoreMatchers.not
+import org.hamcrest.CoreMatchers.startsWith
 import org.hamcrest.MatcherAssert.assertThat
+import org.junit.Assert.assertThrows
 import org.junit.Rule
 import org.junit.Test
 
@@ -124,6 +126,36 @@ class ConfigurationCacheKeyTest {
         )
     }
 
+    @Test
+    fun `cache key honours compressed state types`() {
+        val compressed = mapOf(ConfigurationCacheStartParameter.Options.COMPRESSED_STATE_TYPES to "Work, Entry")
+        assertThat(
+            cacheKeyStringFromStartParameter(compressed) { },
+            equalTo(
+                cacheKeyStringFromStartParameter(
+                    mapOf(ConfigurationCacheStartParameter.Options.COMPRESSED_STATE_TYPES to "Entry,Work")
+                ) { }
+            )
+        )
+        assertThat(
+            cacheKeyStringFromStartParameter(compressed) { },
+            not(equalTo(cacheKeyStringFromStartParameter { }))
+        )
+    }
+
+    @Test
+    fun `unknown compressed state type is reported as an invalid option value`() {
+        val failure = assertThrows(IllegalArgumentException::class.java) {
+            cacheKeyStringFromStartParameter(
+                mapOf(ConfigurationCacheStartParameter.Options.COMPRESSED_STATE_TYPES to "Work,Unknown")
+            ) { }
+        }
+        assertThat(
+            failure.message,
+            startsWith("Value 'Unknown' given for org.gradle.configuration-cache.internal.compressed-state-types Gradle property is invalid")
+        )
+    }
+
     @Test
     fun `sanity check`() {
         assertThat(
@@ -133,9 +165,13 @@ class ConfigurationCacheKeyTest {
     }
 
     private
-    fun cacheKeyStringFromStartParameter(configure: StartParameterInternal.() -> Unit): String {
+    fun cacheKeyStringFromStartParameter(configure: StartParameterInternal.() -> Unit): String =
+        cacheKeyStringFromStartParameter(mapOf(), configure)
+
+    private
+    fun cacheKeyStringFromStartParameter(options: Map<String, String>, configure: StartParameterInternal.() -> Unit): String {
         val startParameter = StartParameterInternal().apply(configure)
-        val internalOptions = DefaultInternalOptions(mapOf())
+        val internalOptions = DefaultInternalOptions(options)
         return ConfigurationCacheKey(
             ConfigurationCacheStartParameter(
                 BuildTreeLocations(BuildLayout(file("root"), null, DefaultScriptFileResolver())),
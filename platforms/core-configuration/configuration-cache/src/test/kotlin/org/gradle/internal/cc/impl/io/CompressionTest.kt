@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.cc.impl.io
+
+import org.hamcrest.CoreMatchers.equalTo
+import org.hamcrest.MatcherAssert.assertThat
+import org.hamcrest.Matchers.lessThan
+import org.junit.Test
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+
+
+class CompressionTest {
+
+    private
+    val data = "configuration cache state ".repeat(10_000).toByteArray()
+
+    @Test
+    fun `reports raw and compressed sizes of written and read streams`() {
+        val compressed = ByteArrayOutputStream()
+        var writtenSizes: Pair<Long, Long>? = null
+        compressingOutputStream(compressed) { rawSize, compressedSize -> writtenSizes = rawSize to compressedSize }.use {
+            it.write(data)
+        }
+
+        var readSizes: Pair<Long, Long>? = null
+        val decompressed = decompressingInputStream(ByteArrayInputStream(compressed.toByteArray())) { rawSize, compressedSize -> readSizes = rawSize to compressedSize }.use {
+            it.readBytes()
+        }
+
+        assertThat(decompressed.toList(), equalTo(data.toList()))
+        assertThat(writtenSizes, equalTo(data.size.toLong() to compressed.size().toLong()))
+        assertThat(readSizes, equalTo(writtenSizes))
+        assertThat(compressed.size(), lessThan(data.size / 10))
+    }
+}
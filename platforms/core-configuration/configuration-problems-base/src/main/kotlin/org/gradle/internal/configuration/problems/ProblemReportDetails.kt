@@ -26,7 +26,18 @@ data class ProblemReportDetails(
     val cacheAction: String,
     val cacheActionDescription: StructuredMessage,
     val requestedTasks: String?,
-    val totalProblemCount: Int
+    val totalProblemCount: Int,
+    val compressedStateFiles: List<CompressedStateFile> = emptyList()
+)
+
+
+/**
+ * The size of a compressed state file, before and after compression.
+ */
+data class CompressedStateFile(
+    val name: String,
+    val rawSize: Long,
+    val compressedSize: Long
 )
 
 
@@ -43,6 +54,15 @@ class ProblemReportDetailsJsonSource(private val details: ProblemReportDetails)
                 writeStructuredMessage(details.cacheActionDescription)
             }
             property("documentationLink", DocumentationRegistry().getDocumentationFor("configuration_cache"))
+            if (details.compressedStateFiles.isNotEmpty()) {
+                property("compressedStateFiles") {
+                    jsonObjectList(details.compressedStateFiles) { file ->
+                        property("name", file.name)
+                        property("rawSize", file.rawSize)
+                        property("compressedSize", file.compressedSize)
+                    }
+                }
+            }
         }
     }
 }
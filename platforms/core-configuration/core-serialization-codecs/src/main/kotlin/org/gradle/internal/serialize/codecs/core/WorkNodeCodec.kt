@@ -232,9 +232,12 @@ class WorkNodeCodec(
     ): PersistentList<Iterable<PostExecutionNodes>> {
 
         val groupedNodes = nodes.groupBy(NodeOwner::of)
-        writeCollection(groupedNodes.keys) { nodeOwner ->
+        // Write the segment index: the path of each group together with its size,
+        // so that loading can schedule the largest segments first
+        writeCollection(groupedNodes.entries) { (nodeOwner, groupNodes) ->
             val groupPath = nodeOwner.path()
             writeString(groupPath.asString())
+            writeSmallInt(groupNodes.size)
         }
 
         val batchedActionNodeSuccessors =
@@ -262,11 +265,11 @@ class WorkNodeCodec(
     fun ReadContext.readNodeBatchesInParallel(): PersistentList<List<NodeWithId>> {
         val baseContext = this
         val batchedGroupNodes = AtomicReference<PersistentList<List<NodeWithId>>>(PersistentList.of())
-        val groupPaths = readCollectionInto<Path, MutableList<Path>>(::ArrayList) {
-            Path.path(readString())
+        val segments = readCollectionInto<NodeSegment, MutableList<NodeSegment>>(::ArrayList) {
+            NodeSegment(Path.path(readString()), readSmallInt())
         }
         runBuildOperations(parallel = parallelLoad, message = "reading task graph") {
-            groupPaths.map { groupPath ->
+            segments.inLoadOrder().map { (groupPath) ->
                 OperationInfo(displayName = "Loading configuration for $groupPath", context = groupPath) {
                     contextSource.readContextFor(baseContext, groupPath).readWith(Unit) {
                         val nodesInGroup = readGroupedNodes()
@@ -280,6 +283,14 @@ class WorkNodeCodec(
         return batchedGroupNodes.get()
     }
 
+    /**
+     * Segments are independent of each other, so when loading in parallel the largest ones are
+     * started first to avoid a single big project delaying the end of the load.
+     */
+    private
+    fun List<NodeSegment>.inLoadOrder(): List<NodeSegment> =
+        if (parallelLoad) sortedByDescending { it.nodeCount } else this
+
     private
     fun <R> handleBuildOperationExceptions(message: String, action: () -> R): R =
         try {
@@ -299,6 +310,12 @@ class WorkNodeCodec(
         return this
     }
 
+    private
+    data class NodeSegment(
+        val path: Path,
+        val nodeCount: Int
+    )
+
     private
     data class NodeWithId(
         val node: Node,
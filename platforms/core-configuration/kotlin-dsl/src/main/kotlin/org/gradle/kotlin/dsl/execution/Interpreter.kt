@@ -34,6 +34,7 @@ import org.gradle.internal.service.ServiceRegistry
 import org.gradle.kotlin.dsl.support.KotlinCompilerOptions
 import org.gradle.kotlin.dsl.support.KotlinScriptHost
 import org.gradle.kotlin.dsl.support.ScriptCompilationException
+import org.gradle.kotlin.dsl.support.SharedCompilerEnvironment
 import org.gradle.kotlin.dsl.support.loggerFor
 import org.gradle.kotlin.dsl.support.serviceRegistryOf
 import org.gradle.plugin.management.internal.PluginRequests
@@ -142,6 +143,11 @@ class Interpreter(val host: Host) {
 
         val compilerOptions: KotlinCompilerOptions
 
+        /**
+         * The environment to compile against the given [classPath] in, or `null` to compile in an environment of its own.
+         */
+        fun sharedCompilerEnvironmentFor(classPath: ClassPath): SharedCompilerEnvironment? = null
+
         fun serviceRegistryFor(programTarget: ProgramTarget, target: Any): ServiceRegistry = when (programTarget) {
             ProgramTarget.Project -> serviceRegistryOf(target as Project)
             ProgramTarget.Settings -> serviceRegistryOf(target as Settings)
@@ -340,6 +346,7 @@ class Interpreter(val host: Host) {
                     compileBuildOperationRunner = host::runCompileBuildOperation,
                     stage1BlocksAccessorsClassPath = stage1BlocksAccessorsClassPath,
                     packageName = residualProgram.packageName,
+                    sharedCompilerEnvironmentFor = host::sharedCompilerEnvironmentFor,
                 ).compile(residualProgram.document)
             }
         }
@@ -498,7 +505,8 @@ class Interpreter(val host: Host) {
                                     interpreterLogger,
                                     scriptHost.temporaryFileProvider,
                                     scriptHost.metadataCompatibilityChecker,
-                                    host::runCompileBuildOperation
+                                    host::runCompileBuildOperation,
+                                    sharedCompilerEnvironmentFor = host::sharedCompilerEnvironmentFor
                                 ).emitStage2ProgramFor(
                                     scriptFile,
                                     originalScriptPath
@@ -59,6 +59,7 @@ import org.gradle.kotlin.dsl.support.bytecode.loadByteArray
 import org.gradle.kotlin.dsl.support.bytecode.publicClass
 import org.gradle.kotlin.dsl.support.bytecode.publicDefaultConstructor
 import org.gradle.kotlin.dsl.support.bytecode.publicMethod
+import org.gradle.kotlin.dsl.support.SharedCompilerEnvironment
 import org.gradle.kotlin.dsl.support.compileKotlinScriptToDirectory
 import org.gradle.kotlin.dsl.support.scriptDefinitionFromTemplate
 import org.gradle.plugin.management.internal.MultiPluginRequests
@@ -97,6 +98,7 @@ class ResidualProgramCompiler(
     private val compileBuildOperationRunner: CompileBuildOperationRunner = { _, _, action -> action() },
     private val stage1BlocksAccessorsClassPath: ClassPath = ClassPath.EMPTY,
     private val packageName: String? = null,
+    private val sharedCompilerEnvironmentFor: (ClassPath) -> SharedCompilerEnvironment? = { null },
 ) {
 
     fun compile(program: ResidualProgram) = when (program) {
@@ -720,7 +722,8 @@ class ResidualProgramCompiler(
                     scriptFile,
                     scriptDefinition,
                     compileClassPath.asFiles,
-                    logger
+                    logger,
+                    sharedCompilerEnvironmentFor(compileClassPath)
                 ) { path ->
                     if (path == scriptFile.path) originalPath
                     else path
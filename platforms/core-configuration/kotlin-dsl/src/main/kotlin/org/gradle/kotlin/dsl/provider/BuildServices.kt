@@ -45,6 +45,7 @@ import org.gradle.kotlin.dsl.normalization.KotlinCompileClasspathFingerprinter
 import org.gradle.kotlin.dsl.normalization.KotlinDslCompileAvoidanceClasspathHashCache
 import org.gradle.kotlin.dsl.support.EmbeddedKotlinProvider
 import org.gradle.kotlin.dsl.support.ImplicitImports
+import org.gradle.kotlin.dsl.support.KotlinScriptCompilerEnvironments
 import org.gradle.plugin.management.internal.PluginHandler
 import org.gradle.plugin.use.internal.PluginRequestApplicator
 
@@ -110,7 +111,8 @@ object BuildServices : ServiceRegistrationProvider {
         gradleProperties: GradleProperties,
         transformFactoryForLegacy: ClasspathElementTransformFactoryForLegacy,
         gradleCoreTypeRegistry: GradleCoreInstrumentationTypeRegistry,
-        propertyUpgradeReportConfig: PropertyUpgradeReportConfig
+        propertyUpgradeReportConfig: PropertyUpgradeReportConfig,
+        compilerEnvironments: KotlinScriptCompilerEnvironments
     ): KotlinScriptEvaluator =
 
         StandardKotlinScriptEvaluator(
@@ -136,7 +138,8 @@ object BuildServices : ServiceRegistrationProvider {
             gradleProperties,
             transformFactoryForLegacy,
             gradleCoreTypeRegistry,
-            propertyUpgradeReportConfig
+            propertyUpgradeReportConfig,
+            compilerEnvironments
         )
 
     @Provides
@@ -157,8 +160,8 @@ object BuildServices : ServiceRegistrationProvider {
         )
 
     @Provides
-    fun createKotlinCompilerContextDisposer(listenerManager: ListenerManager) =
-        KotlinCompilerContextDisposer(listenerManager)
+    fun createKotlinCompilerContextDisposer(listenerManager: ListenerManager, compilerEnvironments: KotlinScriptCompilerEnvironments) =
+        KotlinCompilerContextDisposer(listenerManager, compilerEnvironments)
 
     private
     val isKotlinScriptCompilationAvoidanceEnabled: Boolean
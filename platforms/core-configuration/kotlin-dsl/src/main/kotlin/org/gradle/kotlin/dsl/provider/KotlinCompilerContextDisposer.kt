@@ -22,16 +22,18 @@ import org.gradle.internal.concurrent.Stoppable
 import org.gradle.internal.event.ListenerManager
 import org.gradle.internal.service.scopes.Scope
 import org.gradle.internal.service.scopes.ServiceScope
+import org.gradle.kotlin.dsl.support.KotlinScriptCompilerEnvironments
 import org.gradle.kotlin.dsl.support.disposeKotlinCompilerContext
 
 
 /**
- * Disposes Kotlin compiler environment once all scripts are compiled.
+ * Disposes Kotlin compiler environment once all scripts are compiled, including the shared environments left idle.
  */
 @ServiceScope(Scope.Build::class)
 internal
 class KotlinCompilerContextDisposer(
-    private val listenerManager: ListenerManager
+    private val listenerManager: ListenerManager,
+    private val compilerEnvironments: KotlinScriptCompilerEnvironments
 ) : InternalBuildAdapter(), Stoppable {
 
     init {
@@ -43,6 +45,7 @@ class KotlinCompilerContextDisposer(
     }
 
     override fun projectsEvaluated(gradle: Gradle) {
+        compilerEnvironments.disposeAll()
         disposeKotlinCompilerContext()
     }
 }
@@ -67,8 +67,10 @@ import org.gradle.kotlin.dsl.execution.ProgramId
 import org.gradle.kotlin.dsl.support.EmbeddedKotlinProvider
 import org.gradle.kotlin.dsl.support.ImplicitImports
 import org.gradle.kotlin.dsl.support.KotlinCompilerOptions
+import org.gradle.kotlin.dsl.support.KotlinScriptCompilerEnvironments
 import org.gradle.kotlin.dsl.support.KotlinScriptHost
 import org.gradle.kotlin.dsl.support.ScriptCompilationException
+import org.gradle.kotlin.dsl.support.SharedCompilerEnvironment
 import org.gradle.kotlin.dsl.support.kotlinCompilerOptions
 import org.gradle.kotlin.dsl.support.serviceOf
 import org.gradle.plugin.management.internal.PluginRequests
@@ -117,7 +119,8 @@ class StandardKotlinScriptEvaluator(
     private val gradleProperties: GradleProperties,
     private val transformFactoryForLegacy: ClasspathElementTransformFactoryForLegacy,
     private val gradleCoreTypeRegistry: GradleCoreInstrumentationTypeRegistry,
-    private val propertyUpgradeReportConfig: PropertyUpgradeReportConfig
+    private val propertyUpgradeReportConfig: PropertyUpgradeReportConfig,
+    private val compilerEnvironments: KotlinScriptCompilerEnvironments
 ) : KotlinScriptEvaluator {
 
     override fun evaluate(
@@ -238,6 +241,10 @@ class StandardKotlinScriptEvaluator(
         override fun hashOf(classPath: ClassPath): HashCode =
             classpathHasher.hash(classPath)
 
+        override fun sharedCompilerEnvironmentFor(classPath: ClassPath): SharedCompilerEnvironment? =
+            if (compilerOptions.shareCompilerEnvironments) SharedCompilerEnvironment(compilerEnvironments, hashOf(classPath))
+            else null
+
         override fun applyPluginsTo(scriptHost: KotlinScriptHost<*>, pluginRequests: PluginRequests) {
             pluginRequestsHandler.handle(
                 pluginRequests,
@@ -131,6 +131,7 @@ fun compileKotlinScriptToDirectory(
     scriptDef: ScriptDefinition,
     classPath: List<File>,
     logger: Logger,
+    sharedEnvironment: SharedCompilerEnvironment? = null,
     pathTranslation: (String) -> String
 ): String {
 
@@ -141,7 +142,8 @@ fun compileKotlinScriptToDirectory(
         listOf(scriptFile.path),
         scriptDef,
         classPath,
-        messageCollectorFor(logger, compilerOptions.allWarningsAsErrors, pathTranslation)
+        messageCollectorFor(logger, compilerOptions.allWarningsAsErrors, pathTranslation),
+        sharedEnvironment
     )
 
     return NameUtils.getScriptNameForFile(scriptFile.name).asString()
@@ -156,37 +158,65 @@ fun compileKotlinScriptModuleTo(
     scriptFiles: Collection<String>,
     scriptDef: ScriptDefinition,
     classPath: Iterable<File>,
-    messageCollector: LoggingMessageCollector
+    messageCollector: LoggingMessageCollector,
+    sharedEnvironment: SharedCompilerEnvironment?
 ) {
+    if (sharedEnvironment != null) {
+        withCompilationExceptionHandler(messageCollector) {
+            sharedEnvironment.environments.withEnvironmentFor(compilerOptions, moduleName, scriptDef, classPath.toList(), sharedEnvironment.classPathHash, messageCollector) { environment ->
+                compileKotlinScriptsIn(environment, outputDirectory, scriptFiles, scriptDef, classPath, messageCollector)
+            }
+        }
+        return
+    }
     withRootDisposable {
         withCompilationExceptionHandler(messageCollector) {
-            val configuration = compilerConfigurationFor(messageCollector, compilerOptions).apply {
+            val configuration = scriptCompilerConfigurationFor(messageCollector, compilerOptions, moduleName).apply {
                 put(OUTPUT_DIRECTORY, outputDirectory)
-                setModuleName(moduleName)
-                addScriptingCompilerComponents()
-                add(SamWithReceiverConfigurationKeys.ANNOTATION, HasImplicitReceiver::class.qualifiedName!!)
-                add(AssignmentConfigurationKeys.ANNOTATION, SupportsKotlinAssignmentOverloading::class.qualifiedName!!)
             }
 
             val environment = kotlinCoreEnvironmentFor(configuration)
 
-            val host = BasicJvmScriptingHost(
-                compiler = JvmScriptCompiler(scriptDef.hostConfiguration, ScriptJvmCompilerFromEnvironment(environment)),
-                evaluator = BasicJvmScriptClassFilesGenerator(outputDirectory)
-            )
-            val compilationConfiguration = scriptDef.compilationConfiguration.with {
-                updateClasspath(classPath.toList())
-            }
-            scriptFiles.forEach {
-                val script = File(it).toScriptSource()
-                host.eval(script, compilationConfiguration, scriptDef.evaluationConfiguration)
-                    .reportToMessageCollectorAndThrowOnErrors(script, messageCollector)
-            }
+            compileKotlinScriptsIn(environment, outputDirectory, scriptFiles, scriptDef, classPath, messageCollector)
         }
     }
 }
 
 
+private
+fun compileKotlinScriptsIn(
+    environment: KotlinCoreEnvironment,
+    outputDirectory: File,
+    scriptFiles: Collection<String>,
+    scriptDef: ScriptDefinition,
+    classPath: Iterable<File>,
+    messageCollector: LoggingMessageCollector
+) {
+    val host = BasicJvmScriptingHost(
+        compiler = JvmScriptCompiler(scriptDef.hostConfiguration, ScriptJvmCompilerFromEnvironment(environment)),
+        evaluator = BasicJvmScriptClassFilesGenerator(outputDirectory)
+    )
+    val compilationConfiguration = scriptDef.compilationConfiguration.with {
+        updateClasspath(classPath.toList())
+    }
+    scriptFiles.forEach {
+        val script = File(it).toScriptSource()
+        host.eval(script, compilationConfiguration, scriptDef.evaluationConfiguration)
+            .reportToMessageCollectorAndThrowOnErrors(script, messageCollector)
+    }
+}
+
+
+internal
+fun scriptCompilerConfigurationFor(messageCollector: MessageCollector, compilerOptions: KotlinCompilerOptions, moduleName: String): CompilerConfiguration =
+    compilerConfigurationFor(messageCollector, compilerOptions).apply {
+        setModuleName(moduleName)
+        addScriptingCompilerComponents()
+        add(SamWithReceiverConfigurationKeys.ANNOTATION, HasImplicitReceiver::class.qualifiedName!!)
+        add(AssignmentConfigurationKeys.ANNOTATION, SupportsKotlinAssignmentOverloading::class.qualifiedName!!)
+    }
+
+
 private fun ResultWithDiagnostics<*>.reportToMessageCollectorAndThrowOnErrors(script: SourceCode, messageCollector: MessageCollector): ResultWithDiagnostics<*> = also {
     val lines = if (it.reports.isEmpty()) null else script.text.lines()
     val scriptErrors = ArrayList<ScriptCompilationError>()
@@ -422,7 +452,7 @@ fun CompilerConfiguration.addScriptingCompilerComponents() {
 
 
 @OptIn(K1Deprecation::class)
-private
+internal
 fun Disposable.kotlinCoreEnvironmentFor(configuration: CompilerConfiguration): KotlinCoreEnvironment {
     org.jetbrains.kotlin.cli.common.environment.setIdeaIoUseFallback()
     return SystemProperties.getInstance().withSystemProperty(
@@ -440,8 +470,9 @@ fun Disposable.kotlinCoreEnvironmentFor(configuration: CompilerConfiguration): K
 
 @OptIn(K1Deprecation::class)
 internal
-fun disposeKotlinCompilerContext() =
+fun disposeKotlinCompilerContext() {
     KotlinCoreEnvironment.disposeApplicationEnvironment()
+}
 
 
 private
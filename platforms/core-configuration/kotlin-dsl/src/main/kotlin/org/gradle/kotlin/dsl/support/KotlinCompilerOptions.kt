@@ -25,6 +25,13 @@ data class KotlinCompilerOptions(
     val jvmTarget: JavaVersion = JavaVersion.current(),
     val allWarningsAsErrors: Boolean = false,
     val explicitSkipMetadataVersionCheck: Boolean? = null,
+    /**
+     * Whether scripts compiled against the same classpath share Kotlin compiler environments
+     * instead of setting up a new one for each script.
+     *
+     * This does not change the compiled output.
+     */
+    val shareCompilerEnvironments: Boolean = false,
 ) : Serializable {
     val skipMetadataVersionCheck: Boolean
         get() = explicitSkipMetadataVersionCheck ?: true
@@ -34,7 +41,8 @@ data class KotlinCompilerOptions(
 fun kotlinCompilerOptions(gradleProperties: GradleProperties): KotlinCompilerOptions =
     KotlinCompilerOptions(
         allWarningsAsErrors = getBooleanKotlinDslOption(gradleProperties, ALL_WARNINGS_AS_ERRORS_PROPERTY_NAME, false),
-        explicitSkipMetadataVersionCheck = getNullableBooleanKotlinDslOption(gradleProperties, SKIP_METADATA_VERSION_CHECK_PROPERTY_NAME)
+        explicitSkipMetadataVersionCheck = getNullableBooleanKotlinDslOption(gradleProperties, SKIP_METADATA_VERSION_CHECK_PROPERTY_NAME),
+        shareCompilerEnvironments = getBooleanKotlinDslOption(gradleProperties, SHARE_COMPILER_ENVIRONMENTS_PROPERTY_NAME, false)
     )
 
 
@@ -43,3 +51,5 @@ const val ALL_WARNINGS_AS_ERRORS_PROPERTY_NAME = "org.gradle.kotlin.dsl.allWarni
 
 const val SKIP_METADATA_VERSION_CHECK_PROPERTY_NAME = "org.gradle.kotlin.dsl.skipMetadataVersionCheck"
 
+
+const val SHARE_COMPILER_ENVIRONMENTS_PROPERTY_NAME = "org.gradle.kotlin.dsl.shareCompilerEnvironments"
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.kotlin.dsl.support
+
+import com.google.common.annotations.VisibleForTesting
+import org.gradle.internal.concurrent.Stoppable
+import org.gradle.internal.hash.HashCode
+import org.gradle.internal.service.scopes.Scope
+import org.gradle.internal.service.scopes.ServiceScope
+import org.jetbrains.kotlin.cli.common.messages.CompilerMessageSeverity
+import org.jetbrains.kotlin.cli.common.messages.CompilerMessageSourceLocation
+import org.jetbrains.kotlin.cli.common.messages.MessageCollector
+import org.jetbrains.kotlin.cli.jvm.compiler.KotlinCoreEnvironment
+import org.jetbrains.kotlin.com.intellij.openapi.Disposable
+import org.jetbrains.kotlin.com.intellij.openapi.util.Disposer.dispose
+import org.jetbrains.kotlin.com.intellij.openapi.util.Disposer.newDisposable
+import org.jetbrains.kotlin.scripting.definitions.ScriptDefinition
+import java.io.File
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.atomic.AtomicInteger
+
+
+/**
+ * A script compilation that can take its compiler environment from the given [environments],
+ * together with the content hash of its compilation classpath.
+ */
+internal
+class SharedCompilerEnvironment(
+    val environments: KotlinScriptCompilerEnvironments,
+    val classPathHash: HashCode
+)
+
+
+/**
+ * Kotlin compiler environments kept alive across the script compilations of a build tree when [KotlinCompilerOptions.shareCompilerEnvironments] is enabled.
+ *
+ * Setting up an environment and indexing its classpath is a large part of compiling a small script, and most scripts of a build
+ * are compiled against the same classpath. Environments are grouped by everything that ends up in their configuration, the
+ * script definition and the script classpath, so a script is only ever compiled in an environment that could have been created for it alone.
+ * The classpath is identified both by its content hash, so an environment never outlives a change to the classpath, and by its files,
+ * since an environment indexes the classpath by location.
+ *
+ * An environment is used by one compilation at a time, concurrent compilations of the same group get an environment of their own.
+ * Idle environments are disposed before the rest of the compiler context once all scripts of a build are compiled, and when the build tree finishes.
+ */
+@ServiceScope(Scope.BuildTree::class)
+internal
+class KotlinScriptCompilerEnvironments : Stoppable {
+
+    private
+    data class Key(
+        val compilerOptions: KotlinCompilerOptions,
+        val moduleName: String,
+        val scriptDefinitionId: String,
+        val classPath: List<File>,
+        val classPathHash: HashCode
+    )
+
+    private
+    class PooledEnvironment(
+        val generation: Int,
+        val rootDisposable: Disposable,
+        val messageCollector: DelegatingMessageCollector,
+        val environment: KotlinCoreEnvironment
+    )
+
+    private
+    val idleEnvironments = ConcurrentHashMap<Key, ConcurrentLinkedQueue<PooledEnvironment>>()
+
+    private
+    val createdEnvironments = AtomicInteger()
+
+    @Volatile
+    private
+    var generation = 0
+
+    /**
+     * The number of environments created so far, including those already disposed.
+     */
+    @get:VisibleForTesting
+    val createdEnvironmentCount: Int
+        get() = createdEnvironments.get()
+
+    fun <T> withEnvironmentFor(
+        compilerOptions: KotlinCompilerOptions,
+        moduleName: String,
+        scriptDef: ScriptDefinition,
+        classPath: List<File>,
+        classPathHash: HashCode,
+        messageCollector: MessageCollector,
+        action: (KotlinCoreEnvironment) -> T
+    ): T {
+        val key = Key(compilerOptions, moduleName, scriptDef.definitionId, classPath, classPathHash)
+        val pooled = idleEnvironments[key]?.poll() ?: create(compilerOptions, moduleName)
+        pooled.messageCollector.delegate = messageCollector
+        var reusable = false
+        try {
+            return action(pooled.environment).also {
+                reusable = true
+            }
+        } catch (ex: ScriptCompilationException) {
+            // Errors in the script itself leave the environment intact
+            reusable = true
+            throw ex
+        } finally {
+            pooled.messageCollector.delegate = null
+            release(key, pooled, reusable)
+        }
+    }
+
+    /**
+     * Disposes all idle environments, environments in use are disposed once their compilation finishes.
+     */
+    fun disposeAll() {
+        val disposed = synchronized(this) {
+            generation++
+            idleEnvironments.values.flatMap { it }.also {
+                idleEnvironments.clear()
+            }
+        }
+        disposed.forEach { dispose(it.rootDisposable) }
+    }
+
+    override fun stop() {
+        disposeAll()
+    }
+
+    private
+    fun create(compilerOptions: KotlinCompilerOptions, moduleName: String): PooledEnvironment {
+        val rootDisposable = newDisposable()
+        try {
+            val messageCollector = DelegatingMessageCollector()
+            val environment = rootDisposable.kotlinCoreEnvironmentFor(
+                scriptCompilerConfigurationFor(messageCollector, compilerOptions, moduleName)
+            )
+            createdEnvironments.incrementAndGet()
+            return PooledEnvironment(generation, rootDisposable, messageCollector, environment)
+        } catch (ex: Throwable) {
+            dispose(rootDisposable)
+            throw ex
+        }
+    }
+
+    private
+    fun release(key: Key, pooled: PooledEnvironment, reusable: Boolean) {
+        val keep = synchronized(this) {
+            (reusable && pooled.generation == generation).also { keep ->
+                if (keep) {
+                    idleEnvironments.computeIfAbsent(key) { ConcurrentLinkedQueue() }.offer(pooled)
+                }
+            }
+        }
+        if (!keep) {
+            dispose(pooled.rootDisposable)
+        }
+    }
+
+    /**
+     * Forwards the messages of a pooled compiler environment to the compilation currently using it.
+     */
+    private
+    class DelegatingMessageCollector : MessageCollector {
+
+        @Volatile
+        var delegate: MessageCollector? = null
+
+        override fun report(severity: CompilerMessageSeverity, message: String, location: CompilerMessageSourceLocation?) {
+            delegate?.report(severity, message, location)
+        }
+
+        override fun hasErrors(): Boolean =
+            delegate?.hasErrors() ?: false
+
+        override fun clear() {
+            delegate?.clear()
+        }
+    }
+}
@@ -16,15 +16,20 @@
 
 package org.gradle.kotlin.dsl.integration
 
+import org.gradle.internal.hash.Hashing
 import org.gradle.kotlin.dsl.fixtures.TestWithTempFiles
 import org.gradle.kotlin.dsl.fixtures.testRuntimeClassPath
 import org.gradle.kotlin.dsl.fixtures.withClassLoaderFor
 import org.gradle.kotlin.dsl.support.KotlinCompilerOptions
+import org.gradle.kotlin.dsl.support.KotlinScriptCompilerEnvironments
+import org.gradle.kotlin.dsl.support.SharedCompilerEnvironment
 import org.gradle.kotlin.dsl.support.compileKotlinScriptToDirectory
+import org.gradle.kotlin.dsl.support.disposeKotlinCompilerContext
 import org.gradle.kotlin.dsl.support.scriptDefinitionFromTemplate
 import org.hamcrest.CoreMatchers.equalTo
 import org.hamcrest.MatcherAssert.assertThat
 import org.jetbrains.kotlin.scripting.definitions.ScriptDefinition
+import org.junit.After
 import org.junit.Test
 import org.mockito.kotlin.mock
 import java.io.File
@@ -39,6 +44,9 @@ open class TheKotlinScriptTemplate(
 
 class KotlinScriptCompilerTest : TestWithTempFiles() {
 
+    private
+    val compilerEnvironments = KotlinScriptCompilerEnvironments()
+
     @Test
     fun canInjectImplicitReceiver() {
         outputDir().let { outputDir ->
@@ -70,6 +78,50 @@ class KotlinScriptCompilerTest : TestWithTempFiles() {
         }
     }
 
+    @Test
+    fun scriptsCompiledInSharedEnvironmentGetTheirOwnOutput() {
+        val scriptDefinition = scriptDefinitionFromTemplate(
+            template = TheKotlinScriptTemplate::class,
+            implicitImports = emptyList(),
+            implicitReceiver = TheImplicitReceiver::class
+        )
+        val compilerOptions = KotlinCompilerOptions(shareCompilerEnvironments = true)
+        val sharedEnvironment = SharedCompilerEnvironment(compilerEnvironments, Hashing.hashString("test-runtime-classpath"))
+        val outputDirs = (1..3).map { bars ->
+            root.resolve("classes-$bars").apply { mkdir() }.also { outputDir ->
+                compileKotlinScriptTo(outputDir, "bar()\n".repeat(bars), scriptDefinition, compilerOptions, sharedEnvironment)
+            }
+        }
+
+        assertThat(
+            compilerEnvironments.createdEnvironmentCount,
+            equalTo(1)
+        )
+
+        outputDirs.forEachIndexed { index, outputDir ->
+            withClassLoaderFor(outputDir) {
+
+                val host = mock<TheKotlinScriptTemplate.Host>()
+                val receiver = TheImplicitReceiver()
+
+                loadClass("Script")
+                    .getDeclaredConstructor(TheKotlinScriptTemplate.Host::class.java, TheImplicitReceiver::class.java)
+                    .newInstance(host, receiver)
+
+                assertThat(
+                    receiver.bars,
+                    equalTo(index + 1)
+                )
+            }
+        }
+    }
+
+    @After
+    fun disposeCompilerContext() {
+        compilerEnvironments.stop()
+        disposeKotlinCompilerContext()
+    }
+
     class TheImplicitReceiver {
         var bars = 0
         fun bar() {
@@ -84,17 +136,20 @@ class KotlinScriptCompilerTest : TestWithTempFiles() {
     fun compileKotlinScriptTo(
         outputDir: File,
         script: String,
-        scriptDefinition: ScriptDefinition
+        scriptDefinition: ScriptDefinition,
+        compilerOptions: KotlinCompilerOptions = KotlinCompilerOptions(),
+        sharedEnvironment: SharedCompilerEnvironment? = null
     ) {
         compileKotlinScriptToDirectory(
             outputDir,
-            KotlinCompilerOptions(),
+            compilerOptions,
             file("script.kts").apply {
                 writeText(script)
             },
             scriptDefinition,
             testRuntimeClassPath.asFiles,
-            mock()
+            mock(),
+            sharedEnvironment
         ) { it }
     }
 }
@@ -13,7 +13,9 @@ dependencies {
     api(libs.jspecify)
 
     api(projects.baseServices)
+    api(projects.buildCache)
     api(projects.buildCacheSpi)
+    api(projects.concurrent)
     api(projects.coreApi)
     api(projects.resourcesHttp)
 
@@ -24,7 +24,9 @@ import org.gradle.caching.BuildCacheException
 import org.gradle.caching.BuildCacheServiceFactory
 import org.gradle.caching.http.HttpBuildCache
 import org.gradle.caching.internal.SimpleBuildCacheKey
+import org.gradle.internal.concurrent.DefaultExecutorFactory
 import org.gradle.internal.hash.TestHashCodes
+import org.gradle.internal.resource.transport.http.DefaultHttpSettings
 import org.gradle.internal.resource.transport.http.DefaultSslContextFactory
 import org.gradle.internal.resource.transport.http.HttpClientHelper
 import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
@@ -67,7 +69,7 @@ class HttpBuildCacheServiceTest extends Specification {
     HttpBuildCacheService getCache() {
         if (cacheRef == null) {
             buildCacheDescriber = new NoopBuildCacheDescriber()
-            cacheRef = new DefaultHttpBuildCacheServiceFactory(objectFactory, new DefaultSslContextFactory(), { it.addHeader("X-Gradle-Version", "3.0") }, httpClientHelperFactory)
+            cacheRef = new DefaultHttpBuildCacheServiceFactory(objectFactory, new DefaultSslContextFactory(), { it.addHeader("X-Gradle-Version", "3.0") }, httpClientHelperFactory, new DefaultExecutorFactory())
                 .createBuildCacheService(this.config, buildCacheDescriber) as HttpBuildCacheService
         }
         cacheRef
@@ -132,6 +134,113 @@ class HttpBuildCacheServiceTest extends Specification {
         receivedInput == "Data"
     }
 
+    def "does not request entry found missing by prefetching"() {
+        def cache = prefetchingCache(null)
+        server.expectHeadMissing("/cache/${key.hashCode}")
+
+        when:
+        cache.prefetch([key])
+        def loaded = cache.load(key) { input -> throw new AssertionError("should not load") }
+
+        then:
+        !loaded
+
+        cleanup:
+        cache.close()
+    }
+
+    def "loads entry found by prefetching"() {
+        def cache = prefetchingCache(null)
+        def srcFile = tempDir.file("cached.zip")
+        srcFile.text = "Data"
+        server.expectHead("/cache/${key.hashCode}", srcFile)
+        server.expectGet("/cache/${key.hashCode}", srcFile)
+
+        when:
+        def receivedInput = null
+        cache.prefetch([key])
+        cache.load(key) { input ->
+            receivedInput = input.text
+        }
+
+        then:
+        receivedInput == "Data"
+
+        cleanup:
+        cache.close()
+    }
+
+    def "prefetches entries with batch lookup"() {
+        def cache = prefetchingCache("exists")
+        def otherKey = new SimpleBuildCacheKey(TestHashCodes.hashCodeFrom(0x76543210fedcba))
+        def srcFile = tempDir.file("cached.zip")
+        srcFile.text = "Data"
+        server.expect("/cache/exists", ["POST"], new HttpServer.ActionSupport("batch lookup") {
+            void handle(HttpServletRequest request, HttpServletResponse response) {
+                assert request.inputStream.text.readLines() as Set == [key.hashCode, otherKey.hashCode] as Set
+                response.setStatus(200)
+                response.outputStream << "${otherKey.hashCode}\n"
+            }
+        })
+        server.expectGet("/cache/${otherKey.hashCode}", srcFile)
+
+        when:
+        def receivedInput = null
+        cache.prefetch([key, otherKey])
+        def loaded = cache.load(key) { input -> throw new AssertionError("should not load") }
+        cache.load(otherKey) { input ->
+            receivedInput = input.text
+        }
+
+        then:
+        !loaded
+        receivedInput == "Data"
+
+        cleanup:
+        cache.close()
+    }
+
+    def "falls back to looking up entries one by one when batch lookup is not supported"() {
+        def cache = prefetchingCache("exists")
+        server.expect("/cache/exists", ["POST"], new HttpServer.ActionSupport("batch lookup not found") {
+            void handle(HttpServletRequest request, HttpServletResponse response) {
+                response.setStatus(404)
+            }
+        })
+        server.expectHeadMissing("/cache/${key.hashCode}")
+
+        when:
+        cache.prefetch([key])
+        def loaded = cache.load(key) { input -> throw new AssertionError("should not load") }
+
+        then:
+        !loaded
+
+        cleanup:
+        cache.close()
+    }
+
+    def "loads entry normally when prefetching fails"() {
+        def cache = prefetchingCache(null)
+        def srcFile = tempDir.file("cached.zip")
+        srcFile.text = "Data"
+        server.expectHeadBroken("/cache/${key.hashCode}")
+        server.expectGet("/cache/${key.hashCode}", srcFile)
+
+        when:
+        def receivedInput = null
+        cache.prefetch([key])
+        cache.load(key) { input ->
+            receivedInput = input.text
+        }
+
+        then:
+        receivedInput == "Data"
+
+        cleanup:
+        cache.close()
+    }
+
     def "loading from cache does follow redirects"() {
         def srcFile = tempDir.file("cached.zip")
         srcFile.text = "Data"
@@ -346,6 +455,16 @@ class HttpBuildCacheServiceTest extends Specification {
         })
     }
 
+    private HttpBuildCacheService prefetchingCache(String batchLookupPath) {
+        def httpClientHelper = httpClientHelperFactory.create(DefaultHttpSettings.builder()
+            .withAuthenticationSettings([])
+            .withSslContextFactory(new DefaultSslContextFactory())
+            .withRedirectVerifier({})
+            .build())
+        def executor = new DefaultExecutorFactory().create("prefetch", 4)
+        new HttpBuildCacheService(httpClientHelper, config.url, {}, false, executor, batchLookupPath)
+    }
+
     private class NoopBuildCacheDescriber implements BuildCacheServiceFactory.Describer {
 
         @Override
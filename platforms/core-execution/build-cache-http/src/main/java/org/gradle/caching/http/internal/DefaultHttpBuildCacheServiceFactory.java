@@ -25,6 +25,8 @@
 import org.gradle.caching.http.HttpBuildCache;
 import org.gradle.caching.http.HttpBuildCacheCredentials;
 import org.gradle.internal.authentication.DefaultBasicAuthentication;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.ManagedExecutor;
 import org.gradle.internal.deprecation.Documentation;
 import org.gradle.internal.resource.transport.http.DefaultHttpSettings;
 import org.gradle.internal.resource.transport.http.HttpClientHelper;
@@ -32,6 +34,7 @@
 import org.gradle.internal.resource.transport.http.SslContextFactory;
 import org.gradle.internal.verifier.HttpRedirectVerifier;
 import org.gradle.internal.verifier.HttpRedirectVerifierFactory;
+import org.jspecify.annotations.Nullable;
 
 import javax.inject.Inject;
 import java.net.URI;
@@ -45,14 +48,25 @@
 public class DefaultHttpBuildCacheServiceFactory implements BuildCacheServiceFactory<HttpBuildCache> {
 
     private static final int MAX_REDIRECTS = Integer.getInteger("org.gradle.cache.http.max-redirects", 10);
+    /**
+     * Number of concurrent lookups used to prefetch entries ahead of loading them, 0 disables prefetching.
+     */
+    private static final int PREFETCH_CONCURRENCY = Integer.getInteger("org.gradle.cache.http.prefetch-concurrency", 0);
+    /**
+     * Path of a batch lookup endpoint of the server, relative to the cache URL.
+     */
+    @Nullable
+    private static final String BATCH_LOOKUP_PATH = System.getProperty("org.gradle.cache.http.batch-lookup-path");
 
     private final SslContextFactory sslContextFactory;
     private final HttpBuildCacheRequestCustomizer requestCustomizer;
     private final HttpClientHelper.Factory httpClientHelperFactory;
     private final ObjectFactory objectFactory;
+    private final ExecutorFactory executorFactory;
 
     @Inject
-    public DefaultHttpBuildCacheServiceFactory(ObjectFactory objectFactory, SslContextFactory sslContextFactory, HttpBuildCacheRequestCustomizer requestCustomizer, HttpClientHelper.Factory httpClientHelperFactory) {
+    public DefaultHttpBuildCacheServiceFactory(ObjectFactory objectFactory, SslContextFactory sslContextFactory, HttpBuildCacheRequestCustomizer requestCustomizer, HttpClientHelper.Factory httpClientHelperFactory, ExecutorFactory executorFactory) {
+        this.executorFactory = executorFactory;
         this.sslContextFactory = sslContextFactory;
         this.requestCustomizer = requestCustomizer;
         this.httpClientHelperFactory = httpClientHelperFactory;
@@ -108,6 +122,10 @@ public BuildCacheService createBuildCacheService(HttpBuildCache configuration, D
             .config("allowInsecureProtocol", Boolean.toString(allowInsecureProtocol))
             .config("useExpectContinue", Boolean.toString(useExpectContinue));
 
+        if (PREFETCH_CONCURRENCY > 0) {
+            ManagedExecutor prefetchExecutor = executorFactory.create("HTTP build cache prefetch", PREFETCH_CONCURRENCY);
+            return new HttpBuildCacheService(httpClientHelper, noUserInfoUrl, requestCustomizer, useExpectContinue, prefetchExecutor, BATCH_LOOKUP_PATH);
+        }
         return new HttpBuildCacheService(httpClientHelper, noUserInfoUrl, requestCustomizer, useExpectContinue);
     }
 
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.caching.http.internal;
+
+import com.google.common.base.Splitter;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.io.CharStreams;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.HttpHead;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.gradle.caching.BuildCacheKey;
+import org.gradle.internal.concurrent.ManagedExecutor;
+import org.gradle.internal.resource.transport.http.HttpClientHelper;
+import org.gradle.internal.resource.transport.http.HttpClientResponse;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Looks up which entries exist in an HTTP build cache ahead of them being loaded,
+ * so loading an entry that is known to be missing does not need another round trip.
+ *
+ * <p>Lookups run concurrently on the pooled connections of the HTTP client.
+ * If the server has a batch lookup endpoint, keys that are prefetched while a batch is in flight are collected into the next batch.
+ * The endpoint receives the keys as a {@code POST} with one key per line, and responds with the keys of the entries that exist, one per line.
+ * If the server does not support the endpoint, lookups fall back to a {@code HEAD} request per key.</p>
+ */
+class HttpBuildCachePrefetcher {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HttpBuildCachePrefetcher.class);
+    private static final int MAX_BATCH_SIZE = 1000;
+    // Lookups for entries that are then found in the local cache are never consumed, so only the most recent ones are retained
+    private static final int MAX_RETAINED_LOOKUPS = 10000;
+
+    private final HttpClientHelper httpClientHelper;
+    private final URI root;
+    private final HttpBuildCacheRequestCustomizer requestCustomizer;
+    private final ManagedExecutor executor;
+    @Nullable
+    private volatile URI batchLookupUri;
+
+    private final Map<String, CompletableFuture<Boolean>> lookups = CacheBuilder.newBuilder()
+        .maximumSize(MAX_RETAINED_LOOKUPS)
+        .<String, CompletableFuture<Boolean>>build()
+        .asMap();
+    private final Queue<Lookup> pendingBatch = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean batchInFlight = new AtomicBoolean();
+
+    HttpBuildCachePrefetcher(HttpClientHelper httpClientHelper, URI root, HttpBuildCacheRequestCustomizer requestCustomizer, ManagedExecutor executor, @Nullable URI batchLookupUri) {
+        this.httpClientHelper = httpClientHelper;
+        this.root = root;
+        this.requestCustomizer = requestCustomizer;
+        this.executor = executor;
+        this.batchLookupUri = batchLookupUri;
+    }
+
+    public void prefetch(Collection<BuildCacheKey> keys) {
+        boolean batched = batchLookupUri != null;
+        for (BuildCacheKey key : keys) {
+            String hashCode = key.getHashCode();
+            CompletableFuture<Boolean> result = new CompletableFuture<>();
+            if (lookups.putIfAbsent(hashCode, result) == null) {
+                if (batched) {
+                    pendingBatch.add(new Lookup(hashCode, result));
+                } else {
+                    executor.execute(() -> lookUp(hashCode, result));
+                }
+            }
+        }
+        if (batched) {
+            scheduleBatch();
+        }
+    }
+
+    /**
+     * Returns whether the entry for the given key has been found to be missing, waiting for a lookup in flight if there is one.
+     */
+    public boolean isKnownMissing(BuildCacheKey key) {
+        CompletableFuture<Boolean> result = lookups.remove(key.getHashCode());
+        if (result == null) {
+            return false;
+        }
+        try {
+            return !result.get();
+        } catch (ExecutionException e) {
+            LOGGER.debug("Could not prefetch entry {}", key.getHashCode(), e.getCause());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Forgets what is known about the entry for the given key, e.g. because it is being stored.
+     */
+    public void forget(BuildCacheKey key) {
+        lookups.remove(key.getHashCode());
+    }
+
+    public void stop() {
+        executor.stop();
+    }
+
+    private void lookUp(String hashCode, CompletableFuture<Boolean> result) {
+        HttpHead httpHead = new HttpHead(root.resolve("./" + hashCode));
+        httpHead.addHeader(HttpHeaders.ACCEPT, HttpBuildCacheService.BUILD_CACHE_CONTENT_TYPE + ", */*");
+        requestCustomizer.customize(httpHead);
+        try (HttpClientResponse response = httpClientHelper.performHttpRequest(httpHead)) {
+            int statusCode = response.getStatusLine().getStatusCode();
+            if (isHttpSuccess(statusCode)) {
+                result.complete(true);
+            } else if (statusCode == HttpStatus.SC_NOT_FOUND) {
+                result.complete(false);
+            } else {
+                result.completeExceptionally(new IOException(String.format("Looking up entry %s response status %d", hashCode, statusCode)));
+            }
+        } catch (Exception e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    private void scheduleBatch() {
+        if (!pendingBatch.isEmpty() && batchInFlight.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                try {
+                    List<Lookup> batch;
+                    while (!(batch = nextBatch()).isEmpty()) {
+                        lookUpBatch(batch);
+                    }
+                } finally {
+                    batchInFlight.set(false);
+                }
+                // Keys may have been queued after the last batch was taken, but before the flag was cleared
+                scheduleBatch();
+            });
+        }
+    }
+
+    private List<Lookup> nextBatch() {
+        List<Lookup> batch = new ArrayList<>();
+        Lookup lookup;
+        while (batch.size() < MAX_BATCH_SIZE && (lookup = pendingBatch.poll()) != null) {
+            batch.add(lookup);
+        }
+        return batch;
+    }
+
+    private void lookUpBatch(List<Lookup> batch) {
+        URI uri = batchLookupUri;
+        if (uri == null) {
+            lookUpEach(batch);
+            return;
+        }
+        HttpPost httpPost = new HttpPost(uri);
+        String body = batch.stream().map(lookup -> lookup.hashCode).collect(Collectors.joining("\n"));
+        httpPost.setEntity(new StringEntity(body, ContentType.create("text/plain", StandardCharsets.UTF_8)));
+        requestCustomizer.customize(httpPost);
+        try (HttpClientResponse response = httpClientHelper.performHttpRequest(httpPost)) {
+            int statusCode = response.getStatusLine().getStatusCode();
+            if (isHttpSuccess(statusCode)) {
+                Set<String> existing = new HashSet<>();
+                try (Reader reader = new InputStreamReader(response.getContent(), StandardCharsets.UTF_8)) {
+                    existing.addAll(Splitter.on('\n').trimResults().omitEmptyStrings().splitToList(CharStreams.toString(reader)));
+                }
+                for (Lookup lookup : batch) {
+                    lookup.result.complete(existing.contains(lookup.hashCode));
+                }
+                return;
+            }
+            if (statusCode == HttpStatus.SC_NOT_FOUND || statusCode == HttpStatus.SC_METHOD_NOT_ALLOWED || statusCode == HttpStatus.SC_NOT_IMPLEMENTED) {
+                LOGGER.debug("Build cache at {} does not support batch lookups (response status {}), looking up entries one by one", root, statusCode);
+                batchLookupUri = null;
+                lookUpEach(batch);
+                return;
+            }
+            fail(batch, new IOException(String.format("Batch lookup of %d entries response status %d", batch.size(), statusCode)));
+        } catch (Exception e) {
+            fail(batch, e);
+        }
+    }
+
+    private void lookUpEach(List<Lookup> batch) {
+        for (Lookup lookup : batch) {
+            executor.execute(() -> lookUp(lookup.hashCode, lookup.result));
+        }
+    }
+
+    private static void fail(List<Lookup> batch, Exception failure) {
+        for (Lookup lookup : batch) {
+            lookup.result.completeExceptionally(failure);
+        }
+    }
+
+    private static boolean isHttpSuccess(int statusCode) {
+        return statusCode >= 200 && statusCode < 300;
+    }
+
+    private static class Lookup {
+        private final String hashCode;
+        private final CompletableFuture<Boolean> result;
+
+        Lookup(String hashCode, CompletableFuture<Boolean> result) {
+            this.hashCode = hashCode;
+            this.result = result;
+        }
+    }
+}
@@ -31,9 +31,12 @@
 import org.gradle.caching.BuildCacheException;
 import org.gradle.caching.BuildCacheKey;
 import org.gradle.caching.BuildCacheService;
+import org.gradle.caching.internal.PrefetchingBuildCacheService;
 import org.gradle.internal.UncheckedException;
+import org.gradle.internal.concurrent.ManagedExecutor;
 import org.gradle.internal.resource.transport.http.HttpClientHelper;
 import org.gradle.internal.resource.transport.http.HttpClientResponse;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,12 +45,13 @@
 import java.io.OutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Collection;
 import java.util.Set;
 
 /**
  * Build cache implementation that delegates to a service accessible via HTTP.
  */
-public class HttpBuildCacheService implements BuildCacheService {
+public class HttpBuildCacheService implements BuildCacheService, PrefetchingBuildCacheService {
     private static final Logger LOGGER = LoggerFactory.getLogger(HttpBuildCacheService.class);
     static final String BUILD_CACHE_CONTENT_TYPE = "application/vnd.gradle.build-cache-artifact.v2";
 
@@ -66,16 +70,41 @@ public class HttpBuildCacheService implements BuildCacheService {
     private final HttpClientHelper httpClientHelper;
     private final HttpBuildCacheRequestCustomizer requestCustomizer;
     private final boolean useExpectContinue;
+    @Nullable
+    private final HttpBuildCachePrefetcher prefetcher;
 
     public HttpBuildCacheService(HttpClientHelper httpClientHelper, URI url, HttpBuildCacheRequestCustomizer requestCustomizer, boolean useExpectContinue) {
+        this(httpClientHelper, url, requestCustomizer, useExpectContinue, null, null);
+    }
+
+    /**
+     * Creates a service that prefetches entries on the given executor.
+     *
+     * @param batchLookupPath the path of the batch lookup endpoint of the server, relative to the cache URL, or {@code null} to look up entries one by one.
+     */
+    public HttpBuildCacheService(HttpClientHelper httpClientHelper, URI url, HttpBuildCacheRequestCustomizer requestCustomizer, boolean useExpectContinue, @Nullable ManagedExecutor prefetchExecutor, @Nullable String batchLookupPath) {
         this.requestCustomizer = requestCustomizer;
         this.useExpectContinue = useExpectContinue;
         this.root = withTrailingSlash(url);
         this.httpClientHelper = httpClientHelper;
+        this.prefetcher = prefetchExecutor == null
+            ? null
+            : new HttpBuildCachePrefetcher(httpClientHelper, root, requestCustomizer, prefetchExecutor, batchLookupPath == null ? null : root.resolve(batchLookupPath));
+    }
+
+    @Override
+    public void prefetch(Collection<BuildCacheKey> keys) {
+        if (prefetcher != null) {
+            prefetcher.prefetch(keys);
+        }
     }
 
     @Override
     public boolean load(BuildCacheKey key, BuildCacheEntryReader reader) throws BuildCacheException {
+        if (prefetcher != null && prefetcher.isKnownMissing(key)) {
+            LOGGER.debug("Entry {} is known to be missing from the build cache", key.getHashCode());
+            return false;
+        }
         final URI uri = root.resolve("./" + key.getHashCode());
         HttpGet httpGet = new HttpGet(uri);
         httpGet.addHeader(HttpHeaders.ACCEPT, BUILD_CACHE_CONTENT_TYPE + ", */*");
@@ -103,6 +132,9 @@ public boolean load(BuildCacheKey key, BuildCacheEntryReader reader) throws Buil
 
     @Override
     public void store(BuildCacheKey key, BuildCacheEntryWriter writer) throws BuildCacheException {
+        if (prefetcher != null) {
+            prefetcher.forget(key);
+        }
         final URI uri = root.resolve(key.getHashCode());
         HttpPut httpPut = new HttpPut(uri);
         if (useExpectContinue) {
@@ -176,6 +208,9 @@ private boolean throwHttpStatusCodeException(int statusCode, String message) {
 
     @Override
     public void close() throws IOException {
+        if (prefetcher != null) {
+            prefetcher.stop();
+        }
         httpClientHelper.close();
     }
 
@@ -0,0 +1,332 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.caching.local.internal;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.apache.commons.io.FileUtils;
+import org.gradle.cache.PersistentCache;
+import org.gradle.caching.internal.controller.CacheManifest;
+import org.gradle.caching.internal.controller.CacheManifest.ManifestEntry;
+import org.gradle.caching.internal.origin.OriginMetadata;
+import org.gradle.caching.local.internal.ContentAddressedLocalBuildCacheService.ManifestLoader;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.file.FileAccessTracker;
+import org.gradle.internal.file.FileType;
+import org.gradle.internal.file.nio.PosixFilePermissionConverter;
+import org.gradle.internal.hash.HashCode;
+import org.jspecify.annotations.NullMarked;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Stores cache entries as manifests that reference the contents of files in a content-addressed blob store.
+ *
+ * Manifests and blobs are kept next to each other at the top level of the cache directory,
+ * so they are tracked and cleaned up the same way as archived cache entries.
+ * A manifest that references a blob that has been cleaned up is treated as a miss.
+ *
+ * Blobs are always copied into the store, as the outputs they are stored from can be modified in place by later executions.
+ * When restoring, blobs are either copied, or hard-linked if enabled.
+ * Hard-linked outputs share their contents with the cache, so modifying them in place also modifies the cache.
+ */
+@NullMarked
+public class ContentAddressedDirectoryBuildCache {
+    private static final int MANIFEST_FORMAT_VERSION = 1;
+    private static final String MANIFEST_SUFFIX = ".manifest";
+    private static final String BLOB_SUFFIX = ".blob";
+
+    private final PersistentCache persistentCache;
+    private final FileAccessTracker fileAccessTracker;
+    private final String failedFileSuffix;
+    private final boolean hardLinkBlobs;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ContentAddressedDirectoryBuildCache(PersistentCache persistentCache, FileAccessTracker fileAccessTracker, String failedFileSuffix, boolean hardLinkBlobs) {
+        this.persistentCache = persistentCache;
+        this.fileAccessTracker = fileAccessTracker;
+        this.failedFileSuffix = failedFileSuffix;
+        this.hardLinkBlobs = hardLinkBlobs;
+    }
+
+    public <T> Optional<T> loadManifest(HashCode key, ManifestLoader<T> loader) {
+        AtomicReference<Optional<T>> result = new AtomicReference<>(Optional.empty());
+        // We need to lock other processes out here because garbage collection can be under way in another process
+        persistentCache.withFileLock(() -> {
+            lock.readLock().lock();
+            try {
+                result.set(loadInsideLock(key, loader));
+            } finally {
+                lock.readLock().unlock();
+            }
+        });
+        return result.get();
+    }
+
+    private <T> Optional<T> loadInsideLock(HashCode key, ManifestLoader<T> loader) {
+        File manifestFile = getManifestFile(key);
+        if (!manifestFile.exists()) {
+            return Optional.empty();
+        }
+
+        CacheManifest manifest;
+        try {
+            manifest = readManifest(manifestFile);
+        } catch (Exception e) {
+            moveToFailed(manifestFile);
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+
+        for (List<ManifestEntry> entries : manifest.getPropertyManifests().values()) {
+            for (ManifestEntry entry : entries) {
+                if (entry.getType() == FileType.RegularFile) {
+                    File blob = getBlobFile(entry.getContentHash());
+                    if (!blob.isFile()) {
+                        // Some of the contents have been cleaned up, the manifest is of no use anymore
+                        FileUtils.deleteQuietly(manifestFile);
+                        return Optional.empty();
+                    }
+                    fileAccessTracker.markAccessed(blob);
+                }
+            }
+        }
+        fileAccessTracker.markAccessed(manifestFile);
+
+        try {
+            return Optional.of(loader.load(manifest, this::restoreBlob));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void restoreBlob(ManifestEntry entry, File target) throws IOException {
+        Path blob = getBlobFile(entry.getContentHash()).toPath();
+        Path targetPath = target.toPath();
+        Files.deleteIfExists(targetPath);
+        if (hardLinkBlobs && hasMode(blob, entry.getUnixMode())) {
+            try {
+                Files.createLink(targetPath, blob);
+                return;
+            } catch (IOException | UnsupportedOperationException e) {
+                // Not supported by the file system, e.g. because the output is on a different volume
+            }
+        }
+        Files.copy(blob, targetPath);
+        chmod(targetPath, entry.getUnixMode());
+    }
+
+    public void storeManifest(HashCode key, CacheManifest manifest, Function<ManifestEntry, File> contentLocator) {
+        // Copy the contents into the cache directory before taking any locks, so loads are only blocked while moving them into place
+        Map<HashCode, File> stagedBlobs = new HashMap<>();
+        File stagedManifest = null;
+        try {
+            stageMissingBlobs(manifest, contentLocator, stagedBlobs);
+            stagedManifest = createTempFile(key);
+            writeManifest(manifest, stagedManifest);
+            File manifestToStore = stagedManifest;
+            // We need to lock other processes out here because garbage collection can be under way in another process
+            persistentCache.withFileLock(() -> {
+                lock.writeLock().lock();
+                try {
+                    storeInsideLock(key, manifest, contentLocator, stagedBlobs, manifestToStore);
+                } catch (IOException e) {
+                    throw storeFailure(key, e);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            });
+        } catch (IOException e) {
+            throw storeFailure(key, e);
+        } finally {
+            stagedBlobs.values().forEach(FileUtils::deleteQuietly);
+            if (stagedManifest != null) {
+                FileUtils.deleteQuietly(stagedManifest);
+            }
+        }
+    }
+
+    private void stageMissingBlobs(CacheManifest manifest, Function<ManifestEntry, File> contentLocator, Map<HashCode, File> stagedBlobs) throws IOException {
+        for (List<ManifestEntry> entries : manifest.getPropertyManifests().values()) {
+            for (ManifestEntry entry : entries) {
+                if (entry.getType() == FileType.RegularFile
+                    && !stagedBlobs.containsKey(entry.getContentHash())
+                    && !getBlobFile(entry.getContentHash()).exists()) {
+                    File tempFile = createTempFile(entry.getContentHash());
+                    stagedBlobs.put(entry.getContentHash(), tempFile);
+                    copyBlob(contentLocator.apply(entry), tempFile, entry.getUnixMode());
+                }
+            }
+        }
+    }
+
+    private void storeInsideLock(HashCode key, CacheManifest manifest, Function<ManifestEntry, File> contentLocator, Map<HashCode, File> stagedBlobs, File stagedManifest) throws IOException {
+        for (List<ManifestEntry> entries : manifest.getPropertyManifests().values()) {
+            for (ManifestEntry entry : entries) {
+                if (entry.getType() == FileType.RegularFile) {
+                    File blob = getBlobFile(entry.getContentHash());
+                    if (!blob.exists()) {
+                        File stagedBlob = stagedBlobs.get(entry.getContentHash());
+                        if (stagedBlob != null && stagedBlob.exists()) {
+                            moveIntoCache(stagedBlob, blob);
+                        } else {
+                            // The blob was cleaned up after we have checked for it, copy it now
+                            File tempFile = createTempFile(entry.getContentHash());
+                            try {
+                                copyBlob(contentLocator.apply(entry), tempFile, entry.getUnixMode());
+                                moveIntoCache(tempFile, blob);
+                            } finally {
+                                FileUtils.deleteQuietly(tempFile);
+                            }
+                        }
+                    }
+                    fileAccessTracker.markAccessed(blob);
+                }
+            }
+        }
+
+        File manifestFile = getManifestFile(key);
+        moveIntoCache(stagedManifest, manifestFile);
+        fileAccessTracker.markAccessed(manifestFile);
+    }
+
+    private static UncheckedIOException storeFailure(HashCode key, IOException e) {
+        return new UncheckedIOException(String.format("Couldn't store cache entry '%s' in local cache: %s", key, e), e);
+    }
+
+    private static void copyBlob(File content, File target, int unixMode) throws IOException {
+        Files.copy(content.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        chmod(target.toPath(), unixMode);
+    }
+
+    private File createTempFile(HashCode key) throws IOException {
+        // Create temporary files in the cache directory to ensure they can be moved into the cache proper atomically
+        return Files.createTempFile(persistentCache.getBaseDir().toPath(), key.toString(), BuildCacheTempFileStore.PARTIAL_FILE_SUFFIX).toFile();
+    }
+
+    private static void moveIntoCache(File source, File target) throws IOException {
+        try {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException ignore) {
+            // Contents are addressed by their hash, so what we already have is the same
+        }
+    }
+
+    private void moveToFailed(File file) {
+        // Don't delete, so that it can be potentially used for debugging
+        File failedFile = new File(file.getAbsolutePath() + failedFileSuffix);
+        FileUtils.deleteQuietly(failedFile);
+        //noinspection ResultOfMethodCallIgnored
+        file.renameTo(failedFile);
+    }
+
+    private File getManifestFile(HashCode key) {
+        return new File(persistentCache.getBaseDir(), key + MANIFEST_SUFFIX);
+    }
+
+    private File getBlobFile(HashCode contentHash) {
+        return new File(persistentCache.getBaseDir(), contentHash + BLOB_SUFFIX);
+    }
+
+    private static boolean hasMode(Path file, int mode) throws IOException {
+        if (mode == 0) {
+            return true;
+        }
+        PosixFileAttributeView view = Files.getFileAttributeView(file, PosixFileAttributeView.class);
+        return view == null || PosixFilePermissionConverter.convertToInt(view.readAttributes().permissions()) == mode;
+    }
+
+    private static void chmod(Path file, int mode) throws IOException {
+        if (mode == 0) {
+            return;
+        }
+        PosixFileAttributeView view = Files.getFileAttributeView(file, PosixFileAttributeView.class);
+        if (view != null) {
+            view.setPermissions(PosixFilePermissionConverter.convertToPermissionsSet(mode));
+        }
+    }
+
+    private static void writeManifest(CacheManifest manifest, File file) throws IOException {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            output.writeInt(MANIFEST_FORMAT_VERSION);
+            OriginMetadata originMetadata = manifest.getOriginMetadata();
+            output.writeUTF(originMetadata.getBuildInvocationId());
+            output.writeUTF(originMetadata.getBuildCacheKey().toString());
+            output.writeLong(originMetadata.getExecutionTime().toMillis());
+            output.writeUTF(manifest.getWorkType());
+            output.writeUTF(manifest.getIdentity());
+            output.writeInt(manifest.getPropertyManifests().size());
+            for (Map.Entry<String, List<ManifestEntry>> property : manifest.getPropertyManifests().entrySet()) {
+                output.writeUTF(property.getKey());
+                output.writeInt(property.getValue().size());
+                for (ManifestEntry entry : property.getValue()) {
+                    output.writeByte(entry.getType().ordinal());
+                    output.writeUTF(entry.getRelativePath());
+                    output.writeUTF(entry.getContentHash().toString());
+                    output.writeLong(entry.getLength());
+                    output.writeInt(entry.getUnixMode());
+                }
+            }
+        }
+    }
+
+    private static CacheManifest readManifest(File file) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            int version = input.readInt();
+            if (version != MANIFEST_FORMAT_VERSION) {
+                throw new IllegalStateException(String.format("Unsupported cache manifest format version %d", version));
+            }
+            OriginMetadata originMetadata = new OriginMetadata(input.readUTF(), HashCode.fromString(input.readUTF()), Duration.ofMillis(input.readLong()));
+            String workType = input.readUTF();
+            String identity = input.readUTF();
+            int propertyCount = input.readInt();
+            ImmutableMap.Builder<String, List<ManifestEntry>> propertyManifests = ImmutableMap.builderWithExpectedSize(propertyCount);
+            for (int i = 0; i < propertyCount; i++) {
+                String propertyName = input.readUTF();
+                int entryCount = input.readInt();
+                ImmutableList.Builder<ManifestEntry> entries = ImmutableList.builderWithExpectedSize(entryCount);
+                for (int j = 0; j < entryCount; j++) {
+                    FileType type = FileType.values()[input.readByte()];
+                    entries.add(new ManifestEntry(type, input.readUTF(), HashCode.fromString(input.readUTF()), input.readLong(), input.readInt()));
+                }
+                propertyManifests.put(propertyName, entries.build());
+            }
+            return new CacheManifest(originMetadata, workType, identity, propertyManifests.build());
+        }
+    }
+}
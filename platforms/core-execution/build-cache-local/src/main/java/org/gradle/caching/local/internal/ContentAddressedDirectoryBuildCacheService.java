@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.caching.local.internal;
+
+import org.gradle.cache.PersistentCache;
+import org.gradle.caching.BuildCacheKey;
+import org.gradle.caching.internal.BuildCacheKeyInternal;
+import org.gradle.caching.internal.controller.CacheManifest;
+import org.gradle.internal.file.FileAccessTracker;
+import org.jspecify.annotations.NullMarked;
+
+import java.io.File;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * A directory build cache that stores entries in a content-addressed way, see {@link ContentAddressedDirectoryBuildCache}.
+ */
+@NullMarked
+public class ContentAddressedDirectoryBuildCacheService extends DirectoryBuildCacheService implements ContentAddressedLocalBuildCacheService {
+
+    private final ContentAddressedDirectoryBuildCache contentAddressedCache;
+
+    public ContentAddressedDirectoryBuildCacheService(PersistentCache persistentCache, FileAccessTracker fileAccessTracker, String failedFileSuffix, boolean hardLinkBlobs) {
+        super(persistentCache, fileAccessTracker, failedFileSuffix);
+        this.contentAddressedCache = new ContentAddressedDirectoryBuildCache(persistentCache, fileAccessTracker, failedFileSuffix, hardLinkBlobs);
+    }
+
+    @Override
+    public <T> Optional<T> loadManifest(BuildCacheKey key, ManifestLoader<T> loader) {
+        return contentAddressedCache.loadManifest(((BuildCacheKeyInternal) key).getHashCodeInternal(), loader);
+    }
+
+    @Override
+    public void storeManifest(BuildCacheKey key, CacheManifest manifest, Function<CacheManifest.ManifestEntry, File> contentLocator) {
+        contentAddressedCache.storeManifest(((BuildCacheKeyInternal) key).getHashCodeInternal(), manifest, contentLocator);
+    }
+}
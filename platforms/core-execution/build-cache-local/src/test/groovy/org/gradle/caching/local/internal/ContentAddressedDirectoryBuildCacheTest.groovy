@@ -0,0 +1,235 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.caching.local.internal
+
+import org.gradle.cache.PersistentCache
+import org.gradle.caching.internal.controller.CacheManifest
+import org.gradle.caching.internal.controller.CacheManifest.ManifestEntry
+import org.gradle.caching.internal.origin.OriginMetadata
+import org.gradle.internal.file.FileAccessTracker
+import org.gradle.internal.file.FileType
+import org.gradle.internal.hash.TestHashCodes
+import org.gradle.test.fixtures.file.CleanupTestDirectory
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.gradle.util.UsesNativeServices
+import org.junit.Rule
+import spock.lang.Specification
+
+import java.time.Duration
+
+@UsesNativeServices
+@CleanupTestDirectory
+class ContentAddressedDirectoryBuildCacheTest extends Specification {
+    @Rule
+    TestNameTestDirectoryProvider temporaryFolder = new TestNameTestDirectoryProvider(getClass())
+    def cacheDir = temporaryFolder.createDir("cache")
+    def persistentCache = Mock(PersistentCache) {
+        getBaseDir() >> cacheDir
+        withFileLock(_) >> { Runnable r -> r.run() }
+    }
+    def fileAccessTracker = Mock(FileAccessTracker)
+    def cache = new ContentAddressedDirectoryBuildCache(persistentCache, fileAccessTracker, ".failed", false)
+    def key = TestHashCodes.hashCodeFrom(12345678)
+    def otherKey = TestHashCodes.hashCodeFrom(87654321)
+    def origin = new OriginMetadata("build-id", key, Duration.ofMillis(123))
+
+    def "stores content shared between entries only once"() {
+        def first = temporaryFolder.createFile("first/output.txt")
+        first.text = "shared"
+        def second = temporaryFolder.createFile("second/output.txt")
+        second.text = "shared"
+
+        when:
+        cache.storeManifest(key, manifest(fileEntry(first)), { first })
+        cache.storeManifest(otherKey, manifest(fileEntry(second)), { second })
+
+        then:
+        cacheDir.listFiles().findAll { it.name.endsWith(".blob") }.size() == 1
+        cacheDir.listFiles().findAll { it.name.endsWith(".manifest") }.size() == 2
+    }
+
+    def "copies contents into the cache directory before taking the cache lock"() {
+        def output = temporaryFolder.createFile("output.txt")
+        output.text = "content"
+        def locked = false
+        def lockingCache = Mock(PersistentCache) {
+            getBaseDir() >> cacheDir
+            withFileLock(_) >> { Runnable r ->
+                locked = true
+                try {
+                    r.run()
+                } finally {
+                    locked = false
+                }
+            }
+        }
+        def stagingCache = new ContentAddressedDirectoryBuildCache(lockingCache, fileAccessTracker, ".failed", false)
+        def copiedWhileLocked = []
+
+        when:
+        stagingCache.storeManifest(key, manifest(fileEntry(output)), { copiedWhileLocked << locked; output })
+
+        then:
+        copiedWhileLocked == [false]
+        cacheDir.listFiles().findAll { it.name.endsWith(".blob") }.size() == 1
+        cacheDir.listFiles().findAll { it.name.endsWith(BuildCacheTempFileStore.PARTIAL_FILE_SUFFIX) }.empty
+    }
+
+    def "copies contents removed from the cache directory before taking the cache lock"() {
+        def output = temporaryFolder.createFile("output.txt")
+        output.text = "content"
+        def cleaningCache = Mock(PersistentCache) {
+            getBaseDir() >> cacheDir
+            withFileLock(_) >> { Runnable r ->
+                cacheDir.listFiles().findAll { it.name.endsWith(BuildCacheTempFileStore.PARTIAL_FILE_SUFFIX) && it.name.startsWith(fileEntry(output).contentHash.toString()) }*.delete()
+                r.run()
+            }
+        }
+        def stagingCache = new ContentAddressedDirectoryBuildCache(cleaningCache, fileAccessTracker, ".failed", false)
+        def target = temporaryFolder.file("restored.txt")
+
+        when:
+        stagingCache.storeManifest(key, manifest(fileEntry(output)), { output })
+        restore(key, target)
+
+        then:
+        target.text == "content"
+        cacheDir.listFiles().findAll { it.name.endsWith(BuildCacheTempFileStore.PARTIAL_FILE_SUFFIX) }.empty
+    }
+
+    def "restores stored contents and manifest"() {
+        def output = temporaryFolder.createFile("output.txt")
+        output.text = "content"
+        def stored = manifest(fileEntry(output))
+        cache.storeManifest(key, stored, { output })
+        def target = temporaryFolder.file("restored/output.txt")
+        target.parentFile.mkdirs()
+
+        when:
+        def loaded = cache.loadManifest(key) { CacheManifest manifest, restorer ->
+            restorer.restore(manifest.propertyManifests["output"][0], target)
+            manifest
+        }
+
+        then:
+        loaded.present
+        loaded.get().originMetadata == origin
+        loaded.get().workType == "type"
+        loaded.get().identity == "identity"
+        with(loaded.get().propertyManifests["output"][0]) {
+            type == FileType.RegularFile
+            relativePath == ""
+            contentHash == stored.propertyManifests["output"][0].contentHash
+            length == 7
+        }
+        target.text == "content"
+    }
+
+    def "restored copies do not share contents with the cache"() {
+        def output = temporaryFolder.createFile("output.txt")
+        output.text = "content"
+        cache.storeManifest(key, manifest(fileEntry(output)), { output })
+        def target = temporaryFolder.file("output.txt")
+
+        when:
+        restore(key, target)
+        target.text = "modified"
+        def secondTarget = temporaryFolder.file("second.txt")
+        restore(key, secondTarget)
+
+        then:
+        secondTarget.text == "content"
+    }
+
+    def "can hard-link contents into place"() {
+        def hardLinkingCache = new ContentAddressedDirectoryBuildCache(persistentCache, fileAccessTracker, ".failed", true)
+        def output = temporaryFolder.createFile("output.txt")
+        output.text = "content"
+        hardLinkingCache.storeManifest(key, manifest(fileEntry(output)), { output })
+        def target = temporaryFolder.file("restored.txt")
+
+        when:
+        hardLinkingCache.loadManifest(key) { CacheManifest manifest, restorer ->
+            restorer.restore(manifest.propertyManifests["output"][0], target)
+        }
+
+        then:
+        target.text == "content"
+    }
+
+    def "treats entry with removed contents as miss"() {
+        def output = temporaryFolder.createFile("output.txt")
+        output.text = "content"
+        cache.storeManifest(key, manifest(fileEntry(output)), { output })
+        cacheDir.listFiles().findAll { it.name.endsWith(".blob") }*.delete()
+
+        when:
+        def loaded = cache.loadManifest(key) { manifest, restorer -> manifest }
+
+        then:
+        !loaded.present
+        cacheDir.listFiles().findAll { it.name.endsWith(".manifest") }.empty
+    }
+
+    def "returns empty for missing entry"() {
+        expect:
+        !cache.loadManifest(key) { manifest, restorer -> manifest }.present
+    }
+
+    def "moves corrupt manifest out of the way"() {
+        new File(cacheDir, "${key}.manifest").text = "corrupt"
+
+        when:
+        cache.loadManifest(key) { manifest, restorer -> manifest }
+
+        then:
+        thrown Exception
+        new File(cacheDir, "${key}.manifest.failed").exists()
+        !new File(cacheDir, "${key}.manifest").exists()
+    }
+
+    def "marks manifest and contents accessed when storing and loading"() {
+        def output = temporaryFolder.createFile("output.txt")
+        output.text = "content"
+
+        when:
+        cache.storeManifest(key, manifest(fileEntry(output)), { output })
+
+        then:
+        2 * fileAccessTracker.markAccessed(_)
+
+        when:
+        cache.loadManifest(key) { manifest, restorer -> manifest }
+
+        then:
+        2 * fileAccessTracker.markAccessed(_)
+    }
+
+    private void restore(def key, File target) {
+        cache.loadManifest(key) { CacheManifest manifest, restorer ->
+            restorer.restore(manifest.propertyManifests["output"][0], target)
+        }
+    }
+
+    private CacheManifest manifest(ManifestEntry entry) {
+        new CacheManifest(origin, "type", "identity", ["output": [entry]])
+    }
+
+    private static ManifestEntry fileEntry(File file) {
+        new ManifestEntry(FileType.RegularFile, "", TestHashCodes.hashCodeFrom(file.text.hashCode()), file.length(), 0)
+    }
+}
@@ -14,6 +14,8 @@ dependencies {
 
     api(libs.guava)
 
+    implementation(projects.io)
+
     implementation(libs.commonsCompress)
     implementation(libs.commonsIo)
 
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.caching.internal.packaging.impl;
+
+import org.gradle.internal.io.Lz4FrameInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Detects how a build cache entry was compressed by looking at its first bytes,
+ * so entries written by any of the compressing packers can be read back by all of them.
+ */
+final class BuildCacheEntryDecompression {
+    private static final int MAGIC_LENGTH = 4;
+
+    private BuildCacheEntryDecompression() {
+    }
+
+    /**
+     * Returns a stream decompressing the given LZ4 or GZip compressed input.
+     */
+    static InputStream decompress(InputStream input) throws IOException {
+        PushbackInputStream pushbackInput = new PushbackInputStream(input, MAGIC_LENGTH);
+        byte[] magic = new byte[MAGIC_LENGTH];
+        int length = 0;
+        while (length < MAGIC_LENGTH) {
+            int read = pushbackInput.read(magic, length, MAGIC_LENGTH - length);
+            if (read < 0) {
+                break;
+            }
+            length += read;
+        }
+        pushbackInput.unread(magic, 0, length);
+        if (length == MAGIC_LENGTH && Lz4FrameInputStream.isFrameMagic(magic)) {
+            return new Lz4FrameInputStream(pushbackInput);
+        }
+        return new GZIPInputStream(pushbackInput);
+    }
+}
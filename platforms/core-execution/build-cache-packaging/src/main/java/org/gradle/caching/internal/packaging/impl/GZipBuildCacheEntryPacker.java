@@ -26,9 +26,13 @@
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.Map;
-import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
+/**
+ * Compresses build cache entries with GZip.
+ * <p>
+ * Unpacking detects the format from the entry header, so entries compressed by {@link Lz4BuildCacheEntryPacker} can be read, too.
+ */
 public class GZipBuildCacheEntryPacker implements BuildCacheEntryPacker {
     private final BuildCacheEntryPacker delegate;
 
@@ -45,8 +49,8 @@ public PackResult pack(CacheableEntity entity, Map<String, ? extends FileSystemS
 
     @Override
     public UnpackResult unpack(CacheableEntity entity, InputStream input, OriginReader readOrigin) throws IOException {
-        try (GZIPInputStream gzipInput = new GZIPInputStream(input)) {
-            return delegate.unpack(entity, gzipInput, readOrigin);
+        try (InputStream decompressedInput = BuildCacheEntryDecompression.decompress(input)) {
+            return delegate.unpack(entity, decompressedInput, readOrigin);
         }
     }
 }
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.caching.internal.packaging.impl;
+
+import org.gradle.caching.internal.CacheableEntity;
+import org.gradle.caching.internal.origin.OriginReader;
+import org.gradle.caching.internal.origin.OriginWriter;
+import org.gradle.caching.internal.packaging.BuildCacheEntryPacker;
+import org.gradle.internal.io.Lz4FrameOutputStream;
+import org.gradle.internal.snapshot.FileSystemSnapshot;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * Compresses build cache entries in the LZ4 frame format.
+ * <p>
+ * Packing and unpacking take considerably less CPU time than with {@link GZipBuildCacheEntryPacker},
+ * at the cost of somewhat larger entries.
+ * Unpacking detects the format from the entry header, so entries compressed with GZip can still be read.
+ */
+public class Lz4BuildCacheEntryPacker implements BuildCacheEntryPacker {
+    private final BuildCacheEntryPacker delegate;
+
+    public Lz4BuildCacheEntryPacker(BuildCacheEntryPacker delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public PackResult pack(CacheableEntity entity, Map<String, ? extends FileSystemSnapshot> snapshots, OutputStream output, OriginWriter writeOrigin) throws IOException {
+        try (Lz4FrameOutputStream lz4Output = new Lz4FrameOutputStream(output)) {
+            return delegate.pack(entity, snapshots, lz4Output, writeOrigin);
+        }
+    }
+
+    @Override
+    public UnpackResult unpack(CacheableEntity entity, InputStream input, OriginReader readOrigin) throws IOException {
+        try (InputStream decompressedInput = BuildCacheEntryDecompression.decompress(input)) {
+            return delegate.unpack(entity, decompressedInput, readOrigin);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.caching.internal.packaging.impl
+
+import org.gradle.internal.io.Lz4FrameOutputStream
+import spock.lang.Specification
+
+import java.util.zip.GZIPOutputStream
+
+class BuildCacheEntryDecompressionTest extends Specification {
+    def data = ("build cache entry " * 1000).getBytes("UTF-8")
+
+    def "detects LZ4 compressed entries"() {
+        def compressed = new ByteArrayOutputStream()
+        new Lz4FrameOutputStream(compressed).withCloseable { it.write(data) }
+
+        expect:
+        decompress(compressed.toByteArray()) == data
+    }
+
+    def "detects GZip compressed entries"() {
+        def compressed = new ByteArrayOutputStream()
+        new GZIPOutputStream(compressed).withCloseable { it.write(data) }
+
+        expect:
+        decompress(compressed.toByteArray()) == data
+    }
+
+    private static byte[] decompress(byte[] compressed) {
+        return BuildCacheEntryDecompression.decompress(new ByteArrayInputStream(compressed)).withCloseable { it.bytes }
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.caching.internal;
+
+import org.gradle.caching.BuildCacheKey;
+
+import java.util.Collection;
+
+/**
+ * A build cache service that can look up entries ahead of them being loaded.
+ */
+public interface PrefetchingBuildCacheService {
+
+    /**
+     * Starts looking up the entries for the given keys in the background, so loading them later can be answered faster.
+     *
+     * Does not block, and does not fail when the lookups fail.
+     */
+    void prefetch(Collection<BuildCacheKey> keys);
+}
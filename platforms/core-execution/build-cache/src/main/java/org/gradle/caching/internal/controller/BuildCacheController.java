@@ -25,6 +25,7 @@
 
 import java.io.Closeable;
 import java.time.Duration;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
 
@@ -41,4 +42,9 @@ public interface BuildCacheController extends Closeable {
     Optional<BuildCacheLoadResult> load(BuildCacheKey cacheKey, CacheableEntity cacheableEntity);
 
     void store(BuildCacheKey cacheKey, CacheableEntity entity, Map<String, FileSystemSnapshot> snapshots, Duration executionTime);
+
+    /**
+     * Hints that entries for the given keys are likely to be loaded soon, so remote lookups for them can be started ahead of time.
+     */
+    void prefetch(Collection<BuildCacheKey> cacheKeys);
 }
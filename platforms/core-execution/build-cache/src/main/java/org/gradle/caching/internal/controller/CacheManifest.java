@@ -23,6 +23,12 @@
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Describes the outputs of a cache entry by content hash, so their contents can be stored in a content-addressed store.
+ *
+ * Entries of each tree are listed in depth-first order, with each directory preceding its children.
+ * The root of a tree has an empty relative path, trees that are missing have no entries.
+ */
 public class CacheManifest {
     private final OriginMetadata originMetadata;
     private final String workType;
@@ -57,12 +63,14 @@ public static class ManifestEntry {
         private final String relativePath;
         private final HashCode contentHash;
         private final long length;
+        private final int unixMode;
 
-        public ManifestEntry(FileType type, String relativePath, HashCode contentHash, long length) {
+        public ManifestEntry(FileType type, String relativePath, HashCode contentHash, long length, int unixMode) {
             this.type = type;
             this.relativePath = relativePath;
             this.contentHash = contentHash;
             this.length = length;
+            this.unixMode = unixMode;
         }
 
         public FileType getType() {
@@ -80,5 +88,12 @@ public HashCode getContentHash() {
         public long getLength() {
             return length;
         }
+
+        /**
+         * The permissions of the entry, or 0 if they are unknown and the defaults should be used.
+         */
+        public int getUnixMode() {
+            return unixMode;
+        }
     }
 }
@@ -0,0 +1,344 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.caching.internal.controller;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Interner;
+import org.apache.commons.io.FileUtils;
+import org.gradle.caching.BuildCacheKey;
+import org.gradle.caching.internal.CacheableEntity;
+import org.gradle.caching.internal.controller.CacheManifest.ManifestEntry;
+import org.gradle.caching.internal.controller.operations.PackOperationDetails;
+import org.gradle.caching.internal.controller.operations.PackOperationResult;
+import org.gradle.caching.internal.controller.operations.UnpackOperationDetails;
+import org.gradle.caching.internal.controller.operations.UnpackOperationResult;
+import org.gradle.caching.internal.controller.service.BuildCacheLoadResult;
+import org.gradle.caching.internal.origin.OriginMetadata;
+import org.gradle.caching.local.internal.ContentAddressedLocalBuildCacheService;
+import org.gradle.caching.local.internal.ContentAddressedLocalBuildCacheService.BlobRestorer;
+import org.gradle.internal.file.FileType;
+import org.gradle.internal.file.PathTraversalChecker;
+import org.gradle.internal.file.TreeType;
+import org.gradle.internal.file.impl.DefaultFileMetadata;
+import org.gradle.internal.file.nio.PosixFilePermissionConverter;
+import org.gradle.internal.operations.BuildOperationContext;
+import org.gradle.internal.operations.BuildOperationDescriptor;
+import org.gradle.internal.operations.BuildOperationRunner;
+import org.gradle.internal.operations.CallableBuildOperation;
+import org.gradle.internal.snapshot.DirectorySnapshotBuilder;
+import org.gradle.internal.snapshot.FileSystemLocationSnapshot;
+import org.gradle.internal.snapshot.FileSystemSnapshot;
+import org.gradle.internal.snapshot.MerkleDirectorySnapshotBuilder;
+import org.gradle.internal.snapshot.MissingFileSnapshot;
+import org.gradle.internal.snapshot.RegularFileSnapshot;
+import org.gradle.internal.snapshot.RelativePathTracker;
+import org.gradle.internal.snapshot.SnapshotVisitResult;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongConsumer;
+
+import static org.gradle.internal.file.FileMetadata.AccessType.DIRECT;
+import static org.gradle.internal.snapshot.DirectorySnapshotBuilder.EmptyDirectoryHandlingStrategy.INCLUDE_EMPTY_DIRS;
+
+/**
+ * Loads and stores cache entries as {@link CacheManifest manifests} via a {@link ContentAddressedLocalBuildCacheService}.
+ *
+ * Manifests are created from the snapshots already taken of the outputs, so storing an entry does not hash any files.
+ * Creating and restoring manifests fire the same pack and unpack build operations as archives do,
+ * with the total length of the files in the entry as the archive size.
+ */
+class ContentAddressedEntryExecutor {
+    private final ContentAddressedLocalBuildCacheService service;
+    private final BuildOperationRunner buildOperationRunner;
+    private final Interner<String> stringInterner;
+
+    ContentAddressedEntryExecutor(ContentAddressedLocalBuildCacheService service, BuildOperationRunner buildOperationRunner, Interner<String> stringInterner) {
+        this.service = service;
+        this.buildOperationRunner = buildOperationRunner;
+        this.stringInterner = stringInterner;
+    }
+
+    /**
+     * Restores the entry stored for the given key, reporting its size to the given consumer on a hit.
+     */
+    Optional<BuildCacheLoadResult> load(BuildCacheKey key, CacheableEntity entity, LongConsumer sizeConsumer) {
+        return service.loadManifest(key, (manifest, restorer) -> {
+            long size = sizeOf(manifest);
+            sizeConsumer.accept(size);
+            return unpack(key, entity, manifest, size, restorer);
+        });
+    }
+
+    private BuildCacheLoadResult unpack(BuildCacheKey key, CacheableEntity entity, CacheManifest manifest, long size, BlobRestorer restorer) {
+        return buildOperationRunner.call(new CallableBuildOperation<BuildCacheLoadResult>() {
+            @Override
+            public BuildCacheLoadResult call(BuildOperationContext context) {
+                BuildCacheLoadResult result = restore(entity, manifest, restorer);
+                context.setResult(new UnpackOperationResult(result.getArtifactEntryCount()));
+                return result;
+            }
+
+            @Override
+            public BuildOperationDescriptor.Builder description() {
+                return BuildOperationDescriptor.displayName("Unpack build cache entry " + key.getHashCode())
+                    .details(new UnpackOperationDetails(key, size))
+                    .progressDisplayName("Unpacking build cache entry");
+            }
+        });
+    }
+
+    /**
+     * Creates the manifest for an entry, to be stored via {@link #store(BuildCacheKey, PackedEntry)}.
+     */
+    PackedEntry pack(BuildCacheKey key, CacheableEntity entity, Map<String, ? extends FileSystemSnapshot> snapshots, OriginMetadata originMetadata) {
+        return buildOperationRunner.call(new CallableBuildOperation<PackedEntry>() {
+            @Override
+            public PackedEntry call(BuildOperationContext context) {
+                ImmutableMap.Builder<String, List<ManifestEntry>> propertyManifests = ImmutableMap.builder();
+                Map<ManifestEntry, File> contentLocations = new IdentityHashMap<>();
+                entity.visitOutputTrees((treeName, type, root) -> {
+                    FileSystemSnapshot treeSnapshot = snapshots.get(treeName);
+                    if (treeSnapshot != null) {
+                        propertyManifests.put(treeName, createTreeManifest(treeName, treeSnapshot, contentLocations));
+                    }
+                });
+                CacheManifest manifest = new CacheManifest(originMetadata, entity.getType().getName(), entity.getIdentity(), propertyManifests.build());
+                PackedEntry entry = new PackedEntry(manifest, contentLocations, sizeOf(manifest));
+                context.setResult(new PackOperationResult(entryCountOf(manifest), entry.getSize()));
+                return entry;
+            }
+
+            @Override
+            public BuildOperationDescriptor.Builder description() {
+                return BuildOperationDescriptor.displayName("Pack build cache entry " + key)
+                    .details(new PackOperationDetails(key))
+                    .progressDisplayName("Packing build cache entry");
+            }
+        });
+    }
+
+    void store(BuildCacheKey key, PackedEntry entry) {
+        service.storeManifest(key, entry.manifest, entry.contentLocations::get);
+    }
+
+    private static long sizeOf(CacheManifest manifest) {
+        long size = 0;
+        for (List<ManifestEntry> entries : manifest.getPropertyManifests().values()) {
+            for (ManifestEntry entry : entries) {
+                size += entry.getLength();
+            }
+        }
+        return size;
+    }
+
+    private static long entryCountOf(CacheManifest manifest) {
+        // Like in archives, the origin metadata counts as an entry
+        long entryCount = 1;
+        for (List<ManifestEntry> entries : manifest.getPropertyManifests().values()) {
+            entryCount += Math.max(1, entries.size());
+        }
+        return entryCount;
+    }
+
+    /**
+     * A manifest ready to be stored, together with the files the contents of its regular file entries can be copied from.
+     */
+    static class PackedEntry {
+        private final CacheManifest manifest;
+        private final Map<ManifestEntry, File> contentLocations;
+        private final long size;
+
+        private PackedEntry(CacheManifest manifest, Map<ManifestEntry, File> contentLocations, long size) {
+            this.manifest = manifest;
+            this.contentLocations = contentLocations;
+            this.size = size;
+        }
+
+        long getSize() {
+            return size;
+        }
+    }
+
+    private static List<ManifestEntry> createTreeManifest(String treeName, FileSystemSnapshot treeSnapshot, Map<ManifestEntry, File> contentLocations) {
+        ImmutableList.Builder<ManifestEntry> entries = ImmutableList.builder();
+        treeSnapshot.accept(new RelativePathTracker(), (snapshot, relativePath) -> {
+            boolean isRoot = relativePath.isRoot();
+            String path = isRoot ? "" : relativePath.toRelativePath();
+            switch (snapshot.getType()) {
+                case RegularFile:
+                    File file = new File(snapshot.getAbsolutePath());
+                    long length = ((RegularFileSnapshot) snapshot).getMetadata().getLength();
+                    ManifestEntry fileEntry = new ManifestEntry(FileType.RegularFile, path, snapshot.getHash(), length, unixModeOf(file));
+                    contentLocations.put(fileEntry, file);
+                    entries.add(fileEntry);
+                    break;
+                case Directory:
+                    // Like in archives, the root directory of a tree is always restored with the default permissions
+                    int mode = isRoot ? 0 : unixModeOf(new File(snapshot.getAbsolutePath()));
+                    entries.add(new ManifestEntry(FileType.Directory, path, snapshot.getHash(), 0, mode));
+                    break;
+                case Missing:
+                    if (!isRoot) {
+                        throw new IllegalStateException(String.format("Couldn't read content of file '%s' in tree '%s'", snapshot.getAbsolutePath(), treeName));
+                    }
+                    break;
+                default:
+                    throw new AssertionError();
+            }
+            return SnapshotVisitResult.CONTINUE;
+        });
+        return entries.build();
+    }
+
+    private BuildCacheLoadResult restore(CacheableEntity entity, CacheManifest manifest, BlobRestorer restorer) {
+        ImmutableSortedMap.Builder<String, FileSystemSnapshot> builder = ImmutableSortedMap.naturalOrder();
+        long[] entryCount = new long[1];
+        entity.visitOutputTrees((treeName, type, root) -> {
+            List<ManifestEntry> entries = manifest.getPropertyManifests().get(treeName);
+            try {
+                builder.put(treeName, restoreTree(treeName, type, root, entries == null ? ImmutableList.of() : entries, restorer));
+            } catch (IOException e) {
+                throw new UncheckedIOException(String.format("Could not restore tree '%s': %s", treeName, e.getMessage()), e);
+            }
+            entryCount[0] += entries == null ? 1 : Math.max(1, entries.size());
+        });
+        ImmutableSortedMap<String, FileSystemSnapshot> resultingSnapshots = builder.build();
+        OriginMetadata originMetadata = manifest.getOriginMetadata();
+        long artifactEntryCount = entryCount[0] + 1;
+        return new BuildCacheLoadResult() {
+            @Override
+            public long getArtifactEntryCount() {
+                return artifactEntryCount;
+            }
+
+            @Override
+            public OriginMetadata getOriginMetadata() {
+                return originMetadata;
+            }
+
+            @Override
+            public ImmutableSortedMap<String, FileSystemSnapshot> getResultingSnapshots() {
+                return resultingSnapshots;
+            }
+        };
+    }
+
+    private FileSystemLocationSnapshot restoreTree(String treeName, TreeType type, File root, List<ManifestEntry> entries, BlobRestorer restorer) throws IOException {
+        String rootPath = stringInterner.intern(root.getAbsolutePath());
+        if (entries.isEmpty()) {
+            FileUtils.forceMkdirParent(root);
+            FileUtils.deleteQuietly(root);
+            return new MissingFileSnapshot(rootPath, DIRECT);
+        }
+
+        ManifestEntry rootEntry = entries.get(0);
+        if (!rootEntry.getRelativePath().isEmpty()) {
+            throw new IllegalStateException("Root needs to be the first entry in a tree");
+        }
+        if (type == TreeType.FILE) {
+            if (rootEntry.getType() != FileType.RegularFile || entries.size() != 1) {
+                throw new IllegalStateException("Should be a file: " + treeName);
+            }
+            FileUtils.forceMkdirParent(root);
+            if (root.isDirectory()) {
+                FileUtils.deleteDirectory(root);
+            }
+            return restoreFile(rootEntry, root, rootPath, stringInterner.intern(root.getName()), restorer);
+        }
+        if (rootEntry.getType() != FileType.Directory) {
+            throw new IllegalStateException("Should be a directory: " + treeName);
+        }
+
+        if (root.isFile()) {
+            FileUtils.forceDelete(root);
+        }
+        FileUtils.forceMkdir(root);
+        FileUtils.cleanDirectory(root);
+
+        DirectorySnapshotBuilder builder = MerkleDirectorySnapshotBuilder.noSortingRequired();
+        builder.enterDirectory(DIRECT, rootPath, stringInterner.intern(root.getName()), INCLUDE_EMPTY_DIRS);
+        Deque<String> openDirectories = new ArrayDeque<>();
+        openDirectories.addLast("");
+        for (ManifestEntry entry : entries.subList(1, entries.size())) {
+            String relativePath = PathTraversalChecker.safePathName(entry.getRelativePath());
+            int lastSlash = relativePath.lastIndexOf('/');
+            String parentPath = lastSlash < 0 ? "" : relativePath.substring(0, lastSlash);
+            while (!parentPath.equals(openDirectories.peekLast())) {
+                openDirectories.removeLast();
+                if (openDirectories.isEmpty()) {
+                    throw new IllegalStateException(String.format("Entry '%s' is not ordered after its parent in tree '%s'", relativePath, treeName));
+                }
+                builder.leaveDirectory();
+            }
+
+            File file = new File(root, relativePath);
+            String absolutePath = stringInterner.intern(file.getAbsolutePath());
+            String name = stringInterner.intern(relativePath.substring(lastSlash + 1));
+            if (entry.getType() == FileType.Directory) {
+                FileUtils.forceMkdir(file);
+                chmod(file, entry.getUnixMode());
+                builder.enterDirectory(DIRECT, absolutePath, name, INCLUDE_EMPTY_DIRS);
+                openDirectories.addLast(relativePath);
+            } else {
+                builder.visitLeafElement(restoreFile(entry, file, absolutePath, name, restorer));
+            }
+        }
+        while (openDirectories.pollLast() != null) {
+            builder.leaveDirectory();
+        }
+        return builder.getResult();
+    }
+
+    private static RegularFileSnapshot restoreFile(ManifestEntry entry, File file, String absolutePath, String name, BlobRestorer restorer) throws IOException {
+        restorer.restore(entry, file);
+        return new RegularFileSnapshot(absolutePath, name, entry.getContentHash(), DefaultFileMetadata.file(entry.getLength(), file.lastModified(), DIRECT));
+    }
+
+    private static int unixModeOf(File file) {
+        PosixFileAttributeView view = Files.getFileAttributeView(file.toPath(), PosixFileAttributeView.class);
+        if (view == null) {
+            return 0;
+        }
+        try {
+            return PosixFilePermissionConverter.convertToInt(view.readAttributes().permissions());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void chmod(File file, int mode) throws IOException {
+        if (mode == 0) {
+            return;
+        }
+        PosixFileAttributeView view = Files.getFileAttributeView(file.toPath(), PosixFileAttributeView.class);
+        if (view != null) {
+            view.setPermissions(PosixFilePermissionConverter.convertToPermissionsSet(mode));
+        }
+    }
+}
@@ -42,6 +42,7 @@
 import org.gradle.caching.internal.origin.OriginWriter;
 import org.gradle.caching.internal.packaging.BuildCacheEntryPacker;
 import org.gradle.caching.local.internal.BuildCacheTempFileStore;
+import org.gradle.caching.local.internal.ContentAddressedLocalBuildCacheService;
 import org.gradle.caching.local.internal.DefaultBuildCacheTempFileStore;
 import org.gradle.caching.local.internal.LocalBuildCacheService;
 import org.gradle.caching.local.internal.TemporaryFileFactory;
@@ -66,6 +67,7 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.time.Duration;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
@@ -80,6 +82,9 @@ public class DefaultBuildCacheController implements BuildCacheController {
 
     private final BuildCacheTempFileStore tmp;
     private final PackOperationExecutor packExecutor;
+    @Nullable
+    private final ContentAddressedEntryExecutor contentAddressedExecutor;
+    private final OriginMetadataFactory originMetadataFactory;
 
     private boolean closed;
 
@@ -103,6 +108,8 @@ public DefaultBuildCacheController(
             originMetadataFactory,
             stringInterner
         );
+        this.contentAddressedExecutor = toContentAddressedExecutor(config.getLocal(), buildOperationRunner, stringInterner);
+        this.originMetadataFactory = originMetadataFactory;
     }
 
     @Override
@@ -121,6 +128,9 @@ public Optional<BuildCacheLoadResult> load(BuildCacheKey key, CacheableEntity en
 
     private Optional<BuildCacheLoadResult> loadLocal(BuildCacheKey key, CacheableEntity entity) {
         try {
+            if (contentAddressedExecutor != null) {
+                return local.maybeLoadDirectly(key, sizeConsumer -> contentAddressedExecutor.load(key, entity, sizeConsumer));
+            }
             return local.maybeLoad(key, file -> packExecutor.unpack(key, entity, file));
         } catch (Exception e) {
             throw new BuildCacheOperationException("Could not load from local cache: " + e.getMessage(), e);
@@ -140,7 +150,14 @@ private Optional<BuildCacheLoadResult> loadRemoteAndStoreResultLocally(BuildCach
                 throw new BuildCacheOperationException("Could not load from remote cache: " + e.getMessage(), e);
             }
             if (remoteResult.isPresent()) {
-                local.maybeStore(key, file);
+                if (contentAddressedExecutor != null) {
+                    if (local.canStore()) {
+                        BuildCacheLoadResult loadResult = remoteResult.get();
+                        storeLocallyContentAddressed(contentAddressedExecutor, key, entity, loadResult.getResultingSnapshots(), loadResult.getOriginMetadata());
+                    }
+                } else {
+                    local.maybeStore(key, file);
+                }
                 result.set(remoteResult);
             }
         });
@@ -152,6 +169,20 @@ public void store(BuildCacheKey key, CacheableEntity entity, Map<String, FileSys
         if (!local.canStore() && !remote.canStore()) {
             return;
         }
+        if (contentAddressedExecutor != null) {
+            if (local.canStore()) {
+                HashCode cacheKey = ((BuildCacheKeyInternal) key).getHashCodeInternal();
+                storeLocallyContentAddressed(contentAddressedExecutor, key, entity, snapshots, originMetadataFactory.createMetadata(cacheKey, executionTime));
+            }
+            if (!remote.canStore()) {
+                return;
+            }
+            tmp.withTempFile(((BuildCacheKeyInternal) key).getHashCodeInternal(), file -> {
+                packExecutor.pack(file, key, entity, snapshots, executionTime);
+                remote.maybeStore(key, file);
+            });
+            return;
+        }
         tmp.withTempFile(((BuildCacheKeyInternal) key).getHashCodeInternal(), file -> {
             packExecutor.pack(file, key, entity, snapshots, executionTime);
             remote.maybeStore(key, file);
@@ -159,6 +190,16 @@ public void store(BuildCacheKey key, CacheableEntity entity, Map<String, FileSys
         });
     }
 
+    private void storeLocallyContentAddressed(ContentAddressedEntryExecutor executor, BuildCacheKey key, CacheableEntity entity, Map<String, ? extends FileSystemSnapshot> snapshots, OriginMetadata originMetadata) {
+        ContentAddressedEntryExecutor.PackedEntry entry = executor.pack(key, entity, snapshots, originMetadata);
+        local.maybeStoreDirectly(key, entry.getSize(), () -> executor.store(key, entry));
+    }
+
+    @Override
+    public void prefetch(Collection<BuildCacheKey> cacheKeys) {
+        remote.maybePrefetch(cacheKeys);
+    }
+
     @Override
     public void close() throws IOException {
         if (!closed) {
@@ -281,6 +322,13 @@ private static LocalBuildCacheServiceHandle toLocalHandle(@Nullable LocalBuildCa
             : new OpFiringLocalBuildCacheServiceHandle(local, localPush, buildOperationRunner);
     }
 
+    @Nullable
+    private static ContentAddressedEntryExecutor toContentAddressedExecutor(@Nullable LocalBuildCacheService local, BuildOperationRunner buildOperationRunner, Interner<String> stringInterner) {
+        return local instanceof ContentAddressedLocalBuildCacheService
+            ? new ContentAddressedEntryExecutor((ContentAddressedLocalBuildCacheService) local, buildOperationRunner, stringInterner)
+            : null;
+    }
+
     private static BuildCacheTempFileStore toTempFileStore(@Nullable LocalBuildCacheService local, TemporaryFileFactory temporaryFileFactory) {
         return local != null
             ? local
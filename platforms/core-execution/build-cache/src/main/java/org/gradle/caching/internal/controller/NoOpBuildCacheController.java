@@ -22,6 +22,7 @@
 import org.gradle.internal.snapshot.FileSystemSnapshot;
 
 import java.time.Duration;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
 
@@ -47,6 +48,11 @@ public void store(BuildCacheKey cacheKey, CacheableEntity entity, Map<String, Fi
 
     }
 
+    @Override
+    public void prefetch(Collection<BuildCacheKey> cacheKeys) {
+
+    }
+
     @Override
     public void close() {
 
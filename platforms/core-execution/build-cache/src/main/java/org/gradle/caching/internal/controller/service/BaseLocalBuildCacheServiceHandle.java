@@ -25,6 +25,7 @@
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
+import java.util.function.LongConsumer;
 
 public class BaseLocalBuildCacheServiceHandle implements LocalBuildCacheServiceHandle {
 
@@ -67,6 +68,24 @@ protected void storeInner(BuildCacheKey key, File file) {
         service.storeLocally(key, file);
     }
 
+    @Override
+    public Optional<BuildCacheLoadResult> maybeLoadDirectly(BuildCacheKey key, Function<LongConsumer, Optional<BuildCacheLoadResult>> loadFunction) {
+        return loadFunction.apply(size -> {});
+    }
+
+    @Override
+    public boolean maybeStoreDirectly(BuildCacheKey key, long size, Runnable storeAction) {
+        if (canStore()) {
+            storeDirectlyInner(key, size, storeAction);
+            return true;
+        }
+        return false;
+    }
+
+    protected void storeDirectlyInner(BuildCacheKey key, long size, Runnable storeAction) {
+        storeAction.run();
+    }
+
     @Override
     public void close() throws IOException {
         service.close();
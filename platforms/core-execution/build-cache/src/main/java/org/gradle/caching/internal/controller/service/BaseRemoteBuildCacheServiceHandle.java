@@ -19,11 +19,13 @@
 import org.gradle.caching.BuildCacheEntryReader;
 import org.gradle.caching.BuildCacheKey;
 import org.gradle.caching.BuildCacheService;
+import org.gradle.caching.internal.PrefetchingBuildCacheService;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.util.Collection;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.function.Function;
@@ -120,6 +122,18 @@ private static Optional<BuildCacheLoadResult> maybeUnpack(LoadTarget loadTarget,
         return Optional.empty();
     }
 
+    @Override
+    public void maybePrefetch(Collection<BuildCacheKey> keys) {
+        if (canLoad() && service instanceof PrefetchingBuildCacheService) {
+            try {
+                ((PrefetchingBuildCacheService) service).prefetch(keys);
+            } catch (Exception e) {
+                // Prefetching is only an optimization, loading the entries will report any actual problem
+                LOGGER.debug("Could not prefetch entries from {} build cache", role.getDisplayName(), e);
+            }
+        }
+    }
+
     @Override
     public boolean canStore() {
         return pushEnabled && !disabled;
@@ -25,6 +25,7 @@
 import java.io.File;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.function.LongConsumer;
 
 public interface LocalBuildCacheServiceHandle extends Closeable {
 
@@ -46,4 +47,20 @@ public interface LocalBuildCacheServiceHandle extends Closeable {
      */
     boolean maybeStore(BuildCacheKey key, File file);
 
+    /**
+     * Loads an entry that the given function restores directly from the local cache, without going through an archive.
+     *
+     * The function reports the size of the entry it restores to the consumer it is passed, and returns empty on a miss.
+     */
+    Optional<BuildCacheLoadResult> maybeLoadDirectly(BuildCacheKey key, Function<LongConsumer, Optional<BuildCacheLoadResult>> loadFunction);
+
+    /**
+     * Stores an entry of the given size directly to the local cache via the given action, without going through an archive.
+     *
+     * If canStore() returns false, then this method will do nothing and will return false.
+     *
+     * Returns true if store was completed.
+     */
+    boolean maybeStoreDirectly(BuildCacheKey key, long size, Runnable storeAction);
+
 }
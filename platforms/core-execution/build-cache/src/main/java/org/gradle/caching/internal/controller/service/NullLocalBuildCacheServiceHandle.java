@@ -23,6 +23,7 @@
 import java.io.File;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.function.LongConsumer;
 
 public class NullLocalBuildCacheServiceHandle implements LocalBuildCacheServiceHandle {
 
@@ -52,6 +53,16 @@ public boolean maybeStore(BuildCacheKey key, File file) {
         return false;
     }
 
+    @Override
+    public Optional<BuildCacheLoadResult> maybeLoadDirectly(BuildCacheKey key, Function<LongConsumer, Optional<BuildCacheLoadResult>> loadFunction) {
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean maybeStoreDirectly(BuildCacheKey key, long size, Runnable storeAction) {
+        return false;
+    }
+
     @Override
     public void close() {
 
@@ -21,6 +21,7 @@
 import org.jspecify.annotations.Nullable;
 
 import java.io.File;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.function.Function;
 
@@ -44,6 +45,10 @@ public Optional<BuildCacheLoadResult> maybeLoad(BuildCacheKey key, File toFile,
         return Optional.empty();
     }
 
+    @Override
+    public void maybePrefetch(Collection<BuildCacheKey> keys) {
+    }
+
     @Override
     public boolean canStore() {
         return false;
@@ -30,6 +30,7 @@
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
+import java.util.function.LongConsumer;
 
 public class OpFiringLocalBuildCacheServiceHandle extends BaseLocalBuildCacheServiceHandle {
     private static final BuildCacheLocalStoreBuildOperationType.Result LOCAL_STORE_RESULT = new BuildCacheLocalStoreBuildOperationType.Result() {
@@ -85,6 +86,42 @@ public BuildOperationDescriptor.Builder description() {
         });
     }
 
+    @Override
+    public Optional<BuildCacheLoadResult> maybeLoadDirectly(BuildCacheKey key, Function<LongConsumer, Optional<BuildCacheLoadResult>> loadFunction) {
+        return buildOperationRunner.call(new CallableBuildOperation<Optional<BuildCacheLoadResult>>() {
+            @Override
+            public Optional<BuildCacheLoadResult> call(BuildOperationContext context) {
+                AtomicReference<Long> archiveSize = new AtomicReference<>();
+                Optional<BuildCacheLoadResult> result = loadFunction.apply(archiveSize::set);
+                context.setResult(new LocalLoadResult(result, archiveSize));
+                return result;
+            }
+
+            @Override
+            public BuildOperationDescriptor.Builder description() {
+                return BuildOperationDescriptor.displayName("Load entry " + key.getHashCode() + " from local build cache")
+                    .details(new LocalLoadDetails(key));
+            }
+        });
+    }
+
+    @Override
+    protected void storeDirectlyInner(BuildCacheKey key, long size, Runnable storeAction) {
+        buildOperationRunner.run(new RunnableBuildOperation() {
+            @Override
+            public void run(BuildOperationContext context) {
+                OpFiringLocalBuildCacheServiceHandle.super.storeDirectlyInner(key, size, storeAction);
+                context.setResult(LOCAL_STORE_RESULT);
+            }
+
+            @Override
+            public BuildOperationDescriptor.Builder description() {
+                return BuildOperationDescriptor.displayName("Store entry " + key.getHashCode() + " in local build cache")
+                    .details(new LocalStoreDetails(key, size));
+            }
+        });
+    }
+
     private static class LocalLoadDetails implements BuildCacheLocalLoadBuildOperationType.Details {
 
         private final BuildCacheKey key;
@@ -128,10 +165,14 @@ private static class LocalStoreDetails implements BuildCacheLocalStoreBuildOpera
         private final long archiveSize;
 
         public LocalStoreDetails(BuildCacheKey key, File file) {
-            this.key = key;
             // We need to calculate the size eagerly here, since the file will already be gone
             // (aka in the local cache), when the DV plugin queries the value.
-            this.archiveSize = file.length();
+            this(key, file.length());
+        }
+
+        public LocalStoreDetails(BuildCacheKey key, long archiveSize) {
+            this.key = key;
+            this.archiveSize = archiveSize;
         }
 
         @Override
@@ -23,6 +23,7 @@
 
 import java.io.Closeable;
 import java.io.File;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.function.Function;
 
@@ -41,6 +42,13 @@ public interface RemoteBuildCacheServiceHandle extends Closeable {
      */
     Optional<BuildCacheLoadResult> maybeLoad(BuildCacheKey key, File toFile, Function<File, BuildCacheLoadResult> unpackFunction);
 
+    /**
+     * Starts looking up the given keys ahead of loading them, if the service supports it.
+     *
+     * If canLoad() returns false, then this method will do nothing.
+     */
+    void maybePrefetch(Collection<BuildCacheKey> keys);
+
     boolean canStore();
 
     /**
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.caching.local.internal;
+
+import org.gradle.caching.BuildCacheKey;
+import org.gradle.caching.internal.controller.CacheManifest;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * A local build cache service that stores entries as {@link CacheManifest manifests} pointing into a content-addressed blob store.
+ *
+ * Files with the same content are only stored once, no matter how many cache entries contain them.
+ * Entries stored via {@link #storeLocally(BuildCacheKey, File)} are kept as archives.
+ */
+public interface ContentAddressedLocalBuildCacheService extends LocalBuildCacheService {
+
+    /**
+     * Loads the manifest stored for the given key, and passes it to the {@code loader} to restore its contents.
+     *
+     * The blobs referenced by the manifest are guaranteed to stay available while the loader runs.
+     * Returns empty if there is no manifest for the key, or if any of its blobs have been removed.
+     */
+    <T> Optional<T> loadManifest(BuildCacheKey key, ManifestLoader<T> loader);
+
+    /**
+     * Stores the manifest for the given key, together with the contents of the regular files it references
+     * that are not in the blob store yet.
+     *
+     * @param contentLocator returns the file the content of a regular file entry can be copied from.
+     */
+    void storeManifest(BuildCacheKey key, CacheManifest manifest, Function<CacheManifest.ManifestEntry, File> contentLocator);
+
+    @FunctionalInterface
+    interface ManifestLoader<T> {
+        T load(CacheManifest manifest, BlobRestorer restorer) throws IOException;
+    }
+
+    @FunctionalInterface
+    interface BlobRestorer {
+        /**
+         * Makes the content of the given regular file entry available at {@code target}, replacing anything already there.
+         */
+        void restore(CacheManifest.ManifestEntry entry, File target) throws IOException;
+    }
+}
@@ -24,8 +24,14 @@ import org.gradle.caching.BuildCacheService
 import org.gradle.caching.internal.CacheableEntity
 import org.gradle.caching.internal.SimpleBuildCacheKey
 import org.gradle.caching.internal.controller.service.BuildCacheServicesConfiguration
+import org.gradle.caching.internal.operations.BuildCacheArchivePackBuildOperationType
+import org.gradle.caching.internal.operations.BuildCacheArchiveUnpackBuildOperationType
+import org.gradle.caching.internal.operations.BuildCacheLocalLoadBuildOperationType
+import org.gradle.caching.internal.operations.BuildCacheLocalStoreBuildOperationType
+import org.gradle.caching.internal.origin.OriginMetadata
 import org.gradle.caching.internal.origin.OriginMetadataFactory
 import org.gradle.caching.internal.packaging.BuildCacheEntryPacker
+import org.gradle.caching.local.internal.ContentAddressedLocalBuildCacheService
 import org.gradle.caching.local.internal.LocalBuildCacheService
 import org.gradle.caching.local.internal.TemporaryFileFactory
 import org.gradle.internal.hash.HashCode
@@ -73,6 +79,8 @@ class DefaultBuildCacheControllerTest extends Specification {
 
     interface Local extends BuildCacheService, LocalBuildCacheService {}
 
+    interface ContentAddressedLocal extends BuildCacheService, ContentAddressedLocalBuildCacheService {}
+
     BuildCacheController getController(boolean disableRemoteOnError = true) {
         new DefaultBuildCacheController(
             new BuildCacheServicesConfiguration(
@@ -266,6 +274,74 @@ class DefaultBuildCacheControllerTest extends Specification {
         1 * remote.store(key, _)
     }
 
+    def "content-addressed local store fires pack and local store operations"() {
+        given:
+        local = Mock(ContentAddressedLocal)
+        remote = null
+
+        when:
+        controller.store(key, cacheableEntity, snapshots, executionTime)
+
+        then:
+        1 * local.storeManifest(key, _, _)
+
+        and:
+        with(operations.log.mostRecent(BuildCacheArchivePackBuildOperationType)) {
+            details.cacheKey == key.hashCode
+            result.archiveEntryCount == 1
+            result.archiveSize == 0
+        }
+        with(operations.log.mostRecent(BuildCacheLocalStoreBuildOperationType)) {
+            details.cacheKey == key.hashCode
+            details.archiveSize == 0
+            result.stored
+        }
+    }
+
+    def "content-addressed local load fires local load and unpack operations"() {
+        given:
+        local = Mock(ContentAddressedLocal)
+        remote = null
+        def manifest = new CacheManifest(new OriginMetadata("build-id", key.hashCodeInternal, executionTime), CacheableEntity.name, ":test", [:])
+
+        when:
+        def loaded = controller.load(key, cacheableEntity)
+
+        then:
+        1 * local.loadManifest(key, _) >> { BuildCacheKey key, ContentAddressedLocalBuildCacheService.ManifestLoader loader ->
+            Optional.of(loader.load(manifest, Stub(ContentAddressedLocalBuildCacheService.BlobRestorer)))
+        }
+
+        and:
+        loaded.present
+        with(operations.log.mostRecent(BuildCacheLocalLoadBuildOperationType)) {
+            details.cacheKey == key.hashCode
+            result.hit
+            result.archiveSize == 0
+        }
+        with(operations.log.mostRecent(BuildCacheArchiveUnpackBuildOperationType)) {
+            details.cacheKey == key.hashCode
+            result.archiveEntryCount == 1
+        }
+    }
+
+    def "content-addressed local miss fires local load operation"() {
+        given:
+        local = Mock(ContentAddressedLocal)
+        remote = null
+
+        when:
+        def loaded = controller.load(key, cacheableEntity)
+
+        then:
+        1 * local.loadManifest(key, _) >> Optional.empty()
+
+        and:
+        !loaded.present
+        !operations.log.mostRecent(BuildCacheLocalLoadBuildOperationType).result.hit
+        operations.log.all(BuildCacheArchiveUnpackBuildOperationType).empty
+    }
+
     def "close only closes once"() {
         when:
         def controller = getController()
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.workers.internal;
+
+import org.gradle.internal.serialize.Decoder;
+import org.gradle.internal.serialize.Encoder;
+import org.gradle.internal.serialize.Message;
+import org.gradle.internal.serialize.Serializer;
+
+/**
+ * Serializes the result of a unit of work sent back from a worker daemon.
+ * <p>
+ * Most units of work succeed, so the common case is encoded as a single byte.
+ * Failures still use Java serialization, which takes care of exceptions that cannot be serialized.
+ */
+public class DefaultWorkResultSerializer implements Serializer<DefaultWorkResult> {
+    private static final byte SUCCESS = (byte) 0;
+    private static final byte SUCCESS_WITHOUT_WORK = (byte) 1;
+    private static final byte FAILURE = (byte) 2;
+
+    @Override
+    public void write(Encoder encoder, DefaultWorkResult result) throws Exception {
+        Throwable exception = result.getException();
+        if (exception != null) {
+            encoder.writeByte(FAILURE);
+            encoder.writeBoolean(result.getDidWork());
+            Message.send(exception, encoder.getOutputStream());
+        } else {
+            encoder.writeByte(result.getDidWork() ? SUCCESS : SUCCESS_WITHOUT_WORK);
+        }
+    }
+
+    @Override
+    public DefaultWorkResult read(Decoder decoder) throws Exception {
+        byte tag = decoder.readByte();
+        switch (tag) {
+            case SUCCESS:
+                return DefaultWorkResult.SUCCESS;
+            case SUCCESS_WITHOUT_WORK:
+                return new DefaultWorkResult(false, null);
+            case FAILURE:
+                boolean didWork = decoder.readBoolean();
+                Throwable exception = (Throwable) Message.receive(decoder.getInputStream(), getClass().getClassLoader());
+                return new DefaultWorkResult(didWork, exception);
+            default:
+                throw new IllegalArgumentException("Unexpected work result tag " + tag + " found.");
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.workers.internal
+
+import org.gradle.internal.serialize.kryo.KryoBackedDecoder
+import org.gradle.internal.serialize.kryo.KryoBackedEncoder
+import spock.lang.Specification
+
+class DefaultWorkResultSerializerTest extends Specification {
+    def serializer = new DefaultWorkResultSerializer()
+
+    def "can serialize and deserialize a successful result"() {
+        when:
+        def decoded = roundTrip(new DefaultWorkResult(didWork, null))
+
+        then:
+        decoded.didWork == didWork
+        decoded.exception == null
+        decoded.success
+
+        where:
+        didWork << [true, false]
+    }
+
+    def "can serialize and deserialize a failed result"() {
+        def failure = new IllegalStateException("broken", new RuntimeException("cause"))
+
+        when:
+        def decoded = roundTrip(new DefaultWorkResult(true, failure))
+
+        then:
+        decoded.didWork
+        !decoded.success
+        decoded.exception instanceof IllegalStateException
+        decoded.exception.message == "broken"
+        decoded.exception.cause.message == "cause"
+    }
+
+    DefaultWorkResult roundTrip(DefaultWorkResult result) {
+        def outputStream = new ByteArrayOutputStream()
+        def encoder = new KryoBackedEncoder(outputStream)
+        serializer.write(encoder, result)
+        encoder.flush()
+        return serializer.read(new KryoBackedDecoder(new ByteArrayInputStream(outputStream.toByteArray())))
+    }
+}
@@ -31,6 +31,7 @@
 import org.slf4j.LoggerFactory;
 import org.slf4j.helpers.NOPLogger;
 
+import java.util.Collections;
 import java.util.Formatter;
 import java.util.List;
 
@@ -62,7 +63,14 @@ public CachingResult execute(UnitOfWork work, C context) {
                 : calculateCachingStateWithNoCapturedInputs(work));
 
         cachingState.apply(
-            enabled -> logCacheKey(enabled.getCacheKeyCalculatedState().getKey(), work),
+            enabled -> {
+                BuildCacheKey cacheKey = enabled.getCacheKeyCalculatedState().getKey();
+                logCacheKey(cacheKey, work);
+                if (work.isAllowedToLoadFromCache() && !isUpToDate(context)) {
+                    // Let the remote lookup run while the work is prepared for loading from the cache
+                    buildCache.prefetch(Collections.singleton(cacheKey));
+                }
+            },
             disabled -> logDisabledReasons(disabled.getDisabledReasons(), work)
         );
 
@@ -93,6 +101,13 @@ protected HashCode calculateCacheKey(C context, BeforeExecutionState beforeExecu
         return cachingStateFactory.calculateCacheKey(beforeExecutionState);
     }
 
+    /**
+     * Whether the work is going to be skipped as up-to-date, in which case nothing is loaded from the build cache.
+     */
+    protected boolean isUpToDate(C context) {
+        return false;
+    }
+
     protected abstract void checkIfWorkIsCacheable(UnitOfWork work, C context, ImmutableList.Builder<CachingDisabledReason> cachingDisabledReasonsBuilder);
 
     protected abstract UpToDateResult executeDelegate(UnitOfWork work, C context, CachingState cachingState);
@@ -57,6 +57,12 @@ private static Optional<HashCode> getPreviousCacheKeyIfApplicable(MutableChanges
                 .map(PreviousExecutionState::getCacheKey));
     }
 
+    @Override
+    protected boolean isUpToDate(C context) {
+        // Same as SkipUpToDateStep
+        return context.getChanges().isPresent() && context.getRebuildReasons().isEmpty();
+    }
+
     @Override
     protected void checkIfWorkIsCacheable(UnitOfWork work, C context, ImmutableList.Builder<CachingDisabledReason> cachingDisabledReasonsBuilder) {
         OverlappingOutputs detectedOverlappingOutputs = context.getDetectedOverlappingOutputs()
@@ -103,4 +103,31 @@ class ResolveMutableCachingStateStepTest extends AbstractResolveCachingStateStep
         where:
         buildCacheEnabled << [true, false]
     }
+
+    def "prefetches cache entry only for work that is going to load from the cache"() {
+        delegateResult.executionReasons >> ImmutableList.of()
+        delegateResult.reusedOutputOriginMetadata >> Optional.empty()
+        delegateResult.afterExecutionOutputState >> Optional.empty()
+        work.allowedToLoadFromCache >> allowedToLoad
+
+        when:
+        step.execute(work, context)
+        then:
+        _ * buildCache.enabled >> true
+        _ * context.changes >> (hasChanges ? Optional.of(executionStateChanges) : Optional.empty())
+        _ * context.rebuildReasons >> ImmutableList.copyOf(rebuildReasons)
+        _ * context.beforeExecutionState >> Optional.of(beforeExecutionState)
+        _ * executionStateChanges.changeDescriptions >> ImmutableList.copyOf(rebuildReasons)
+        _ * context.previousExecutionState >> Optional.empty()
+        _ * context.validationProblems >> ImmutableList.of()
+        (prefetched ? 1 : 0) * buildCache.prefetch(_)
+        1 * delegate.execute(work, _) >> delegateResult
+
+        where:
+        allowedToLoad | hasChanges | rebuildReasons  | prefetched
+        true          | true       | []              | false
+        true          | true       | ["Out-of-date"] | true
+        true          | false      | ["No history"]  | true
+        false         | true       | ["Out-of-date"] | false
+    }
 }
@@ -23,4 +23,14 @@ public interface FileSystemWatchingStatistics {
     int getRetainedRegularFiles();
     int getRetainedDirectories();
     int getRetainedMissingFiles();
+
+    /**
+     * The number of files, directories and missing files restored from the state saved by a previous daemon.
+     */
+    int getRestoredFileSystemEntries();
+
+    /**
+     * The number of files, directories and missing files saved by a previous daemon that were not restored, since they have changed.
+     */
+    int getDiscardedFileSystemEntries();
 }
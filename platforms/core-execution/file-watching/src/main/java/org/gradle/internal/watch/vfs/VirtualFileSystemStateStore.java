@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.watch.vfs;
+
+import com.google.common.collect.ImmutableList;
+import org.gradle.internal.snapshot.FileSystemLocationSnapshot;
+import org.gradle.internal.snapshot.SnapshotHierarchy;
+
+import java.util.List;
+
+/**
+ * Keeps the contents of the virtual file system between daemons, so a new daemon does not need to snapshot everything again.
+ */
+public interface VirtualFileSystemStateStore {
+    VirtualFileSystemStateStore NONE = new VirtualFileSystemStateStore() {
+        @Override
+        public void save(SnapshotHierarchy root) {
+        }
+
+        @Override
+        public RestoredState restore() {
+            return RestoredState.EMPTY;
+        }
+    };
+
+    /**
+     * Saves the snapshots of the given root, replacing any previously saved state.
+     */
+    void save(SnapshotHierarchy root);
+
+    /**
+     * Restores the snapshots saved by {@link #save(SnapshotHierarchy)} that still match the file system, and removes the saved state.
+     */
+    RestoredState restore();
+
+    class RestoredState {
+        public static final RestoredState EMPTY = new RestoredState(ImmutableList.of(), 0, 0);
+
+        private final List<FileSystemLocationSnapshot> snapshots;
+        private final int restoredEntries;
+        private final int discardedEntries;
+
+        public RestoredState(List<FileSystemLocationSnapshot> snapshots, int restoredEntries, int discardedEntries) {
+            this.snapshots = snapshots;
+            this.restoredEntries = restoredEntries;
+            this.discardedEntries = discardedEntries;
+        }
+
+        /**
+         * The snapshots that still match the file system.
+         */
+        public List<FileSystemLocationSnapshot> getSnapshots() {
+            return snapshots;
+        }
+
+        /**
+         * The number of files, directories and missing files in the restored snapshots.
+         */
+        public int getRestoredEntries() {
+            return restoredEntries;
+        }
+
+        /**
+         * The number of saved files, directories and missing files that did not match the file system anymore.
+         */
+        public int getDiscardedEntries() {
+            return discardedEntries;
+        }
+    }
+}
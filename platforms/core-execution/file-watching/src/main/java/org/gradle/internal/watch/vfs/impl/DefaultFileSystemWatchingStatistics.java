@@ -28,13 +28,26 @@
 public class DefaultFileSystemWatchingStatistics implements FileSystemWatchingStatistics {
     private final FileWatcherRegistry.FileWatchingStatistics fileWatchingStatistics;
     private final VirtualFileSystemStatistics vfsStatistics;
+    private final int restoredFileSystemEntries;
+    private final int discardedFileSystemEntries;
 
     public DefaultFileSystemWatchingStatistics(
         FileWatcherRegistry.FileWatchingStatistics fileWatchingStatistics,
         SnapshotHierarchy vfsRoot
+    ) {
+        this(fileWatchingStatistics, vfsRoot, 0, 0);
+    }
+
+    public DefaultFileSystemWatchingStatistics(
+        FileWatcherRegistry.FileWatchingStatistics fileWatchingStatistics,
+        SnapshotHierarchy vfsRoot,
+        int restoredFileSystemEntries,
+        int discardedFileSystemEntries
     ) {
         this.fileWatchingStatistics = fileWatchingStatistics;
         this.vfsStatistics = getStatistics(vfsRoot);
+        this.restoredFileSystemEntries = restoredFileSystemEntries;
+        this.discardedFileSystemEntries = discardedFileSystemEntries;
     }
 
     @Override
@@ -62,6 +75,16 @@ public int getRetainedMissingFiles() {
         return vfsStatistics.getRetained(FileType.Missing);
     }
 
+    @Override
+    public int getRestoredFileSystemEntries() {
+        return restoredFileSystemEntries;
+    }
+
+    @Override
+    public int getDiscardedFileSystemEntries() {
+        return discardedFileSystemEntries;
+    }
+
     private static VirtualFileSystemStatistics getStatistics(SnapshotHierarchy root) {
         EnumMultiset<FileType> retained = EnumMultiset.create(FileType.class);
         root.rootSnapshots()
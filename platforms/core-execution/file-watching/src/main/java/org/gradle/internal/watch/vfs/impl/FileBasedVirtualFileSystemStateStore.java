@@ -0,0 +1,372 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.watch.vfs.impl;
+
+import org.gradle.internal.file.FileMetadata;
+import org.gradle.internal.file.impl.DefaultFileMetadata;
+import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.snapshot.DirectorySnapshot;
+import org.gradle.internal.snapshot.FileSystemLocationSnapshot;
+import org.gradle.internal.snapshot.MissingFileSnapshot;
+import org.gradle.internal.snapshot.PathUtil;
+import org.gradle.internal.snapshot.RegularFileSnapshot;
+import org.gradle.internal.snapshot.SnapshotHierarchy;
+import org.gradle.internal.watch.vfs.VirtualFileSystemStateStore;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Saves the snapshots of the virtual file system to a file, and restores the snapshots that still match the file system.
+ *
+ * <p>A regular file matches when its length, modification time and file key (the inode on Unix) are the same as when it was snapshotted.
+ * A directory matches when its modification time and file key are the same as when the state was saved, and all its children match.
+ * When a directory does not match, its children that still match are restored on their own.</p>
+ *
+ * <p>Entries that changed shortly before the state was saved are not restored, since a later change may not
+ * update their modification time on file systems with a coarse timestamp resolution.
+ * Entries accessed via symbolic links are not restored either.</p>
+ */
+public class FileBasedVirtualFileSystemStateStore implements VirtualFileSystemStateStore {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileBasedVirtualFileSystemStateStore.class);
+
+    private static final int MAGIC = 0x47564653;
+    private static final int FORMAT_VERSION = 1;
+    private static final long RECENTLY_MODIFIED_MILLIS = 2000;
+
+    private static final byte DIRECTORY = 0;
+    private static final byte REGULAR_FILE = 1;
+    private static final byte MISSING = 2;
+    private static final byte UNTRUSTED = 3;
+    private static final byte END_OF_DIRECTORY = 4;
+    private static final byte END = 5;
+
+    private final File stateFile;
+
+    public FileBasedVirtualFileSystemStateStore(File stateFile) {
+        this.stateFile = stateFile;
+    }
+
+    @Override
+    public void save(SnapshotHierarchy root) {
+        List<FileSystemLocationSnapshot> rootSnapshots = root.rootSnapshots().collect(Collectors.toList());
+        Path tempFile = null;
+        try {
+            Path stateDir = Files.createDirectories(stateFile.getParentFile().toPath());
+            // Use a unique temporary file, so daemons saving their state at the same time don't write to the same file
+            tempFile = Files.createTempFile(stateDir, stateFile.getName(), ".tmp");
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(FORMAT_VERSION);
+                Writer writer = new Writer(output, System.currentTimeMillis() - RECENTLY_MODIFIED_MILLIS);
+                for (FileSystemLocationSnapshot snapshot : rootSnapshots) {
+                    writer.write(snapshot, snapshot.getAbsolutePath());
+                }
+                output.writeByte(END);
+            }
+            try {
+                Files.move(tempFile, stateFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, stateFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            LOGGER.debug("Saved virtual file system state to {}", stateFile);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.info("Could not save virtual file system state to {}", stateFile, e);
+            if (tempFile != null) {
+                deleteQuietly(tempFile.toFile());
+            }
+        }
+    }
+
+    @Override
+    public RestoredState restore() {
+        if (!stateFile.isFile()) {
+            return RestoredState.EMPTY;
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(stateFile.toPath())))) {
+            if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION) {
+                LOGGER.debug("Ignoring virtual file system state in {} with unsupported format", stateFile);
+                return RestoredState.EMPTY;
+            }
+            Reader reader = new Reader(input);
+            List<FileSystemLocationSnapshot> snapshots = new ArrayList<>();
+            byte kind;
+            while ((kind = input.readByte()) != END) {
+                String absolutePath = readString(input);
+                reader.read(kind, absolutePath, PathUtil.getFileName(absolutePath), snapshots);
+            }
+            LOGGER.debug("Restored {} and discarded {} file system entries from {}", reader.restoredEntries, reader.discardedEntries, stateFile);
+            return new RestoredState(snapshots, reader.restoredEntries, reader.discardedEntries);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.info("Could not restore virtual file system state from {}", stateFile, e);
+            return RestoredState.EMPTY;
+        } finally {
+            // The state is only restored once, later daemons need to start from the state saved by an earlier daemon that stopped
+            deleteQuietly(stateFile);
+        }
+    }
+
+    private static class Writer {
+        private final DataOutputStream output;
+        private final long recentlyModifiedAfter;
+
+        Writer(DataOutputStream output, long recentlyModifiedAfter) {
+            this.output = output;
+            this.recentlyModifiedAfter = recentlyModifiedAfter;
+        }
+
+        void write(FileSystemLocationSnapshot snapshot, String pathToWrite) throws IOException {
+            if (snapshot.getAccessType() != FileMetadata.AccessType.DIRECT) {
+                writeUntrusted(pathToWrite);
+                return;
+            }
+            BasicFileAttributes attributes;
+            try {
+                attributes = readAttributes(snapshot.getAbsolutePath());
+            } catch (IOException e) {
+                writeUntrusted(pathToWrite);
+                return;
+            }
+            switch (snapshot.getType()) {
+                case Directory:
+                    if (attributes == null || !attributes.isDirectory() || isRecentlyModified(attributes)) {
+                        writeUntrusted(pathToWrite);
+                        return;
+                    }
+                    output.writeByte(DIRECTORY);
+                    writeString(output, pathToWrite);
+                    output.writeLong(attributes.lastModifiedTime().toMillis());
+                    writeString(output, fileKey(attributes));
+                    for (FileSystemLocationSnapshot child : ((DirectorySnapshot) snapshot).getChildren()) {
+                        write(child, child.getName());
+                    }
+                    output.writeByte(END_OF_DIRECTORY);
+                    writeHashCode(output, snapshot.getHash());
+                    break;
+                case RegularFile:
+                    FileMetadata metadata = ((RegularFileSnapshot) snapshot).getMetadata();
+                    if (attributes == null || !matches(attributes, metadata) || isRecentlyModified(attributes)) {
+                        writeUntrusted(pathToWrite);
+                        return;
+                    }
+                    output.writeByte(REGULAR_FILE);
+                    writeString(output, pathToWrite);
+                    writeHashCode(output, snapshot.getHash());
+                    output.writeLong(metadata.getLastModified());
+                    output.writeLong(metadata.getLength());
+                    writeString(output, fileKey(attributes));
+                    break;
+                case Missing:
+                    if (attributes != null) {
+                        writeUntrusted(pathToWrite);
+                        return;
+                    }
+                    output.writeByte(MISSING);
+                    writeString(output, pathToWrite);
+                    break;
+                default:
+                    throw new AssertionError();
+            }
+        }
+
+        private boolean isRecentlyModified(BasicFileAttributes attributes) {
+            return attributes.lastModifiedTime().toMillis() > recentlyModifiedAfter;
+        }
+
+        private void writeUntrusted(String pathToWrite) throws IOException {
+            output.writeByte(UNTRUSTED);
+            writeString(output, pathToWrite);
+        }
+    }
+
+    private static class Reader {
+        private final DataInputStream input;
+        private int restoredEntries;
+        private int discardedEntries;
+
+        Reader(DataInputStream input) {
+            this.input = input;
+        }
+
+        /**
+         * Reads an entry including its children, and checks it against the file system.
+         * Adds the snapshot of the entry to the given list if it still matches, otherwise adds the snapshots of the children that still match.
+         *
+         * @return whether the entry still matches.
+         */
+        boolean read(byte kind, String absolutePath, String name, List<FileSystemLocationSnapshot> snapshots) throws IOException {
+            switch (kind) {
+                case DIRECTORY:
+                    return readDirectory(absolutePath, name, snapshots);
+                case REGULAR_FILE:
+                    HashCode contentHash = readHashCode(input);
+                    long lastModified = input.readLong();
+                    long length = input.readLong();
+                    String fileKey = readString(input);
+                    FileMetadata metadata = DefaultFileMetadata.file(lastModified, length, FileMetadata.AccessType.DIRECT);
+                    BasicFileAttributes attributes = readAttributesIfPossible(absolutePath);
+                    if (attributes != null && matches(attributes, metadata) && fileKey.equals(fileKey(attributes))) {
+                        return restored(new RegularFileSnapshot(absolutePath, name, contentHash, metadata), snapshots);
+                    }
+                    return discarded();
+                case MISSING:
+                    if (isMissing(absolutePath)) {
+                        return restored(new MissingFileSnapshot(absolutePath, name, FileMetadata.AccessType.DIRECT), snapshots);
+                    }
+                    return discarded();
+                case UNTRUSTED:
+                    return discarded();
+                default:
+                    throw new IOException("Unexpected entry kind " + kind);
+            }
+        }
+
+        private boolean readDirectory(String absolutePath, String name, List<FileSystemLocationSnapshot> snapshots) throws IOException {
+            long lastModified = input.readLong();
+            String fileKey = readString(input);
+            List<FileSystemLocationSnapshot> children = new ArrayList<>();
+            boolean allChildrenMatch = true;
+            byte kind;
+            while ((kind = input.readByte()) != END_OF_DIRECTORY) {
+                String childName = readString(input);
+                allChildrenMatch &= read(kind, childPath(absolutePath, childName), childName, children);
+            }
+            HashCode merkleHash = readHashCode(input);
+            BasicFileAttributes attributes = readAttributesIfPossible(absolutePath);
+            if (allChildrenMatch
+                && attributes != null
+                && attributes.isDirectory()
+                && attributes.lastModifiedTime().toMillis() == lastModified
+                && fileKey.equals(fileKey(attributes))
+            ) {
+                return restored(new DirectorySnapshot(absolutePath, name, FileMetadata.AccessType.DIRECT, merkleHash, children), snapshots);
+            }
+            snapshots.addAll(children);
+            return discarded();
+        }
+
+        private boolean restored(FileSystemLocationSnapshot snapshot, List<FileSystemLocationSnapshot> snapshots) {
+            snapshots.add(snapshot);
+            restoredEntries++;
+            return true;
+        }
+
+        private boolean discarded() {
+            discardedEntries++;
+            return false;
+        }
+
+        @Nullable
+        private static BasicFileAttributes readAttributesIfPossible(String absolutePath) {
+            try {
+                return readAttributes(absolutePath);
+            } catch (IOException e) {
+                return null;
+            }
+        }
+
+        private static boolean isMissing(String absolutePath) {
+            try {
+                return readAttributes(absolutePath) == null;
+            } catch (IOException e) {
+                return false;
+            }
+        }
+
+        private static String childPath(String parentPath, String childName) {
+            if (parentPath.endsWith(File.separator)) {
+                return parentPath + childName;
+            }
+            return parentPath + File.separatorChar + childName;
+        }
+    }
+
+    private static boolean matches(BasicFileAttributes attributes, FileMetadata metadata) {
+        return attributes.isRegularFile()
+            && attributes.size() == metadata.getLength()
+            && attributes.lastModifiedTime().toMillis() == metadata.getLastModified();
+    }
+
+    /**
+     * Returns the attributes of the given path, or {@code null} when nothing exists at the path.
+     */
+    @Nullable
+    private static BasicFileAttributes readAttributes(String absolutePath) throws IOException {
+        Path path = Paths.get(absolutePath);
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private static String fileKey(BasicFileAttributes attributes) {
+        Object fileKey = attributes.fileKey();
+        return fileKey == null ? "" : fileKey.toString();
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeHashCode(DataOutputStream output, HashCode hashCode) throws IOException {
+        byte[] bytes = hashCode.toByteArray();
+        output.writeByte(bytes.length);
+        output.write(bytes);
+    }
+
+    private static HashCode readHashCode(DataInputStream input) throws IOException {
+        byte[] bytes = new byte[input.readUnsignedByte()];
+        input.readFully(bytes);
+        return HashCode.fromBytes(bytes);
+    }
+
+    private static void deleteQuietly(File file) {
+        try {
+            Files.deleteIfExists(file.toPath());
+        } catch (IOException e) {
+            LOGGER.debug("Could not delete {}", file, e);
+        }
+    }
+}
@@ -24,6 +24,7 @@
 import org.gradle.internal.operations.BuildOperationDescriptor;
 import org.gradle.internal.operations.BuildOperationRunner;
 import org.gradle.internal.operations.CallableBuildOperation;
+import org.gradle.internal.snapshot.FileSystemLocationSnapshot;
 import org.gradle.internal.snapshot.FileSystemNode;
 import org.gradle.internal.snapshot.SnapshotHierarchy;
 import org.gradle.internal.vfs.impl.AbstractVirtualFileSystem;
@@ -39,6 +40,7 @@
 import org.gradle.internal.watch.vfs.FileChangeListeners;
 import org.gradle.internal.watch.vfs.FileSystemWatchingStatistics;
 import org.gradle.internal.watch.vfs.VfsLogging;
+import org.gradle.internal.watch.vfs.VirtualFileSystemStateStore;
 import org.gradle.internal.watch.vfs.WatchableFileSystemDetector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -64,6 +66,7 @@ public class WatchingVirtualFileSystem extends AbstractVirtualFileSystem impleme
     private final FileWatchingFilter locationsWrittenByCurrentBuild;
     private final WatchableFileSystemDetector watchableFileSystemDetector;
     private final FileChangeListeners fileChangeListeners;
+    private final VirtualFileSystemStateStore stateStore;
     private final List<File> unsupportedFileSystems = new ArrayList<>();
     private Logger warningLogger = LOGGER;
 
@@ -75,6 +78,9 @@ public class WatchingVirtualFileSystem extends AbstractVirtualFileSystem impleme
     private FileWatcherRegistry watchRegistry;
     private Exception reasonForNotWatchingFiles;
     private boolean stateInvalidatedAtStartOfBuild;
+    private boolean buildInProgress;
+    private int restoredFileSystemEntries;
+    private int discardedFileSystemEntries;
 
     public WatchingVirtualFileSystem(
         FileWatcherRegistryFactory watcherRegistryFactory,
@@ -82,7 +88,8 @@ public WatchingVirtualFileSystem(
         FileSystemWatchingDocumentationIndex fileSystemWatchingDocumentationIndex,
         FileWatchingFilter locationsWrittenByCurrentBuild,
         WatchableFileSystemDetector watchableFileSystemDetector,
-        FileChangeListeners fileChangeListeners
+        FileChangeListeners fileChangeListeners,
+        VirtualFileSystemStateStore stateStore
     ) {
         super(root);
         this.watcherRegistryFactory = watcherRegistryFactory;
@@ -90,6 +97,7 @@ public WatchingVirtualFileSystem(
         this.locationsWrittenByCurrentBuild = locationsWrittenByCurrentBuild;
         this.watchableFileSystemDetector = watchableFileSystemDetector;
         this.fileChangeListeners = fileChangeListeners;
+        this.stateStore = stateStore;
     }
 
     @Override
@@ -112,6 +120,7 @@ public boolean afterBuildStarted(
         BuildOperationRunner buildOperationRunner
     ) {
         warningLogger = watchMode.loggerForWarnings(LOGGER);
+        buildInProgress = true;
         stateInvalidatedAtStartOfBuild = false;
         reasonForNotWatchingFiles = null;
         updateRootUnderLock(currentRoot -> buildOperationRunner.call(new CallableBuildOperation<SnapshotHierarchy>() {
@@ -240,7 +249,7 @@ public SnapshotHierarchy call(BuildOperationContext context) {
                             newRoot = withWatcherChangeErrorHandling(currentRoot, () ->
                                 watchRegistry.updateVfsBeforeBuildFinished(currentRoot, maximumNumberOfWatchedHierarchies, unsupportedFileSystems));
                         }
-                        statisticsDuringBuild = new DefaultFileSystemWatchingStatistics(statistics, newRoot);
+                        statisticsDuringBuild = new DefaultFileSystemWatchingStatistics(statistics, newRoot, restoredFileSystemEntries, discardedFileSystemEntries);
                         if (vfsLogging == VfsLogging.VERBOSE) {
                             LOGGER.warn("Received {} file system events during the current build while watching {} locations",
                                 statisticsDuringBuild.getNumberOfReceivedEvents(),
@@ -253,8 +262,18 @@ public SnapshotHierarchy call(BuildOperationContext context) {
                             if (stateInvalidatedAtStartOfBuild) {
                                 LOGGER.warn("Parts of the virtual file system have been removed at the start of the build since they didn't support watching");
                             }
+                            int savedFileSystemEntries = restoredFileSystemEntries + discardedFileSystemEntries;
+                            if (savedFileSystemEntries > 0) {
+                                LOGGER.warn("Virtual file system restored {} of {} file system entries saved by a previous daemon ({}%)",
+                                    restoredFileSystemEntries,
+                                    savedFileSystemEntries,
+                                    restoredFileSystemEntries * 100L / savedFileSystemEntries
+                                );
+                            }
                         }
                     }
+                    restoredFileSystemEntries = 0;
+                    discardedFileSystemEntries = 0;
                     boolean stoppedWatchingDuringTheBuild = watchRegistry == null;
                     context.setResult(new BuildFinishedFileSystemWatchingBuildOperationType.Result() {
                         private final boolean stateInvalidatedAtStartOfBuild = WatchingVirtualFileSystem.this.stateInvalidatedAtStartOfBuild;
@@ -298,6 +317,7 @@ public BuildOperationDescriptor.Builder description() {
 
     @Override
     public void afterBuildFinished() {
+        buildInProgress = false;
         updateRootUnderLock(currentRoot ->
             withWatcherChangeErrorHandling(currentRoot, () -> {
                 FileWatcherRegistry watchRegistry = this.watchRegistry;
@@ -324,7 +344,7 @@ private SnapshotHierarchy startWatching(SnapshotHierarchy currentRoot, WatchMode
             SnapshotHierarchy newRoot = watchRegistry.updateVfsOnBuildStarted(currentRoot.empty(), watchMode, unsupportedFileSystems);
             watchableHierarchiesRegisteredEarly.forEach(watchableHierarchy -> watchRegistry.registerWatchableHierarchy(watchableHierarchy, newRoot));
             watchableHierarchiesRegisteredEarly.clear();
-            return newRoot;
+            return restoreSavedState(newRoot);
         } catch (Exception ex) {
             logWatchingError(ex, FILE_WATCHING_ERROR_MESSAGE_DURING_BUILD);
             closeUnderLock();
@@ -332,6 +352,32 @@ private SnapshotHierarchy startWatching(SnapshotHierarchy currentRoot, WatchMode
         }
     }
 
+    /**
+     * Adds the snapshots saved by a previous daemon that still match the file system.
+     *
+     * This happens after the watchers have been started, so changes made while checking the saved snapshots are not missed.
+     */
+    @CheckReturnValue
+    private SnapshotHierarchy restoreSavedState(SnapshotHierarchy currentRoot) {
+        VirtualFileSystemStateStore.RestoredState restoredState = stateStore.restore();
+        restoredFileSystemEntries = restoredState.getRestoredEntries();
+        discardedFileSystemEntries = restoredState.getDiscardedEntries();
+        if (restoredState.getSnapshots().isEmpty()) {
+            return currentRoot;
+        }
+        SnapshotCollectingDiffListener diffListener = new SnapshotCollectingDiffListener();
+        SnapshotHierarchy newRoot = currentRoot;
+        for (FileSystemLocationSnapshot snapshot : restoredState.getSnapshots()) {
+            newRoot = newRoot.store(snapshot.getAbsolutePath(), snapshot, diffListener);
+        }
+        SnapshotHierarchy restoredRoot = newRoot;
+        diffListener.publishSnapshotDiff((removedSnapshots, addedSnapshots) ->
+            watchRegistry.virtualFileSystemContentsChanged(removedSnapshots, addedSnapshots, restoredRoot)
+        );
+        LOGGER.info("Restored {} file system entries saved by a previous daemon, discarded {} changed entries", restoredFileSystemEntries, discardedFileSystemEntries);
+        return restoredRoot;
+    }
+
     @Override
     public boolean isWatchingAnyLocations() {
         FileWatcherRegistry watchRegistry = this.watchRegistry;
@@ -514,6 +560,10 @@ private boolean hasDroppedStateBecauseOfErrorsReceivedWhileWatching(FileWatcherR
     public void close() {
         LOGGER.debug("Closing VFS, dropping state");
         updateRootUnderLock(currentRoot -> {
+            // Only state that has been kept up-to-date by watching between builds can be used by the next daemon
+            if (watchRegistry != null && !buildInProgress) {
+                stateStore.save(currentRoot);
+            }
             closeUnderLock();
             return currentRoot.empty();
         });
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.watch.vfs.impl
+
+import org.gradle.internal.hash.TestHashCodes
+import org.gradle.internal.snapshot.CaseSensitivity
+import org.gradle.internal.snapshot.FileSystemLocationSnapshot
+import org.gradle.internal.snapshot.RegularFileSnapshot
+import org.gradle.internal.snapshot.SnapshotHierarchy
+import org.gradle.internal.snapshot.TestSnapshotFixture
+import org.gradle.test.fixtures.file.TestFile
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+import static org.gradle.internal.file.FileMetadata.AccessType.DIRECT
+import static org.gradle.internal.file.impl.DefaultFileMetadata.file
+
+class FileBasedVirtualFileSystemStateStoreTest extends Specification implements TestSnapshotFixture {
+
+    @Rule
+    TestNameTestDirectoryProvider temporaryFolder = new TestNameTestDirectoryProvider(getClass())
+
+    def stateFile = temporaryFolder.file("state/vfs-state.bin")
+    def store = new FileBasedVirtualFileSystemStateStore(stateFile)
+    def lastModified = System.currentTimeMillis() - 60_000
+
+    def root = temporaryFolder.createDir("root")
+    def fileInRoot = root.createFile("file.txt") << "content"
+    def subDir = root.createDir("sub")
+    def fileInSubDir = subDir.createFile("other.txt") << "other content"
+    def missingFile = temporaryFolder.file("missing.txt")
+
+    def setup() {
+        [fileInRoot, fileInSubDir, subDir, root].each { it.lastModified = lastModified }
+    }
+
+    def "restores unchanged snapshots"() {
+        def rootSnapshot = rootSnapshot()
+        def missingSnapshot = missing(missingFile.absolutePath)
+
+        when:
+        store.save(buildHierarchy(CaseSensitivity.CASE_SENSITIVE, [rootSnapshot, missingSnapshot]))
+        def restored = store.restore()
+
+        then:
+        restored.snapshots*.absolutePath as Set == [root.absolutePath, missingFile.absolutePath] as Set
+        restored.snapshots.find { it.absolutePath == root.absolutePath }.hash == rootSnapshot.hash
+        restored.restoredEntries == 5
+        restored.discardedEntries == 0
+        !stateFile.exists()
+    }
+
+    def "restores unchanged parts of changed directory"() {
+        store.save(hierarchyOf(rootSnapshot()))
+
+        when:
+        fileInSubDir.text = "changed"
+        fileInSubDir.lastModified = lastModified
+        def restored = store.restore()
+
+        then:
+        restored.snapshots*.absolutePath == [fileInRoot.absolutePath]
+        restored.restoredEntries == 1
+        restored.discardedEntries == 3
+    }
+
+    def "discards directory when entries have been added"() {
+        store.save(hierarchyOf(rootSnapshot()))
+
+        when:
+        subDir.createFile("new.txt")
+        def restored = store.restore()
+
+        then:
+        restored.snapshots*.absolutePath as Set == [fileInRoot.absolutePath, fileInSubDir.absolutePath] as Set
+        restored.restoredEntries == 2
+        restored.discardedEntries == 2
+    }
+
+    def "discards missing file that has been created"() {
+        store.save(hierarchyOf(missing(missingFile.absolutePath)))
+
+        when:
+        missingFile.createFile()
+        def restored = store.restore()
+
+        then:
+        restored.snapshots.empty
+        restored.discardedEntries == 1
+    }
+
+    def "does not restore entries modified shortly before saving"() {
+        fileInRoot.lastModified = System.currentTimeMillis()
+
+        when:
+        store.save(hierarchyOf(rootSnapshot()))
+        def restored = store.restore()
+
+        then:
+        restored.snapshots*.absolutePath == [subDir.absolutePath]
+        restored.restoredEntries == 2
+        restored.discardedEntries == 2
+    }
+
+    def "restores nothing when no state has been saved or the state is corrupt"() {
+        expect:
+        store.restore().snapshots.empty
+
+        when:
+        stateFile.createFile().bytes = [1, 2, 3] as byte[]
+
+        then:
+        store.restore().snapshots.empty
+        !stateFile.exists()
+    }
+
+    def "saves state via a temporary file that is removed afterwards"() {
+        when:
+        store.save(hierarchyOf(rootSnapshot()))
+
+        then:
+        stateFile.parentFile.list() as List == [stateFile.name]
+    }
+
+    def "removes temporary file when state cannot be saved"() {
+        // A non-empty directory cannot be replaced by the saved state
+        stateFile.createDir().createFile("other.txt")
+
+        when:
+        store.save(hierarchyOf(rootSnapshot()))
+
+        then:
+        stateFile.parentFile.list() as List == [stateFile.name]
+        stateFile.directory
+    }
+
+    private FileSystemLocationSnapshot rootSnapshot() {
+        directory(root.absolutePath, [
+            fileSnapshot(fileInRoot),
+            directory(subDir.absolutePath, [fileSnapshot(fileInSubDir)])
+        ])
+    }
+
+    private static FileSystemLocationSnapshot fileSnapshot(TestFile regularFile) {
+        new RegularFileSnapshot(regularFile.absolutePath, regularFile.name, TestHashCodes.hashCodeFrom(regularFile.text.hashCode()), file(regularFile.lastModified(), regularFile.length(), DIRECT))
+    }
+
+    private static SnapshotHierarchy hierarchyOf(FileSystemLocationSnapshot snapshot) {
+        buildHierarchy(CaseSensitivity.CASE_SENSITIVE, [snapshot])
+    }
+}
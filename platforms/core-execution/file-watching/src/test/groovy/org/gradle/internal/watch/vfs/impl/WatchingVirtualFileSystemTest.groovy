@@ -27,6 +27,7 @@ import org.gradle.internal.watch.registry.WatchMode
 import org.gradle.internal.watch.registry.impl.FileSystemWatchingDocumentationIndex
 import org.gradle.internal.watch.vfs.FileChangeListeners
 import org.gradle.internal.watch.vfs.VfsLogging
+import org.gradle.internal.watch.vfs.VirtualFileSystemStateStore
 import org.gradle.internal.watch.vfs.WatchableFileSystemDetector
 import spock.lang.Specification
 
@@ -48,7 +49,8 @@ class WatchingVirtualFileSystemTest extends Specification {
         documentationIndex,
         locationsUpdatedByCurrentBuild,
         watchableFileSystemDetector,
-        fileChangeListeners
+        fileChangeListeners,
+        VirtualFileSystemStateStore.NONE
     )
 
     def "invalidates the virtual file system before and after the build when watching is disabled"() {
@@ -48,6 +48,8 @@ private Hashing() {
 
     private static final HashFunction SHA512 = MessageDigestHashFunction.of("SHA-512");
 
+    private static final HashFunction MURMUR3 = new Murmur3HashFunction();
+
     private static final HashFunction DEFAULT = MD5;
 
     /**
@@ -153,6 +155,16 @@ public static HashFunction sha512() {
         return SHA512;
     }
 
+    /**
+     * Fast, non-cryptographic 128-bit hashing function.
+     * <p>
+     * Produces hash codes in a versioned namespace of their own, so they never collide with hash codes of the other functions.
+     * Only suitable for local fingerprints, never for keys that are shared with other machines.
+     */
+    public static HashFunction murmur3() {
+        return MURMUR3;
+    }
+
     private static abstract class MessageDigestHashFunction implements HashFunction {
         private final int hexDigits;
 
@@ -363,7 +375,7 @@ public HashCode hash() {
         }
     }
 
-    private static class DefaultHasher implements Hasher {
+    static class DefaultHasher implements Hasher {
         private final PrimitiveHasher hasher;
 
         public DefaultHasher(PrimitiveHasher unsafeHasher) {
@@ -0,0 +1,281 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.hash;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.io.Files;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.gradle.internal.hash.HashCode.Usage.SAFE_TO_REUSE_BYTES;
+
+/**
+ * A fast, non-cryptographic 128-bit hash function based on MurmurHash3 (x64 variant).
+ * <p>
+ * Hash codes produced by this function are prefixed with a {@link #VERSION} byte, so they are 17 bytes long.
+ * This keeps them in a namespace of their own: they can never be equal to a 16-byte MD5 hash code,
+ * and changing the algorithm only requires bumping the version.
+ * <p>
+ * This function is not suitable for anything that needs to be resistant against deliberate collisions,
+ * like cache keys shared with a remote build cache. Use it only for local fingerprints.
+ */
+class Murmur3HashFunction implements HashFunction {
+    static final byte VERSION = 1;
+    private static final int HASH_BYTES = 1 + 16;
+
+    @Override
+    public String getAlgorithm() {
+        return "MURMUR3-128-V" + VERSION;
+    }
+
+    @Override
+    public PrimitiveHasher newPrimitiveHasher() {
+        return new Murmur3Hasher();
+    }
+
+    @Override
+    public Hasher newHasher() {
+        return new Hashing.DefaultHasher(newPrimitiveHasher());
+    }
+
+    @Override
+    public HashCode hashBytes(byte[] bytes) {
+        PrimitiveHasher hasher = newPrimitiveHasher();
+        hasher.putBytes(bytes);
+        return hasher.hash();
+    }
+
+    @Override
+    public HashCode hashString(CharSequence string) {
+        PrimitiveHasher hasher = newPrimitiveHasher();
+        hasher.putString(string);
+        return hasher.hash();
+    }
+
+    @Override
+    public HashCode hashStream(InputStream stream) throws IOException {
+        HashingOutputStream hashingOutputStream = new HashingOutputStream(this, ByteStreams.nullOutputStream());
+        ByteStreams.copy(stream, hashingOutputStream);
+        return hashingOutputStream.hash();
+    }
+
+    @Override
+    public HashCode hashFile(File file) throws IOException {
+        HashingOutputStream hashingOutputStream = new HashingOutputStream(this, ByteStreams.nullOutputStream());
+        Files.copy(file, hashingOutputStream);
+        return hashingOutputStream.hash();
+    }
+
+    @Override
+    public int getHexDigits() {
+        return HASH_BYTES * 2;
+    }
+
+    @Override
+    public String toString() {
+        return getAlgorithm();
+    }
+
+    /**
+     * Streaming implementation of MurmurHash3_x64_128 with a seed of 0.
+     * Input is buffered into 16-byte blocks, multi-byte primitives are fed in little-endian order.
+     */
+    private static class Murmur3Hasher implements PrimitiveHasher {
+        private static final long C1 = 0x87c37b91114253d5L;
+        private static final long C2 = 0x4cf5ad432745937fL;
+
+        private final byte[] block = new byte[16];
+        private int blockLength;
+        private long h1;
+        private long h2;
+        private long length;
+        private boolean done;
+
+        @Override
+        public void putByte(byte value) {
+            checkNotDone();
+            block[blockLength++] = value;
+            if (blockLength == 16) {
+                processBlock(block, 0);
+                blockLength = 0;
+            }
+        }
+
+        @Override
+        public void putBytes(byte[] bytes) {
+            putBytes(bytes, 0, bytes.length);
+        }
+
+        @Override
+        public void putBytes(byte[] bytes, int off, int len) {
+            checkNotDone();
+            int pos = off;
+            int end = off + len;
+            if (blockLength > 0) {
+                int count = Math.min(16 - blockLength, len);
+                System.arraycopy(bytes, pos, block, blockLength, count);
+                blockLength += count;
+                pos += count;
+                if (blockLength < 16) {
+                    return;
+                }
+                processBlock(block, 0);
+                blockLength = 0;
+            }
+            while (end - pos >= 16) {
+                processBlock(bytes, pos);
+                pos += 16;
+            }
+            blockLength = end - pos;
+            System.arraycopy(bytes, pos, block, 0, blockLength);
+        }
+
+        @Override
+        public void putInt(int value) {
+            putByte((byte) value);
+            putByte((byte) (value >>> 8));
+            putByte((byte) (value >>> 16));
+            putByte((byte) (value >>> 24));
+        }
+
+        @Override
+        public void putLong(long value) {
+            putInt((int) value);
+            putInt((int) (value >>> 32));
+        }
+
+        @Override
+        public void putDouble(double value) {
+            putLong(Double.doubleToRawLongBits(value));
+        }
+
+        @Override
+        public void putBoolean(boolean value) {
+            putByte((byte) (value ? 1 : 0));
+        }
+
+        @Override
+        public void putString(CharSequence value) {
+            putBytes(value.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void putHash(HashCode hashCode) {
+            hashCode.appendToHasher(this);
+        }
+
+        @Override
+        public HashCode hash() {
+            checkNotDone();
+            done = true;
+            processTail();
+            h1 ^= length;
+            h2 ^= length;
+            h1 += h2;
+            h2 += h1;
+            h1 = fmix64(h1);
+            h2 = fmix64(h2);
+            h1 += h2;
+            h2 += h1;
+
+            byte[] bytes = new byte[HASH_BYTES];
+            bytes[0] = VERSION;
+            writeLittleEndian(h1, bytes, 1);
+            writeLittleEndian(h2, bytes, 9);
+            return HashCode.fromBytes(bytes, SAFE_TO_REUSE_BYTES);
+        }
+
+        private void checkNotDone() {
+            if (done) {
+                throw new IllegalStateException("Cannot reuse hasher!");
+            }
+        }
+
+        private void processBlock(byte[] bytes, int off) {
+            long k1 = readLittleEndian(bytes, off);
+            long k2 = readLittleEndian(bytes, off + 8);
+            length += 16;
+
+            h1 ^= mixK1(k1);
+            h1 = Long.rotateLeft(h1, 27);
+            h1 += h2;
+            h1 = h1 * 5 + 0x52dce729;
+
+            h2 ^= mixK2(k2);
+            h2 = Long.rotateLeft(h2, 31);
+            h2 += h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+
+        private void processTail() {
+            long k1 = 0;
+            long k2 = 0;
+            length += blockLength;
+            for (int i = blockLength - 1; i >= 8; i--) {
+                k2 ^= (block[i] & 0xffL) << ((i - 8) * 8);
+            }
+            for (int i = Math.min(blockLength, 8) - 1; i >= 0; i--) {
+                k1 ^= (block[i] & 0xffL) << (i * 8);
+            }
+            h1 ^= mixK1(k1);
+            h2 ^= mixK2(k2);
+        }
+
+        private static long mixK1(long k1) {
+            k1 *= C1;
+            k1 = Long.rotateLeft(k1, 31);
+            k1 *= C2;
+            return k1;
+        }
+
+        private static long mixK2(long k2) {
+            k2 *= C2;
+            k2 = Long.rotateLeft(k2, 33);
+            k2 *= C1;
+            return k2;
+        }
+
+        private static long fmix64(long k) {
+            k ^= k >>> 33;
+            k *= 0xff51afd7ed558ccdL;
+            k ^= k >>> 33;
+            k *= 0xc4ceb9fe1a85ec53L;
+            k ^= k >>> 33;
+            return k;
+        }
+
+        private static long readLittleEndian(byte[] bytes, int off) {
+            return (bytes[off] & 0xffL)
+                | (bytes[off + 1] & 0xffL) << 8
+                | (bytes[off + 2] & 0xffL) << 16
+                | (bytes[off + 3] & 0xffL) << 24
+                | (bytes[off + 4] & 0xffL) << 32
+                | (bytes[off + 5] & 0xffL) << 40
+                | (bytes[off + 6] & 0xffL) << 48
+                | (bytes[off + 7] & 0xffL) << 56;
+        }
+
+        private static void writeLittleEndian(long value, byte[] bytes, int off) {
+            for (int i = 0; i < 8; i++) {
+                bytes[off + i] = (byte) (value >>> (i * 8));
+            }
+        }
+    }
+}
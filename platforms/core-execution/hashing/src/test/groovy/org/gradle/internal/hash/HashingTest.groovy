@@ -109,6 +109,46 @@ class HashingTest extends Specification {
         hashStrings(["abc", "de"]) != hashStrings(["ab", "cde"])
     }
 
+    def 'murmur3 matches reference implementation'() {
+        given:
+        def random = new Random(1234L)
+        def bytes = new byte[length]
+        random.nextBytes(bytes)
+        def expected = com.google.common.hash.Hashing.murmur3_128().hashBytes(bytes).asBytes()
+
+        when:
+        def hash = Hashing.murmur3().hashBytes(bytes).toByteArray()
+
+        then:
+        hash.length == 17
+        hash[0] == Murmur3HashFunction.VERSION
+        hash[1..16] == expected as List
+
+        where:
+        length << [0, 1, 7, 8, 15, 16, 17, 31, 32, 33, 1000]
+    }
+
+    def 'murmur3 hashes the same regardless of how input is fed'() {
+        given:
+        def bytes = (0..<100).collect { it as byte } as byte[]
+
+        when:
+        def hasher = Hashing.murmur3().newPrimitiveHasher()
+        hasher.putByte(bytes[0])
+        hasher.putBytes(bytes, 1, 20)
+        hasher.putBytes(bytes, 21, 3)
+        hasher.putBytes(bytes, 24, 76)
+
+        then:
+        hasher.hash() == Hashing.murmur3().hashBytes(bytes)
+    }
+
+    def 'murmur3 hashes never collide with md5 hashes'() {
+        expect:
+        Hashing.murmur3().hashString("abc").length() != Hashing.md5().hashString("abc").length()
+        Hashing.murmur3().getHexDigits() == Hashing.murmur3().hashString("abc").toString().length()
+    }
+
     def hashStrings(List<String> strings) {
         def hasher = Hashing.newHasher()
         strings.each { hasher.putString(it) }
@@ -1,6 +1,7 @@
 plugins {
     id("gradlebuild.distribution.api-java")
     id("gradlebuild.publish-public-libraries")
+    id("gradlebuild.jmh")
 }
 
 description = """Persistent caches on disk and cross process locking.
@@ -39,6 +40,8 @@ dependencies {
     integTestImplementation(projects.messaging)
 
     integTestDistributionRuntimeOnly(projects.distributionsCore)
+
+    jmhImplementation(libs.commonsIo)
 }
 tasks.isolatedProjectsIntegTest {
     enabled = false
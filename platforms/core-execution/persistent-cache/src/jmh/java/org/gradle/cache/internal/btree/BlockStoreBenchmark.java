@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.cache.internal.btree;
+
+import org.apache.commons.io.FileUtils;
+import org.gradle.internal.serialize.BaseSerializerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+
+/**
+ * Compares the {@link FileBackedBlockStore} with the {@link MappedFileBlockStore} for random mixes of reads and writes
+ * against a pre-populated {@link BTreePersistentIndexedCache}.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class BlockStoreBenchmark {
+
+    public enum StoreType {
+        file {
+            @Override
+            BlockStore create(File cacheFile) {
+                return new FileBackedBlockStore(cacheFile);
+            }
+        },
+        mapped {
+            @Override
+            BlockStore create(File cacheFile) {
+                return new MappedFileBlockStore(cacheFile);
+            }
+        };
+
+        abstract BlockStore create(File cacheFile);
+    }
+
+    @Param
+    StoreType store;
+
+    @Param({"100000"})
+    int entries;
+
+    @Param({"100", "90", "50"})
+    int readPercentage;
+
+    File tmpDir;
+    BTreePersistentIndexedCache<String, String> cache;
+    Random random;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        tmpDir = Files.createTempDirectory("block-store").toFile();
+        File cacheFile = new File(tmpDir, "cache.bin");
+        cache = new BTreePersistentIndexedCache<>(cacheFile, BaseSerializerFactory.STRING_SERIALIZER, BaseSerializerFactory.STRING_SERIALIZER, store.create(cacheFile));
+        for (int i = 0; i < entries; i++) {
+            cache.put(key(i), value(i));
+        }
+        random = new Random(1234L);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        cache.close();
+        FileUtils.forceDelete(tmpDir);
+    }
+
+    @Benchmark
+    public void randomGetPut(Blackhole blackhole) {
+        int index = random.nextInt(entries);
+        if (random.nextInt(100) < readPercentage) {
+            blackhole.consume(cache.get(key(index)));
+        } else {
+            cache.put(key(index), value(random.nextInt()));
+        }
+    }
+
+    private static String key(int index) {
+        return "key-" + index;
+    }
+
+    private static String value(int index) {
+        return "value for entry " + index + " with some padding to make the data blocks non-trivial";
+    }
+}
@@ -16,6 +16,8 @@
 
 package org.gradle.cache;
 
+import org.jspecify.annotations.Nullable;
+
 import java.util.function.Supplier;
 
 public interface CrossProcessCacheAccess {
@@ -29,4 +31,16 @@ public interface CrossProcessCacheAccess {
      * The lock may be released by any thread.
      */
     Runnable acquireFileLock();
+
+    /**
+     * Runs the given action without acquiring the file lock, when this process already holds it.
+     * Returns the result of the action if the lock was held for the whole time the action was running, and {@code null} otherwise.
+     * Callers should fall back to {@link #withFileLock(Supplier)} when this method returns {@code null}.
+     *
+     * <p>The lock may be released while the action is running, so the action must only read state that is kept in memory.</p>
+     */
+    @Nullable
+    default <T> T withHeldFileLock(Supplier<? extends T> action) {
+        return null;
+    }
 }
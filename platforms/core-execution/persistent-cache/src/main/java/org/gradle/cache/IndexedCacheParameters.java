@@ -26,24 +26,26 @@
     private final Serializer<K> keySerializer;
     private final Serializer<V> valueSerializer;
     private final CacheDecorator cacheDecorator;
+    private final boolean memoryMapped;
 
     public static <K, V> IndexedCacheParameters<K, V> of(String cacheName, Serializer<K> keySerializer, Serializer<V> valueSerializer) {
-        return new IndexedCacheParameters<K, V>(cacheName, keySerializer, valueSerializer, null);
+        return new IndexedCacheParameters<K, V>(cacheName, keySerializer, valueSerializer, null, false);
     }
 
     public static <K, V> IndexedCacheParameters<K, V> of(String cacheName, Class<K> keyType, Serializer<V> valueSerializer) {
-        return new IndexedCacheParameters<K, V>(cacheName, SERIALIZER_FACTORY.getSerializerFor(keyType), valueSerializer, null);
+        return new IndexedCacheParameters<K, V>(cacheName, SERIALIZER_FACTORY.getSerializerFor(keyType), valueSerializer, null, false);
     }
 
     public static <K, V> IndexedCacheParameters<K, V> of(String cacheName, Class<K> keyType, Class<V> valueType) {
-        return new IndexedCacheParameters<K, V>(cacheName, SERIALIZER_FACTORY.getSerializerFor(keyType), SERIALIZER_FACTORY.getSerializerFor(valueType), null);
+        return new IndexedCacheParameters<K, V>(cacheName, SERIALIZER_FACTORY.getSerializerFor(keyType), SERIALIZER_FACTORY.getSerializerFor(valueType), null, false);
     }
 
-    private IndexedCacheParameters(String cacheName, Serializer<K> keySerializer, Serializer<V> valueSerializer, @Nullable CacheDecorator cacheDecorator) {
+    private IndexedCacheParameters(String cacheName, Serializer<K> keySerializer, Serializer<V> valueSerializer, @Nullable CacheDecorator cacheDecorator, boolean memoryMapped) {
         this.cacheName = cacheName;
         this.keySerializer = keySerializer;
         this.valueSerializer = valueSerializer;
         this.cacheDecorator = cacheDecorator;
+        this.memoryMapped = memoryMapped;
     }
 
     public String getCacheName() {
@@ -64,6 +66,21 @@ public CacheDecorator getCacheDecorator() {
     }
 
     public IndexedCacheParameters<K, V> withCacheDecorator(CacheDecorator cacheDecorator) {
-        return new IndexedCacheParameters<K, V>(cacheName, keySerializer, valueSerializer, cacheDecorator);
+        return new IndexedCacheParameters<K, V>(cacheName, keySerializer, valueSerializer, cacheDecorator, memoryMapped);
+    }
+
+    /**
+     * Whether the cache file should be accessed through memory-mapped regions rather than a single random access file.
+     */
+    public boolean isMemoryMapped() {
+        return memoryMapped;
+    }
+
+    /**
+     * Accesses the cache file through memory-mapped regions. This is useful for large caches that are read frequently,
+     * as reads of mapped regions do not need to seek the file and can happen concurrently. The on-disk format is unchanged.
+     */
+    public IndexedCacheParameters<K, V> withMemoryMapped(boolean memoryMapped) {
+        return new IndexedCacheParameters<K, V>(cacheName, keySerializer, valueSerializer, cacheDecorator, memoryMapped);
     }
 }
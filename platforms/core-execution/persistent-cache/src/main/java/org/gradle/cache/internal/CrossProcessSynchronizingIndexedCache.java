@@ -25,6 +25,7 @@
 
 /**
  * Applies cross-process file locking to a backing cache, to ensure that any in-memory and on file state is kept in sync while this process is read from or writing to the cache.
+ * Reads of entries held in memory skip the lock when this process already holds it.
  */
 public class CrossProcessSynchronizingIndexedCache<K, V> implements MultiProcessSafeIndexedCache<K, V> {
     private final CrossProcessCacheAccess cacheAccess;
@@ -43,15 +44,31 @@ public String toString() {
     @Nullable
     @Override
     public V getIfPresent(final K key) {
+        V value = getInMemory(key);
+        if (value != null) {
+            return value;
+        }
         return cacheAccess.withFileLock(() -> target.get(key));
     }
 
     @Override
     public V get(final K key, final Function<? super K, ? extends V> producer) {
+        V value = getInMemory(key);
+        if (value != null) {
+            return value;
+        }
         Runnable runnable = cacheAccess.acquireFileLock();
         return target.get(key, producer, runnable);
     }
 
+    /**
+     * Entries held in memory are up-to-date while this process holds the file lock, so these can be served without going through the lock.
+     */
+    @Nullable
+    private V getInMemory(K key) {
+        return cacheAccess.withHeldFileLock(() -> target.getInMemory(key));
+    }
+
     @Override
     public void put(K key, V value) {
         Runnable runnable = cacheAccess.acquireFileLock();
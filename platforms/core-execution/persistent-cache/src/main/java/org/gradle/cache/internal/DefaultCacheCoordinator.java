@@ -31,6 +31,9 @@
 import org.gradle.cache.LockTimeoutException;
 import org.gradle.cache.MultiProcessSafeIndexedCache;
 import org.gradle.cache.internal.btree.BTreePersistentIndexedCache;
+import org.gradle.cache.internal.btree.BlockStore;
+import org.gradle.cache.internal.btree.FileBackedBlockStore;
+import org.gradle.cache.internal.btree.MappedFileBlockStore;
 import org.gradle.cache.internal.cacheops.CacheAccessOperationsStack;
 import org.gradle.internal.Cast;
 import org.gradle.internal.UncheckedException;
@@ -324,7 +327,7 @@ public <K, V> MultiProcessSafeIndexedCache<K, V> newCache(final IndexedCachePara
             if (entry == null) {
                 File cacheFile = findCacheFile(parameters);
                 LOG.debug("Creating new cache for {}, path {}, access {}", parameters.getCacheName(), cacheFile, this);
-                Supplier<BTreePersistentIndexedCache<K, V>> indexedCacheFactory = () -> doCreateCache(cacheFile, parameters.getKeySerializer(), parameters.getValueSerializer());
+                Supplier<BTreePersistentIndexedCache<K, V>> indexedCacheFactory = () -> doCreateCache(cacheFile, parameters.getKeySerializer(), parameters.getValueSerializer(), parameters.isMemoryMapped());
 
                 MultiProcessSafeIndexedCache<K, V> indexedCache = new DefaultMultiProcessSafeIndexedCache<>(indexedCacheFactory, fileAccess);
                 CacheDecorator decorator = parameters.getCacheDecorator();
@@ -359,8 +362,9 @@ public <K, V> boolean cacheExists(IndexedCacheParameters<K, V> parameters) {
         return findCacheFile(parameters).exists();
     }
 
-    <K, V> BTreePersistentIndexedCache<K, V> doCreateCache(File cacheFile, Serializer<K> keySerializer, Serializer<V> valueSerializer) {
-        return new BTreePersistentIndexedCache<>(cacheFile, keySerializer, valueSerializer);
+    <K, V> BTreePersistentIndexedCache<K, V> doCreateCache(File cacheFile, Serializer<K> keySerializer, Serializer<V> valueSerializer, boolean memoryMapped) {
+        BlockStore backingStore = memoryMapped ? new MappedFileBlockStore(cacheFile) : new FileBackedBlockStore(cacheFile);
+        return new BTreePersistentIndexedCache<>(cacheFile, keySerializer, valueSerializer, backingStore);
     }
 
     /**
@@ -517,6 +521,7 @@ void assertCompatibleCacheParameters(IndexedCacheParameters<K, V> parameters) {
             checkCompatibleKeySerializer(faultMessages, parameters.getKeySerializer());
             checkCompatibleValueSerializer(faultMessages, parameters.getValueSerializer());
             checkCompatibleCacheDecorator(faultMessages, parameters.getCacheDecorator());
+            checkCompatibleStorage(faultMessages, parameters.isMemoryMapped());
 
             if (!faultMessages.isEmpty()) {
                 String lineSeparator = System.lineSeparator();
@@ -559,6 +564,14 @@ private void checkCompatibleCacheDecorator(Collection<String> faultMessages, Cac
                         cacheDecorator, parameters.getCacheDecorator()));
             }
         }
+
+        private void checkCompatibleStorage(Collection<String> faultMessages, boolean memoryMapped) {
+            if (memoryMapped != parameters.isMemoryMapped()) {
+                faultMessages.add(
+                    String.format(" * Requested memory-mapped storage (%s) doesn't match current cache storage (%s)",
+                        memoryMapped, parameters.isMemoryMapped()));
+            }
+        }
     }
 
     @VisibleForTesting
@@ -95,4 +95,9 @@ public <T> T withFileLock(Supplier<T> factory) {
         return factory.get();
     }
 
+    @Override
+    public <T> T withHeldFileLock(Supplier<? extends T> action) {
+        return action.get();
+    }
+
 }
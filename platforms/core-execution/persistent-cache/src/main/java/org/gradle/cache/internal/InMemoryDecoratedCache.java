@@ -67,6 +67,15 @@ public V get(final K key) {
         }
     }
 
+    @Override
+    public V getInMemory(K key) {
+        Object value = inMemoryCache.getIfPresent(key);
+        if (value == null || value == NULL) {
+            return null;
+        }
+        return Cast.uncheckedCast(value);
+    }
+
     @Override
     public V get(final K key, final Function<? super K, ? extends V> producer, final Runnable completion) {
         final AtomicReference<Runnable> completionRef = new AtomicReference<>(completion);
@@ -21,10 +21,14 @@
 import org.gradle.cache.FileLockReleasedSignal;
 import org.gradle.cache.LockOptions;
 import org.gradle.internal.UncheckedException;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Lock;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -44,6 +48,14 @@ public class LockOnDemandCrossProcessCacheAccess extends AbstractCrossProcessCac
     private FileLock fileLock;
     private final CacheInitializationAction initAction;
     private FileLockReleasedSignal lockReleaseSignal;
+    /**
+     * Incremented when the file lock is acquired and when it is released, so it is odd while this process holds the lock.
+     */
+    private final AtomicLong lockGeneration = new AtomicLong();
+    private final LongAdder stateLockWaitNanos = new LongAdder();
+    private final LongAdder fileLockAcquisitions = new LongAdder();
+    private final LongAdder fileLockAcquisitionNanos = new LongAdder();
+    private final LongAdder lockFreeReads = new LongAdder();
 
     /**
      * Actions are notified when lock is opened or closed. Actions are called while holding state lock, so that no other threads are working with cache while these are running.
@@ -81,6 +93,14 @@ public void close() {
         } finally {
             stateLock.unlock();
         }
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Lock statistics for {}: acquired file lock {} times in {}ms, waited {}ms for the state lock, {} reads without locking.",
+                cacheDisplayName,
+                fileLockAcquisitions.sum(),
+                TimeUnit.NANOSECONDS.toMillis(fileLockAcquisitionNanos.sum()),
+                TimeUnit.NANOSECONDS.toMillis(stateLockWaitNanos.sum()),
+                lockFreeReads.sum());
+        }
     }
 
     @Override
@@ -93,8 +113,23 @@ public <T> T withFileLock(Supplier<T> factory) {
         }
     }
 
+    @Nullable
+    @Override
+    public <T> T withHeldFileLock(Supplier<? extends T> action) {
+        long generation = lockGeneration.get();
+        if ((generation & 1) == 0) {
+            return null;
+        }
+        T result = action.get();
+        if (result == null || lockGeneration.get() != generation) {
+            return null;
+        }
+        lockFreeReads.increment();
+        return result;
+    }
+
     private void incrementLockCount() {
-        stateLock.lock();
+        lockState();
         try {
             if (fileLock == null) {
                 if (lockCount != 0) {
@@ -103,7 +138,10 @@ private void incrementLockCount() {
                 if (LOGGER.isDebugEnabled()) {
                     LOGGER.debug("Acquiring file lock for {}", cacheDisplayName);
                 }
+                long start = System.nanoTime();
                 fileLock = lockManager.lock(lockTarget, lockOptions, cacheDisplayName, "", whenContended);
+                fileLockAcquisitionNanos.add(System.nanoTime() - start);
+                fileLockAcquisitions.increment();
                 try {
                     if (initAction.requiresInitialization(fileLock)) {
                         fileLock.writeFile(() -> initAction.initialize(fileLock));
@@ -114,6 +152,7 @@ private void incrementLockCount() {
                     fileLock = null;
                     throw UncheckedException.throwAsUncheckedException(e);
                 }
+                lockGeneration.incrementAndGet();
             }
             lockCount++;
         } finally {
@@ -122,7 +161,7 @@ private void incrementLockCount() {
     }
 
     private void decrementLockCount() {
-        stateLock.lock();
+        lockState();
         try {
             if (lockCount <= 0 || fileLock == null) {
                 throw new IllegalStateException("Mismatched lock count.");
@@ -143,6 +182,7 @@ private void releaseLockIfHeld() {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("Releasing file lock for {}", cacheDisplayName);
         }
+        lockGeneration.incrementAndGet();
         try {
             onClose.accept(fileLock);
         } finally {
@@ -158,6 +198,12 @@ private void releaseLockIfHeld() {
         }
     }
 
+    private void lockState() {
+        long start = System.nanoTime();
+        stateLock.lock();
+        stateLockWaitNanos.add(System.nanoTime() - start);
+    }
+
     @Override
     public Runnable acquireFileLock() {
         incrementLockCount();
@@ -167,7 +213,7 @@ public Runnable acquireFileLock() {
     private class ContendedAction implements Consumer<FileLockReleasedSignal> {
         @Override
         public void accept(FileLockReleasedSignal signal) {
-            stateLock.lock();
+            lockState();
             try {
                 if (lockCount == 0) {
                     LOGGER.debug("Lock on {} requested by another process - releasing lock.", cacheDisplayName);
@@ -30,6 +30,15 @@
     @Nullable
     V get(K key);
 
+    /**
+     * Fetches the given entry if it is held in memory, without accessing the backing store.
+     * Returns {@code null} when the entry is not held in memory or is known to be absent.
+     */
+    @Nullable
+    default V getInMemory(K key) {
+        return null;
+    }
+
     /**
      * Fetches the given entry, producing if necessary, blocking until the result is available. This method may or may not block until any updates have completed and will invoke the given completion action when the operation is complete.
      */
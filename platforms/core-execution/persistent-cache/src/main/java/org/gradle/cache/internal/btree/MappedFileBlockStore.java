@@ -0,0 +1,479 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.cache.internal.btree;
+
+import org.gradle.internal.UncheckedException;
+import org.jspecify.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link BlockStore} that uses the same on-disk format as {@link FileBackedBlockStore}, but reads and writes blocks through
+ * memory-mapped regions of the cache file instead of seeking a single {@link RandomAccessFile}.
+ *
+ * <p>The file is mapped in fixed size regions. Only regions that lie completely within the current file length are mapped,
+ * so mapping never changes the length of the file. Bytes in the trailing, partially filled region are accessed with positional
+ * {@link FileChannel} reads and writes. Readers of mapped regions do not take any lock; mapping a region is guarded by a lock
+ * stripe for that region, so readers of different regions never contend.</p>
+ *
+ * <p>Mapped regions are only released when they are garbage collected. On platforms that do not allow truncating a file
+ * with live mappings, {@link #clear()} can fail.</p>
+ */
+public class MappedFileBlockStore implements BlockStore {
+    static final int DEFAULT_REGION_SIZE = 4 * 1024 * 1024;
+    private static final int LOCK_STRIPES = 16;
+
+    private final File cacheFile;
+    private final int regionSize;
+    private final Lock[] regionLocks;
+    private final Object growLock = new Object();
+    private volatile AtomicReferenceArray<MappedByteBuffer> regions = new AtomicReferenceArray<>(0);
+    private RandomAccessFile file;
+    private FileChannel channel;
+    private FileChannel.MapMode mapMode;
+    private long nextBlock;
+    private Factory factory;
+    private volatile long currentFileSize;
+
+    public MappedFileBlockStore(File cacheFile) {
+        this(cacheFile, DEFAULT_REGION_SIZE);
+    }
+
+    public MappedFileBlockStore(File cacheFile, int regionSize) {
+        this.cacheFile = cacheFile;
+        this.regionSize = regionSize;
+        this.regionLocks = new Lock[LOCK_STRIPES];
+        for (int i = 0; i < regionLocks.length; i++) {
+            regionLocks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "cache '" + cacheFile + "'";
+    }
+
+    @Override
+    public void open(Runnable runnable, Factory factory) {
+        this.factory = factory;
+        try {
+            cacheFile.getParentFile().mkdirs();
+            openRandomAccessFile();
+            channel = file.getChannel();
+            currentFileSize = file.length();
+            nextBlock = currentFileSize;
+            if (currentFileSize == 0) {
+                runnable.run();
+            }
+        } catch (IOException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
+    private void openRandomAccessFile() throws FileNotFoundException {
+        try {
+            file = new RandomAccessFile(cacheFile, "rw");
+            mapMode = FileChannel.MapMode.READ_WRITE;
+        } catch (FileNotFoundException e) {
+            file = new RandomAccessFile(cacheFile, "r");
+            mapMode = FileChannel.MapMode.READ_ONLY;
+        }
+    }
+
+    @Override
+    public void close() {
+        regions = new AtomicReferenceArray<>(0);
+        try {
+            file.close();
+        } catch (IOException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
+    @Override
+    public void clear() {
+        regions = new AtomicReferenceArray<>(0);
+        try {
+            file.setLength(0);
+            currentFileSize = 0;
+        } catch (IOException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+        nextBlock = 0;
+    }
+
+    @Override
+    public void attach(BlockPayload block) {
+        if (block.getBlock() == null) {
+            block.setBlock(new BlockImpl(block));
+        }
+    }
+
+    @Override
+    public void remove(BlockPayload block) {
+        BlockImpl blockImpl = (BlockImpl) block.getBlock();
+        blockImpl.detach();
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public <T extends BlockPayload> T readFirst(Class<T> payloadType) {
+        return read(BlockPointer.pos(0), payloadType);
+    }
+
+    @Override
+    public <T extends BlockPayload> T read(BlockPointer pos, Class<T> payloadType) {
+        assert !pos.isNull();
+        try {
+            T payload = payloadType.cast(factory.create(payloadType));
+            BlockImpl block = new BlockImpl(payload, pos);
+            block.read();
+            return payload;
+        } catch (CorruptedCacheException e) {
+            throw e;
+        } catch (Exception e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
+    @Override
+    public void write(BlockPayload block) {
+        BlockImpl blockImpl = (BlockImpl) block.getBlock();
+        try {
+            blockImpl.write();
+        } catch (CorruptedCacheException e) {
+            throw e;
+        } catch (Exception e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
+    private long alloc(long length) {
+        long pos = nextBlock;
+        nextBlock += length;
+        return pos;
+    }
+
+    /**
+     * Returns the mapped region with the given index, or {@code null} when the region is not completely contained in the file.
+     */
+    @Nullable
+    private MappedByteBuffer region(int index) throws IOException {
+        long start = (long) index * regionSize;
+        if (start + regionSize > currentFileSize) {
+            return null;
+        }
+        AtomicReferenceArray<MappedByteBuffer> regions = regionsFor(index);
+        MappedByteBuffer region = regions.get(index);
+        if (region == null) {
+            Lock lock = regionLocks[index % regionLocks.length];
+            lock.lock();
+            try {
+                region = regions.get(index);
+                if (region == null) {
+                    region = channel.map(mapMode, start, regionSize);
+                    regions.set(index, region);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return region;
+    }
+
+    private AtomicReferenceArray<MappedByteBuffer> regionsFor(int index) {
+        AtomicReferenceArray<MappedByteBuffer> current = regions;
+        if (index < current.length()) {
+            return current;
+        }
+        synchronized (growLock) {
+            current = regions;
+            if (index < current.length()) {
+                return current;
+            }
+            AtomicReferenceArray<MappedByteBuffer> grown = new AtomicReferenceArray<>(Math.max(index + 1, current.length() * 2));
+            for (int i = 0; i < current.length(); i++) {
+                grown.set(i, current.get(i));
+            }
+            regions = grown;
+            return grown;
+        }
+    }
+
+    /**
+     * Returns a stream over the given range of the file. Does not copy when the range lies within a single mapped region.
+     */
+    private InputStream openRange(long pos, int length) throws IOException {
+        int index = (int) (pos / regionSize);
+        int offset = (int) (pos % regionSize);
+        if (offset + length <= regionSize) {
+            MappedByteBuffer region = region(index);
+            if (region != null) {
+                ByteBuffer view = region.duplicate();
+                ((Buffer) view).position(offset);
+                ((Buffer) view).limit(offset + length);
+                return new ByteBufferInputStream(view);
+            }
+        }
+        byte[] bytes = new byte[length];
+        readFully(pos, bytes);
+        return new ByteArrayInputStream(bytes);
+    }
+
+    private void readFully(long pos, byte[] bytes) throws IOException {
+        int done = 0;
+        while (done < bytes.length) {
+            long current = pos + done;
+            MappedByteBuffer region = region((int) (current / regionSize));
+            if (region == null) {
+                readFromChannel(current, ByteBuffer.wrap(bytes, done, bytes.length - done));
+                return;
+            }
+            int offset = (int) (current % regionSize);
+            int count = Math.min(bytes.length - done, regionSize - offset);
+            ByteBuffer view = region.duplicate();
+            ((Buffer) view).position(offset);
+            view.get(bytes, done, count);
+            done += count;
+        }
+    }
+
+    private void readFromChannel(long pos, ByteBuffer buffer) throws IOException {
+        long current = pos;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, current);
+            if (read < 0) {
+                throw new EOFException();
+            }
+            current += read;
+        }
+    }
+
+    private void writeFully(long pos, byte[] bytes, int length) throws IOException {
+        int done = 0;
+        while (done < length) {
+            long current = pos + done;
+            MappedByteBuffer region = region((int) (current / regionSize));
+            if (region == null) {
+                writeToChannel(current, ByteBuffer.wrap(bytes, done, length - done));
+                return;
+            }
+            int offset = (int) (current % regionSize);
+            int count = Math.min(length - done, regionSize - offset);
+            ByteBuffer view = region.duplicate();
+            ((Buffer) view).position(offset);
+            view.put(bytes, done, count);
+            done += count;
+        }
+    }
+
+    private void writeToChannel(long pos, ByteBuffer buffer) throws IOException {
+        long current = pos;
+        while (buffer.hasRemaining()) {
+            current += channel.write(buffer, current);
+        }
+    }
+
+    private final class BlockImpl extends Block {
+        private static final int HEADER_SIZE = 1 + INT_SIZE; // type, payload size
+        private static final int TAIL_SIZE = INT_SIZE;
+
+        private BlockPointer pos;
+        private int payloadSize;
+
+        private BlockImpl(BlockPayload payload, BlockPointer pos) {
+            this(payload);
+            setPos(pos);
+        }
+
+        public BlockImpl(BlockPayload payload) {
+            super(payload);
+            pos = null;
+            payloadSize = -1;
+        }
+
+        @Override
+        public boolean hasPos() {
+            return pos != null;
+        }
+
+        @Override
+        public BlockPointer getPos() {
+            if (pos == null) {
+                pos = BlockPointer.pos(alloc(getSize()));
+            }
+            return pos;
+        }
+
+        @Override
+        public void setPos(BlockPointer pos) {
+            assert this.pos == null && !pos.isNull();
+            this.pos = pos;
+        }
+
+        @Override
+        public int getSize() {
+            if (payloadSize < 0) {
+                payloadSize = getPayload().getSize();
+            }
+            return payloadSize + HEADER_SIZE + TAIL_SIZE;
+        }
+
+        @Override
+        public void setSize(int size) {
+            int newPayloadSize = size - HEADER_SIZE - TAIL_SIZE;
+            assert newPayloadSize >= payloadSize;
+            payloadSize = newPayloadSize;
+        }
+
+        public void write() throws Exception {
+            long pos = getPos().getPos();
+
+            BlockOutputStream bytes = new BlockOutputStream(HEADER_SIZE + payloadSize + TAIL_SIZE);
+            DataOutputStream outputStream = new DataOutputStream(bytes);
+
+            BlockPayload payload = getPayload();
+
+            // Write header
+            outputStream.writeByte(payload.getType());
+            outputStream.writeInt(payloadSize);
+            long finalSize = pos + HEADER_SIZE + TAIL_SIZE + payloadSize;
+
+            // Write body
+            payload.write(outputStream);
+
+            // Write count
+            long bytesWritten = bytes.size();
+            if (bytesWritten > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Block payload exceeds maximum size");
+            }
+            outputStream.writeInt((int) bytesWritten);
+            outputStream.flush();
+            writeFully(pos, bytes.buffer(), bytes.size());
+
+            // Pad
+            if (currentFileSize < finalSize) {
+                file.setLength(finalSize);
+                currentFileSize = finalSize;
+            }
+        }
+
+        public void read() throws Exception {
+            long pos = getPos().getPos();
+            assert pos >= 0;
+            if (pos + HEADER_SIZE >= currentFileSize) {
+                throw blockCorruptedException();
+            }
+
+            // Read header
+            DataInputStream headerStream = new DataInputStream(openRange(pos, HEADER_SIZE));
+            byte type = headerStream.readByte();
+            if (type != getPayload().getType()) {
+                throw blockCorruptedException();
+            }
+            payloadSize = headerStream.readInt();
+            if (payloadSize < 0 || pos + HEADER_SIZE + TAIL_SIZE + payloadSize > currentFileSize) {
+                throw blockCorruptedException();
+            }
+
+            // Read body
+            int available = payloadSize + TAIL_SIZE;
+            InputStream body = openRange(pos + HEADER_SIZE, available);
+            DataInputStream inputStream = new DataInputStream(body);
+            getPayload().read(inputStream);
+
+            // Read and verify count
+            long actualCount = HEADER_SIZE + available - body.available();
+            long count = inputStream.readInt();
+            if (actualCount != count) {
+                throw blockCorruptedException();
+            }
+        }
+
+        @Override
+        public RuntimeException blockCorruptedException() {
+            return new CorruptedCacheException(String.format("Corrupted %s found in %s.", this,
+                MappedFileBlockStore.this));
+        }
+    }
+
+    private static class BlockOutputStream extends ByteArrayOutputStream {
+        BlockOutputStream(int size) {
+            super(size);
+        }
+
+        byte[] buffer() {
+            return buf;
+        }
+    }
+
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(len, buffer.remaining());
+            buffer.get(b, off, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            int count = (int) Math.min(Math.max(n, 0), buffer.remaining());
+            ((Buffer) buffer).position(buffer.position() + count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
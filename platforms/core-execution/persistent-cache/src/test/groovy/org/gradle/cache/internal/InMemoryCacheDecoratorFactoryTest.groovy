@@ -201,4 +201,31 @@ class InMemoryCacheDecoratorFactoryTest extends Specification {
         0 * target._
     }
 
+    def "serves result held in memory without locking when file lock is held"() {
+        given:
+        def cache = cacheFactory.decorator(100, true).decorate("path/fileSnapshots.bin", "fileSnapshots", target, crossProcessCacheAccess, asyncCacheAccess)
+
+        when:
+        def result = cache.getIfPresent("key")
+
+        then:
+        result == "result"
+
+        and:
+        1 * crossProcessCacheAccess.withHeldFileLock(_) >> { Supplier task -> task.get() }
+        1 * crossProcessCacheAccess.withFileLock(_) >> { Supplier task -> task.get() }
+        1 * asyncCacheAccess.read(_) >> { Supplier task -> task.get() }
+        1 * target.getIfPresent("key") >> "result"
+        0 * target._
+
+        when:
+        result = cache.getIfPresent("key")
+
+        then:
+        result == "result"
+
+        and:
+        1 * crossProcessCacheAccess.withHeldFileLock(_) >> { Supplier task -> task.get() }
+        0 * _._
+    }
 }
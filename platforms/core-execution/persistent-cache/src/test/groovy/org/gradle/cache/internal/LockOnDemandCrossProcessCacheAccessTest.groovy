@@ -798,4 +798,63 @@ class LockOnDemandCrossProcessCacheAccessTest extends ConcurrentSpec {
         1 * lock.close()
         0 * _
     }
+
+    def "does not run action without locking when lock is not held"() {
+        def action = Mock(Supplier)
+
+        when:
+        def result = cacheAccess.withHeldFileLock(action)
+
+        then:
+        result == null
+        0 * _
+    }
+
+    def "runs action without locking while lock is retained"() {
+        def action = Mock(Supplier)
+        def lock = Mock(FileLock)
+
+        given:
+        1 * lockManager.lock(file, _, _, _, _) >> lock
+        cacheAccess.withFileLock(Stub(Supplier))
+
+        when:
+        def result = cacheAccess.withHeldFileLock(action)
+
+        then:
+        result == "result"
+        1 * action.get() >> "result"
+        0 * _
+    }
+
+    def "discards result of action run without locking when lock is released while running"() {
+        def action = Mock(Supplier)
+        def lock = Mock(FileLock)
+        def signal = Mock(FileLockReleasedSignal)
+        Consumer contendedAction
+
+        given:
+        1 * lockManager.lock(file, _, _, _, _) >> {
+            File target, LockOptions options, String targetDisplayName, String operationDisplayName, Consumer<FileLockReleasedSignal> whenContended -> contendedAction = whenContended
+                return lock
+        }
+        cacheAccess.withFileLock(Stub(Supplier))
+
+        when:
+        def result = cacheAccess.withHeldFileLock(action)
+
+        then:
+        result == null
+        1 * action.get() >> { contendedAction.accept(signal); "result" }
+        1 * lock.close()
+        1 * signal.trigger()
+        0 * _
+
+        when:
+        result = cacheAccess.withHeldFileLock(action)
+
+        then:
+        result == null
+        0 * _
+    }
 }
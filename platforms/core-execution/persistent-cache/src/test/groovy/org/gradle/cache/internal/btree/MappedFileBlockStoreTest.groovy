@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.cache.internal.btree
+
+import org.gradle.internal.serialize.BaseSerializerFactory
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+class MappedFileBlockStoreTest extends Specification {
+    @Rule
+    TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider(getClass())
+    File cacheFile
+
+    def setup() {
+        cacheFile = tmpDir.file("cache.bin")
+    }
+
+    def "persists entries that span multiple mapped regions"() {
+        given:
+        def cache = mappedCache()
+        (0..<2000).each { cache.put("key-$it".toString(), value(it)) }
+        (0..<2000).step(3) { cache.remove("key-$it".toString()) }
+
+        expect:
+        (0..<2000).every { cache.get("key-$it".toString()) == (it % 3 == 0 ? null : value(it)) }
+        cache.verify()
+
+        when:
+        cache.close()
+        cache = mappedCache()
+
+        then:
+        (0..<2000).every { cache.get("key-$it".toString()) == (it % 3 == 0 ? null : value(it)) }
+        cache.verify()
+
+        cleanup:
+        cache?.close()
+    }
+
+    def "uses the same file format as the file backed store"() {
+        given:
+        def mapped = mappedCache()
+        (0..<500).each { mapped.put("key-$it".toString(), value(it)) }
+        mapped.close()
+
+        when:
+        def fileBacked = new BTreePersistentIndexedCache<String, String>(cacheFile, BaseSerializerFactory.STRING_SERIALIZER, BaseSerializerFactory.STRING_SERIALIZER, (short) 4, 100)
+        (500..<1000).each { fileBacked.put("key-$it".toString(), value(it)) }
+        fileBacked.close()
+        mapped = mappedCache()
+
+        then:
+        (0..<1000).every { mapped.get("key-$it".toString()) == value(it) }
+        mapped.verify()
+
+        cleanup:
+        mapped?.close()
+    }
+
+    def "can clear the store"() {
+        given:
+        def cache = mappedCache()
+        (0..<500).each { cache.put("key-$it".toString(), value(it)) }
+
+        when:
+        cache.clear()
+
+        then:
+        (0..<500).every { cache.get("key-$it".toString()) == null }
+
+        when:
+        cache.put("key", "value")
+
+        then:
+        cache.get("key") == "value"
+        cache.verify()
+
+        cleanup:
+        cache?.close()
+    }
+
+    private BTreePersistentIndexedCache<String, String> mappedCache() {
+        // Use tiny regions so that blocks regularly straddle region boundaries
+        new BTreePersistentIndexedCache<String, String>(cacheFile, BaseSerializerFactory.STRING_SERIALIZER, BaseSerializerFactory.STRING_SERIALIZER, (short) 4, 100, new MappedFileBlockStore(cacheFile, 1024))
+    }
+
+    private static String value(int index) {
+        "value-$index-" + ("x" * (index % 50))
+    }
+}
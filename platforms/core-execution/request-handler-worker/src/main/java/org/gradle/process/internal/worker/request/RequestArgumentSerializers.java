@@ -22,9 +22,11 @@
 import org.gradle.internal.serialize.Message;
 import org.gradle.internal.serialize.Serializer;
 import org.gradle.internal.serialize.SerializerRegistry;
+import org.jspecify.annotations.Nullable;
 
 public class RequestArgumentSerializers {
     private final SerializerRegistry registry = new DefaultSerializerRegistry();
+    private final SerializerRegistry resultRegistry = new DefaultSerializerRegistry(false);
 
     public Serializer<Object> getSerializer(ClassLoader defaultClassLoader) {
         registry.register(Object.class, new JavaObjectSerializer(defaultClassLoader));
@@ -35,6 +37,74 @@ public <T> void register(Class<T> type, Serializer<T> serializer) {
         registry.register(type, serializer);
     }
 
+    /**
+     * Returns the serializer for results sent back through {@link ResponseProtocol#completed(Object)}.
+     * Results of a registered type use their serializer, all other results use Java serialization.
+     */
+    public Serializer<Object> getResultSerializer(ClassLoader defaultClassLoader) {
+        return new ResultSerializer(resultRegistry, new JavaObjectSerializer(defaultClassLoader));
+    }
+
+    /**
+     * Registers a serializer for results of exactly the given type. Both sides of the connection must register the same result serializers.
+     */
+    public <T> void registerResult(Class<T> type, Serializer<T> serializer) {
+        resultRegistry.register(type, serializer);
+    }
+
+    private static class ResultSerializer implements Serializer<Object> {
+        private static final byte NULL_RESULT = 0;
+        private static final byte REGISTERED_RESULT = 1;
+        private static final byte JAVA_SERIALIZED_RESULT = 2;
+
+        private final SerializerRegistry registry;
+        private final Serializer<Object> javaSerializer;
+        @Nullable
+        private Serializer<Object> registeredSerializer;
+
+        ResultSerializer(SerializerRegistry registry, Serializer<Object> javaSerializer) {
+            this.registry = registry;
+            this.javaSerializer = javaSerializer;
+        }
+
+        @Override
+        @Nullable
+        public Object read(Decoder decoder) throws Exception {
+            byte tag = decoder.readByte();
+            switch (tag) {
+                case NULL_RESULT:
+                    return null;
+                case REGISTERED_RESULT:
+                    return getRegisteredSerializer().read(decoder);
+                case JAVA_SERIALIZED_RESULT:
+                    return javaSerializer.read(decoder);
+                default:
+                    throw new IllegalArgumentException("Unexpected result tag " + tag + " found.");
+            }
+        }
+
+        @Override
+        public void write(Encoder encoder, @Nullable Object value) throws Exception {
+            if (value == null) {
+                encoder.writeByte(NULL_RESULT);
+            } else if (registry.canSerialize(value.getClass())) {
+                encoder.writeByte(REGISTERED_RESULT);
+                getRegisteredSerializer().write(encoder, value);
+            } else {
+                encoder.writeByte(JAVA_SERIALIZED_RESULT);
+                javaSerializer.write(encoder, value);
+            }
+        }
+
+        private Serializer<Object> getRegisteredSerializer() {
+            // Serializers are registered before the connection is used, and each direction of a connection uses a single thread
+            if (registeredSerializer == null) {
+                registeredSerializer = registry.build(Object.class);
+            }
+            return registeredSerializer;
+        }
+    }
+
     public static class JavaObjectSerializer implements Serializer<Object> {
         private final ClassLoader classLoader;
 
@@ -27,6 +27,15 @@ public static SerializerRegistry create(ClassLoader classLoader, RequestArgument
         return registry;
     }
 
+    /**
+     * Creates the serializers for the results sent through {@link ResponseProtocol#completed(Object)}, the only protocol method with an {@code Object} parameter.
+     */
+    public static SerializerRegistry createResult(ClassLoader classLoader, RequestArgumentSerializers argumentSerializers) {
+        SerializerRegistry registry = new DefaultSerializerRegistry(false);
+        registry.register(Object.class, argumentSerializers.getResultSerializer(classLoader));
+        return registry;
+    }
+
     public static SerializerRegistry createDiscardRequestArg() {
         SerializerRegistry registry = new DefaultSerializerRegistry(false);
         registry.register(Request.class, new RequestSerializer(new DefaultSerializer<>(), true));
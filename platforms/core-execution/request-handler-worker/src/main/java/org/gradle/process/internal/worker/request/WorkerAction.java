@@ -101,6 +101,7 @@ public void execute(WorkerProcessContext workerProcessContext) {
             // Notify the client
             responder.infrastructureFailed(failure);
         }
+        connection.useParameterSerializers(RequestSerializerRegistry.createResult(this.getClass().getClassLoader(), argumentSerializers));
 
         connection.connect();
 
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.process.internal.worker.request
+
+import org.gradle.internal.serialize.BaseSerializerFactory
+import org.gradle.internal.serialize.Decoder
+import org.gradle.internal.serialize.Encoder
+import org.gradle.internal.serialize.Serializer
+import org.gradle.internal.serialize.kryo.KryoBackedDecoder
+import org.gradle.internal.serialize.kryo.KryoBackedEncoder
+import spock.lang.Specification
+
+class RequestArgumentSerializersTest extends Specification {
+    def argumentSerializers = new RequestArgumentSerializers()
+
+    def "uses registered serializer for results of registered type"() {
+        Serializer<Foo> fooSerializer = Mock()
+        argumentSerializers.registerResult(Foo, fooSerializer)
+
+        when:
+        def decoded = roundTrip(new Foo("foo"))
+
+        then:
+        1 * fooSerializer.write(_, { it.text == "foo" }) >> { Encoder encoder, Foo value -> encoder.writeString(value.text) }
+        1 * fooSerializer.read(_) >> { Decoder decoder -> new Foo(decoder.readString()) }
+        decoded instanceof Foo
+        decoded.text == "foo"
+    }
+
+    def "uses Java serialization for results of other types"() {
+        argumentSerializers.registerResult(String, BaseSerializerFactory.STRING_SERIALIZER)
+
+        expect:
+        roundTrip(value) == value
+
+        where:
+        value << [12, ["a", "b"], new SubFoo("sub")]
+    }
+
+    def "can serialize null result"() {
+        expect:
+        roundTrip(null) == null
+    }
+
+    def roundTrip(Object value) {
+        def serializer = argumentSerializers.getResultSerializer(getClass().classLoader)
+        def outputStream = new ByteArrayOutputStream()
+        def encoder = new KryoBackedEncoder(outputStream)
+        serializer.write(encoder, value)
+        encoder.flush()
+        return serializer.read(new KryoBackedDecoder(new ByteArrayInputStream(outputStream.toByteArray())))
+    }
+
+    static class Foo implements Serializable {
+        final String text
+
+        Foo(String text) {
+            this.text = text
+        }
+
+        @Override
+        boolean equals(Object o) {
+            return o instanceof Foo && o.text == text
+        }
+
+        @Override
+        int hashCode() {
+            return text.hashCode()
+        }
+    }
+
+    static class SubFoo extends Foo {
+        SubFoo(String text) {
+            super(text)
+        }
+    }
+}
@@ -57,17 +57,28 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import static org.gradle.internal.snapshot.DirectorySnapshotBuilder.EmptyDirectoryHandlingStrategy.INCLUDE_EMPTY_DIRS;
 
 /**
  * For creating {@link DirectorySnapshot}s of directories.
+ *
+ * When created with a {@link ForkJoinPool}, unfiltered snapshots are taken in parallel:
+ * subdirectories are snapshotted as separate tasks and regular files are hashed in batches on the pool.
+ * The results are combined in the same way as for a sequential walk, so the resulting snapshots are identical.
  */
 public class DirectorySnapshotter {
     private static final EnumSet<FileVisitOption> DONT_FOLLOW_SYMLINKS = EnumSet.noneOf(FileVisitOption.class);
+    private static final int FILE_BATCH_SIZE = 32;
     private static final SymbolicLinkMapping EMPTY_SYMBOLIC_LINK_MAPPING = new SymbolicLinkMapping() {
 
         @Override
@@ -90,12 +101,25 @@ public Iterable<String> getRemappedSegments(Iterable<String> segments) {
     private final Interner<String> stringInterner;
     private final DefaultExcludes defaultExcludes;
     private final DirectorySnapshotterStatistics.Collector collector;
+    @Nullable
+    private final ForkJoinPool snapshottingPool;
 
     public DirectorySnapshotter(FileHasher hasher, Interner<String> stringInterner, Collection<String> defaultExcludes, DirectorySnapshotterStatistics.Collector collector) {
+        this(hasher, stringInterner, defaultExcludes, collector, null);
+    }
+
+    public DirectorySnapshotter(
+        FileHasher hasher,
+        Interner<String> stringInterner,
+        Collection<String> defaultExcludes,
+        DirectorySnapshotterStatistics.Collector collector,
+        @Nullable ForkJoinPool snapshottingPool
+    ) {
         this.hasher = hasher;
         this.stringInterner = stringInterner;
         this.defaultExcludes = new DefaultExcludes(defaultExcludes);
         this.collector = collector;
+        this.snapshottingPool = snapshottingPool;
     }
 
     /**
@@ -120,18 +144,113 @@ public FileSystemLocationSnapshot snapshot(
         Map<String, ? extends FileSystemLocationSnapshot> previouslyKnownSnapshots,
         Consumer<FileSystemLocationSnapshot> unfilteredSnapshotRecorder
     ) {
+        AtomicBoolean hasBeenFiltered = new AtomicBoolean();
+        Path rootPath = Paths.get(absolutePath);
+        PathVisitor visitor;
+        // Filtered trees are snapshotted sequentially
+        ForkJoinPool pool = predicate == null ? snapshottingPool : null;
+        if (pool != null) {
+            ParallelSnapshotting parallelSnapshotting = new ParallelSnapshotting();
+            visitor = new PathVisitor(null, hasBeenFiltered, hasher, stringInterner, defaultExcludes, collector, EMPTY_SYMBOLIC_LINK_MAPPING, previouslyKnownSnapshots, unfilteredSnapshotRecorder, parallelSnapshotting, new ArrayDeque<>(), false);
+            pool.invoke(parallelSnapshotting.new SnapshotTask<>(() -> walk(rootPath, visitor)));
+            collector.recordParallelHierarchy(parallelSnapshotting.getForkedTaskCount(), parallelSnapshotting.getParallelism());
+        } else {
+            visitor = new PathVisitor(predicate, hasBeenFiltered, hasher, stringInterner, defaultExcludes, collector, EMPTY_SYMBOLIC_LINK_MAPPING, previouslyKnownSnapshots, unfilteredSnapshotRecorder, null, new ArrayDeque<>(), false);
+            walk(rootPath, visitor);
+        }
+        FileSystemLocationSnapshot result = visitor.getResult();
+        if (!hasBeenFiltered.get()) {
+            unfilteredSnapshotRecorder.accept(result);
+        }
+        return result;
+    }
+
+    @Nullable
+    private static Void walk(Path root, PathVisitor visitor) {
         try {
-            AtomicBoolean hasBeenFiltered = new AtomicBoolean();
-            Path rootPath = Paths.get(absolutePath);
-            PathVisitor visitor = new PathVisitor(predicate, hasBeenFiltered, hasher, stringInterner, defaultExcludes, collector, EMPTY_SYMBOLIC_LINK_MAPPING, previouslyKnownSnapshots, unfilteredSnapshotRecorder);
-            Files.walkFileTree(rootPath, DONT_FOLLOW_SYMLINKS, Integer.MAX_VALUE, visitor);
-            FileSystemLocationSnapshot result = visitor.getResult();
-            if (!hasBeenFiltered.get()) {
-                unfilteredSnapshotRecorder.accept(result);
-            }
-            return result;
+            Files.walkFileTree(root, DONT_FOLLOW_SYMLINKS, Integer.MAX_VALUE, visitor);
+            return null;
         } catch (IOException e) {
-            throw new UncheckedIOException(String.format("Could not list contents of directory '%s'.", absolutePath), e);
+            throw new UncheckedIOException(String.format("Could not list contents of directory '%s'.", root), e);
+        }
+    }
+
+    /**
+     * Tracks the tasks forked while snapshotting a single root in parallel.
+     */
+    private static class ParallelSnapshotting {
+        private final Set<Thread> participatingThreads = ConcurrentHashMap.newKeySet();
+        private final AtomicLong forkedTaskCount = new AtomicLong();
+
+        public <T> ForkJoinTask<T> fork(Supplier<T> action) {
+            forkedTaskCount.incrementAndGet();
+            return new SnapshotTask<>(action).fork();
+        }
+
+        public long getForkedTaskCount() {
+            return forkedTaskCount.get();
+        }
+
+        public int getParallelism() {
+            return participatingThreads.size();
+        }
+
+        private class SnapshotTask<T> extends RecursiveTask<T> {
+            private final Supplier<T> action;
+
+            public SnapshotTask(Supplier<T> action) {
+                this.action = action;
+            }
+
+            @Override
+            protected T compute() {
+                participatingThreads.add(Thread.currentThread());
+                return action.get();
+            }
+        }
+    }
+
+    /**
+     * The children of a directory which are snapshotted by other tasks, and need to be added to the builder when leaving the directory.
+     */
+    private static class PendingChildren {
+        private final List<ForkJoinTask<DirectorySnapshot>> subtrees = new ArrayList<>();
+        private final List<Supplier<FileSystemLeafSnapshot>> files = new ArrayList<>();
+
+        public void addSubtree(ForkJoinTask<DirectorySnapshot> subtree) {
+            subtrees.add(subtree);
+        }
+
+        public void addFile(Supplier<FileSystemLeafSnapshot> file) {
+            files.add(file);
+        }
+
+        public void completeInto(FilteredTrackingMerkleDirectorySnapshotBuilder builder, ParallelSnapshotting parallelSnapshotting) {
+            List<ForkJoinTask<List<FileSystemLeafSnapshot>>> batches = new ArrayList<>();
+            for (int start = FILE_BATCH_SIZE; start < files.size(); start += FILE_BATCH_SIZE) {
+                List<Supplier<FileSystemLeafSnapshot>> batch = files.subList(start, Math.min(start + FILE_BATCH_SIZE, files.size()));
+                batches.add(parallelSnapshotting.fork(() -> snapshotFiles(batch)));
+            }
+            // The builder sorts the children, so the order in which they are added does not matter
+            for (FileSystemLeafSnapshot snapshot : snapshotFiles(files.subList(0, Math.min(FILE_BATCH_SIZE, files.size())))) {
+                builder.visitLeafElement(snapshot);
+            }
+            for (ForkJoinTask<List<FileSystemLeafSnapshot>> batch : batches) {
+                for (FileSystemLeafSnapshot snapshot : batch.join()) {
+                    builder.visitLeafElement(snapshot);
+                }
+            }
+            for (ForkJoinTask<DirectorySnapshot> subtree : subtrees) {
+                builder.visitDirectory(subtree.join());
+            }
+        }
+
+        private static List<FileSystemLeafSnapshot> snapshotFiles(List<Supplier<FileSystemLeafSnapshot>> files) {
+            List<FileSystemLeafSnapshot> snapshots = new ArrayList<>(files.size());
+            for (Supplier<FileSystemLeafSnapshot> file : files) {
+                snapshots.add(file.get());
+            }
+            return snapshots;
         }
     }
 
@@ -263,10 +382,13 @@ private static class PathVisitor extends DirectorySnapshotterStatistics.Collecti
         private final Interner<String> stringInterner;
         private final DefaultExcludes defaultExcludes;
         private final SymbolicLinkMapping symbolicLinkMapping;
-        private final Deque<String> parentDirectories = new ArrayDeque<>();
+        private final Deque<String> parentDirectories;
         private final Set<FileSystemLocationSnapshot> filteredDirectorySnapshots = new HashSet<>();
         private final ImmutableMap<String, ? extends FileSystemLocationSnapshot> previouslyKnownSnapshots;
         private final Consumer<FileSystemLocationSnapshot> unfilteredSnapshotRecorder;
+        @Nullable
+        private final ParallelSnapshotting parallelSnapshotting;
+        private final Deque<PendingChildren> pendingChildren = new ArrayDeque<>();
 
         public PathVisitor(
             SnapshottingFilter.@Nullable DirectoryWalkerPredicate predicate,
@@ -277,9 +399,12 @@ public PathVisitor(
             DirectorySnapshotterStatistics.Collector statisticsCollector,
             SymbolicLinkMapping symbolicLinkMapping,
             Map<String, ? extends FileSystemLocationSnapshot> previouslyKnownSnapshots,
-            Consumer<FileSystemLocationSnapshot> unfilteredSnapshotRecorder
+            Consumer<FileSystemLocationSnapshot> unfilteredSnapshotRecorder,
+            @Nullable ParallelSnapshotting parallelSnapshotting,
+            Deque<String> parentDirectories,
+            boolean continuesHierarchy
         ) {
-            super(statisticsCollector);
+            super(statisticsCollector, continuesHierarchy);
             this.builder = FilteredTrackingMerkleDirectorySnapshotBuilder.sortingRequired(this::recordUnfilteredSnapshot);
             this.predicate = predicate;
             this.hasBeenFiltered = hasBeenFiltered;
@@ -289,6 +414,8 @@ public PathVisitor(
             this.symbolicLinkMapping = symbolicLinkMapping;
             this.previouslyKnownSnapshots = ImmutableMap.copyOf(previouslyKnownSnapshots);
             this.unfilteredSnapshotRecorder = unfilteredSnapshotRecorder;
+            this.parallelSnapshotting = parallelSnapshotting;
+            this.parentDirectories = parentDirectories;
         }
 
         private void recordUnfilteredSnapshot(FileSystemLocationSnapshot snapshot) {
@@ -316,6 +443,17 @@ protected FileVisitResult doPreVisitDirectory(Path dir, BasicFileAttributes attr
                     }
                 }
 
+                if (parallelSnapshotting != null) {
+                    if (!pendingChildren.isEmpty()) {
+                        // Snapshot the subdirectory in a separate task, and add the result when leaving the current directory
+                        Deque<String> subtreeParentDirectories = new ArrayDeque<>(parentDirectories);
+                        pendingChildren.getFirst().addSubtree(parallelSnapshotting.fork(() -> snapshotSubtree(dir, subtreeParentDirectories)));
+                        pathTracker.leave();
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    pendingChildren.addFirst(new PendingChildren());
+                }
+
                 builder.enterDirectory(AccessType.DIRECT, internedRemappedAbsolutePath, fileName, INCLUDE_EMPTY_DIRS);
                 parentDirectories.addFirst(dir.toString());
                 return FileVisitResult.CONTINUE;
@@ -334,6 +472,9 @@ protected FileVisitResult doPostVisitDirectory(Path dir, IOException exc) {
             if (isNotFileSystemLoopException(exc)) {
                 throw new UncheckedIOException(String.format("Could not read directory path '%s'.", dir), exc);
             }
+            if (parallelSnapshotting != null) {
+                pendingChildren.removeFirst().completeInto(builder, parallelSnapshotting);
+            }
             boolean currentLevelComplete = builder.isCurrentLevelUnfiltered();
             FileSystemLocationSnapshot currentLevel = builder.leaveDirectory();
             if (!currentLevelComplete) {
@@ -396,7 +537,10 @@ private DirectorySnapshot followSymlink(Path file, String internedFileName, Atom
                         collector,
                         symbolicLinkMapping.withNewMapping(file.toString(), targetDirString, pathTracker),
                         previouslyKnownSnapshots,
-                        unfilteredSnapshotRecorder);
+                        unfilteredSnapshotRecorder,
+                        parallelSnapshotting,
+                        new ArrayDeque<>(),
+                        false);
                     Files.walkFileTree(targetDir, EnumSet.noneOf(FileVisitOption.class), Integer.MAX_VALUE, subtreeVisitor);
                     return (DirectorySnapshot) subtreeVisitor.getResult();
                 } else {
@@ -407,6 +551,24 @@ private DirectorySnapshot followSymlink(Path file, String internedFileName, Atom
             }
         }
 
+        private DirectorySnapshot snapshotSubtree(Path dir, Deque<String> subtreeParentDirectories) {
+            PathVisitor subtreeVisitor = new PathVisitor(
+                predicate,
+                hasBeenFiltered,
+                hasher,
+                stringInterner,
+                defaultExcludes,
+                collector,
+                symbolicLinkMapping,
+                previouslyKnownSnapshots,
+                unfilteredSnapshotRecorder,
+                parallelSnapshotting,
+                subtreeParentDirectories,
+                true);
+            walk(dir, subtreeVisitor);
+            return (DirectorySnapshot) subtreeVisitor.getResult();
+        }
+
         private boolean introducesCycle(String targetDirString) {
             return parentDirectories.contains(targetDirString);
         }
@@ -414,7 +576,11 @@ private boolean introducesCycle(String targetDirString) {
         private void visitResolvedFile(Path file, BasicFileAttributes targetAttributes, AccessType accessType) {
             String internedName = intern(file.getFileName().toString());
             if (shouldVisitFile(file, internedName)) {
-                builder.visitLeafElement(snapshotFile(file, internedName, targetAttributes, accessType));
+                if (parallelSnapshotting != null && !pendingChildren.isEmpty()) {
+                    pendingChildren.getFirst().addFile(() -> snapshotFile(file, internedName, targetAttributes, accessType));
+                } else {
+                    builder.visitLeafElement(snapshotFile(file, internedName, targetAttributes, accessType));
+                }
             }
         }
 
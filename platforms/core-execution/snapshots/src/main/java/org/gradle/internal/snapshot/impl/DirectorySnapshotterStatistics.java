@@ -48,12 +48,30 @@ public interface DirectorySnapshotterStatistics {
      */
     long getFailedFiles();
 
+    /**
+     * The number of directory trees that were snapshotted in parallel.
+     */
+    long getParallelHierarchyCount();
+
+    /**
+     * The number of subtrees and batches of files that were handed to other threads while snapshotting in parallel.
+     */
+    long getForkedTaskCount();
+
+    /**
+     * The highest number of threads that took part in snapshotting a single directory tree.
+     */
+    long getMaxParallelism();
+
     @ServiceScope(Scope.Global.class)
     class Collector {
         private final AtomicLong hierarchyCount = new AtomicLong();
         private final AtomicLong directoryCount = new AtomicLong();
         private final AtomicLong fileCount = new AtomicLong();
         private final AtomicLong failedFileCount = new AtomicLong();
+        private final AtomicLong parallelHierarchyCount = new AtomicLong();
+        private final AtomicLong forkedTaskCount = new AtomicLong();
+        private final AtomicLong maxParallelism = new AtomicLong();
 
         public void recordVisitHierarchy() {
             hierarchyCount.incrementAndGet();
@@ -71,11 +89,23 @@ public void recordVisitFileFailed() {
             failedFileCount.incrementAndGet();
         }
 
+        /**
+         * Records a directory tree snapshotted in parallel, with the number of forked tasks and the number of threads that took part.
+         */
+        public void recordParallelHierarchy(long forkedTasks, long parallelism) {
+            parallelHierarchyCount.incrementAndGet();
+            forkedTaskCount.addAndGet(forkedTasks);
+            maxParallelism.accumulateAndGet(parallelism, Math::max);
+        }
+
         public DirectorySnapshotterStatistics collect() {
             long hierarchyCount = this.hierarchyCount.getAndSet(0);
             long directoryCount = this.directoryCount.getAndSet(0);
             long fileCount = this.fileCount.getAndSet(0);
             long failedFileCount = this.failedFileCount.getAndSet(0);
+            long parallelHierarchyCount = this.parallelHierarchyCount.getAndSet(0);
+            long forkedTaskCount = this.forkedTaskCount.getAndSet(0);
+            long maxParallelism = this.maxParallelism.getAndSet(0);
 
             return new DirectorySnapshotterStatistics() {
                 @Override
@@ -98,10 +128,30 @@ public long getFailedFiles() {
                     return failedFileCount;
                 }
 
+                @Override
+                public long getParallelHierarchyCount() {
+                    return parallelHierarchyCount;
+                }
+
+                @Override
+                public long getForkedTaskCount() {
+                    return forkedTaskCount;
+                }
+
+                @Override
+                public long getMaxParallelism() {
+                    return maxParallelism;
+                }
+
                 @Override
                 public String toString() {
-                    return MessageFormat.format("Snapshot {0,number,integer} directory hierarchies (visited {1,number,integer} directories, {2,number,integer} files and {3,number,integer} failed files)",
+                    String summary = MessageFormat.format("Snapshot {0,number,integer} directory hierarchies (visited {1,number,integer} directories, {2,number,integer} files and {3,number,integer} failed files)",
                         hierarchyCount, directoryCount, fileCount, failedFileCount);
+                    if (parallelHierarchyCount == 0) {
+                        return summary;
+                    }
+                    return summary + MessageFormat.format(", {0,number,integer} hierarchies in parallel ({1,number,integer} forked tasks, up to {2,number,integer} threads per hierarchy)",
+                        parallelHierarchyCount, forkedTaskCount, maxParallelism);
                 }
             };
         }
@@ -109,15 +159,31 @@ public String toString() {
 
     abstract class CollectingFileVisitor implements FileVisitor<Path> {
         protected final Collector collector;
+        private boolean rootAlreadyRecorded;
 
         public CollectingFileVisitor(Collector collector) {
+            this(collector, false);
+        }
+
+        /**
+         * Creates a visitor for a subtree of a hierarchy which is already being visited.
+         * When {@code continuesHierarchy} is {@code true}, neither the hierarchy nor the root directory of the subtree are recorded again.
+         */
+        protected CollectingFileVisitor(Collector collector, boolean continuesHierarchy) {
             this.collector = collector;
-            collector.recordVisitHierarchy();
+            this.rootAlreadyRecorded = continuesHierarchy;
+            if (!continuesHierarchy) {
+                collector.recordVisitHierarchy();
+            }
         }
 
         @Override
         public final FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
-            collector.recordVisitDirectory();
+            if (rootAlreadyRecorded) {
+                rootAlreadyRecorded = false;
+            } else {
+                collector.recordVisitDirectory();
+            }
             return doPreVisitDirectory(dir, attrs);
         }
 
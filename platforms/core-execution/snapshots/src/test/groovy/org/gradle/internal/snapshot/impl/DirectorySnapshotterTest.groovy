@@ -42,6 +42,7 @@ import spock.lang.Issue
 import spock.lang.Specification
 
 import java.nio.file.Paths
+import java.util.concurrent.ForkJoinPool
 import java.util.function.Consumer
 
 @UsesNativeServices
@@ -530,6 +531,33 @@ class DirectorySnapshotterTest extends Specification {
         pipe.delete()
     }
 
+    def "parallel snapshot is the same as sequential snapshot"() {
+        given:
+        def rootDir = tmpDir.createDir("root")
+        (1..5).each { i ->
+            (1..5).each { j ->
+                (1..40).each { k ->
+                    rootDir.file("dir$i/sub$j/file${k}.txt").text = "content $i $j $k"
+                }
+            }
+            rootDir.file("file${i}.txt").text = "root content $i"
+        }
+        def pool = new ForkJoinPool(4)
+        def parallelSnapshotter = new DirectorySnapshotter(fileHasher, new StringInterner(), [], statisticsCollector, pool)
+
+        when:
+        def sequentialSnapshot = directorySnapshotter.snapshot(rootDir.absolutePath, null, [:], {})
+        def parallelSnapshot = parallelSnapshotter.snapshot(rootDir.absolutePath, null, [:], unfilteredSubSnapshotsCollector)
+
+        then:
+        parallelSnapshot.hash == sequentialSnapshot.hash
+        SnapshotVisitorUtil.getRelativePaths(parallelSnapshot, true) == SnapshotVisitorUtil.getRelativePaths(sequentialSnapshot, true)
+        unfilteredSubsnapshots == [parallelSnapshot]
+
+        cleanup:
+        pool?.shutdown()
+    }
+
     def "default excludes are correctly parsed"() {
         def defaultExcludes = new DirectorySnapshotter.DefaultExcludes(DirectoryScanner.getDefaultExcludes() as List)
 
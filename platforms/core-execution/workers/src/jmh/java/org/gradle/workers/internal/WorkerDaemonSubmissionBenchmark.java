@@ -0,0 +1,201 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.workers.internal;
+
+import org.gradle.api.problems.Problem;
+import org.gradle.internal.concurrent.DefaultExecutorFactory;
+import org.gradle.internal.id.UUIDGenerator;
+import org.gradle.internal.logging.events.LogEvent;
+import org.gradle.internal.logging.events.StyledTextOutputEvent;
+import org.gradle.internal.operations.BuildOperationRef;
+import org.gradle.internal.operations.DefaultBuildOperationRef;
+import org.gradle.internal.operations.OperationIdentifier;
+import org.gradle.internal.remote.ConnectionAcceptor;
+import org.gradle.internal.remote.ObjectConnection;
+import org.gradle.internal.remote.internal.hub.MessageHubBackedClient;
+import org.gradle.internal.remote.internal.hub.MessageHubBackedServer;
+import org.gradle.internal.remote.internal.inet.InetAddressFactory;
+import org.gradle.internal.remote.internal.inet.TcpIncomingConnector;
+import org.gradle.internal.remote.internal.inet.TcpOutgoingConnector;
+import org.gradle.process.internal.worker.request.Request;
+import org.gradle.process.internal.worker.request.RequestArgumentSerializers;
+import org.gradle.process.internal.worker.request.RequestProtocol;
+import org.gradle.process.internal.worker.request.RequestSerializerRegistry;
+import org.gradle.process.internal.worker.request.ResponseProtocol;
+import org.jspecify.annotations.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many tiny units of work per second can be submitted to a warm worker daemon and answered by it.
+ * <p>
+ * Both ends of the worker protocol run in this JVM and talk over a loopback connection, with the serializers
+ * configured in the same way as for a real worker daemon. The worker answers each request right away,
+ * so the result is dominated by the per-request messaging and serialization overhead.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class WorkerDaemonSubmissionBenchmark {
+
+    @Param({"false", "true"})
+    boolean registeredResultSerializer;
+
+    private DefaultExecutorFactory executorFactory;
+    private ConnectionAcceptor acceptor;
+    private ObjectConnection workerConnection;
+    private ObjectConnection clientConnection;
+    private RequestProtocol requestProtocol;
+    private final BlockingQueue<Object> results = new ArrayBlockingQueue<>(1);
+    private TransportableActionExecutionSpec spec;
+    private long nextOperationId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        executorFactory = new DefaultExecutorFactory();
+        spec = new TransportableActionExecutionSpec(
+            "org.example.TinyWorkAction",
+            new byte[64],
+            new FlatClassLoaderStructure(null),
+            new File("base-dir").getAbsoluteFile(),
+            new File("project-cache").getAbsoluteFile(),
+            Collections.emptySet()
+        );
+
+        BlockingQueue<ObjectConnection> accepted = new ArrayBlockingQueue<>(1);
+        MessageHubBackedServer server = new MessageHubBackedServer(new TcpIncomingConnector(executorFactory, new InetAddressFactory(), new UUIDGenerator(), 10), executorFactory);
+        acceptor = server.accept(accepted::add);
+        MessageHubBackedClient client = new MessageHubBackedClient(new TcpOutgoingConnector(), executorFactory);
+
+        // The build side of the connection, as set up by DefaultMultiRequestWorkerProcessBuilder
+        ClassLoader classLoader = getClass().getClassLoader();
+        RequestArgumentSerializers clientSerializers = serializers();
+        clientConnection = client.getConnection(acceptor.getAddress());
+        clientConnection.addIncoming(ResponseProtocol.class, new ResultReceiver());
+        clientConnection.useJavaSerializationForParameters(classLoader);
+        clientConnection.useParameterSerializers(RequestSerializerRegistry.create(classLoader, clientSerializers));
+        clientConnection.useParameterSerializers(RequestSerializerRegistry.createResult(classLoader, clientSerializers));
+        requestProtocol = clientConnection.addOutgoing(RequestProtocol.class);
+
+        // The worker side of the connection, as set up by WorkerAction
+        workerConnection = accepted.take();
+        RequestArgumentSerializers workerSerializers = serializers();
+        ResponseProtocol responder = workerConnection.addOutgoing(ResponseProtocol.class);
+        workerConnection.addIncoming(RequestProtocol.class, new ImmediateWorker(responder));
+        workerConnection.useParameterSerializers(RequestSerializerRegistry.create(classLoader, workerSerializers));
+        workerConnection.useParameterSerializers(RequestSerializerRegistry.createResult(classLoader, workerSerializers));
+
+        workerConnection.connect();
+        clientConnection.connect();
+    }
+
+    private RequestArgumentSerializers serializers() {
+        RequestArgumentSerializers serializers = new RequestArgumentSerializers();
+        serializers.register(TransportableActionExecutionSpec.class, new TransportableActionExecutionSpecSerializer());
+        if (registeredResultSerializer) {
+            serializers.registerResult(DefaultWorkResult.class, new DefaultWorkResultSerializer());
+        }
+        return serializers;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        clientConnection.stop();
+        workerConnection.stop();
+        acceptor.stop();
+        executorFactory.stop();
+    }
+
+    @Benchmark
+    public Object submit() throws InterruptedException {
+        OperationIdentifier id = new OperationIdentifier(++nextOperationId);
+        BuildOperationRef buildOperation = new DefaultBuildOperationRef(id, null);
+        requestProtocol.run(new Request(spec, buildOperation));
+        return results.take();
+    }
+
+    private static class ImmediateWorker implements RequestProtocol {
+        private final ResponseProtocol responder;
+
+        ImmediateWorker(ResponseProtocol responder) {
+            this.responder = responder;
+        }
+
+        @Override
+        public void run(Request request) {
+            responder.completed(new DefaultWorkResult(true, null));
+        }
+
+        @Override
+        public void runThenStop(Request request) {
+            run(request);
+        }
+
+        @Override
+        public void stop() {
+        }
+    }
+
+    private class ResultReceiver implements ResponseProtocol {
+        @Override
+        public void completed(Object result) {
+            results.add(result);
+        }
+
+        @Override
+        public void failed(Throwable failure) {
+            results.add(failure);
+        }
+
+        @Override
+        public void infrastructureFailed(Throwable failure) {
+            results.add(failure);
+        }
+
+        @Override
+        public void sendOutputEvent(LogEvent event) {
+        }
+
+        @Override
+        public void sendOutputEvent(StyledTextOutputEvent event) {
+        }
+
+        @Override
+        public void reportProblem(Problem problem, @Nullable OperationIdentifier id) {
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.workers.internal;
+
+import org.gradle.internal.operations.BuildOperationType;
+
+/**
+ * Reserving a worker daemon for a work item, either by reusing an idle daemon, by claiming a pre-started spare daemon or by starting a new one.
+ *
+ * @since 9.4
+ */
+public interface ReserveWorkerDaemonBuildOperationType extends BuildOperationType<ReserveWorkerDaemonBuildOperationType.Details, ReserveWorkerDaemonBuildOperationType.Result> {
+
+    interface Details {
+        /**
+         * Returns a description of the fork options the worker daemon is required to be compatible with.
+         */
+        String getForkOptions();
+    }
+
+    interface Result {
+        /**
+         * Returns true when a daemon that was already running was reserved, including spare daemons that were started ahead of time.
+         */
+        boolean isPoolHit();
+
+        /**
+         * Returns true when a spare daemon that was started ahead of time was reserved.
+         */
+        boolean isSpare();
+
+        /**
+         * Returns the time in milliseconds spent waiting for a worker daemon to start, or 0 for an idle daemon.
+         */
+        long getStartupWaitMillis();
+
+        /**
+         * Returns the number of pool hits recorded for compatible fork options, including this reservation.
+         */
+        int getHitCount();
+
+        /**
+         * Returns the number of pool misses recorded for compatible fork options, including this reservation.
+         */
+        int getMissCount();
+    }
+}
@@ -21,6 +21,8 @@
 import org.gradle.api.logging.LogLevel;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.ManagedExecutor;
 import org.gradle.internal.concurrent.Stoppable;
 import org.gradle.internal.event.ListenerManager;
 import org.gradle.internal.logging.LoggingManagerInternal;
@@ -31,25 +33,47 @@
 import org.gradle.internal.service.scopes.Scope;
 import org.gradle.internal.service.scopes.ServiceScope;
 import org.gradle.internal.session.BuildSessionLifecycleListener;
+import org.gradle.internal.time.Time;
+import org.gradle.internal.time.Timer;
 import org.gradle.process.internal.health.memory.MemoryManager;
 import org.gradle.process.internal.health.memory.OsMemoryInfo;
 import org.gradle.util.internal.CollectionUtils;
+import org.jspecify.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.Consumer;
 
 import static java.util.Comparator.comparingInt;
 
+/**
+ * Keeps track of the worker daemons started in this daemon and hands them out to work items.
+ * <p>
+ * The manager remembers the fork options of the most recently reserved daemons, together with how often a reservation could be served by
+ * a daemon that was already running. When spare daemons are enabled with the {@value #SPARE_DAEMONS_PROPERTY} system property, the daemons
+ * that had to be started during the previous build session are started again in the background when the next build session starts,
+ * so that they are ready by the time the build has been configured and its work starts executing.
+ */
 @ServiceScope(Scope.UserHome.class)
 public class WorkerDaemonClientsManager implements Stoppable {
 
+    /**
+     * The maximum number of spare worker daemons to start ahead of time at the start of a build session. Defaults to 0, which disables spare daemons.
+     */
+    public static final String SPARE_DAEMONS_PROPERTY = "org.gradle.workers.internal.spare-daemons";
+
     private static final Logger LOGGER = Logging.getLogger(WorkerDaemonClientsManager.class);
+    private static final int MAX_TRACKED_FORK_OPTIONS = 8;
 
     private final Object lock = new Object();
     private final List<WorkerDaemonClient> allClients = new ArrayList<WorkerDaemonClient>();
     private final List<WorkerDaemonClient> idleClients = new ArrayList<WorkerDaemonClient>();
+    private final List<SpareClient> pendingSpareClients = new ArrayList<SpareClient>();
+    // Most recently used first
+    private final List<ForkOptionsUsage> recentForkOptions = new ArrayList<ForkOptionsUsage>();
 
     private final WorkerDaemonStarter workerDaemonStarter;
     private final ListenerManager listenerManager;
@@ -59,10 +83,16 @@ public class WorkerDaemonClientsManager implements Stoppable {
     private final OutputEventListener logLevelChangeEventListener;
     private final WorkerDaemonExpiration workerDaemonExpiration;
     private final MemoryManager memoryManager;
+    private final ExecutorFactory executorFactory;
+    private final int spareDaemons;
     private volatile LogLevel currentLogLevel;
+    private ManagedExecutor spareClientStarter;
+    private boolean stopped;
 
-    public WorkerDaemonClientsManager(WorkerDaemonStarter workerDaemonStarter, ListenerManager listenerManager, LoggingManagerInternal loggingManager, MemoryManager memoryManager, OsMemoryInfo memoryInfo) {
+    public WorkerDaemonClientsManager(WorkerDaemonStarter workerDaemonStarter, ListenerManager listenerManager, LoggingManagerInternal loggingManager, MemoryManager memoryManager, OsMemoryInfo memoryInfo, ExecutorFactory executorFactory, int spareDaemons) {
         this.workerDaemonStarter = workerDaemonStarter;
+        this.executorFactory = executorFactory;
+        this.spareDaemons = spareDaemons;
         this.listenerManager = listenerManager;
         this.loggingManager = loggingManager;
         this.memoryInfo = memoryInfo;
@@ -76,6 +106,33 @@ public WorkerDaemonClientsManager(WorkerDaemonStarter workerDaemonStarter, Liste
         memoryManager.addMemoryHolder(workerDaemonExpiration);
     }
 
+    /**
+     * Reserves a worker daemon compatible with the given fork options, preferring an idle daemon, then a spare daemon and finally starting a new daemon.
+     */
+    public WorkerDaemonReservation reserveClient(DaemonForkOptions forkOptions) {
+        SpareClient spareClient;
+        synchronized (lock) {
+            WorkerDaemonClient idleClient = reserveIdleClient(forkOptions);
+            if (idleClient != null) {
+                ForkOptionsUsage usage = recordUsage(forkOptions, true, false);
+                return new WorkerDaemonReservation(idleClient, true, false, 0, usage.hits, usage.misses);
+            }
+            spareClient = claimSpareClient(forkOptions);
+        }
+
+        Timer timer = Time.startTimer();
+        WorkerDaemonClient client = spareClient == null ? null : awaitSpareClient(spareClient);
+        boolean spare = client != null;
+        if (client == null) {
+            client = reserveNewClient(forkOptions);
+        }
+        long startupWaitMillis = timer.getElapsedMillis();
+        synchronized (lock) {
+            ForkOptionsUsage usage = recordUsage(forkOptions, spare, true);
+            return new WorkerDaemonReservation(client, spare, spare, startupWaitMillis, usage.hits, usage.misses);
+        }
+    }
+
     // TODO - should supply and check for the same parameters as passed to reserveNewClient()
     public WorkerDaemonClient reserveIdleClient(DaemonForkOptions forkOptions) {
         return reserveIdleClient(forkOptions, idleClients);
@@ -126,6 +183,137 @@ WorkerDaemonClient reserveNewClient(DaemonForkOptions forkOptions) {
         return client;
     }
 
+    @Nullable
+    private SpareClient claimSpareClient(DaemonForkOptions forkOptions) {
+        Iterator<SpareClient> it = pendingSpareClients.iterator();
+        while (it.hasNext()) {
+            SpareClient candidate = it.next();
+            if (candidate.forkOptions.isCompatibleWith(forkOptions)) {
+                it.remove();
+                candidate.claimed = true;
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private WorkerDaemonClient awaitSpareClient(SpareClient spareClient) {
+        WorkerDaemonClient client;
+        try {
+            client = spareClient.client.join();
+        } catch (CompletionException e) {
+            // Reported again when starting a new daemon, if the failure was not a one-off
+            return null;
+        }
+        if (client.isFailed()) {
+            emitUnexpectedWorkerFailureWarning(client);
+            removeClient(client);
+            return null;
+        }
+        if (client.getLogLevel() != currentLogLevel) {
+            LOGGER.info("Log level has changed, stopping spare worker daemon with out-of-date log level.");
+            client.stop();
+            removeClient(client);
+            return null;
+        }
+        return client;
+    }
+
+    private void removeClient(WorkerDaemonClient client) {
+        synchronized (lock) {
+            allClients.remove(client);
+        }
+    }
+
+    private ForkOptionsUsage recordUsage(DaemonForkOptions forkOptions, boolean poolHit, boolean daemonStarted) {
+        ForkOptionsUsage usage = null;
+        Iterator<ForkOptionsUsage> it = recentForkOptions.iterator();
+        while (it.hasNext()) {
+            ForkOptionsUsage candidate = it.next();
+            if (candidate.matches(forkOptions)) {
+                it.remove();
+                usage = candidate;
+                break;
+            }
+        }
+        if (usage == null) {
+            usage = new ForkOptionsUsage(forkOptions);
+            if (recentForkOptions.size() == MAX_TRACKED_FORK_OPTIONS) {
+                recentForkOptions.remove(MAX_TRACKED_FORK_OPTIONS - 1);
+            }
+        }
+        recentForkOptions.add(0, usage);
+        if (poolHit) {
+            usage.hits++;
+        } else {
+            usage.misses++;
+        }
+        if (daemonStarted) {
+            usage.startedThisSession++;
+        }
+        return usage;
+    }
+
+    /**
+     * Starts spare daemons for the fork options that needed daemons to be started in the previous build session, most recently used first.
+     */
+    private void startSpareClients() {
+        synchronized (lock) {
+            int remaining = stopped ? 0 : spareDaemons - pendingSpareClients.size();
+            for (ForkOptionsUsage usage : recentForkOptions) {
+                int wanted = Math.min(usage.startedThisSession - countAvailableClients(usage.forkOptions), remaining);
+                usage.startedThisSession = 0;
+                for (int i = 0; i < wanted; i++) {
+                    SpareClient spareClient = new SpareClient(usage.forkOptions);
+                    pendingSpareClients.add(spareClient);
+                    if (spareClientStarter == null) {
+                        spareClientStarter = executorFactory.create("Worker daemon spare starter");
+                    }
+                    spareClientStarter.execute(() -> startSpareClient(spareClient));
+                    remaining--;
+                }
+            }
+        }
+    }
+
+    private int countAvailableClients(DaemonForkOptions forkOptions) {
+        int count = 0;
+        for (WorkerDaemonClient client : idleClients) {
+            if (!client.isFailed() && client.isCompatibleWith(forkOptions)) {
+                count++;
+            }
+        }
+        for (SpareClient spareClient : pendingSpareClients) {
+            if (spareClient.forkOptions.isCompatibleWith(forkOptions)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void startSpareClient(SpareClient spareClient) {
+        WorkerDaemonClient client;
+        try {
+            client = workerDaemonStarter.startDaemon(spareClient.forkOptions);
+        } catch (RuntimeException e) {
+            LOGGER.debug("Could not start spare worker daemon.", e);
+            synchronized (lock) {
+                pendingSpareClients.remove(spareClient);
+            }
+            spareClient.client.completeExceptionally(e);
+            return;
+        }
+        synchronized (lock) {
+            allClients.add(client);
+            if (!spareClient.claimed) {
+                pendingSpareClients.remove(spareClient);
+                idleClients.add(client);
+            }
+        }
+        spareClient.client.complete(client);
+    }
+
     void release(WorkerDaemonClient client) {
         synchronized (lock) {
             if (!client.isFailed()) {
@@ -136,6 +324,15 @@ void release(WorkerDaemonClient client) {
 
     @Override
     public void stop() {
+        ManagedExecutor spareClientStarter;
+        synchronized (lock) {
+            stopped = true;
+            spareClientStarter = this.spareClientStarter;
+        }
+        // Wait for spare daemons outside the lock, as they need the lock to register themselves, and are then stopped below
+        if (spareClientStarter != null) {
+            spareClientStarter.stop();
+        }
         synchronized (lock) {
             stopAllWorkers();
             listenerManager.removeListener(stopSessionScopeWorkers);
@@ -227,6 +424,13 @@ public void onOutput(OutputEvent event) {
     }
 
     private class StopSessionScopedWorkers implements BuildSessionLifecycleListener {
+        @Override
+        public void afterStart() {
+            if (spareDaemons > 0) {
+                startSpareClients();
+            }
+        }
+
         @Override
         public void beforeComplete() {
             synchronized (lock) {
@@ -236,6 +440,31 @@ public void beforeComplete() {
         }
     }
 
+    private static class SpareClient {
+        private final DaemonForkOptions forkOptions;
+        private final CompletableFuture<WorkerDaemonClient> client = new CompletableFuture<WorkerDaemonClient>();
+        private boolean claimed;
+
+        SpareClient(DaemonForkOptions forkOptions) {
+            this.forkOptions = forkOptions;
+        }
+    }
+
+    private static class ForkOptionsUsage {
+        private final DaemonForkOptions forkOptions;
+        private int hits;
+        private int misses;
+        private int startedThisSession;
+
+        ForkOptionsUsage(DaemonForkOptions forkOptions) {
+            this.forkOptions = forkOptions;
+        }
+
+        boolean matches(DaemonForkOptions other) {
+            return forkOptions == other || (forkOptions.isCompatibleWith(other) && other.isCompatibleWith(forkOptions));
+        }
+    }
+
     private static final Consumer<WorkerDaemonClient> STOP_CLIENT = WorkerDaemonClient::stop;
     private static final Consumer<WorkerDaemonClient> KILL_CLIENT = WorkerDaemonClient::kill;
 }
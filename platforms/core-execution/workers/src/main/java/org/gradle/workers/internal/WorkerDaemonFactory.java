@@ -16,8 +16,11 @@
 
 package org.gradle.workers.internal;
 
+import org.gradle.internal.operations.BuildOperationContext;
+import org.gradle.internal.operations.BuildOperationDescriptor;
 import org.gradle.internal.operations.BuildOperationRef;
 import org.gradle.internal.operations.BuildOperationRunner;
+import org.gradle.internal.operations.CallableBuildOperation;
 import org.gradle.internal.operations.CurrentBuildOperationRef;
 import org.gradle.internal.service.scopes.Scope;
 import org.gradle.internal.service.scopes.ServiceScope;
@@ -63,12 +66,34 @@ public DefaultWorkResult execute(IsolatedParametersActionExecutionSpec<?> spec,
 
             private WorkerDaemonClient reserveClient() {
                 DaemonForkOptions forkOptions = ((ForkedWorkerRequirement) workerRequirement).getForkOptions();
-                WorkerDaemonClient client = clientsManager.reserveIdleClient(forkOptions);
-                if (client == null) {
-                    client = clientsManager.reserveNewClient(forkOptions);
-                }
-                return client;
+                return buildOperationRunner.call(new CallableBuildOperation<WorkerDaemonClient>() {
+                    @Override
+                    public WorkerDaemonClient call(BuildOperationContext context) {
+                        WorkerDaemonReservation reservation = clientsManager.reserveClient(forkOptions);
+                        context.setResult(reservation);
+                        return reservation.getClient();
+                    }
+
+                    @Override
+                    public BuildOperationDescriptor.Builder description() {
+                        return BuildOperationDescriptor.displayName("Reserve worker daemon")
+                            .details(new ReserveWorkerDaemonDetails(forkOptions));
+                    }
+                });
             }
         };
     }
+
+    private static class ReserveWorkerDaemonDetails implements ReserveWorkerDaemonBuildOperationType.Details {
+        private final DaemonForkOptions forkOptions;
+
+        ReserveWorkerDaemonDetails(DaemonForkOptions forkOptions) {
+            this.forkOptions = forkOptions;
+        }
+
+        @Override
+        public String getForkOptions() {
+            return forkOptions.toString();
+        }
+    }
 }
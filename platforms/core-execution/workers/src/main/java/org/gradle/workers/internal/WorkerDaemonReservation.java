@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.workers.internal;
+
+/**
+ * The outcome of reserving a worker daemon from the {@link WorkerDaemonClientsManager}.
+ */
+public class WorkerDaemonReservation implements ReserveWorkerDaemonBuildOperationType.Result {
+    private final WorkerDaemonClient client;
+    private final boolean poolHit;
+    private final boolean spare;
+    private final long startupWaitMillis;
+    private final int hitCount;
+    private final int missCount;
+
+    WorkerDaemonReservation(WorkerDaemonClient client, boolean poolHit, boolean spare, long startupWaitMillis, int hitCount, int missCount) {
+        this.client = client;
+        this.poolHit = poolHit;
+        this.spare = spare;
+        this.startupWaitMillis = startupWaitMillis;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+    }
+
+    public WorkerDaemonClient getClient() {
+        return client;
+    }
+
+    @Override
+    public boolean isPoolHit() {
+        return poolHit;
+    }
+
+    @Override
+    public boolean isSpare() {
+        return spare;
+    }
+
+    @Override
+    public long getStartupWaitMillis() {
+        return startupWaitMillis;
+    }
+
+    @Override
+    public int getHitCount() {
+        return hitCount;
+    }
+
+    @Override
+    public int getMissCount() {
+        return missCount;
+    }
+}
@@ -79,6 +79,7 @@ WorkerDaemonClient startDaemon(DaemonForkOptions forkOptions) {
         JavaExecHandleBuilder javaCommand = builder.getJavaCommand();
         forkOptions.copyTo(javaCommand);
         builder.registerArgumentSerializer(TransportableActionExecutionSpec.class, new TransportableActionExecutionSpecSerializer());
+        builder.registerResultSerializer(DefaultWorkResult.class, new DefaultWorkResultSerializer());
         MultiRequestClient<TransportableActionExecutionSpec, DefaultWorkResult> workerDaemonProcess = builder.build();
         WorkerProcess workerProcess = workerDaemonProcess.start();
 
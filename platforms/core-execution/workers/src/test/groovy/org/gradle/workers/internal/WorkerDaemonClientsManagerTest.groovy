@@ -40,7 +40,7 @@ class WorkerDaemonClientsManagerTest extends ConcurrentSpecification {
     def memoryManager = Mock(MemoryManager)
 
     @Subject
-        manager = new WorkerDaemonClientsManager(starter, listenerManager, loggingManager, memoryManager, new MBeanOsMemoryInfo(new DefaultMBeanAttributeProvider()))
+        manager = new WorkerDaemonClientsManager(starter, listenerManager, loggingManager, memoryManager, new MBeanOsMemoryInfo(new DefaultMBeanAttributeProvider()), executorFactory, 0)
 
     def "does not reserve idle client when no clients"() {
         expect:
@@ -146,7 +146,7 @@ class WorkerDaemonClientsManagerTest extends ConcurrentSpecification {
 
     def "can stop session-scoped clients"() {
         listenerManager = new DefaultListenerManager(Scope.BuildSession)
-        manager = new WorkerDaemonClientsManager(starter, listenerManager, loggingManager, memoryManager, new MBeanOsMemoryInfo(new DefaultMBeanAttributeProvider()))
+        manager = new WorkerDaemonClientsManager(starter, listenerManager, loggingManager, memoryManager, new MBeanOsMemoryInfo(new DefaultMBeanAttributeProvider()), executorFactory, 0)
         def client1 = Mock(WorkerDaemonClient)
         def client2 = Mock(WorkerDaemonClient)
         starter.startDaemon(options) >>> [client1, client2]
@@ -165,7 +165,7 @@ class WorkerDaemonClientsManagerTest extends ConcurrentSpecification {
 
     def "Stopping session-scoped clients does not stop other clients"() {
         listenerManager = new DefaultListenerManager(Scope.BuildSession)
-        manager = new WorkerDaemonClientsManager(starter, listenerManager, loggingManager, memoryManager, new MBeanOsMemoryInfo(new DefaultMBeanAttributeProvider()))
+        manager = new WorkerDaemonClientsManager(starter, listenerManager, loggingManager, memoryManager, new MBeanOsMemoryInfo(new DefaultMBeanAttributeProvider()), executorFactory, 0)
         def client1 = Mock(WorkerDaemonClient)
         def client2 = Mock(WorkerDaemonClient)
         starter.startDaemon(options) >>> [client1, client2]
@@ -202,6 +202,64 @@ class WorkerDaemonClientsManagerTest extends ConcurrentSpecification {
         manager.reserveIdleClient(options) == client
     }
 
+    def "records pool hits and misses per fork options"() {
+        def client = Mock(WorkerDaemonClient) {
+            isCompatibleWith(_) >> true
+            getLogLevel() >> LogLevel.INFO
+        }
+        loggingManager.getLevel() >> LogLevel.INFO
+        manager = new WorkerDaemonClientsManager(starter, listenerManager, loggingManager, memoryManager, new MBeanOsMemoryInfo(new DefaultMBeanAttributeProvider()), executorFactory, 0)
+        starter.startDaemon(options) >> client
+
+        when:
+        def first = manager.reserveClient(options)
+
+        then:
+        first.client == client
+        !first.poolHit
+        first.hitCount == 0
+        first.missCount == 1
+
+        when:
+        manager.release(client)
+        def second = manager.reserveClient(options)
+
+        then:
+        second.client == client
+        second.poolHit
+        !second.spare
+        second.startupWaitMillis == 0
+        second.hitCount == 1
+        second.missCount == 1
+    }
+
+    def "starts spare clients for fork options that needed new daemons when the next build session starts"() {
+        listenerManager = new DefaultListenerManager(Scope.BuildSession)
+        loggingManager.getLevel() >> LogLevel.INFO
+        manager = new WorkerDaemonClientsManager(starter, listenerManager, loggingManager, memoryManager, new MBeanOsMemoryInfo(new DefaultMBeanAttributeProvider()), executorFactory, 2)
+        options.isCompatibleWith(_) >> true
+        def client = Stub(WorkerDaemonClient)
+        def spare = Stub(WorkerDaemonClient) {
+            isCompatibleWith(_) >> true
+            getLogLevel() >> LogLevel.INFO
+        }
+        starter.startDaemon(options) >>> [client, spare]
+
+        when:
+        manager.reserveClient(options)
+        listenerManager.getBroadcaster(BuildSessionLifecycleListener).afterStart()
+        def reservation = manager.reserveClient(options)
+
+        then:
+        reservation.client == spare
+        reservation.poolHit
+        reservation.hitCount == 1
+        reservation.missCount == 1
+
+        cleanup:
+        manager.stop()
+    }
+
     def "clients are discarded when log level changes"() {
         OutputEventListener listener
         def client = Mock(WorkerDaemonClient) {
@@ -213,7 +271,7 @@ class WorkerDaemonClientsManagerTest extends ConcurrentSpecification {
         loggingManager.getLevel() >> LogLevel.INFO
 
         when:
-        manager = new WorkerDaemonClientsManager(starter, listenerManager, loggingManager, memoryManager, new MBeanOsMemoryInfo(new DefaultMBeanAttributeProvider()))
+        manager = new WorkerDaemonClientsManager(starter, listenerManager, loggingManager, memoryManager, new MBeanOsMemoryInfo(new DefaultMBeanAttributeProvider()), executorFactory, 0)
 
         then:
         listener != null
@@ -290,7 +348,7 @@ class WorkerDaemonClientsManagerTest extends ConcurrentSpecification {
         WorkerDaemonExpiration workerDaemonExpiration
 
         when:
-        def manager = new WorkerDaemonClientsManager(starter, listenerManager, loggingManager, memoryManager, new MBeanOsMemoryInfo(new DefaultMBeanAttributeProvider()))
+        def manager = new WorkerDaemonClientsManager(starter, listenerManager, loggingManager, memoryManager, new MBeanOsMemoryInfo(new DefaultMBeanAttributeProvider()), executorFactory, 0)
 
         then:
         1 * memoryManager.addMemoryHolder(_) >> { args -> workerDaemonExpiration = args[0] }
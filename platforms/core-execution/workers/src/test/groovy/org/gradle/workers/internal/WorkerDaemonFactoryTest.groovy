@@ -50,15 +50,17 @@ class WorkerDaemonFactoryTest extends Specification {
         0 * clientsManager._
     }
 
-    def "new client is created when daemon is executed and no idle clients found"() {
+    def "client is reserved in a build operation when daemon is executed"() {
+        def context = Mock(BuildOperationContext)
+        def reservation = new WorkerDaemonReservation(client, false, false, 10, 0, 1)
+
         when:
         factory.getWorker(requirement).execute(spec)
 
         then:
-        1 * clientsManager.reserveIdleClient(options) >> null
-
-        then:
-        1 * clientsManager.reserveNewClient(options) >> client
+        1 * buildOperationRunner.call(_) >> { args -> args[0].call(context) }
+        1 * clientsManager.reserveClient(options) >> reservation
+        1 * context.setResult(reservation)
 
         then:
         1 * buildOperationRunner.call(_) >> { args -> args[0].call(Stub(BuildOperationContext)) }
@@ -68,12 +70,13 @@ class WorkerDaemonFactoryTest extends Specification {
         1 * clientsManager.release(client)
     }
 
-    def "idle client is reused when daemon is executed"() {
+    def "reserved client is used when daemon is executed"() {
         when:
         factory.getWorker(requirement).execute(spec)
 
         then:
-        1 * clientsManager.reserveIdleClient(options) >> client
+        1 * buildOperationRunner.call(_) >> { args -> args[0].call(Stub(BuildOperationContext)) }
+        1 * clientsManager.reserveClient(options) >> reservation()
 
         then:
         1 * buildOperationRunner.call(_) >> { args -> args[0].call(Stub(BuildOperationContext)) }
@@ -88,7 +91,8 @@ class WorkerDaemonFactoryTest extends Specification {
         factory.getWorker(requirement).execute(spec)
 
         then:
-        1 * clientsManager.reserveIdleClient(options) >> client
+        1 * buildOperationRunner.call(_) >> { args -> args[0].call(Stub(BuildOperationContext)) }
+        1 * clientsManager.reserveClient(options) >> reservation()
 
         then:
         1 * buildOperationRunner.call(_) >> { args -> args[0].call() }
@@ -104,7 +108,10 @@ class WorkerDaemonFactoryTest extends Specification {
         factory.getWorker(requirement).execute(spec)
 
         then:
-        1 * clientsManager.reserveIdleClient(options) >> client
+        1 * buildOperationRunner.call(_) >> { args -> args[0].call(Stub(BuildOperationContext)) }
+        1 * clientsManager.reserveClient(options) >> reservation()
+
+        then:
         1 * buildOperationRunner.call(_)
     }
 
@@ -113,11 +120,18 @@ class WorkerDaemonFactoryTest extends Specification {
         factory.getWorker(requirement).execute(spec)
 
         then:
-        1 * clientsManager.reserveIdleClient(options) >> client
+        1 * buildOperationRunner.call(_) >> { args -> args[0].call(Stub(BuildOperationContext)) }
+        1 * clientsManager.reserveClient(options) >> reservation()
+
+        then:
         1 * buildOperationRunner.call(_) >> { args -> args[0].call() }
         1 * client.execute(spec) >> { throw new RuntimeException("Boo!") }
 
         then:
         thrown(RuntimeException)
     }
+
+    private WorkerDaemonReservation reservation() {
+        return new WorkerDaemonReservation(client, true, false, 0, 1, 0)
+    }
 }
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.resources;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.gradle.internal.resources.ResourceLockState.Disposition.FINISHED;
+import static org.gradle.internal.resources.ResourceLockState.Disposition.RETRY;
+
+/**
+ * Measures how many nodes of a synthetic plan can be scheduled per second, when workers select and finish nodes
+ * through the {@link ResourceLockCoordinationService} the same way the plan executor does.
+ *
+ * The nodes of the plan are split into layers, and the nodes of a layer can only start once all nodes of the previous layer have finished.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class ResourceLockCoordinationServiceBenchmark {
+    private static final int NODES = 20_000;
+
+    @Param({"8", "32", "64"})
+    int workers;
+
+    @Param({"16", "256"})
+    int layerWidth;
+
+    @Param({"0", "1000"})
+    int workPerNode;
+
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void startWorkers() {
+        executor = Executors.newFixedThreadPool(workers);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopWorkers() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NODES)
+    public void schedulePlan() throws InterruptedException {
+        DefaultResourceLockCoordinationService coordinationService = new DefaultResourceLockCoordinationService();
+        SyntheticPlan plan = new SyntheticPlan(coordinationService, NODES, layerWidth);
+        CountDownLatch finished = new CountDownLatch(workers);
+        for (int i = 0; i < workers; i++) {
+            executor.execute(() -> {
+                try {
+                    int node;
+                    while ((node = plan.selectNext()) >= 0) {
+                        Blackhole.consumeCPU(workPerNode);
+                        plan.finishedExecuting(node);
+                    }
+                } finally {
+                    finished.countDown();
+                }
+            });
+        }
+        finished.await();
+    }
+
+    private static class SyntheticPlan {
+        private final ResourceLockCoordinationService coordinationService;
+        private final int nodes;
+        private final int layerWidth;
+        // Only accessed while holding the state lock
+        private int started;
+        private int finished;
+        private int ready;
+
+        SyntheticPlan(ResourceLockCoordinationService coordinationService, int nodes, int layerWidth) {
+            this.coordinationService = coordinationService;
+            this.nodes = nodes;
+            this.layerWidth = layerWidth;
+            this.ready = Math.min(nodes, layerWidth);
+        }
+
+        /**
+         * Returns the next node to execute, or -1 when all nodes have finished.
+         */
+        int selectNext() {
+            int[] selected = new int[]{-1};
+            coordinationService.withStateLock(resourceLockState -> {
+                if (finished == nodes) {
+                    return FINISHED;
+                }
+                if (started == ready) {
+                    return RETRY;
+                }
+                selected[0] = started++;
+                return FINISHED;
+            });
+            return selected[0];
+        }
+
+        void finishedExecuting(int node) {
+            coordinationService.withStateLock(() -> {
+                finished++;
+                if (finished == ready) {
+                    ready = Math.min(nodes, ready + layerWidth);
+                }
+                // Like the plan executor, notify on every finished node as it may unblock further work
+                coordinationService.notifyStateChange();
+            });
+        }
+    }
+}
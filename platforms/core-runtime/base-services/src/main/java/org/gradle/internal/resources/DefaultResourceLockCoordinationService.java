@@ -36,7 +36,7 @@
 public class DefaultResourceLockCoordinationService implements ResourceLockCoordinationService, Closeable {
     private final Object lock = new Object();
     private final Set<Action<ResourceLock>> releaseHandlers = new LinkedHashSet<Action<ResourceLock>>();
-    private @Nullable Thread currentOwner;
+    private volatile @Nullable Thread currentOwner;
     private @Nullable DefaultResourceLockState currentState;
 
     @Override
@@ -50,10 +50,8 @@ public void close() throws IOException {
 
     @Override
     public void assertHasStateLock() {
-        synchronized (lock) {
-            if (getCurrent() == null) {
-                throw new IllegalStateException();
-            }
+        if (getCurrent() == null) {
+            throw new IllegalStateException();
         }
     }
 
@@ -157,12 +155,12 @@ private void finishOperation(@Nullable DefaultResourceLockState previous) {
 
     @Override
     public @Nullable ResourceLockState getCurrent() {
-        synchronized (lock) {
-            if (currentOwner != Thread.currentThread()) {
-                return null;
-            } else {
-                return currentState;
-            }
+        // Only the thread holding the state lock sets the owner to itself or clears it, and only the owner changes the current state,
+        // so there is no need to take the state lock to check this
+        if (currentOwner != Thread.currentThread()) {
+            return null;
+        } else {
+            return currentState;
         }
     }
 
@@ -105,6 +105,86 @@ class DefaultResourceLockCoordinationServiceTest extends ConcurrentSpec {
         lock2.lockedState
     }
 
+    def "wakes all waiting threads when state changes"() {
+        def coordinationService = new DefaultResourceLockCoordinationService()
+        def released = false
+        def waiting = 0
+        def finished = 0
+
+        when:
+        async {
+            5.times { i ->
+                start {
+                    coordinationService.withStateLock(lockAction {
+                        if (released) {
+                            finished++
+                            return FINISHED
+                        }
+                        waiting++
+                        if (waiting == 5) {
+                            instant.allWaiting
+                        }
+                        return RETRY
+                    })
+                }
+            }
+
+            thread.blockUntil.allWaiting
+            coordinationService.withStateLock {
+                released = true
+                coordinationService.notifyStateChange()
+            }
+        }
+
+        then:
+        finished == 5
+    }
+
+    def "thread that starts waiting while other threads are being woken is woken by the next state change"() {
+        def coordinationService = new DefaultResourceLockCoordinationService()
+        def stage = 0
+        def finished = []
+
+        when:
+        async {
+            start {
+                coordinationService.withStateLock(lockAction {
+                    if (stage == 0) {
+                        instant.firstWaiting
+                        return RETRY
+                    }
+                    finished << "first"
+                    return FINISHED
+                })
+            }
+            thread.blockUntil.firstWaiting
+            start {
+                coordinationService.withStateLock(lockAction {
+                    if (stage < 2) {
+                        if (stage == 1) {
+                            instant.secondWaiting
+                        }
+                        return RETRY
+                    }
+                    finished << "second"
+                    return FINISHED
+                })
+            }
+            coordinationService.withStateLock {
+                stage = 1
+                coordinationService.notifyStateChange()
+            }
+            thread.blockUntil.secondWaiting
+            coordinationService.withStateLock {
+                stage = 2
+                coordinationService.notifyStateChange()
+            }
+        }
+
+        then:
+        finished.sort() == ["first", "second"]
+    }
+
     def "interrupting a withState call waiting for a resource makes it retry acquiring the lock"() {
         def lock1 = resourceLock("lock1", true)
         def count = 0
@@ -29,6 +29,7 @@
 import org.gradle.internal.operations.DefaultBuildOperationIdFactory;
 import org.gradle.internal.remote.internal.OutgoingConnector;
 import org.gradle.internal.remote.internal.inet.TcpOutgoingConnector;
+import org.gradle.internal.remote.internal.inet.UnixDomainSocketOutgoingConnector;
 import org.gradle.internal.serialize.Serializer;
 import org.gradle.internal.service.Provides;
 import org.gradle.internal.service.ServiceRegistrationProvider;
@@ -60,7 +61,7 @@ IdGenerator<UUID> createIdGenerator() {
 
     @Provides
     OutgoingConnector createOutgoingConnector() {
-        return new TcpOutgoingConnector();
+        return new UnixDomainSocketOutgoingConnector(new TcpOutgoingConnector());
     }
 
     @Provides
@@ -31,6 +31,8 @@ dependencies {
     api(libs.jspecify)
 
     implementation(projects.stdlibJavaExtensions)
+
+    testImplementation(libs.commonsCompress)
 }
 
 errorprone {
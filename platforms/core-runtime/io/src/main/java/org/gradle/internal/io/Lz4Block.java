@@ -0,0 +1,220 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.io;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.gradle.internal.io.XxHash32.readIntLittleEndian;
+
+/**
+ * Compresses and decompresses independent blocks in the LZ4 block format.
+ * <p>
+ * The compressor is a single-pass greedy matcher with a small hash table, trading compression ratio for speed.
+ * The decompressor validates every sequence against the bounds of its input and output, so corrupt data results in an {@link IOException}.
+ *
+ * @see <a href="https://github.com/lz4/lz4/blob/dev/doc/lz4_Block_format.md">LZ4 Block Format Description</a>
+ */
+final class Lz4Block {
+    private static final int MIN_MATCH = 4;
+    private static final int LAST_LITERALS = 5;
+    private static final int MATCH_FIND_LIMIT = 12;
+    private static final int MAX_DISTANCE = 0xFFFF;
+    private static final int HASH_LOG = 12;
+    private static final int SKIP_TRIGGER = 6;
+    private static final int RUN_MASK = 0xF;
+
+    static final int HASH_TABLE_SIZE = 1 << HASH_LOG;
+
+    private Lz4Block() {
+    }
+
+    static int maxCompressedLength(int length) {
+        return length + length / 255 + 16;
+    }
+
+    /**
+     * Compresses {@code src[0..srcLength)} into {@code dst} starting at {@code dstOffset}.
+     * The destination must have room for {@link #maxCompressedLength(int)} bytes.
+     *
+     * @return the number of bytes written to {@code dst}
+     */
+    static int compress(byte[] src, int srcLength, byte[] dst, int dstOffset, int[] hashTable) {
+        Arrays.fill(hashTable, -1);
+        int matchStartLimit = srcLength - MATCH_FIND_LIMIT;
+        int matchEndLimit = srcLength - LAST_LITERALS;
+        int anchor = 0;
+        int pos = 0;
+        int dstPos = dstOffset;
+
+        search:
+        while (pos <= matchStartLimit) {
+            int attempts = 1 << SKIP_TRIGGER;
+            int ref;
+            while (true) {
+                int sequence = readIntLittleEndian(src, pos);
+                int hash = hash(sequence);
+                ref = hashTable[hash];
+                hashTable[hash] = pos;
+                if (ref >= 0 && pos - ref <= MAX_DISTANCE && readIntLittleEndian(src, ref) == sequence) {
+                    break;
+                }
+                // Skip ahead faster the longer we go without finding a match
+                pos += attempts++ >>> SKIP_TRIGGER;
+                if (pos > matchStartLimit) {
+                    break search;
+                }
+            }
+
+            int matchLength = MIN_MATCH;
+            while (pos + matchLength < matchEndLimit && src[pos + matchLength] == src[ref + matchLength]) {
+                matchLength++;
+            }
+            while (pos > anchor && ref > 0 && src[pos - 1] == src[ref - 1]) {
+                pos--;
+                ref--;
+                matchLength++;
+            }
+
+            dstPos = writeSequence(src, anchor, pos - anchor, pos - ref, matchLength, dst, dstPos);
+            pos += matchLength;
+            anchor = pos;
+            if (pos <= matchStartLimit) {
+                hashTable[hash(readIntLittleEndian(src, pos - 2))] = pos - 2;
+            }
+        }
+
+        return writeLastLiterals(src, anchor, srcLength - anchor, dst, dstPos) - dstOffset;
+    }
+
+    /**
+     * Decompresses {@code src[0..srcLength)} into {@code dst}.
+     *
+     * @return the number of bytes written to {@code dst}
+     */
+    static int decompress(byte[] src, int srcLength, byte[] dst) throws IOException {
+        int pos = 0;
+        int dstPos = 0;
+        while (true) {
+            if (pos >= srcLength) {
+                throw corrupt();
+            }
+            int token = src[pos++] & 0xff;
+
+            int literalLength = token >>> 4;
+            if (literalLength == RUN_MASK) {
+                int next;
+                do {
+                    if (pos >= srcLength) {
+                        throw corrupt();
+                    }
+                    next = src[pos++] & 0xff;
+                    literalLength += next;
+                } while (next == 255);
+            }
+            if (literalLength > srcLength - pos || literalLength > dst.length - dstPos) {
+                throw corrupt();
+            }
+            System.arraycopy(src, pos, dst, dstPos, literalLength);
+            pos += literalLength;
+            dstPos += literalLength;
+            if (pos == srcLength) {
+                // The last sequence only contains literals
+                return dstPos;
+            }
+
+            if (pos + 2 > srcLength) {
+                throw corrupt();
+            }
+            int offset = (src[pos] & 0xff) | (src[pos + 1] & 0xff) << 8;
+            pos += 2;
+            if (offset == 0 || offset > dstPos) {
+                throw corrupt();
+            }
+
+            int matchLength = token & RUN_MASK;
+            if (matchLength == RUN_MASK) {
+                int next;
+                do {
+                    if (pos >= srcLength) {
+                        throw corrupt();
+                    }
+                    next = src[pos++] & 0xff;
+                    matchLength += next;
+                } while (next == 255);
+            }
+            matchLength += MIN_MATCH;
+            if (matchLength > dst.length - dstPos) {
+                throw corrupt();
+            }
+
+            int ref = dstPos - offset;
+            if (offset >= matchLength) {
+                System.arraycopy(dst, ref, dst, dstPos, matchLength);
+                dstPos += matchLength;
+            } else {
+                // Overlapping match, repeats the last offset bytes
+                for (int i = 0; i < matchLength; i++) {
+                    dst[dstPos++] = dst[ref + i];
+                }
+            }
+        }
+    }
+
+    private static int writeSequence(byte[] src, int literalStart, int literalLength, int offset, int matchLength, byte[] dst, int dstPos) {
+        int tokenPos = dstPos++;
+        int matchRun = matchLength - MIN_MATCH;
+        dst[tokenPos] = (byte) (Math.min(literalLength, RUN_MASK) << 4 | Math.min(matchRun, RUN_MASK));
+        if (literalLength >= RUN_MASK) {
+            dstPos = writeRunLength(literalLength - RUN_MASK, dst, dstPos);
+        }
+        System.arraycopy(src, literalStart, dst, dstPos, literalLength);
+        dstPos += literalLength;
+        dst[dstPos++] = (byte) offset;
+        dst[dstPos++] = (byte) (offset >>> 8);
+        if (matchRun >= RUN_MASK) {
+            dstPos = writeRunLength(matchRun - RUN_MASK, dst, dstPos);
+        }
+        return dstPos;
+    }
+
+    private static int writeLastLiterals(byte[] src, int literalStart, int literalLength, byte[] dst, int dstPos) {
+        dst[dstPos++] = (byte) (Math.min(literalLength, RUN_MASK) << 4);
+        if (literalLength >= RUN_MASK) {
+            dstPos = writeRunLength(literalLength - RUN_MASK, dst, dstPos);
+        }
+        System.arraycopy(src, literalStart, dst, dstPos, literalLength);
+        return dstPos + literalLength;
+    }
+
+    private static int writeRunLength(int remaining, byte[] dst, int dstPos) {
+        while (remaining >= 255) {
+            dst[dstPos++] = (byte) 255;
+            remaining -= 255;
+        }
+        dst[dstPos++] = (byte) remaining;
+        return dstPos;
+    }
+
+    private static int hash(int sequence) {
+        return (sequence * 0x9E3779B1) >>> (32 - HASH_LOG);
+    }
+
+    private static IOException corrupt() {
+        return new IOException("Malformed LZ4 block.");
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.io;
+
+import org.jspecify.annotations.Nullable;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.gradle.internal.io.Lz4FrameOutputStream.FLAG_BLOCK_CHECKSUM;
+import static org.gradle.internal.io.Lz4FrameOutputStream.FLAG_BLOCK_INDEPENDENCE;
+import static org.gradle.internal.io.Lz4FrameOutputStream.FLAG_CONTENT_CHECKSUM;
+import static org.gradle.internal.io.Lz4FrameOutputStream.FLAG_CONTENT_SIZE;
+import static org.gradle.internal.io.Lz4FrameOutputStream.FLAG_DICTIONARY_ID;
+import static org.gradle.internal.io.Lz4FrameOutputStream.FLAG_VERSION;
+import static org.gradle.internal.io.Lz4FrameOutputStream.MAGIC;
+import static org.gradle.internal.io.Lz4FrameOutputStream.UNCOMPRESSED_BLOCK_BIT;
+import static org.gradle.internal.io.Lz4FrameOutputStream.headerChecksum;
+import static org.gradle.internal.io.XxHash32.readIntLittleEndian;
+
+/**
+ * Reads a single frame in the LZ4 frame format.
+ * <p>
+ * Supports frames with independent blocks of any size, optionally with block and content checksums.
+ * Frames with linked blocks or a dictionary are not supported.
+ *
+ * @see Lz4FrameOutputStream
+ */
+public final class Lz4FrameInputStream extends InputStream {
+    private final InputStream input;
+    private final boolean blockChecksum;
+    @Nullable
+    private final XxHash32 contentChecksum;
+    private final byte[] compressed;
+    private final byte[] block;
+    private final byte[] intBuffer = new byte[4];
+    private int position;
+    private int limit;
+    private boolean endOfFrame;
+
+    public Lz4FrameInputStream(InputStream input) throws IOException {
+        this.input = input;
+
+        byte[] header = new byte[7];
+        readFully(header, 0, 6);
+        if (!isFrameMagic(header)) {
+            throw new IOException("Not in LZ4 frame format.");
+        }
+        int flags = header[4] & 0xff;
+        if ((flags & 0xC0) != FLAG_VERSION) {
+            throw new IOException("Unsupported LZ4 frame version.");
+        }
+        if ((flags & FLAG_BLOCK_INDEPENDENCE) == 0 || (flags & FLAG_DICTIONARY_ID) != 0) {
+            throw new IOException("LZ4 frames with linked blocks or dictionaries are not supported.");
+        }
+        int blockSizeId = (header[5] >>> 4) & 0x7;
+        if (blockSizeId < 4) {
+            throw new IOException("Invalid LZ4 block size.");
+        }
+
+        int descriptorLength = 2;
+        if ((flags & FLAG_CONTENT_SIZE) != 0) {
+            byte[] extendedHeader = new byte[header.length + 8];
+            System.arraycopy(header, 0, extendedHeader, 0, 6);
+            header = extendedHeader;
+            readFully(header, 6, 8);
+            descriptorLength += 8;
+        }
+        readFully(header, 4 + descriptorLength, 1);
+        if (header[4 + descriptorLength] != headerChecksum(header, 4, descriptorLength)) {
+            throw new IOException("LZ4 frame header is corrupt.");
+        }
+
+        int maxBlockSize = 1 << (8 + 2 * blockSizeId);
+        this.blockChecksum = (flags & FLAG_BLOCK_CHECKSUM) != 0;
+        this.contentChecksum = (flags & FLAG_CONTENT_CHECKSUM) != 0 ? new XxHash32() : null;
+        this.compressed = new byte[maxBlockSize];
+        this.block = new byte[maxBlockSize];
+    }
+
+    public static boolean isFrameMagic(byte[] bytes) {
+        return bytes.length >= 4 && readIntLittleEndian(bytes, 0) == MAGIC;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (position == limit && !readBlock()) {
+            return -1;
+        }
+        return block[position++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] bytes, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (position == limit && !readBlock()) {
+            return -1;
+        }
+        int count = Math.min(limit - position, len);
+        System.arraycopy(block, position, bytes, off, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return limit - position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+
+    private boolean readBlock() throws IOException {
+        if (endOfFrame) {
+            return false;
+        }
+        int blockHeader = readInt();
+        if (blockHeader == 0) {
+            endOfFrame = true;
+            if (contentChecksum != null && readInt() != contentChecksum.getValue()) {
+                throw new IOException("LZ4 content checksum mismatch.");
+            }
+            return false;
+        }
+
+        boolean uncompressed = (blockHeader & UNCOMPRESSED_BLOCK_BIT) != 0;
+        int blockSize = blockHeader & ~UNCOMPRESSED_BLOCK_BIT;
+        if (blockSize > block.length) {
+            throw new IOException("LZ4 block exceeds maximum block size.");
+        }
+        byte[] blockData = uncompressed ? block : compressed;
+        readFully(blockData, 0, blockSize);
+        if (blockChecksum && readInt() != XxHash32.hash(blockData, 0, blockSize)) {
+            throw new IOException("LZ4 block checksum mismatch.");
+        }
+
+        limit = uncompressed ? blockSize : Lz4Block.decompress(compressed, blockSize, block);
+        position = 0;
+        if (contentChecksum != null) {
+            contentChecksum.update(block, 0, limit);
+        }
+        return true;
+    }
+
+    private int readInt() throws IOException {
+        readFully(intBuffer, 0, 4);
+        return readIntLittleEndian(intBuffer, 0);
+    }
+
+    private void readFully(byte[] bytes, int off, int len) throws IOException {
+        while (len > 0) {
+            int read = input.read(bytes, off, len);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of LZ4 frame.");
+            }
+            off += read;
+            len -= read;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes a single frame in the LZ4 frame format, with independent 64 KB blocks and a content checksum.
+ * <p>
+ * The output can be read back by {@link Lz4FrameInputStream} as well as any other LZ4 implementation.
+ * Like {@link java.util.zip.GZIPOutputStream}, {@link #flush()} does not force out an incomplete block.
+ *
+ * @see <a href="https://github.com/lz4/lz4/blob/dev/doc/lz4_Frame_format.md">LZ4 Frame Format Description</a>
+ */
+public final class Lz4FrameOutputStream extends OutputStream {
+    static final int MAGIC = 0x184D2204;
+    static final int FLAG_VERSION = 0x40;
+    static final int FLAG_BLOCK_INDEPENDENCE = 0x20;
+    static final int FLAG_BLOCK_CHECKSUM = 0x10;
+    static final int FLAG_CONTENT_SIZE = 0x08;
+    static final int FLAG_CONTENT_CHECKSUM = 0x04;
+    static final int FLAG_DICTIONARY_ID = 0x01;
+    static final int UNCOMPRESSED_BLOCK_BIT = 0x80000000;
+
+    private static final int BLOCK_SIZE_ID_64KB = 4;
+    private static final int BLOCK_SIZE = 64 * 1024;
+
+    private final OutputStream output;
+    private final byte[] block = new byte[BLOCK_SIZE];
+    private final byte[] compressed = new byte[4 + Lz4Block.maxCompressedLength(BLOCK_SIZE)];
+    private final int[] hashTable = new int[Lz4Block.HASH_TABLE_SIZE];
+    private final XxHash32 contentChecksum = new XxHash32();
+    private int blockLength;
+    private boolean finished;
+
+    public Lz4FrameOutputStream(OutputStream output) throws IOException {
+        this.output = output;
+        writeFrameHeader();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        checkNotFinished();
+        block[blockLength++] = (byte) b;
+        if (blockLength == BLOCK_SIZE) {
+            writeBlock();
+        }
+    }
+
+    @Override
+    public void write(byte[] bytes, int off, int len) throws IOException {
+        checkNotFinished();
+        while (len > 0) {
+            int count = Math.min(BLOCK_SIZE - blockLength, len);
+            System.arraycopy(bytes, off, block, blockLength, count);
+            blockLength += count;
+            off += count;
+            len -= count;
+            if (blockLength == BLOCK_SIZE) {
+                writeBlock();
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        output.flush();
+    }
+
+    /**
+     * Writes the remaining data and the end of the frame without closing the underlying stream.
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        if (blockLength > 0) {
+            writeBlock();
+        }
+        byte[] trailer = new byte[8];
+        writeIntLittleEndian(0, trailer, 0);
+        writeIntLittleEndian(contentChecksum.getValue(), trailer, 4);
+        output.write(trailer);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            output.close();
+        }
+    }
+
+    private void checkNotFinished() throws IOException {
+        if (finished) {
+            throw new IOException("Cannot write to a finished LZ4 frame.");
+        }
+    }
+
+    private void writeFrameHeader() throws IOException {
+        byte[] header = new byte[7];
+        writeIntLittleEndian(MAGIC, header, 0);
+        header[4] = (byte) (FLAG_VERSION | FLAG_BLOCK_INDEPENDENCE | FLAG_CONTENT_CHECKSUM);
+        header[5] = (byte) (BLOCK_SIZE_ID_64KB << 4);
+        header[6] = headerChecksum(header, 4, 2);
+        output.write(header);
+    }
+
+    private void writeBlock() throws IOException {
+        contentChecksum.update(block, 0, blockLength);
+        int compressedLength = Lz4Block.compress(block, blockLength, compressed, 4, hashTable);
+        if (compressedLength < blockLength) {
+            writeIntLittleEndian(compressedLength, compressed, 0);
+            output.write(compressed, 0, 4 + compressedLength);
+        } else {
+            // Incompressible data, e.g. already compressed JARs, is stored as is
+            writeIntLittleEndian(blockLength | UNCOMPRESSED_BLOCK_BIT, compressed, 0);
+            output.write(compressed, 0, 4);
+            output.write(block, 0, blockLength);
+        }
+        blockLength = 0;
+    }
+
+    static byte headerChecksum(byte[] descriptor, int off, int len) {
+        return (byte) (XxHash32.hash(descriptor, off, len) >>> 8);
+    }
+
+    static void writeIntLittleEndian(int value, byte[] bytes, int off) {
+        bytes[off] = (byte) value;
+        bytes[off + 1] = (byte) (value >>> 8);
+        bytes[off + 2] = (byte) (value >>> 16);
+        bytes[off + 3] = (byte) (value >>> 24);
+    }
+}
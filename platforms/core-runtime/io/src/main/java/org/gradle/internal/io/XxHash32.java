@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.io;
+
+/**
+ * Streaming implementation of the 32-bit xxHash checksum with a seed of 0, as used by the LZ4 frame format.
+ */
+final class XxHash32 {
+    private static final int PRIME1 = 0x9E3779B1;
+    private static final int PRIME2 = 0x85EBCA77;
+    private static final int PRIME3 = 0xC2B2AE3D;
+    private static final int PRIME4 = 0x27D4EB2F;
+    private static final int PRIME5 = 0x165667B1;
+
+    private final byte[] buffer = new byte[16];
+    private int bufferLength;
+    private long totalLength;
+    private int v1 = PRIME1 + PRIME2;
+    private int v2 = PRIME2;
+    private int v3;
+    private int v4 = -PRIME1;
+
+    static int hash(byte[] bytes, int off, int len) {
+        XxHash32 hash = new XxHash32();
+        hash.update(bytes, off, len);
+        return hash.getValue();
+    }
+
+    void update(byte[] bytes, int off, int len) {
+        totalLength += len;
+        int pos = off;
+        int end = off + len;
+        if (bufferLength > 0) {
+            int count = Math.min(16 - bufferLength, len);
+            System.arraycopy(bytes, pos, buffer, bufferLength, count);
+            bufferLength += count;
+            pos += count;
+            if (bufferLength < 16) {
+                return;
+            }
+            processStripe(buffer, 0);
+            bufferLength = 0;
+        }
+        while (end - pos >= 16) {
+            processStripe(bytes, pos);
+            pos += 16;
+        }
+        bufferLength = end - pos;
+        System.arraycopy(bytes, pos, buffer, 0, bufferLength);
+    }
+
+    int getValue() {
+        int hash;
+        if (totalLength >= 16) {
+            hash = Integer.rotateLeft(v1, 1) + Integer.rotateLeft(v2, 7) + Integer.rotateLeft(v3, 12) + Integer.rotateLeft(v4, 18);
+        } else {
+            hash = PRIME5;
+        }
+        hash += (int) totalLength;
+
+        int pos = 0;
+        while (pos + 4 <= bufferLength) {
+            hash += readIntLittleEndian(buffer, pos) * PRIME3;
+            hash = Integer.rotateLeft(hash, 17) * PRIME4;
+            pos += 4;
+        }
+        while (pos < bufferLength) {
+            hash += (buffer[pos] & 0xff) * PRIME5;
+            hash = Integer.rotateLeft(hash, 11) * PRIME1;
+            pos++;
+        }
+
+        hash ^= hash >>> 15;
+        hash *= PRIME2;
+        hash ^= hash >>> 13;
+        hash *= PRIME3;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+
+    private void processStripe(byte[] bytes, int off) {
+        v1 = round(v1, readIntLittleEndian(bytes, off));
+        v2 = round(v2, readIntLittleEndian(bytes, off + 4));
+        v3 = round(v3, readIntLittleEndian(bytes, off + 8));
+        v4 = round(v4, readIntLittleEndian(bytes, off + 12));
+    }
+
+    private static int round(int acc, int input) {
+        acc += input * PRIME2;
+        acc = Integer.rotateLeft(acc, 13);
+        return acc * PRIME1;
+    }
+
+    static int readIntLittleEndian(byte[] bytes, int off) {
+        return (bytes[off] & 0xff)
+            | (bytes[off + 1] & 0xff) << 8
+            | (bytes[off + 2] & 0xff) << 16
+            | (bytes[off + 3] & 0xff) << 24;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.io
+
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorInputStream
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorOutputStream
+import spock.lang.Specification
+
+class Lz4FrameStreamsTest extends Specification {
+
+    def "can round-trip #length bytes"() {
+        expect:
+        roundTrip(randomBytes(length))
+        roundTrip(repetitiveBytes(length))
+        roundTrip(new byte[length])
+
+        where:
+        length << [0, 1, 12, 13, 100, 64 * 1024 - 1, 64 * 1024, 64 * 1024 + 1, 500_000]
+    }
+
+    def "compresses repetitive data"() {
+        def data = repetitiveBytes(500_000)
+
+        expect:
+        compress(data).length < data.length / 2
+    }
+
+    def "output can be read by other LZ4 implementations"() {
+        def data = repetitiveBytes(200_000)
+
+        expect:
+        decompress(new FramedLZ4CompressorInputStream(new ByteArrayInputStream(compress(data)))) == data
+    }
+
+    def "can read output of other LZ4 implementations with #description"() {
+        def data = repetitiveBytes(200_000)
+        def compressed = new ByteArrayOutputStream()
+        new FramedLZ4CompressorOutputStream(compressed, parameters).withCloseable { it.write(data) }
+
+        expect:
+        decompress(new Lz4FrameInputStream(new ByteArrayInputStream(compressed.toByteArray()))) == data
+
+        where:
+        description                     | parameters
+        "default parameters"            | FramedLZ4CompressorOutputStream.Parameters.DEFAULT
+        "small blocks and checksums"    | new FramedLZ4CompressorOutputStream.Parameters(FramedLZ4CompressorOutputStream.BlockSize.K64, true, true, false)
+    }
+
+    def "detects corrupt content"() {
+        def compressed = compress(repetitiveBytes(100_000))
+        compressed[compressed.length - 10] ^= 1
+
+        when:
+        decompress(new Lz4FrameInputStream(new ByteArrayInputStream(compressed)))
+
+        then:
+        thrown(IOException)
+    }
+
+    private static boolean roundTrip(byte[] data) {
+        decompress(new Lz4FrameInputStream(new ByteArrayInputStream(compress(data)))) == data
+    }
+
+    private static byte[] compress(byte[] data) {
+        def output = new ByteArrayOutputStream()
+        new Lz4FrameOutputStream(output).withCloseable { it.write(data) }
+        return output.toByteArray()
+    }
+
+    private static byte[] decompress(InputStream input) {
+        return input.withCloseable { it.bytes }
+    }
+
+    private static byte[] randomBytes(int length) {
+        def bytes = new byte[length]
+        new Random(length).nextBytes(bytes)
+        return bytes
+    }
+
+    private static byte[] repetitiveBytes(int length) {
+        def random = new Random(length)
+        def words = ["build", "cache", "entry", "output", "task", "gradle"]
+        def text = new StringBuilder()
+        while (text.length() < length) {
+            text.append(words[random.nextInt(words.size())]).append(' ')
+        }
+        return text.substring(0, length).getBytes("UTF-8")
+    }
+}
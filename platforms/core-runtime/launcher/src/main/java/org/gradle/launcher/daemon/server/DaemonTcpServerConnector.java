@@ -26,6 +26,7 @@
 import org.gradle.internal.remote.internal.RemoteConnection;
 import org.gradle.internal.remote.internal.inet.InetAddressFactory;
 import org.gradle.internal.remote.internal.inet.TcpIncomingConnector;
+import org.gradle.internal.remote.internal.inet.UnixDomainSocketIncomingConnector;
 import org.gradle.internal.serialize.Serializer;
 import org.gradle.internal.serialize.Serializers;
 import org.gradle.launcher.daemon.protocol.Message;
@@ -36,6 +37,7 @@
 
 /**
  * Opens a TCP connection for clients to connect to communicate with a daemon.
+ * When Unix domain sockets are enabled, local clients can also connect through a Unix domain socket.
  */
 public class DaemonTcpServerConnector implements DaemonServerConnector {
     final private IncomingConnector incomingConnector;
@@ -48,12 +50,15 @@ public class DaemonTcpServerConnector implements DaemonServerConnector {
 
     public DaemonTcpServerConnector(ExecutorFactory executorFactory, InetAddressFactory inetAddressFactory, Serializer<Message> serializer) {
         this.serializer = serializer;
-        this.incomingConnector = new TcpIncomingConnector(
+        IncomingConnector tcpConnector = new TcpIncomingConnector(
                 executorFactory,
                 inetAddressFactory,
                 new UUIDGenerator(),
                 10
         );
+        this.incomingConnector = UnixDomainSocketIncomingConnector.isEnabled()
+            ? new UnixDomainSocketIncomingConnector(executorFactory, tcpConnector, 10)
+            : tcpConnector;
     }
 
     @Override
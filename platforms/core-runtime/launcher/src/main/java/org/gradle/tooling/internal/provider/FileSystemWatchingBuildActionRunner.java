@@ -18,6 +18,7 @@
 
 import org.gradle.api.internal.StartParameterInternal;
 import org.gradle.api.internal.changedetection.state.FileHasherStatistics;
+import org.gradle.api.internal.changedetection.state.ResourceSnapshotterCacheStatistics;
 import org.gradle.deployment.internal.DeploymentRegistryInternal;
 import org.gradle.initialization.StartParameterBuildOptions;
 import org.gradle.internal.buildoption.InternalOptions;
@@ -45,6 +46,7 @@ public class FileSystemWatchingBuildActionRunner implements BuildActionRunner {
     private final StatStatistics.Collector statStatisticsCollector;
     private final FileHasherStatistics.Collector fileHasherStatisticsCollector;
     private final DirectorySnapshotterStatistics.Collector directorySnapshotterStatisticsCollector;
+    private final ResourceSnapshotterCacheStatistics.Collector resourceSnapshotterCacheStatisticsCollector;
     private final BuildOperationRunner buildOperationRunner;
     private final BuildActionRunner delegate;
     private final InternalOptions options;
@@ -56,6 +58,7 @@ public FileSystemWatchingBuildActionRunner(
         StatStatistics.Collector statStatisticsCollector,
         FileHasherStatistics.Collector fileHasherStatisticsCollector,
         DirectorySnapshotterStatistics.Collector directorySnapshotterStatisticsCollector,
+        ResourceSnapshotterCacheStatistics.Collector resourceSnapshotterCacheStatisticsCollector,
         BuildOperationRunner buildOperationRunner,
         InternalOptions options,
         BuildActionRunner delegate
@@ -66,6 +69,7 @@ public FileSystemWatchingBuildActionRunner(
         this.statStatisticsCollector = statStatisticsCollector;
         this.fileHasherStatisticsCollector = fileHasherStatisticsCollector;
         this.directorySnapshotterStatisticsCollector = directorySnapshotterStatisticsCollector;
+        this.resourceSnapshotterCacheStatisticsCollector = resourceSnapshotterCacheStatisticsCollector;
         this.buildOperationRunner = buildOperationRunner;
         this.delegate = delegate;
         this.options = options;
@@ -92,7 +96,7 @@ public Result run(BuildAction action, BuildTreeLifecycleController buildControll
             dropVirtualFileSystemIfRequested(options, virtualFileSystem);
         }
         if (verboseVfsLogging == VfsLogging.VERBOSE) {
-            logVfsStatistics("since last build", statStatisticsCollector, fileHasherStatisticsCollector, directorySnapshotterStatisticsCollector);
+            logVfsStatistics("since last build", statStatisticsCollector, fileHasherStatisticsCollector, directorySnapshotterStatisticsCollector, resourceSnapshotterCacheStatisticsCollector);
         }
 
         if (action.getStartParameter().getProjectCacheDir() != null) {
@@ -142,7 +146,7 @@ public boolean isEnabled() {
                 maximumNumberOfWatchedHierarchies
             );
             if (verboseVfsLogging == VfsLogging.VERBOSE) {
-                logVfsStatistics("during current build", statStatisticsCollector, fileHasherStatisticsCollector, directorySnapshotterStatisticsCollector);
+                logVfsStatistics("during current build", statStatisticsCollector, fileHasherStatisticsCollector, directorySnapshotterStatisticsCollector, resourceSnapshotterCacheStatisticsCollector);
             }
         }
     }
@@ -151,12 +155,14 @@ private static void logVfsStatistics(
         String title,
         StatStatistics.Collector statStatisticsCollector,
         FileHasherStatistics.Collector fileHasherStatisticsCollector,
-        DirectorySnapshotterStatistics.Collector directorySnapshotterStatisticsCollector
+        DirectorySnapshotterStatistics.Collector directorySnapshotterStatisticsCollector,
+        ResourceSnapshotterCacheStatistics.Collector resourceSnapshotterCacheStatisticsCollector
     ) {
         LOGGER.warn("VFS> Statistics {}:", title);
         LOGGER.warn("VFS> > Stat: {}", statStatisticsCollector.collect());
         LOGGER.warn("VFS> > FileHasher: {}", fileHasherStatisticsCollector.collect());
         LOGGER.warn("VFS> > DirectorySnapshotter: {}", directorySnapshotterStatisticsCollector.collect());
+        LOGGER.warn("VFS> > ResourceSnapshotterCache: {}", resourceSnapshotterCacheStatisticsCollector.collect());
     }
 
     private static void dropVirtualFileSystemIfRequested(InternalOptions options, BuildLifecycleAwareVirtualFileSystem virtualFileSystem) {
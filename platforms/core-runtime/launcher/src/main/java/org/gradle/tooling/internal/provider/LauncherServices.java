@@ -18,6 +18,7 @@
 
 import org.gradle.StartParameter;
 import org.gradle.api.internal.changedetection.state.FileHasherStatistics;
+import org.gradle.api.internal.changedetection.state.ResourceSnapshotterCacheStatistics;
 import org.gradle.api.internal.tasks.userinput.BuildScanUserInputHandler;
 import org.gradle.api.internal.tasks.userinput.DefaultBuildScanUserInputHandler;
 import org.gradle.api.internal.tasks.userinput.DefaultUserInputHandler;
@@ -218,6 +219,7 @@ RootBuildLifecycleBuildActionExecutor createActionExecutor(
             StatStatistics.Collector statStatisticsCollector,
             FileHasherStatistics.Collector fileHasherStatisticsCollector,
             DirectorySnapshotterStatistics.Collector directorySnapshotterStatisticsCollector,
+            ResourceSnapshotterCacheStatistics.Collector resourceSnapshotterCacheStatisticsCollector,
             BuildOperationRunner buildOperationRunner,
             BuildTreeLocations buildTreeLocations,
             ExceptionAnalyser exceptionAnalyser,
@@ -249,6 +251,7 @@ RootBuildLifecycleBuildActionExecutor createActionExecutor(
                         statStatisticsCollector,
                         fileHasherStatisticsCollector,
                         directorySnapshotterStatisticsCollector,
+                        resourceSnapshotterCacheStatisticsCollector,
                         buildOperationRunner,
                         options,
                         new BuildOutcomeReportingBuildActionRunner(
@@ -18,6 +18,7 @@ package org.gradle.tooling.internal.provider
 
 import org.gradle.api.internal.StartParameterInternal
 import org.gradle.api.internal.changedetection.state.FileHasherStatistics
+import org.gradle.api.internal.changedetection.state.ResourceSnapshotterCacheStatistics
 import org.gradle.deployment.internal.Deployment
 import org.gradle.deployment.internal.DeploymentRegistryInternal
 import org.gradle.internal.buildoption.DefaultInternalOptions
@@ -55,6 +56,7 @@ class FileSystemWatchingBuildActionRunnerTest extends Specification {
         Stub(StatStatistics.Collector),
         Stub(FileHasherStatistics.Collector),
         Stub(DirectorySnapshotterStatistics.Collector),
+        Stub(ResourceSnapshotterCacheStatistics.Collector),
         buildOperationRunner,
         new DefaultInternalOptions([:]),
         delegate
@@ -15,8 +15,10 @@
  */
 package org.gradle.internal.remote.internal.inet;
 
+import com.google.common.base.Objects;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
+import org.jspecify.annotations.Nullable;
 
 import java.net.InetAddress;
 import java.util.ArrayList;
@@ -27,15 +29,25 @@ public class MultiChoiceAddress implements InetEndpoint {
     private final UUID canonicalAddress;
     private final int port;
     private final List<InetAddress> candidates;
+    @Nullable
+    private final String socketPath;
 
     public MultiChoiceAddress(UUID canonicalAddress, int port, List<InetAddress> candidates) {
+        this(canonicalAddress, port, candidates, null);
+    }
+
+    public MultiChoiceAddress(UUID canonicalAddress, int port, List<InetAddress> candidates, @Nullable String socketPath) {
         this.canonicalAddress = canonicalAddress;
         this.port = port;
         this.candidates = new ArrayList<InetAddress>(candidates);
+        this.socketPath = socketPath;
     }
 
     @Override
     public String getDisplayName() {
+        if (socketPath != null) {
+            return "[" + canonicalAddress + " port:" + port + ", addresses:" + candidates + ", socket:" + socketPath + "]";
+        }
         return "[" + canonicalAddress + " port:" + port + ", addresses:" + candidates + "]";
     }
 
@@ -53,6 +65,15 @@ public int getPort() {
         return port;
     }
 
+    /**
+     * Returns the path of a Unix domain socket that the server also listens on, or null when the server only listens on TCP.
+     * Clients that cannot use Unix domain sockets should connect to the TCP port instead.
+     */
+    @Nullable
+    public String getSocketPath() {
+        return socketPath;
+    }
+
     @Override
     public String toString() {
         return getDisplayName();
@@ -67,7 +88,7 @@ public boolean equals(Object o) {
             return false;
         }
         MultiChoiceAddress other = (MultiChoiceAddress) o;
-        return other.canonicalAddress.equals(canonicalAddress) && port == other.port && candidates.equals(other.candidates);
+        return other.canonicalAddress.equals(canonicalAddress) && port == other.port && candidates.equals(other.candidates) && Objects.equal(socketPath, other.socketPath);
     }
 
     @Override
@@ -76,6 +97,10 @@ public int hashCode() {
     }
 
     public MultiChoiceAddress addAddresses(Iterable<InetAddress> candidates) {
-        return new MultiChoiceAddress(canonicalAddress, port, Lists.newArrayList(Iterables.concat(candidates, this.candidates)));
+        return new MultiChoiceAddress(canonicalAddress, port, Lists.newArrayList(Iterables.concat(candidates, this.candidates)), socketPath);
+    }
+
+    public MultiChoiceAddress withSocketPath(String socketPath) {
+        return new MultiChoiceAddress(canonicalAddress, port, candidates, socketPath);
     }
 }
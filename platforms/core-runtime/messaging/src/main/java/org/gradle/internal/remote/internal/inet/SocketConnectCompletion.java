@@ -20,23 +20,39 @@
 import org.gradle.internal.remote.internal.KryoBackedMessageSerializer;
 import org.gradle.internal.remote.internal.RemoteConnection;
 import org.gradle.internal.serialize.StatefulSerializer;
+import org.jspecify.annotations.Nullable;
 
+import java.io.IOException;
 import java.nio.channels.SocketChannel;
 
 class SocketConnectCompletion implements ConnectCompletion {
     private final SocketChannel socket;
+    @Nullable
+    private final DirectBufferPool readBuffers;
 
     public SocketConnectCompletion(SocketChannel socket) {
+        this(socket, null);
+    }
+
+    SocketConnectCompletion(SocketChannel socket, @Nullable DirectBufferPool readBuffers) {
         this.socket = socket;
+        this.readBuffers = readBuffers;
     }
 
     @Override
     public String toString() {
-        return socket.socket().getLocalSocketAddress() + " to " + socket.socket().getRemoteSocketAddress();
+        try {
+            return socket.getLocalAddress() + " to " + socket.getRemoteAddress();
+        } catch (IOException e) {
+            return socket.toString();
+        }
     }
 
     @Override
     public <T> RemoteConnection<T> create(StatefulSerializer<T> serializer) {
+        if (readBuffers != null) {
+            return new SocketConnection<T>(socket, new KryoBackedMessageSerializer(), serializer, readBuffers);
+        }
         return new SocketConnection<T>(socket, new KryoBackedMessageSerializer(), serializer);
     }
 }
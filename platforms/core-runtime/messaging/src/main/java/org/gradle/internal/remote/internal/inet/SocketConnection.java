@@ -38,6 +38,7 @@
 import java.io.ObjectStreamException;
 import java.io.OutputStream;
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.ClosedSelectorException;
 import java.nio.channels.SelectionKey;
@@ -46,9 +47,10 @@
 
 public class SocketConnection<T> implements RemoteConnection<T> {
     private static final Logger LOGGER = LoggerFactory.getLogger(SocketConnection.class);
+    private static final DirectBufferPool DEFAULT_READ_BUFFERS = new DirectBufferPool(4096, 0);
     private final SocketChannel socket;
-    private final SocketInetAddress localAddress;
-    private final SocketInetAddress remoteAddress;
+    private final String localAddress;
+    private final String remoteAddress;
     private final ObjectWriter<T> objectWriter;
     private final ObjectReader<T> objectReader;
     private final InputStream instr;
@@ -56,22 +58,34 @@
     private final FlushableEncoder encoder;
 
     public SocketConnection(SocketChannel socket, MessageSerializer streamSerializer, StatefulSerializer<T> messageSerializer) {
+        this(socket, streamSerializer, messageSerializer, DEFAULT_READ_BUFFERS);
+    }
+
+    SocketConnection(SocketChannel socket, MessageSerializer streamSerializer, StatefulSerializer<T> messageSerializer, DirectBufferPool readBuffers) {
         this.socket = socket;
         try {
             outstr = new SocketOutputStream(socket);
-            instr = new SocketInputStream(socket);
+            instr = new SocketInputStream(socket, readBuffers);
+            localAddress = describe(socket.getLocalAddress());
+            remoteAddress = describe(socket.getRemoteAddress());
         } catch (IOException e) {
             throw UncheckedException.throwAsUncheckedException(e);
         }
-        InetSocketAddress localSocketAddress = (InetSocketAddress) socket.socket().getLocalSocketAddress();
-        localAddress = new SocketInetAddress(localSocketAddress.getAddress(), localSocketAddress.getPort());
-        InetSocketAddress remoteSocketAddress = (InetSocketAddress) socket.socket().getRemoteSocketAddress();
-        remoteAddress = new SocketInetAddress(remoteSocketAddress.getAddress(), remoteSocketAddress.getPort());
         objectReader = messageSerializer.newReader(streamSerializer.newDecoder(instr));
         encoder = streamSerializer.newEncoder(outstr);
         objectWriter = messageSerializer.newWriter(encoder);
     }
 
+    static String describe(SocketAddress address) {
+        if (address instanceof InetSocketAddress) {
+            InetSocketAddress inetSocketAddress = (InetSocketAddress) address;
+            return new SocketInetAddress(inetSocketAddress.getAddress(), inetSocketAddress.getPort()).toString();
+        }
+        String description = String.valueOf(address);
+        // The client side of a Unix domain socket is usually not bound to a path
+        return description.isEmpty() ? "unnamed socket" : description;
+    }
+
     @Override
     public String toString() {
         return "socket connection from " + localAddress + " to " + remoteAddress;
@@ -155,16 +169,18 @@ public void close() throws IOException {
 
     private static class SocketInputStream extends InputStream {
         private final Selector selector;
-        private final ByteBuffer buffer;
+        private final DirectBufferPool bufferPool;
+        private ByteBuffer buffer;
         private final SocketChannel socket;
         private final byte[] readBuffer = new byte[1];
+        private boolean endOfStream;
 
-        public SocketInputStream(SocketChannel socket) throws IOException {
+        public SocketInputStream(SocketChannel socket, DirectBufferPool bufferPool) throws IOException {
             this.socket = socket;
+            this.bufferPool = bufferPool;
             selector = Selector.open();
             socket.register(selector, SelectionKey.OP_READ);
-            buffer = ByteBuffer.allocateDirect(4096);
-            BufferCaster.cast(buffer).limit(0);
+            buffer = bufferPool.acquire();
         }
 
         @Override
@@ -181,15 +197,18 @@ public int read(byte[] dest, int offset, int max) throws IOException {
             if (max == 0) {
                 return 0;
             }
+            if (endOfStream) {
+                return -1;
+            }
 
             if (buffer.remaining() == 0) {
                 try {
                     selector.select();
                 } catch (ClosedSelectorException e) {
-                    return -1;
+                    return endOfStream();
                 }
                 if (!selector.isOpen()) {
-                    return -1;
+                    return endOfStream();
                 }
 
                 BufferCaster.cast(buffer).clear();
@@ -198,16 +217,14 @@ public int read(byte[] dest, int offset, int max) throws IOException {
                     nread = socket.read(buffer);
                 } catch (IOException e) {
                     if (isEndOfStream(e)) {
-                        BufferCaster.cast(buffer).position(0);
-                        BufferCaster.cast(buffer).limit(0);
-                        return -1;
+                        return endOfStream();
                     }
                     throw e;
                 }
                 BufferCaster.cast(buffer).flip();
 
                 if (nread < 0) {
-                    return -1;
+                    return endOfStream();
                 }
             }
 
@@ -216,6 +233,17 @@ public int read(byte[] dest, int offset, int max) throws IOException {
             return count;
         }
 
+        /**
+         * Hands the buffer back to the pool. This happens on the reading thread, as a concurrent close() cannot know whether a read is still using the buffer.
+         */
+        private int endOfStream() {
+            endOfStream = true;
+            ByteBuffer buffer = this.buffer;
+            this.buffer = ByteBuffer.allocate(0);
+            bufferPool.release(buffer);
+            return -1;
+        }
+
         @Override
         public void close() throws IOException {
             selector.close();
@@ -123,7 +123,7 @@ public void run() {
                         }
                         try {
                             SocketBlockingUtil.configureNonblocking(socket);
-                            waitForConnectionPreamble(socket);
+                            waitForConnectionPreamble(socket, acceptTimeoutSeconds);
                         } catch (IOException e) {
                             LOGGER.error("Failed connection handshake with {}.", remoteSocketAddress, e);
                             socket.close();
@@ -147,24 +147,23 @@ public void run() {
                 CompositeStoppable.stoppable(serverSocket).stop();
             }
         }
+    }
 
-        private void waitForConnectionPreamble(SocketChannel socket) throws IOException, InterruptedException {
-            ByteBuffer buffer = ByteBuffer.allocate(CONNECTION_PREAMBLE.length);
-            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(acceptTimeoutSeconds);
-            while (buffer.hasRemaining() && System.nanoTime() < deadline) {
-                int read = socket.read(buffer);
-                if (read == -1) {
-                    break;
-                }
-                if (read == 0) {
-                    Thread.sleep(1);
-                }
+    static void waitForConnectionPreamble(SocketChannel socket, int acceptTimeoutSeconds) throws IOException, InterruptedException {
+        ByteBuffer buffer = ByteBuffer.allocate(CONNECTION_PREAMBLE.length);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(acceptTimeoutSeconds);
+        while (buffer.hasRemaining() && System.nanoTime() < deadline) {
+            int read = socket.read(buffer);
+            if (read == -1) {
+                break;
             }
-            if (!Arrays.equals(buffer.array(), CONNECTION_PREAMBLE)) {
-                throw new IOException("Did not receive connection preamble within " + acceptTimeoutSeconds + "s");
+            if (read == 0) {
+                Thread.sleep(1);
             }
         }
-
+        if (!Arrays.equals(buffer.array(), CONNECTION_PREAMBLE)) {
+            throw new IOException("Did not receive connection preamble within " + acceptTimeoutSeconds + "s");
+        }
     }
 
 }
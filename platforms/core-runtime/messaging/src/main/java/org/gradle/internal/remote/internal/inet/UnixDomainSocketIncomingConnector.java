@@ -0,0 +1,171 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.remote.internal.inet;
+
+import org.gradle.api.Action;
+import org.gradle.internal.concurrent.CompositeStoppable;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.ManagedExecutor;
+import org.gradle.internal.remote.Address;
+import org.gradle.internal.remote.ConnectionAcceptor;
+import org.gradle.internal.remote.internal.ConnectCompletion;
+import org.gradle.internal.remote.internal.IncomingConnector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+
+import static org.gradle.internal.remote.internal.inet.TcpIncomingConnector.waitForConnectionPreamble;
+
+/**
+ * Accepts local connections on a Unix domain socket in addition to the TCP port of the given connector.
+ * <p>
+ * The socket path is advertised as part of the {@link MultiChoiceAddress}, so clients that can use Unix domain sockets
+ * connect through it, while other clients, for example workers running on Java 8, still connect through TCP.
+ * When the socket cannot be created, only the TCP address is returned.
+ */
+public class UnixDomainSocketIncomingConnector implements IncomingConnector {
+    private static final Logger LOGGER = LoggerFactory.getLogger(UnixDomainSocketIncomingConnector.class);
+    private final ExecutorFactory executorFactory;
+    private final IncomingConnector tcpConnector;
+    private final int acceptTimeoutSeconds;
+
+    public UnixDomainSocketIncomingConnector(ExecutorFactory executorFactory, IncomingConnector tcpConnector, int acceptTimeoutSeconds) {
+        this.executorFactory = executorFactory;
+        this.tcpConnector = tcpConnector;
+        this.acceptTimeoutSeconds = acceptTimeoutSeconds;
+    }
+
+    /**
+     * Returns true when Unix domain sockets have been enabled for this process and are supported by the JVM and operating system.
+     */
+    public static boolean isEnabled() {
+        return UnixDomainSockets.isEnabled();
+    }
+
+    @Override
+    public ConnectionAcceptor accept(Action<ConnectCompletion> action, boolean allowRemote) {
+        final ConnectionAcceptor tcpAcceptor = tcpConnector.accept(action, allowRemote);
+        if (allowRemote || !UnixDomainSockets.isSupported() || !(tcpAcceptor.getAddress() instanceof MultiChoiceAddress)) {
+            return tcpAcceptor;
+        }
+
+        final File socketDir;
+        try {
+            // The temporary directory is only accessible by the current user, which protects the socket
+            socketDir = Files.createTempDirectory("gradle-ipc").toFile();
+        } catch (IOException e) {
+            LOGGER.debug("Could not create a directory for a Unix domain socket, accepting TCP connections only.", e);
+            return tcpAcceptor;
+        }
+        final File socketFile = new File(socketDir, "socket");
+        final ServerSocketChannel serverSocket;
+        try {
+            if (!UnixDomainSockets.isUsablePath(socketFile)) {
+                throw new IOException("Path " + socketFile + " is too long for a Unix domain socket.");
+            }
+            serverSocket = UnixDomainSockets.bind(socketFile);
+        } catch (IOException e) {
+            LOGGER.debug("Could not listen on a Unix domain socket, accepting TCP connections only.", e);
+            deleteQuietly(socketDir);
+            return tcpAcceptor;
+        }
+
+        final Address address = ((MultiChoiceAddress) tcpAcceptor.getAddress()).withSocketPath(socketFile.getPath());
+        LOGGER.debug("Listening on {}.", address);
+
+        final ManagedExecutor executor = executorFactory.create("Incoming local Unix domain socket Connector on " + socketFile);
+        executor.execute(new Receiver(serverSocket, socketFile, action));
+
+        return new ConnectionAcceptor() {
+            @Override
+            public Address getAddress() {
+                return address;
+            }
+
+            @Override
+            public void requestStop() {
+                CompositeStoppable.stoppable(serverSocket).stop();
+                tcpAcceptor.requestStop();
+            }
+
+            @Override
+            public void stop() {
+                requestStop();
+                CompositeStoppable.stoppable(executor, tcpAcceptor).stop();
+                deleteQuietly(socketFile);
+                deleteQuietly(socketDir);
+            }
+        };
+    }
+
+    private static void deleteQuietly(File file) {
+        if (!file.delete() && file.exists()) {
+            LOGGER.debug("Could not delete {}.", file);
+        }
+    }
+
+    private class Receiver implements Runnable {
+        private final ServerSocketChannel serverSocket;
+        private final File socketFile;
+        private final Action<ConnectCompletion> action;
+
+        public Receiver(ServerSocketChannel serverSocket, File socketFile, Action<ConnectCompletion> action) {
+            this.serverSocket = serverSocket;
+            this.socketFile = socketFile;
+            this.action = action;
+        }
+
+        @Override
+        public void run() {
+            try {
+                try {
+                    while (true) {
+                        final SocketChannel socket = serverSocket.accept();
+                        try {
+                            SocketBlockingUtil.configureNonblocking(socket);
+                            waitForConnectionPreamble(socket, acceptTimeoutSeconds);
+                        } catch (IOException e) {
+                            LOGGER.error("Failed connection handshake on {}.", socketFile, e);
+                            socket.close();
+                            continue;
+                        }
+
+                        LOGGER.debug("Accepted connection on {}.", socketFile);
+                        try {
+                            action.execute(new SocketConnectCompletion(socket, UnixDomainSockets.READ_BUFFERS));
+                        } catch (Throwable t) {
+                            socket.close();
+                            throw t;
+                        }
+                    }
+                } catch (ClosedChannelException e) {
+                    // Ignore
+                } catch (Throwable e) {
+                    LOGGER.error("Could not accept local connection.", e);
+                }
+            } finally {
+                CompositeStoppable.stoppable(serverSocket).stop();
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.remote.internal.inet;
+
+import org.gradle.internal.remote.Address;
+import org.gradle.internal.remote.internal.ConnectCompletion;
+import org.gradle.internal.remote.internal.ConnectException;
+import org.gradle.internal.remote.internal.OutgoingConnector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+import static org.gradle.internal.remote.internal.inet.TcpOutgoingConnector.CONNECTION_PREAMBLE;
+
+/**
+ * Connects through the Unix domain socket of a {@link MultiChoiceAddress} when the server advertises one and this JVM supports it,
+ * and through the given connector otherwise or when the socket cannot be reached.
+ */
+public class UnixDomainSocketOutgoingConnector implements OutgoingConnector {
+    private static final Logger LOGGER = LoggerFactory.getLogger(UnixDomainSocketOutgoingConnector.class);
+    private final OutgoingConnector tcpConnector;
+
+    public UnixDomainSocketOutgoingConnector(OutgoingConnector tcpConnector) {
+        this.tcpConnector = tcpConnector;
+    }
+
+    @Override
+    public ConnectCompletion connect(Address destinationAddress) throws ConnectException {
+        String socketPath = destinationAddress instanceof MultiChoiceAddress ? ((MultiChoiceAddress) destinationAddress).getSocketPath() : null;
+        if (socketPath != null && UnixDomainSockets.isSupported()) {
+            LOGGER.debug("Attempting to connect to Unix domain socket {}.", socketPath);
+            try {
+                return new SocketConnectCompletion(tryConnect(new File(socketPath)), UnixDomainSockets.READ_BUFFERS);
+            } catch (IOException e) {
+                LOGGER.debug("Cannot connect to Unix domain socket {}, falling back to TCP.", socketPath, e);
+            }
+        }
+        return tcpConnector.connect(destinationAddress);
+    }
+
+    private static SocketChannel tryConnect(File socketFile) throws IOException {
+        SocketChannel socketChannel = UnixDomainSockets.open();
+        try {
+            socketChannel.connect(UnixDomainSockets.addressOf(socketFile));
+            ByteBuffer preamble = ByteBuffer.wrap(CONNECTION_PREAMBLE);
+            while (preamble.hasRemaining()) {
+                socketChannel.write(preamble);
+            }
+            SocketBlockingUtil.configureNonblocking(socketChannel);
+            return socketChannel;
+        } catch (IOException e) {
+            socketChannel.close();
+            throw e;
+        }
+    }
+}
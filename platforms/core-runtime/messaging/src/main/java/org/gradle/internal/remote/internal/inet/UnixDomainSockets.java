@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.remote.internal.inet;
+
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.os.OperatingSystem;
+import org.jspecify.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Access to the Unix domain socket support of the JVM, which is available from Java 16 on.
+ * <p>
+ * Gradle code that is used in workers must run on Java 8, so the Java 16 APIs are looked up reflectively.
+ */
+final class UnixDomainSockets {
+    /**
+     * The system property that enables listening on Unix domain sockets for local connections.
+     */
+    static final String ENABLED_PROPERTY = "org.gradle.internal.remote.unix-domain-sockets";
+
+    /**
+     * Reads on Unix domain sockets are not limited by a TCP window, so use larger buffers for them.
+     */
+    static final DirectBufferPool READ_BUFFERS = new DirectBufferPool(64 * 1024, 32);
+
+    // sockaddr_un.sun_path is 108 bytes on Linux, including the terminating NUL
+    private static final int MAX_PATH_BYTES = 107;
+
+    @Nullable
+    private static final ProtocolFamily UNIX = lookupUnixProtocolFamily();
+    @Nullable
+    private static final Method OPEN_SERVER_SOCKET_CHANNEL = lookupMethod(ServerSocketChannel.class, "open", ProtocolFamily.class);
+    @Nullable
+    private static final Method OPEN_SOCKET_CHANNEL = lookupMethod(SocketChannel.class, "open", ProtocolFamily.class);
+    @Nullable
+    private static final Method ADDRESS_OF = lookupAddressFactoryMethod();
+
+    private UnixDomainSockets() {
+    }
+
+    static boolean isEnabled() {
+        return Boolean.getBoolean(ENABLED_PROPERTY) && isSupported();
+    }
+
+    static boolean isSupported() {
+        return UNIX != null && OPEN_SERVER_SOCKET_CHANNEL != null && OPEN_SOCKET_CHANNEL != null && ADDRESS_OF != null && OperatingSystem.current().isLinux();
+    }
+
+    static boolean isUsablePath(File socketFile) {
+        return socketFile.getPath().getBytes(StandardCharsets.UTF_8).length <= MAX_PATH_BYTES;
+    }
+
+    static ServerSocketChannel bind(File socketFile) throws IOException {
+        ServerSocketChannel serverSocket = (ServerSocketChannel) invoke(OPEN_SERVER_SOCKET_CHANNEL, null, UNIX);
+        try {
+            serverSocket.bind(addressOf(socketFile));
+            return serverSocket;
+        } catch (IOException e) {
+            serverSocket.close();
+            throw e;
+        }
+    }
+
+    static SocketChannel open() throws IOException {
+        return (SocketChannel) invoke(OPEN_SOCKET_CHANNEL, null, UNIX);
+    }
+
+    static SocketAddress addressOf(File socketFile) throws IOException {
+        return (SocketAddress) invoke(ADDRESS_OF, null, socketFile.toPath());
+    }
+
+    private static Object invoke(@Nullable Method method, @Nullable Object target, Object... args) throws IOException {
+        if (method == null) {
+            throw new UnsupportedOperationException("Unix domain sockets are not supported by this JVM.");
+        }
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw UncheckedException.throwAsUncheckedException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
+    @Nullable
+    private static ProtocolFamily lookupUnixProtocolFamily() {
+        try {
+            return StandardProtocolFamily.valueOf("UNIX");
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Nullable
+    private static Method lookupAddressFactoryMethod() {
+        try {
+            return lookupMethod(Class.forName("java.net.UnixDomainSocketAddress"), "of", Path.class);
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+
+    @Nullable
+    private static Method lookupMethod(Class<?> type, String name, Class<?>... parameterTypes) {
+        try {
+            return type.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
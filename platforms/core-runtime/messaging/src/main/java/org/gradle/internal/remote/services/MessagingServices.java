@@ -28,6 +28,8 @@
 import org.gradle.internal.remote.internal.inet.InetAddressFactory;
 import org.gradle.internal.remote.internal.inet.TcpIncomingConnector;
 import org.gradle.internal.remote.internal.inet.TcpOutgoingConnector;
+import org.gradle.internal.remote.internal.inet.UnixDomainSocketIncomingConnector;
+import org.gradle.internal.remote.internal.inet.UnixDomainSocketOutgoingConnector;
 import org.gradle.internal.service.Provides;
 import org.gradle.internal.service.ServiceRegistrationProvider;
 
@@ -54,17 +56,21 @@ protected InetAddressFactory createInetAddressFactory() {
 
     @Provides
     protected OutgoingConnector createOutgoingConnector() {
-        return new TcpOutgoingConnector();
+        return new UnixDomainSocketOutgoingConnector(new TcpOutgoingConnector());
     }
 
     @Provides
     protected IncomingConnector createIncomingConnector(ExecutorFactory executorFactory, InetAddressFactory inetAddressFactory) {
-        return new TcpIncomingConnector(
+        IncomingConnector tcpConnector = new TcpIncomingConnector(
                 executorFactory,
                 inetAddressFactory,
                 idGenerator,
                 10
         );
+        if (UnixDomainSocketIncomingConnector.isEnabled()) {
+            return new UnixDomainSocketIncomingConnector(executorFactory, tcpConnector, 10);
+        }
+        return tcpConnector;
     }
 
     @Provides
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.remote.internal.inet
+
+import org.gradle.api.Action
+import org.gradle.internal.id.UUIDGenerator
+import org.gradle.internal.remote.internal.ConnectCompletion
+import org.gradle.internal.serialize.BaseSerializerFactory
+import org.gradle.internal.serialize.Serializers
+import org.gradle.test.fixtures.concurrent.ConcurrentSpec
+import org.gradle.test.precondition.Requires
+import org.gradle.test.preconditions.UnitTestPreconditions
+import spock.lang.Shared
+import spock.lang.Timeout
+
+import java.util.concurrent.LinkedBlockingQueue
+
+@Timeout(60)
+@Requires([UnitTestPreconditions.Linux, UnitTestPreconditions.Jdk16OrLater])
+class UnixDomainSocketConnectorTest extends ConcurrentSpec {
+    @Shared def serializer = Serializers.stateful(BaseSerializerFactory.STRING_SERIALIZER)
+    final def tcpIncomingConnector = new TcpIncomingConnector(executorFactory, new InetAddressFactory(), new UUIDGenerator(), 1)
+    final def incomingConnector = new UnixDomainSocketIncomingConnector(executorFactory, tcpIncomingConnector, 1)
+    final def outgoingConnector = new UnixDomainSocketOutgoingConnector(new TcpOutgoingConnector())
+
+    def "advertises socket path for local connections only"() {
+        when:
+        def localAcceptor = incomingConnector.accept(Mock(Action), false)
+        def remoteAcceptor = incomingConnector.accept(Mock(Action), true)
+
+        then:
+        def socketPath = (localAcceptor.address as MultiChoiceAddress).socketPath
+        socketPath != null
+        new File(socketPath).exists()
+        (remoteAcceptor.address as MultiChoiceAddress).socketPath == null
+
+        when:
+        localAcceptor.stop()
+
+        then:
+        !new File(socketPath).exists()
+
+        cleanup:
+        localAcceptor?.stop()
+        remoteAcceptor?.stop()
+    }
+
+    def "client and server can exchange messages over Unix domain socket"() {
+        def received = new LinkedBlockingQueue()
+        Action<ConnectCompletion> action = { ConnectCompletion completion -> received.add(completion.create(serializer)) }
+        def largeMessage = "x" * 200000
+
+        when:
+        def acceptor = incomingConnector.accept(action, false)
+        def client = outgoingConnector.connect(acceptor.address).create(serializer)
+        def server = received.take()
+        start {
+            client.dispatch("hello")
+            client.dispatch(largeMessage)
+            client.flush()
+        }
+
+        then:
+        client.toString().contains((acceptor.address as MultiChoiceAddress).socketPath)
+        server.receive() == "hello"
+        server.receive() == largeMessage
+
+        when:
+        client.stop()
+
+        then:
+        server.receive() == null
+
+        cleanup:
+        server?.stop()
+        acceptor?.stop()
+    }
+
+    def "client falls back to TCP when socket cannot be reached"() {
+        def received = new LinkedBlockingQueue()
+        Action<ConnectCompletion> action = { ConnectCompletion completion -> received.add(completion.create(serializer)) }
+
+        when:
+        def acceptor = incomingConnector.accept(action, false)
+        def address = (acceptor.address as MultiChoiceAddress).withSocketPath("/does-not-exist/socket")
+        def client = outgoingConnector.connect(address).create(serializer)
+        def server = received.take()
+        client.dispatch("hello")
+        client.flush()
+
+        then:
+        !client.toString().contains("socket connection from unnamed socket")
+        server.receive() == "hello"
+
+        cleanup:
+        client?.stop()
+        server?.stop()
+        acceptor?.stop()
+    }
+}
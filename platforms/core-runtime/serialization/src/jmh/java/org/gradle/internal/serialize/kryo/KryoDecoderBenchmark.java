@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.serialize.kryo;
+
+import org.gradle.internal.serialize.Decoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+
+/**
+ * Compares the {@link KryoBackedDecoder} reading from a file with the {@link MappedKryoBackedDecoder} reading the same file.
+ * <p>
+ * The payload mimics the shape of a configuration cache entry: many small ints and booleans, class names and paths
+ * that repeat, and binary blobs like hashes and serialized beans.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class KryoDecoderBenchmark {
+
+    public enum DecoderType {
+        stream {
+            @Override
+            Decoder open(File file) throws IOException {
+                return new KryoBackedDecoder(new FileInputStream(file));
+            }
+        },
+        mapped {
+            @Override
+            Decoder open(File file) throws IOException {
+                return MappedKryoBackedDecoder.open(file);
+            }
+        };
+
+        abstract Decoder open(File file) throws IOException;
+    }
+
+    @Param
+    DecoderType decoderType;
+
+    @Param({"1000", "100000"})
+    int records;
+
+    File tmpDir;
+    File payload;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        tmpDir = Files.createTempDirectory("kryo-decoder").toFile();
+        payload = new File(tmpDir, "state.bin");
+        Random random = new Random(1234L);
+        byte[] blob = new byte[256];
+        try (KryoBackedEncoder encoder = new KryoBackedEncoder(new FileOutputStream(payload))) {
+            for (int i = 0; i < records; i++) {
+                encoder.writeSmallInt(random.nextInt(64));
+                encoder.writeString("org.gradle.api.internal.tasks.Type" + random.nextInt(200));
+                encoder.writeString("/home/user/project/module" + random.nextInt(50) + "/src/main/java/File" + i + ".java");
+                encoder.writeBoolean(random.nextBoolean());
+                encoder.writeSmallLong(random.nextLong() >>> random.nextInt(64));
+                random.nextBytes(blob);
+                encoder.writeBinary(blob, 0, 16 + random.nextInt(blob.length - 16));
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        payload.delete();
+        tmpDir.delete();
+    }
+
+    @Benchmark
+    public void decodeAll(Blackhole blackhole) throws Exception {
+        Decoder decoder = decoderType.open(payload);
+        try {
+            for (int i = 0; i < records; i++) {
+                blackhole.consume(decoder.readSmallInt());
+                blackhole.consume(decoder.readString());
+                blackhole.consume(decoder.readString());
+                blackhole.consume(decoder.readBoolean());
+                blackhole.consume(decoder.readSmallLong());
+                blackhole.consume(decoder.readBinary());
+            }
+        } finally {
+            ((AutoCloseable) decoder).close();
+        }
+    }
+
+    @Benchmark
+    public void skipBinaries(Blackhole blackhole) throws Exception {
+        Decoder decoder = decoderType.open(payload);
+        try {
+            for (int i = 0; i < records; i++) {
+                blackhole.consume(decoder.readSmallInt());
+                blackhole.consume(decoder.readString());
+                blackhole.consume(decoder.readString());
+                blackhole.consume(decoder.readBoolean());
+                blackhole.consume(decoder.readSmallLong());
+                decoder.skipBytes(decoder.readSmallInt());
+            }
+        } finally {
+            ((AutoCloseable) decoder).close();
+        }
+    }
+}
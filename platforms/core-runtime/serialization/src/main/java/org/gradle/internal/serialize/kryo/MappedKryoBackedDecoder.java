@@ -0,0 +1,400 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.serialize.kryo;
+
+import org.gradle.internal.serialize.AbstractDecoder;
+import org.gradle.internal.serialize.Decoder;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * A {@link Decoder} that reads data written by {@link KryoBackedEncoder} directly from a {@link ByteBuffer}, typically a memory-mapped file.
+ * <p>
+ * In contrast to {@link KryoBackedDecoder}, there is no intermediate buffer to fill from an {@link java.io.InputStream}:
+ * primitives are decoded in place, {@link #skipBytes(long)} only moves the position and {@link #readByteBuffer(int)} exposes
+ * a range of the content without copying it.
+ * <p>
+ * Use this type for read-only files that are decoded entirely, like cache entries. The buffer must not be modified while it is being read.
+ * Note that on Windows a mapped file cannot be replaced or deleted until the mapping has been garbage collected.
+ */
+public class MappedKryoBackedDecoder extends AbstractDecoder implements Decoder, Closeable {
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+    private ByteBuffer buffer;
+    // Tracked separately from the buffer, so that decoding only uses absolute reads
+    private int position;
+    private int limit;
+    private char[] chars = new char[32];
+
+    public MappedKryoBackedDecoder(ByteBuffer buffer) {
+        this.buffer = buffer.slice().order(ByteOrder.BIG_ENDIAN);
+        this.limit = this.buffer.limit();
+    }
+
+    /**
+     * Maps the given file read-only and creates a decoder for its entire content.
+     * <p>
+     * The mapping stays valid after the file has been closed, and is released when the decoder becomes unreachable.
+     */
+    public static MappedKryoBackedDecoder open(File file) throws IOException {
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+            FileChannel channel = randomAccessFile.getChannel();
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Cannot map " + file + " as it is larger than 2GB.");
+            }
+            return new MappedKryoBackedDecoder(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    @Override
+    protected int maybeReadBytes(byte[] bytes, int offset, int count) {
+        if (count == 0) {
+            return 0;
+        }
+        if (position == limit) {
+            return -1;
+        }
+        int read = Math.min(count, limit - position);
+        copyTo(bytes, offset, read);
+        return read;
+    }
+
+    @Override
+    protected long maybeSkip(long count) {
+        int skipped = (int) Math.min(count, limit - position);
+        position += skipped;
+        return skipped;
+    }
+
+    private void require(int count) throws EOFException {
+        if (limit - position < count) {
+            throw new EOFException();
+        }
+    }
+
+    private void copyTo(byte[] bytes, int offset, int count) {
+        buffer.position(position);
+        buffer.get(bytes, offset, count);
+        position += count;
+    }
+
+    @Override
+    public byte readByte() throws EOFException {
+        require(1);
+        return buffer.get(position++);
+    }
+
+    @Override
+    public void readBytes(byte[] bytes, int offset, int count) throws EOFException {
+        require(count);
+        copyTo(bytes, offset, count);
+    }
+
+    /**
+     * Returns the next {@code count} bytes as a read-only view of the underlying buffer, without copying them.
+     */
+    public ByteBuffer readByteBuffer(int count) throws EOFException {
+        require(count);
+        buffer.position(position);
+        ByteBuffer view = buffer.slice();
+        view.limit(count);
+        position += count;
+        return view.asReadOnlyBuffer();
+    }
+
+    @Override
+    public void skipBytes(long count) throws EOFException {
+        if (count > limit - position) {
+            throw new EOFException();
+        }
+        position += (int) count;
+    }
+
+    @Override
+    public long readLong() throws EOFException {
+        require(8);
+        long value = buffer.getLong(position);
+        position += 8;
+        return value;
+    }
+
+    @Override
+    public long readSmallLong() throws EOFException {
+        if (limit - position < 9) {
+            return readSmallLongSlow();
+        }
+        int b = buffer.get(position++);
+        long result = b & 0x7F;
+        for (int shift = 7; (b & 0x80) != 0; shift += 7) {
+            b = buffer.get(position++);
+            if (shift == 56) {
+                // The last byte carries 8 bits
+                result |= (long) (b & 0xFF) << 56;
+                break;
+            }
+            result |= (long) (b & 0x7F) << shift;
+        }
+        return result;
+    }
+
+    private long readSmallLongSlow() throws EOFException {
+        int b = readByte();
+        long result = b & 0x7F;
+        for (int shift = 7; (b & 0x80) != 0; shift += 7) {
+            b = readByte();
+            if (shift == 56) {
+                result |= (long) (b & 0xFF) << 56;
+                break;
+            }
+            result |= (long) (b & 0x7F) << shift;
+        }
+        return result;
+    }
+
+    @Override
+    public int readInt() throws EOFException {
+        require(4);
+        int value = buffer.getInt(position);
+        position += 4;
+        return value;
+    }
+
+    @Override
+    public int readSmallInt() throws EOFException {
+        if (limit - position < 5) {
+            return readSmallIntSlow();
+        }
+        int b = buffer.get(position++);
+        int result = b & 0x7F;
+        for (int shift = 7; (b & 0x80) != 0 && shift <= 28; shift += 7) {
+            b = buffer.get(position++);
+            result |= (b & 0x7F) << shift;
+        }
+        return result;
+    }
+
+    private int readSmallIntSlow() throws EOFException {
+        int b = readByte();
+        int result = b & 0x7F;
+        for (int shift = 7; (b & 0x80) != 0 && shift <= 28; shift += 7) {
+            b = readByte();
+            result |= (b & 0x7F) << shift;
+        }
+        return result;
+    }
+
+    @Override
+    public short readShort() throws EOFException {
+        require(2);
+        short value = buffer.getShort(position);
+        position += 2;
+        return value;
+    }
+
+    @Override
+    public float readFloat() throws EOFException {
+        return Float.intBitsToFloat(readInt());
+    }
+
+    @Override
+    public double readDouble() throws EOFException {
+        return Double.longBitsToDouble(readLong());
+    }
+
+    @Override
+    public boolean readBoolean() throws EOFException {
+        return readByte() == 1;
+    }
+
+    @Override
+    public String readString() throws EOFException {
+        return readNullableString();
+    }
+
+    /**
+     * Reads a string in the format written by Kryo: either ASCII characters with the high bit set on the last one,
+     * or a length prefix followed by UTF-8 encoded characters, where a length of 0 means {@code null}.
+     */
+    @Override
+    public String readNullableString() throws EOFException {
+        require(1);
+        if ((buffer.get(position) & 0x80) == 0) {
+            return readAscii();
+        }
+        int charCount = readUtf8Length();
+        switch (charCount) {
+            case 0:
+                return null;
+            case 1:
+                return "";
+            default:
+                return readUtf8(charCount - 1);
+        }
+    }
+
+    private String readAscii() throws EOFException {
+        char[] chars = this.chars;
+        int count = 0;
+        while (true) {
+            if (position == limit) {
+                throw new EOFException();
+            }
+            int b = buffer.get(position++);
+            if (count == chars.length) {
+                chars = charsFor(count + 1);
+            }
+            if ((b & 0x80) != 0) {
+                chars[count++] = (char) (b & 0x7F);
+                break;
+            }
+            chars[count++] = (char) b;
+        }
+        return new String(chars, 0, count);
+    }
+
+    private int readUtf8Length() throws EOFException {
+        int b = readByte();
+        int result = b & 0x3F;
+        if ((b & 0x40) != 0) {
+            b = readByte();
+            result |= (b & 0x7F) << 6;
+            for (int shift = 13; (b & 0x80) != 0 && shift <= 27; shift += 7) {
+                b = readByte();
+                result |= (b & 0x7F) << shift;
+            }
+        }
+        return result;
+    }
+
+    private String readUtf8(int charCount) throws EOFException {
+        char[] chars = charsFor(charCount);
+        int i = 0;
+        // Fast path for the leading ASCII characters, which are the vast majority
+        int asciiEnd = Math.min(charCount, limit - position);
+        while (i < asciiEnd) {
+            int b = buffer.get(position);
+            if (b < 0) {
+                break;
+            }
+            position++;
+            chars[i++] = (char) b;
+        }
+        for (; i < charCount; i++) {
+            int b = readByte() & 0xFF;
+            switch (b >> 4) {
+                case 0:
+                case 1:
+                case 2:
+                case 3:
+                case 4:
+                case 5:
+                case 6:
+                case 7:
+                    chars[i] = (char) b;
+                    break;
+                case 12:
+                case 13:
+                    chars[i] = (char) ((b & 0x1F) << 6 | readByte() & 0x3F);
+                    break;
+                case 14:
+                    int b2 = readByte();
+                    chars[i] = (char) ((b & 0x0F) << 12 | (b2 & 0x3F) << 6 | readByte() & 0x3F);
+                    break;
+                default:
+                    throw new IllegalStateException("Unexpected UTF-8 lead byte " + b + ".");
+            }
+        }
+        return new String(chars, 0, charCount);
+    }
+
+    private char[] charsFor(int count) {
+        if (chars.length < count) {
+            chars = Arrays.copyOf(chars, Math.max(count, chars.length * 2));
+        }
+        return chars;
+    }
+
+    @Override
+    public void skipChunked() throws EOFException {
+        while (true) {
+            int count = readSmallInt();
+            if (count == 0) {
+                break;
+            }
+            skipBytes(count);
+        }
+    }
+
+    @Override
+    public <T> T decodeChunked(DecodeAction<Decoder, T> decodeAction) throws EOFException, Exception {
+        // Find the extent of the nested content. When it is a single chunk, which is the common case, it can be decoded in place
+        int start = position;
+        int chunkCount = 0;
+        int contentLength = 0;
+        int firstChunkStart = start;
+        while (true) {
+            int count = readSmallInt();
+            if (count == 0) {
+                break;
+            }
+            if (chunkCount++ == 0) {
+                firstChunkStart = position;
+            }
+            contentLength += count;
+            skipBytes(count);
+        }
+        int end = position;
+
+        ByteBuffer content;
+        if (chunkCount <= 1) {
+            position = firstChunkStart;
+            content = readByteBuffer(contentLength);
+        } else {
+            content = ByteBuffer.allocate(contentLength);
+            position = start;
+            for (int count = readSmallInt(); count != 0; count = readSmallInt()) {
+                content.put(readByteBuffer(count));
+            }
+            content.flip();
+        }
+        position = end;
+        return decodeAction.read(new MappedKryoBackedDecoder(content));
+    }
+
+    /**
+     * Returns the total number of bytes consumed by this decoder.
+     */
+    public long getReadPosition() {
+        return position;
+    }
+
+    @Override
+    public void close() {
+        buffer = EMPTY;
+        position = 0;
+        limit = 0;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.serialize.kryo
+
+import org.gradle.internal.serialize.AbstractCodecTest
+import org.gradle.internal.serialize.Decoder
+import org.gradle.internal.serialize.Encoder
+import spock.lang.TempDir
+
+import java.nio.ByteBuffer
+
+class MappedKryoBackedCodecTest extends AbstractCodecTest {
+    @TempDir
+    File tempDir
+
+    @Override
+    void encodeTo(OutputStream outputStream, Closure<Encoder> closure) {
+        def encoder = new KryoBackedEncoder(outputStream, 10)
+        closure.call(encoder)
+        encoder.flush()
+    }
+
+    @Override
+    void decodeFrom(InputStream inputStream, Closure<Decoder> closure) {
+        // The only other stream used by the tests is a mock without any content
+        def bytes = inputStream instanceof ByteArrayInputStream ? inputStream.bytes : new byte[0]
+        def decoder = new MappedKryoBackedDecoder(ByteBuffer.wrap(bytes))
+        closure.call(decoder)
+    }
+
+    def "can decode mapped file"() {
+        def file = new File(tempDir, "state.bin")
+        file.bytes = encode { Encoder encoder ->
+            encoder.writeString("header")
+            encoder.writeSmallLong(Long.MAX_VALUE)
+            encoder.writeBinary(new byte[10000])
+            encoder.writeNullableString(null)
+            encoder.writeInt(12)
+        }
+
+        when:
+        def decoder = MappedKryoBackedDecoder.open(file)
+
+        then:
+        decoder.readString() == "header"
+        decoder.readSmallLong() == Long.MAX_VALUE
+        decoder.readBinary() == new byte[10000]
+        decoder.readNullableString() == null
+        decoder.readInt() == 12
+        decoder.readPosition == file.length()
+
+        cleanup:
+        decoder?.close()
+    }
+
+    def "can read bytes without copying"() {
+        def bytes = encode { Encoder encoder ->
+            encoder.writeBytes([1, 2, 3, 4, 5] as byte[])
+            encoder.writeString("done")
+        }
+
+        when:
+        def decoder = new MappedKryoBackedDecoder(ByteBuffer.wrap(bytes))
+        decoder.skipBytes(1)
+        def view = decoder.readByteBuffer(3)
+
+        then:
+        view.readOnly
+        view.remaining() == 3
+        view.get(0) == 2 as byte
+        view.get(2) == 4 as byte
+        decoder.readByte() == 5 as byte
+        decoder.readString() == "done"
+
+        when:
+        decoder.readByteBuffer(1)
+
+        then:
+        thrown(EOFException)
+    }
+
+    def "can decode and skip byte streams"() {
+        when:
+        def bytes = encode { Encoder encoder ->
+            encoder.encodeChunked { Encoder nested ->
+                nested.writeSmallInt(12)
+                nested.writeBytes(new byte[100])
+                nested.writeString("chunked")
+            }
+            encoder.encodeChunked {}
+            encoder.encodeChunked { Encoder nested ->
+                nested.writeString("skipped")
+            }
+            encoder.writeString("done")
+        }
+
+        then:
+        decode(bytes) { Decoder decoder ->
+            decoder.decodeChunked { Decoder nested ->
+                assert nested.readSmallInt() == 12
+                nested.skipBytes(100)
+                assert nested.readString() == "chunked"
+            }
+            decoder.decodeChunked {}
+            decoder.skipChunked()
+            assert decoder.readString() == "done"
+        }
+    }
+}
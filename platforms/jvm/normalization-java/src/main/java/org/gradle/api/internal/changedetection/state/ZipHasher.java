@@ -41,16 +41,28 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
 
+/**
+ * Hashes the normalized contents of zip files, including the contents of nested zip files.
+ *
+ * When created with a {@link ForkJoinPool}, entries that can be read independently of each other are hashed on the pool:
+ * regular entries in batches, nested zip files as separate tasks.
+ * The fingerprints are sorted before hashing, so the result is identical to hashing the entries sequentially.
+ */
 public class ZipHasher implements RegularFileSnapshotContextHasher, ConfigurableNormalizer {
 
     private static final Set<String> KNOWN_ZIP_EXTENSIONS = ImmutableSet.of("zip", "jar", "war", "rar", "ear", "apk", "aar", "klib");
     private static final Logger LOGGER = LoggerFactory.getLogger(ZipHasher.class);
     private static final HashCode EMPTY_HASH_MARKER = Hashing.signature(ZipHasher.class);
+    private static final int ENTRY_BATCH_SIZE = 64;
 
     public static boolean isZipFile(final String name) {
         return KNOWN_ZIP_EXTENSIONS.contains(FilenameUtils.getExtension(name).toLowerCase(Locale.ROOT));
@@ -58,9 +70,16 @@ public static boolean isZipFile(final String name) {
 
     private final ResourceHasher resourceHasher;
     private final HashingExceptionReporter hashingExceptionReporter;
+    @Nullable
+    private final ForkJoinPool hashingPool;
 
     public ZipHasher(ResourceHasher resourceHasher) {
+        this(resourceHasher, null);
+    }
+
+    public ZipHasher(ResourceHasher resourceHasher, @Nullable ForkJoinPool hashingPool) {
         this.resourceHasher = resourceHasher;
+        this.hashingPool = hashingPool;
         this.hashingExceptionReporter = (s, e) -> LOGGER.debug("Malformed archive '{}'. Falling back to full content hash instead of entry hashing.", s.getName(), e);
     }
 
@@ -94,6 +113,9 @@ private HashCode hashZipContents(RegularFileSnapshot zipFileSnapshot) {
 
     private List<FileSystemLocationFingerprint> fingerprintZipEntries(String zipFile) throws IOException {
         try (ZipInput input = FileZipInput.create(new File(zipFile))) {
+            if (hashingPool != null) {
+                return hashingPool.invoke(new HashingTask(() -> fingerprintZipEntriesInParallel(zipFile, input)));
+            }
             List<FileSystemLocationFingerprint> fingerprints = new ArrayList<>();
             fingerprintZipEntries("", zipFile, fingerprints, input);
             return fingerprints;
@@ -106,20 +128,80 @@ private void fingerprintZipEntries(String parentName, String rootParentName, Lis
             if (zipEntry.isDirectory()) {
                 continue;
             }
-            String fullName = parentName.isEmpty() ? zipEntry.getName() : parentName + "/" + zipEntry.getName();
-            ZipEntryContext zipEntryContext = new DefaultZipEntryContext(zipEntry, fullName, rootParentName);
-            if (isZipFile(zipEntry.getName())) {
-                zipEntryContext.getEntry().withInputStream(inputStream -> {
-                    fingerprintZipEntries(fullName, rootParentName, fingerprints, new StreamZipInput(inputStream));
-                    return null;
-                });
-            } else {
+            fingerprintZipEntry(zipEntryContextFor(zipEntry, parentName, rootParentName), fingerprints);
+        }
+    }
+
+    /**
+     * Hashes the entries of a top-level zip file on the hashing pool.
+     *
+     * Entries that can be reopened are read from the zip file directly, so they don't need to be hashed in the order of the zip file.
+     * Nested zip files are still read as streams, so their entries are hashed sequentially within the task for the nested zip file.
+     */
+    private List<FileSystemLocationFingerprint> fingerprintZipEntriesInParallel(String zipFile, ZipInput input) throws IOException {
+        List<FileSystemLocationFingerprint> fingerprints = new ArrayList<>();
+        fingerprints.add(newZipMarker(""));
+        List<ForkJoinTask<List<FileSystemLocationFingerprint>>> forkedTasks = new ArrayList<>();
+        List<ZipEntryContext> batch = new ArrayList<>(ENTRY_BATCH_SIZE);
+        for (ZipEntry zipEntry : input) {
+            if (zipEntry.isDirectory()) {
+                continue;
+            }
+            ZipEntryContext zipEntryContext = zipEntryContextFor(zipEntry, "", zipFile);
+            if (!zipEntry.canReopen()) {
+                // The entry can only be read while the input is positioned at it
                 fingerprintZipEntry(zipEntryContext, fingerprints);
+            } else if (isZipFile(zipEntry.getName())) {
+                forkedTasks.add(new HashingTask(() -> {
+                    List<FileSystemLocationFingerprint> nestedFingerprints = new ArrayList<>();
+                    fingerprintZipEntry(zipEntryContext, nestedFingerprints);
+                    return nestedFingerprints;
+                }).fork());
+            } else {
+                batch.add(zipEntryContext);
+                if (batch.size() == ENTRY_BATCH_SIZE) {
+                    forkedTasks.add(forkBatch(batch));
+                    batch = new ArrayList<>(ENTRY_BATCH_SIZE);
+                }
             }
         }
+        // Hash the last batch on the current thread while the forked tasks are running
+        for (ZipEntryContext zipEntryContext : batch) {
+            fingerprintZipEntry(zipEntryContext, fingerprints);
+        }
+        for (ForkJoinTask<List<FileSystemLocationFingerprint>> forkedTask : forkedTasks) {
+            fingerprints.addAll(forkedTask.join());
+        }
+        return fingerprints;
+    }
+
+    private ForkJoinTask<List<FileSystemLocationFingerprint>> forkBatch(List<ZipEntryContext> batch) {
+        return new HashingTask(() -> {
+            List<FileSystemLocationFingerprint> batchFingerprints = new ArrayList<>(batch.size());
+            for (ZipEntryContext zipEntryContext : batch) {
+                fingerprintZipEntry(zipEntryContext, batchFingerprints);
+            }
+            return batchFingerprints;
+        }).fork();
+    }
+
+    private static ZipEntryContext zipEntryContextFor(ZipEntry zipEntry, String parentName, String rootParentName) {
+        String fullName = parentName.isEmpty() ? zipEntry.getName() : parentName + "/" + zipEntry.getName();
+        return new DefaultZipEntryContext(zipEntry, fullName, rootParentName);
     }
 
     private void fingerprintZipEntry(ZipEntryContext zipEntryContext, List<FileSystemLocationFingerprint> fingerprints) throws IOException {
+        if (isZipFile(zipEntryContext.getEntry().getName())) {
+            zipEntryContext.getEntry().withInputStream(inputStream -> {
+                fingerprintZipEntries(zipEntryContext.getFullName(), zipEntryContext.getRootParentName(), fingerprints, new StreamZipInput(inputStream));
+                return null;
+            });
+        } else {
+            fingerprintResource(zipEntryContext, fingerprints);
+        }
+    }
+
+    private void fingerprintResource(ZipEntryContext zipEntryContext, List<FileSystemLocationFingerprint> fingerprints) throws IOException {
         HashCode hash = resourceHasher.hash(zipEntryContext);
         if (hash != null) {
             fingerprints.add(new DefaultFileSystemLocationFingerprint(zipEntryContext.getFullName(), FileType.RegularFile, hash));
@@ -130,6 +212,27 @@ private DefaultFileSystemLocationFingerprint newZipMarker(String relativePath) {
         return new DefaultFileSystemLocationFingerprint(relativePath, FileType.RegularFile, EMPTY_HASH_MARKER);
     }
 
+    private interface HashingAction {
+        List<FileSystemLocationFingerprint> run() throws IOException;
+    }
+
+    private static class HashingTask extends RecursiveTask<List<FileSystemLocationFingerprint>> {
+        private final HashingAction action;
+
+        public HashingTask(HashingAction action) {
+            this.action = action;
+        }
+
+        @Override
+        protected List<FileSystemLocationFingerprint> compute() {
+            try {
+                return action.run();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
     public interface HashingExceptionReporter {
         void report(RegularFileSnapshot zipFileSnapshot, Exception e);
     }
@@ -56,6 +56,7 @@
 import java.io.UncheckedIOException;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.gradle.internal.fingerprint.classpath.impl.ClasspathFingerprintingStrategy.NonJarFingerprintingStrategy.IGNORE;
 import static org.gradle.internal.fingerprint.classpath.impl.ClasspathFingerprintingStrategy.NonJarFingerprintingStrategy.USE_FILE_HASH;
@@ -107,15 +108,21 @@ public static ClasspathFingerprintingStrategy runtimeClasspath(
         RuntimeClasspathResourceHasher runtimeClasspathResourceHasher,
         ResourceSnapshotterCacheService cacheService,
         Interner<String> stringInterner,
-        LineEndingSensitivity lineEndingSensitivity
+        LineEndingSensitivity lineEndingSensitivity,
+        @Nullable ForkJoinPool zipHashingPool
     ) {
         ResourceHasher resourceHasher = runtimeClasspathResourceHasher(runtimeClasspathResourceHasher, lineEndingSensitivity, propertiesFileFilters, manifestAttributeResourceEntryFilter, classpathResourceFilter);
-        ZipHasher zipHasher = new ZipHasher(resourceHasher);
+        ZipHasher zipHasher = new ZipHasher(resourceHasher, zipHashingPool);
         return new ClasspathFingerprintingStrategy(CLASSPATH_IDENTIFIER, USE_FILE_HASH, resourceHasher, zipHasher, cacheService, stringInterner);
     }
 
-    public static ClasspathFingerprintingStrategy compileClasspath(ResourceHasher classpathResourceHasher, ResourceSnapshotterCacheService cacheService, Interner<String> stringInterner) {
-        ZipHasher zipHasher = new ZipHasher(classpathResourceHasher);
+    public static ClasspathFingerprintingStrategy compileClasspath(
+        ResourceHasher classpathResourceHasher,
+        ResourceSnapshotterCacheService cacheService,
+        Interner<String> stringInterner,
+        @Nullable ForkJoinPool zipHashingPool
+    ) {
+        ZipHasher zipHasher = new ZipHasher(classpathResourceHasher, zipHashingPool);
         return new ClasspathFingerprintingStrategy(COMPILE_CLASSPATH_IDENTIFIER, IGNORE, classpathResourceHasher, zipHasher, cacheService, stringInterner);
     }
 
@@ -28,6 +28,7 @@ import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
 import org.junit.Rule
 import spock.lang.Specification
 
+import java.util.concurrent.ForkJoinPool
 import java.util.jar.Attributes
 import java.util.jar.JarEntry
 import java.util.jar.JarOutputStream
@@ -148,6 +149,45 @@ class ZipHasherTest extends Specification {
         hash1 == hash2
     }
 
+    def "hashing entries in parallel produces the same hash as hashing them sequentially"() {
+        given:
+        def pool = new ForkJoinPool(4)
+        def parallelZipHasher = new ZipHasher(resourceHasher(ResourceEntryFilter.FILTER_NOTHING, ResourceEntryFilter.FILTER_NOTHING), pool)
+        def outerContent = tmpDir.createDir("outer")
+        (1..300).each {
+            outerContent.file("org/gradle/sample/Sample${it}.class") << "Sample ${it}"
+        }
+        outerContent.file("META-INF/build-info.properties") << "created-by=me"
+        def innerContent = tmpDir.createDir("inner")
+        (1..20).each {
+            innerContent.file("inner/Inner${it}.class") << "Inner ${it}"
+        }
+        innerContent.zipTo(outerContent.file("lib/inner.jar"))
+        innerContent.zipTo(outerContent.file("lib/other.jar"))
+        def outer = tmpDir.file("outer.jar")
+        outerContent.zipTo(outer)
+
+        expect:
+        parallelZipHasher.hash(snapshotContext(outer)) == zipHasher.hash(snapshotContext(outer))
+
+        cleanup:
+        pool?.shutdown()
+    }
+
+    def "falls back to the file hash when a malformed archive is hashed in parallel"() {
+        given:
+        def pool = new ForkJoinPool(4)
+        def parallelZipHasher = new ZipHasher(resourceHasher(ResourceEntryFilter.FILTER_NOTHING, ResourceEntryFilter.FILTER_NOTHING), pool)
+        def malformed = tmpDir.file("malformed.jar") << "not a zip file"
+        def context = snapshotContext(malformed)
+
+        expect:
+        parallelZipHasher.hash(context) == context.snapshot.hash
+
+        cleanup:
+        pool?.shutdown()
+    }
+
     def createJarWithAttributes(TestFile jarfile, Map<String, String> attributes) {
         def manifest = new Manifest()
         def mainAttributes = manifest.getMainAttributes()
@@ -24,6 +24,7 @@
 import org.gradle.internal.Factories;
 import org.gradle.internal.Factory;
 import org.gradle.internal.IoActions;
+import org.jspecify.annotations.Nullable;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.Type;
 import org.slf4j.Logger;
@@ -34,19 +35,25 @@
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.gradle.internal.FileUtils.hasExtension;
 
+/**
+ * Base class for detectors that find test classes by inspecting their byte code and the byte code of their super classes.
+ * <p>
+ * Detection is thread-safe, so {@link #detectTestClass(RelativeFile)} can be called concurrently for different class files.
+ * Whether a super class is a test class is only determined once per super class name, no matter how many classes extend it.
+ */
 public abstract class AbstractTestFrameworkDetector<T extends TestClassVisitor> implements TestFrameworkDetector {
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractTestFrameworkDetector.class);
     private static final String JAVA_LANG_OBJECT = "java/lang/Object";
 
-    private List<File> testClassDirectories;
+    private volatile List<File> testClassDirectories;
     private final ClassFileExtractionManager classFileExtractionManager;
-    private final Map<File, Boolean> superClasses;
+    private final Map<String, Boolean> superClasses;
     private TestDefinitionProcessor<? super ClassTestDefinition> testDefinitionProcessor;
 
     private List<File> testClassesDirectories;
@@ -55,19 +62,14 @@
     protected AbstractTestFrameworkDetector(ClassFileExtractionManager classFileExtractionManager) {
         assert classFileExtractionManager != null;
         this.classFileExtractionManager = classFileExtractionManager;
-        this.superClasses = new HashMap<>();
+        this.superClasses = new ConcurrentHashMap<>();
     }
 
     protected abstract T createClassVisitor();
 
     private File getSuperTestClassFile(String superClassName) {
-        prepareClasspath();
-        if (StringUtils.isEmpty(superClassName)) {
-            throw new IllegalArgumentException("superClassName is empty!");
-        }
-
         File superTestClassFile = null;
-        for (File testClassDirectory : testClassDirectories) {
+        for (File testClassDirectory : prepareClasspath()) {
             File candidate = new File(testClassDirectory, superClassName + ".class");
             if (candidate.exists()) {
                 superTestClassFile = candidate;
@@ -85,24 +87,33 @@ private File getSuperTestClassFile(String superClassName) {
         }
     }
 
-    private void prepareClasspath() {
-        if (testClassDirectories != null) {
-            return;
+    private List<File> prepareClasspath() {
+        List<File> directories = testClassDirectories;
+        if (directories != null) {
+            return directories;
         }
 
-        testClassDirectories = new ArrayList<>();
+        synchronized (this) {
+            if (testClassDirectories != null) {
+                return testClassDirectories;
+            }
 
-        if (testClassesDirectories != null) {
-            testClassDirectories.addAll(testClassesDirectories);
-        }
-        if (testClasspath != null) {
-            for (File file : testClasspath) {
-                if (file.isDirectory()) {
-                    testClassDirectories.add(file);
-                } else if (file.isFile() && hasExtension(file, ".jar")) {
-                    classFileExtractionManager.addLibraryJar(file);
+            directories = new ArrayList<>();
+
+            if (testClassesDirectories != null) {
+                directories.addAll(testClassesDirectories);
+            }
+            if (testClasspath != null) {
+                for (File file : testClasspath) {
+                    if (file.isDirectory()) {
+                        directories.add(file);
+                    } else if (file.isFile() && hasExtension(file, ".jar")) {
+                        classFileExtractionManager.addLibraryJar(file);
+                    }
                 }
             }
+            testClassDirectories = directories;
+            return directories;
         }
     }
 
@@ -135,7 +146,29 @@ private TestClass readClassFile(File testClassFile, Factory<String> fallbackClas
 
     @Override
     public boolean processTestClass(final RelativeFile testClassFile) {
-        return processTestClass(testClassFile.getFile(), false, () -> testClassFile.getRelativePath().getPathString().replace(".class", ""));
+        TestClass testClass = readClassFile(testClassFile);
+        boolean isTest = isTest(testClass);
+        ClassTestDefinition testDefinition = toTestDefinition(isTest, testClass);
+        if (testDefinition != null) {
+            testDefinitionProcessor.processTestDefinition(testDefinition);
+        }
+        return isTest;
+    }
+
+    @Override
+    public boolean supportsConcurrentDetection() {
+        return true;
+    }
+
+    @Nullable
+    @Override
+    public ClassTestDefinition detectTestClass(RelativeFile testClassFile) {
+        TestClass testClass = readClassFile(testClassFile);
+        return toTestDefinition(isTest(testClass), testClass);
+    }
+
+    private TestClass readClassFile(RelativeFile testClassFile) {
+        return readClassFile(testClassFile.getFile(), () -> testClassFile.getRelativePath().getPathString().replace(".class", ""));
     }
 
     /**
@@ -146,60 +179,54 @@ public boolean processTestClass(final RelativeFile testClassFile) {
      * <p>
      * When a parent class is a test class all the extending classes are marked as test classes.
      */
-    private boolean processTestClass(File testClassFile, boolean superClass, Factory<String> fallbackClassNameProvider) {
-        TestClass testClass = readClassFile(testClassFile, fallbackClassNameProvider);
-
-        boolean isTest = testClass.isTest();
-
-        if (!isTest) { // scan parent class
-            String superClassName = testClass.getSuperClassName();
-
-            if (isKnownTestCaseClassName(superClassName)) {
-                isTest = true;
-            } else {
-                File superClassFile = getSuperTestClassFile(superClassName);
-
-                if (superClassFile != null) {
-                    isTest = processSuperClass(superClassFile, superClassName);
-                } else {
-                    LOGGER.debug("test-class-scan : failed to scan parent class {}, could not find the class file",
-                        superClassName);
-                }
-            }
+    private boolean isTest(TestClass testClass) {
+        if (testClass.isTest()) {
+            return true;
         }
-
-        maybePublishTestClass(isTest, testClass, superClass);
-
-        return isTest;
+        String superClassName = testClass.getSuperClassName();
+        if (isKnownTestCaseClassName(superClassName)) {
+            return true;
+        }
+        return isSuperClassTest(superClassName);
     }
 
     protected abstract boolean isKnownTestCaseClassName(String testCaseClassName);
 
-    private boolean processSuperClass(File testClassFile, String superClassName) {
-        boolean isTest;
-
-        Boolean isSuperTest = superClasses.get(testClassFile);
+    private boolean isSuperClassTest(String superClassName) {
+        if (StringUtils.isEmpty(superClassName)) {
+            throw new IllegalArgumentException("superClassName is empty!");
+        }
 
-        if (isSuperTest == null) {
-            isTest = processTestClass(testClassFile, true, Factories.constant(superClassName));
+        // Several threads may scan the same super class at the same time, which is harmless as they reach the same result
+        Boolean isSuperTest = superClasses.get(superClassName);
+        if (isSuperTest != null) {
+            return isSuperTest;
+        }
 
-            superClasses.put(testClassFile, isTest);
+        boolean isTest;
+        File superClassFile = getSuperTestClassFile(superClassName);
+        if (superClassFile != null) {
+            isTest = isTest(readClassFile(superClassFile, Factories.constant(superClassName)));
         } else {
-            isTest = isSuperTest;
+            LOGGER.debug("test-class-scan : failed to scan parent class {}, could not find the class file",
+                superClassName);
+            isTest = false;
         }
-
+        superClasses.put(superClassName, isTest);
         return isTest;
     }
 
     /**
-     * In none super class mode a test class is published when the class is a test and it is not abstract. In super class mode it must not publish the class otherwise it will get published multiple
-     * times (for each extending class).
+     * A test class is published when the class is a test and it is not abstract. Super classes are never published
+     * on their own, otherwise they would get published multiple times (for each extending class).
      */
-    private void maybePublishTestClass(boolean isTest, TestClass testClass, boolean superClass) {
-        if (isTest && !testClass.isAbstract() && !superClass) {
+    @Nullable
+    private static ClassTestDefinition toTestDefinition(boolean isTest, TestClass testClass) {
+        if (isTest && !testClass.isAbstract()) {
             String className = Type.getObjectType(testClass.getClassName()).getClassName();
-            testDefinitionProcessor.processTestDefinition(new ClassTestDefinition(className));
+            return new ClassTestDefinition(className);
         }
+        return null;
     }
 
     @Override
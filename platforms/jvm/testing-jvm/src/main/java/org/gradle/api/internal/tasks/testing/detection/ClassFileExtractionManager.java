@@ -26,24 +26,29 @@
 
 import java.io.File;
 import java.io.IOException;
-import java.util.*;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 
 /**
  * This class manages class file extraction from library jar files.
+ * <p>
+ * This class is thread-safe. Different classes are extracted concurrently, while each class is only extracted once.
  */
 public class ClassFileExtractionManager {
     private static final Logger LOGGER = LoggerFactory.getLogger(ClassFileExtractionManager.class);
     private final Map<String, Set<File>> packageJarFilesMappings;
-    private final Map<String, File> extractedJarClasses;
-    private final Set<String> unextractableClasses;
+    private final Map<String, Optional<File>> extractedJarClasses;
     private final TemporaryFileProvider tempDirProvider;
 
     public ClassFileExtractionManager(final Factory<File> tempDirFactory) {
         assert tempDirFactory != null;
         tempDirProvider = new DefaultTemporaryFileProvider(tempDirFactory);
-        packageJarFilesMappings = new HashMap<String, Set<File>>();
-        extractedJarClasses = new HashMap<String, File>();
-        unextractableClasses = new TreeSet<String>();
+        packageJarFilesMappings = new ConcurrentHashMap<String, Set<File>>();
+        extractedJarClasses = new ConcurrentHashMap<String, Optional<File>>();
     }
 
     /**
@@ -55,12 +60,7 @@ public void addLibraryJar(final File libraryJar) {
         new JarFilePackageLister().listJarPackages(libraryJar, new JarFilePackageListener() {
             @Override
             public void receivePackage(String packageName) {
-                Set<File> jarFiles = packageJarFilesMappings.get(packageName);
-                if (jarFiles == null) {
-                    jarFiles = new TreeSet<File>();
-                    packageJarFilesMappings.put(packageName, jarFiles);
-                }
-                jarFiles.add(libraryJar);
+                packageJarFilesMappings.computeIfAbsent(packageName, name -> new ConcurrentSkipListSet<File>()).add(libraryJar);
             }
         });
     }
@@ -78,26 +78,17 @@ public void receivePackage(String packageName) {
      * @return File that contains the extracted class file.
      */
     public File getLibraryClassFile(final String className) {
-        if (unextractableClasses.contains(className)) {
-            return null;
-        } else {
-            if (!extractedJarClasses.containsKey(className)) {
-                if (!extractClassFile(className)) {
-                    unextractableClasses.add(className);
-                }
-            }
-
-            return extractedJarClasses.get(className);
-        }
+        // Threads asking for the same class wait for a single extraction
+        return extractedJarClasses.computeIfAbsent(className, this::extractClassFile).orElse(null);
     }
 
-    private boolean extractClassFile(final String className) {
+    private Optional<File> extractClassFile(final String className) {
         boolean classFileExtracted = false;
 
         final File extractedClassFile = tempFile();
         final String classFileName = new StrBuilder().append(className).append(".class").toString();
         final String classNamePackage = classNamePackage(className);
-        final Set<File> packageJarFiles = packageJarFilesMappings.get(classNamePackage);
+        final Set<File> packageJarFiles = classNamePackage == null ? null : packageJarFilesMappings.get(classNamePackage);
 
         File classFileSourceJar = null;
 
@@ -121,11 +112,11 @@ private boolean extractClassFile(final String className) {
             if (classFileExtracted) {
                 LOGGER.debug("extracted class {} from {}", className, classFileSourceJar.getName());
 
-                extractedJarClasses.put(className, extractedClassFile);
+                return Optional.of(extractedClassFile);
             }
         } // super class not on the classpath - unable to scan parent class
 
-        return classFileExtracted;
+        return Optional.empty();
     }
 
     private String classNamePackage(final String className) {
@@ -27,6 +27,7 @@
 import org.gradle.api.internal.tasks.testing.TestResultProcessor;
 import org.gradle.api.internal.tasks.testing.WorkerTestDefinitionProcessorFactory;
 import org.gradle.api.internal.tasks.testing.filter.DefaultTestFilter;
+import org.gradle.api.internal.tasks.testing.processors.DurationBalancedTestDefinitionProcessor;
 import org.gradle.api.internal.tasks.testing.processors.MaxNParallelTestDefinitionProcessor;
 import org.gradle.api.internal.tasks.testing.processors.PatternMatchTestDefinitionProcessor;
 import org.gradle.api.internal.tasks.testing.processors.RestartEveryNTestDefinitionProcessor;
@@ -40,6 +41,8 @@
 import org.gradle.internal.Cast;
 import org.gradle.internal.Factory;
 import org.gradle.internal.actor.ActorFactory;
+import org.gradle.internal.buildoption.InternalFlag;
+import org.gradle.internal.concurrent.ExecutorFactory;
 import org.gradle.internal.time.Clock;
 import org.gradle.internal.work.WorkerLeaseService;
 import org.gradle.process.internal.worker.WorkerProcessFactory;
@@ -54,6 +57,16 @@
  */
 public class DefaultTestExecuter implements TestExecuter<JvmTestExecutionSpec> {
 
+    /**
+     * Assigns test classes to test workers longest-first, based on the durations of the previous run, instead of round-robin.
+     */
+    public static final InternalFlag BALANCE_TEST_WORKERS = new InternalFlag("org.gradle.internal.testing.balance-workers");
+
+    /**
+     * Scans candidate class files for test classes on several threads, up to the maximum number of workers, instead of sequentially.
+     */
+    public static final InternalFlag CONCURRENT_TEST_DETECTION = new InternalFlag("org.gradle.internal.testing.concurrent-detection");
+
     private static final Logger LOGGER = Logging.getLogger(DefaultTestExecuter.class);
 
     private final WorkerProcessFactory workerFactory;
@@ -63,12 +76,15 @@ public class DefaultTestExecuter implements TestExecuter<JvmTestExecutionSpec> {
     private final int maxWorkerCount;
     private final Clock clock;
     private final DefaultTestFilter testFilter;
+    private final boolean balanceTestWorkers;
+    private final boolean concurrentTestDetection;
+    private final ExecutorFactory executorFactory;
     private TestDefinitionProcessor<TestDefinition> processor;
 
     public DefaultTestExecuter(
         WorkerProcessFactory workerFactory, ActorFactory actorFactory, ModuleRegistry moduleRegistry,
         WorkerLeaseService workerLeaseService, int maxWorkerCount,
-        Clock clock, DefaultTestFilter testFilter
+        Clock clock, DefaultTestFilter testFilter, boolean balanceTestWorkers, boolean concurrentTestDetection, ExecutorFactory executorFactory
     ) {
         this.workerFactory = workerFactory;
         this.actorFactory = actorFactory;
@@ -77,6 +93,9 @@ public DefaultTestExecuter(
         this.maxWorkerCount = maxWorkerCount;
         this.clock = clock;
         this.testFilter = testFilter;
+        this.balanceTestWorkers = balanceTestWorkers;
+        this.concurrentTestDetection = concurrentTestDetection;
+        this.executorFactory = executorFactory;
     }
 
     @Override
@@ -99,7 +118,7 @@ public void execute(final JvmTestExecutionSpec testExecutionSpec, TestResultProc
         processor =
             new PatternMatchTestDefinitionProcessor<>(testFilter,
                 new RunPreviousFailedFirstTestDefinitionProcessor<>(testExecutionSpec.getPreviousFailedTestClasses(), Collections.emptySet(),
-                    new MaxNParallelTestDefinitionProcessor<>(getMaxParallelForks(testExecutionSpec), reforkingProcessorFactory, actorFactory)));
+                    createParallelProcessor(testExecutionSpec, reforkingProcessorFactory)));
 
         final FileTree testClassFiles = testExecutionSpec.isScanForTestClasses() ? testExecutionSpec.getCandidateClassFiles() : FileCollectionFactory.emptyTree();
         final Set<File> testDefinitionDirs = testExecutionSpec.getCandidateTestDefinitionDirs();
@@ -110,7 +129,8 @@ public void execute(final JvmTestExecutionSpec testExecutionSpec, TestResultProc
             testFrameworkDetector.setTestClasspath(classpath.getApplicationClasspath());
         }
 
-        TestDetector detector = new DefaultTestScanner(testClassFiles, testDefinitionDirs, testFramework.getDetector(), processor);
+        int detectionThreads = concurrentTestDetection ? Math.min(Runtime.getRuntime().availableProcessors(), maxWorkerCount) : 1;
+        TestDetector detector = new DefaultTestScanner(testClassFiles, testDefinitionDirs, testFramework.getDetector(), processor, executorFactory, detectionThreads);
 
         // What is this?
         // In some versions of the Gradle retry plugin, it would retry any test that had any kind of failure associated with it.
@@ -135,6 +155,14 @@ public void stopNow() {
         }
     }
 
+    private TestDefinitionProcessor<TestDefinition> createParallelProcessor(JvmTestExecutionSpec testExecutionSpec, Factory<TestDefinitionProcessor<TestDefinition>> processorFactory) {
+        int maxParallelForks = getMaxParallelForks(testExecutionSpec);
+        if (balanceTestWorkers) {
+            return new DurationBalancedTestDefinitionProcessor<>(maxParallelForks, processorFactory, actorFactory, testExecutionSpec.getPreviousTestClassDurations());
+        }
+        return new MaxNParallelTestDefinitionProcessor<>(maxParallelForks, processorFactory, actorFactory);
+    }
+
     private int getMaxParallelForks(JvmTestExecutionSpec testExecutionSpec) {
         int maxParallelForks = testExecutionSpec.getMaxParallelForks();
         if (maxParallelForks > maxWorkerCount) {
@@ -25,9 +25,17 @@
 import org.gradle.api.internal.tasks.testing.DirectoryBasedTestDefinition;
 import org.gradle.api.internal.tasks.testing.TestDefinitionProcessor;
 import org.gradle.api.internal.tasks.testing.TestDefinition;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.ManagedExecutor;
+import org.jspecify.annotations.Nullable;
 
 import java.io.File;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.regex.Pattern;
 
 /**
@@ -40,20 +48,41 @@
  */
 public class DefaultTestScanner implements TestDetector {
     private static final Pattern ANONYMOUS_CLASS_NAME = Pattern.compile(".*\\$\\d+");
+    // The number of class files that may be scanned ahead of the next class file to publish, per thread
+    private static final int PENDING_FILES_PER_THREAD = 16;
     private final FileTree candidateClassFiles;
     private final Set<File> candidateDefinitionDirs;
     private final TestFrameworkDetector testFrameworkDetector;
     private final TestDefinitionProcessor<TestDefinition> testDefinitionProcessor;
+    @Nullable
+    private final ExecutorFactory executorFactory;
+    private final int detectionThreads;
 
     public DefaultTestScanner(FileTree candidateClassFiles,
                               Set<File> candidateDefinitionDirs,
                               TestFrameworkDetector testFrameworkDetector,
                               TestDefinitionProcessor<TestDefinition> testDefinitionProcessor
+    ) {
+        this(candidateClassFiles, candidateDefinitionDirs, testFrameworkDetector, testDefinitionProcessor, null, 1);
+    }
+
+    /**
+     * @param executorFactory used to scan class files concurrently, when more than one detection thread is requested
+     * @param detectionThreads the maximum number of threads to scan class files with
+     */
+    public DefaultTestScanner(FileTree candidateClassFiles,
+                              Set<File> candidateDefinitionDirs,
+                              TestFrameworkDetector testFrameworkDetector,
+                              TestDefinitionProcessor<TestDefinition> testDefinitionProcessor,
+                              @Nullable ExecutorFactory executorFactory,
+                              int detectionThreads
     ) {
         this.candidateClassFiles = candidateClassFiles;
         this.candidateDefinitionDirs = candidateDefinitionDirs;
         this.testFrameworkDetector = testFrameworkDetector;
         this.testDefinitionProcessor = testDefinitionProcessor;
+        this.executorFactory = executorFactory;
+        this.detectionThreads = detectionThreads;
     }
 
     @Override
@@ -67,6 +96,10 @@ public void detect() {
 
     private void detectionScan() {
         testFrameworkDetector.startDetection(testDefinitionProcessor);
+        if (executorFactory != null && detectionThreads > 1 && testFrameworkDetector.supportsConcurrentDetection()) {
+            concurrentDetectionScan(executorFactory);
+            return;
+        }
         candidateClassFiles.visit(new ClassFileVisitor() {
             @Override
             public void visitClassFile(FileVisitDetails fileDetails) {
@@ -75,6 +108,50 @@ public void visitClassFile(FileVisitDetails fileDetails) {
         });
     }
 
+    /**
+     * Scans class files on several threads, while still passing test classes on in the order the class files are visited.
+     * Only a bounded number of class files are scanned ahead, so the first test classes are passed on while the remaining ones are still being scanned.
+     */
+    private void concurrentDetectionScan(ExecutorFactory executorFactory) {
+        ManagedExecutor executor = executorFactory.create("Test class detection", detectionThreads);
+        Deque<Future<ClassTestDefinition>> pending = new ArrayDeque<>();
+        try {
+            candidateClassFiles.visit(new ClassFileVisitor() {
+                @Override
+                public void visitClassFile(FileVisitDetails fileDetails) {
+                    // Resolve the file on the visiting thread, as files from archives are extracted lazily
+                    RelativeFile testClassFile = new RelativeFile(fileDetails.getFile(), fileDetails.getRelativePath());
+                    pending.addLast(executor.submit(() -> testFrameworkDetector.detectTestClass(testClassFile)));
+                    if (pending.size() > detectionThreads * PENDING_FILES_PER_THREAD) {
+                        publish(pending.removeFirst());
+                    }
+                }
+            });
+            while (!pending.isEmpty()) {
+                publish(pending.removeFirst());
+            }
+        } finally {
+            for (Future<ClassTestDefinition> detection : pending) {
+                detection.cancel(false);
+            }
+            executor.stop();
+        }
+    }
+
+    private void publish(Future<ClassTestDefinition> detection) {
+        ClassTestDefinition testDefinition;
+        try {
+            testDefinition = detection.get();
+        } catch (InterruptedException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        } catch (ExecutionException e) {
+            throw UncheckedException.throwAsUncheckedException(e.getCause());
+        }
+        if (testDefinition != null) {
+            testDefinitionProcessor.processTestDefinition(testDefinition);
+        }
+    }
+
     private void filenameScan() {
         candidateClassFiles.visit(new ClassFileVisitor() {
             @Override
@@ -18,6 +18,7 @@
 import org.gradle.api.internal.file.RelativeFile;
 import org.gradle.api.internal.tasks.testing.ClassTestDefinition;
 import org.gradle.api.internal.tasks.testing.TestDefinitionProcessor;
+import org.jspecify.annotations.Nullable;
 
 import java.io.File;
 import java.util.List;
@@ -30,6 +31,27 @@ public interface TestFrameworkDetector {
 
     boolean processTestClass(RelativeFile testClassFile);
 
+    /**
+     * Whether {@link #detectTestClass(RelativeFile)} can be called concurrently for different class files.
+     */
+    default boolean supportsConcurrentDetection() {
+        return false;
+    }
+
+    /**
+     * Detects whether the given class file is a test class, without passing it to the test definition processor.
+     * Can be called concurrently for different class files, when {@link #supportsConcurrentDetection()} is {@code true}.
+     * <p>
+     * By default, the class file is passed to {@link #processTestClass(RelativeFile)}, which passes any test class on to the test definition processor itself.
+     *
+     * @return the test definition to run for the class file, or {@code null} if it does not declare a test class or has already been passed on.
+     */
+    @Nullable
+    default ClassTestDefinition detectTestClass(RelativeFile testClassFile) {
+        processTestClass(testClassFile);
+        return null;
+    }
+
     void setTestClasses(List<File> testClasses);
 
     void setTestClasspath(List<File> classpath);
@@ -69,7 +69,9 @@
 import org.gradle.internal.Cast;
 import org.gradle.internal.UncheckedException;
 import org.gradle.internal.actor.ActorFactory;
+import org.gradle.internal.buildoption.InternalOptions;
 import org.gradle.internal.concurrent.CompositeStoppable;
+import org.gradle.internal.concurrent.ExecutorFactory;
 import org.gradle.internal.instrumentation.api.annotations.ToBeReplacedByLazyProperty;
 import org.gradle.internal.jvm.DefaultModularitySpec;
 import org.gradle.internal.jvm.JavaModuleDetector;
@@ -98,6 +100,7 @@
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -674,9 +677,14 @@ protected JvmTestExecutionSpec createTestExecutionSpec() {
         FileCollection classpath = javaModuleDetector.inferClasspath(testIsModule, stableClasspath);
         FileCollection modulePath = javaModuleDetector.inferModulePath(testIsModule, stableClasspath);
         Set<File> candidateTestDefinitionDirs = determineCandidateTestDefinitionDirs();
+        Set<String> previousFailedTestClasses = new HashSet<>();
+        // Only the duration balanced assignment uses the previous durations
+        @Nullable Map<String, Long> previousTestClassDurations = isBalanceTestWorkers() ? new HashMap<>() : null;
+        readPreviousResults(previousFailedTestClasses, previousTestClassDurations);
         return new JvmTestExecutionSpec(getTestFramework(), classpath, modulePath,
             getCandidateClassFiles(), isScanForTestClasses(), candidateTestDefinitionDirs,
-            getTestClassesDirs(), getPath(), getIdentityPath(), getForkEvery(), javaForkOptions, getMaxParallelForks(), getPreviousFailedTestClasses(), testIsModule);
+            getTestClassesDirs(), getPath(), getIdentityPath(), getForkEvery(), javaForkOptions, getMaxParallelForks(),
+            previousFailedTestClasses, previousTestClassDurations == null ? Collections.emptyMap() : previousTestClassDurations, testIsModule);
     }
 
     private Set<File> determineCandidateTestDefinitionDirs() {
@@ -714,10 +722,9 @@ private void validateExecutableMatchesToolchain() {
             toolchainExecutable, "toolchain from `javaLauncher` property");
     }
 
-    private Set<String> getPreviousFailedTestClasses() {
+    private void readPreviousResults(Set<String> previousFailedTestClasses, @Nullable Map<String, Long> previousTestClassDurations) {
         SerializableTestResultStore store = new SerializableTestResultStore(getBinaryResultsDirectory().getAsFile().get().toPath());
         if (store.hasResults()) {
-            final Set<String> previousFailedTestClasses = new HashSet<>();
             try {
                 store.forEachResult((id, parentId, result, ranges) -> {
                     // Test class descriptors set both name and class name to the test class name
@@ -725,14 +732,14 @@ private Set<String> getPreviousFailedTestClasses() {
                         if (result.getResultType() == TestResult.ResultType.FAILURE) {
                             previousFailedTestClasses.add(result.getClassName());
                         }
+                        if (previousTestClassDurations != null) {
+                            previousTestClassDurations.merge(result.getClassName(), result.getDuration(), Long::sum);
+                        }
                     }
                 });
             } catch (Exception e) {
                 throw UncheckedException.throwAsUncheckedException(e);
             }
-            return previousFailedTestClasses;
-        } else {
-            return Collections.emptySet();
         }
     }
 
@@ -765,12 +772,19 @@ protected TestExecuter<JvmTestExecutionSpec> createTestExecuter() {
                 getServices().get(WorkerLeaseService.class),
                 getServices().get(StartParameter.class).getMaxWorkerCount(),
                 getServices().get(Clock.class),
-                (DefaultTestFilter) getFilter());
+                (DefaultTestFilter) getFilter(),
+                isBalanceTestWorkers(),
+                getServices().get(InternalOptions.class).getOption(DefaultTestExecuter.CONCURRENT_TEST_DETECTION).get(),
+                getServices().get(ExecutorFactory.class));
         } else {
             return testExecuter;
         }
     }
 
+    private boolean isBalanceTestWorkers() {
+        return getServices().get(InternalOptions.class).getOption(DefaultTestExecuter.BALANCE_TEST_WORKERS).get();
+    }
+
     @Override
     protected List<String> getNoMatchingTestErrorReasons() {
         List<String> reasons = new ArrayList<>();
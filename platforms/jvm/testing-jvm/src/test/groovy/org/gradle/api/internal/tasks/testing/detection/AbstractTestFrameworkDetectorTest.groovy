@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.detection
+
+import org.gradle.api.file.RelativePath
+import org.gradle.api.internal.file.RelativeFile
+import org.gradle.test.fixtures.file.TestFile
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import org.objectweb.asm.ClassWriter
+import org.objectweb.asm.Opcodes
+import spock.lang.Specification
+
+class AbstractTestFrameworkDetectorTest extends Specification {
+    @Rule
+    TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider(getClass())
+
+    def classesDir = tmpDir.createDir("classes")
+    def classFileExtractionManager = Mock(ClassFileExtractionManager)
+
+    def "scans a super class only once for all classes extending it"() {
+        def detector = new RecordingDetector(classFileExtractionManager, [] as Set)
+        detector.testClasses = [classesDir]
+        classFile("org/Base", "java/lang/Object")
+        def first = classFile("org/First", "org/Base")
+        def second = classFile("org/Second", "org/Base")
+
+        when:
+        def firstTest = detector.detectTestClass(first)
+        def secondTest = detector.detectTestClass(second)
+
+        then:
+        firstTest == null
+        secondTest == null
+        detector.readClasses == ["org/First", "org/Base", "org/Second"]
+    }
+
+    def "remembers that a super class is a test class"() {
+        def detector = new RecordingDetector(classFileExtractionManager, ["org/BaseTest"] as Set)
+        detector.testClasses = [classesDir]
+        classFile("org/BaseTest", "java/lang/Object")
+        def first = classFile("org/FirstTest", "org/BaseTest")
+        def second = classFile("org/SecondTest", "org/BaseTest")
+
+        when:
+        def firstTest = detector.detectTestClass(first)
+        def secondTest = detector.detectTestClass(second)
+
+        then:
+        firstTest.testClassName == "org.FirstTest"
+        secondTest.testClassName == "org.SecondTest"
+        detector.readClasses == ["org/FirstTest", "org/BaseTest", "org/SecondTest"]
+    }
+
+    private RelativeFile classFile(String className, String superClassName) {
+        def writer = new ClassWriter(0)
+        writer.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC, className, null, superClassName, null)
+        writer.visitEnd()
+        TestFile file = classesDir.file("${className}.class")
+        file.parentFile.mkdirs()
+        file.bytes = writer.toByteArray()
+        return new RelativeFile(file, RelativePath.parse(true, "${className}.class"))
+    }
+
+    private static class RecordingDetector extends AbstractTestFrameworkDetector<TestClassVisitor> {
+        final List<String> readClasses = []
+        final Set<String> testClassNames
+
+        RecordingDetector(ClassFileExtractionManager classFileExtractionManager, Set<String> testClassNames) {
+            super(classFileExtractionManager)
+            this.testClassNames = testClassNames
+        }
+
+        @Override
+        protected TestClassVisitor createClassVisitor() {
+            return new RecordingVisitor(this)
+        }
+
+        @Override
+        protected boolean isKnownTestCaseClassName(String testCaseClassName) {
+            return false
+        }
+    }
+
+    private static class RecordingVisitor extends TestClassVisitor {
+        RecordingVisitor(RecordingDetector detector) {
+            super(detector)
+        }
+
+        @Override
+        void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+            super.visit(version, access, name, signature, superName, interfaces)
+            RecordingDetector recordingDetector = (RecordingDetector) detector
+            recordingDetector.readClasses << name
+            setTest(recordingDetector.testClassNames.contains(name))
+        }
+
+        @Override
+        protected boolean ignoreNonStaticInnerClass() {
+            return false
+        }
+    }
+}
@@ -21,7 +21,9 @@ import org.gradle.api.file.FileVisitDetails
 import org.gradle.api.file.FileVisitor
 import org.gradle.api.file.RelativePath
 import org.gradle.api.internal.file.DefaultFileVisitDetails
+import org.gradle.api.internal.tasks.testing.ClassTestDefinition
 import org.gradle.api.internal.tasks.testing.TestDefinitionProcessor
+import org.gradle.internal.concurrent.DefaultExecutorFactory
 import spock.lang.Specification
 import spock.lang.Subject
 
@@ -75,6 +77,61 @@ class DefaultTestClassScannerTest extends Specification {
         0 * _._
     }
 
+    void passesTestClassesDetectedConcurrentlyInVisitOrder() {
+        given:
+        def executorFactory = new DefaultExecutorFactory()
+        def received = []
+        def processor = Mock(TestDefinitionProcessor) {
+            processTestDefinition(_) >> { args -> received << args[0].testClassName }
+        }
+        def scanner = new DefaultTestScanner(files, Collections.emptySet(), detector, processor, executorFactory, 4)
+        def classNames = (1..100).collect { "Test$it".toString() }
+
+        when:
+        scanner.detect()
+
+        then:
+        1 * files.visit(_) >> { args ->
+            FileVisitor visitor = args[0]
+            classNames.each { visitor.visitFile(stubFileVisitDetails(it)) }
+        }
+        _ * detector.supportsConcurrentDetection() >> true
+        _ * detector.detectTestClass(_) >> { args ->
+            String className = args[0].relativePath.pathString - '.class'
+            // Finish the scans out of order
+            Thread.sleep(Math.floorMod(className.hashCode(), 3))
+            return className.endsWith('0') ? null : new ClassTestDefinition(className)
+        }
+        0 * detector.processTestClass(_)
+        received == classNames.findAll { !it.endsWith('0') }
+
+        cleanup:
+        executorFactory.stop()
+    }
+
+    void passesClassFilesToTestClassDetectorWithoutConcurrentDetectionSupportOneAtATime() {
+        given:
+        def executorFactory = new DefaultExecutorFactory()
+        def class1 = stubFileVisitDetails('class1')
+        def scanner = new DefaultTestScanner(files, Collections.emptySet(), detector, processor, executorFactory, 4)
+
+        when:
+        scanner.detect()
+
+        then:
+        1 * detector.startDetection(processor)
+        1 * detector.supportsConcurrentDetection() >> false
+        1 * files.visit(_) >> { args ->
+            FileVisitor visitor = args[0]
+            visitor.visitFile(class1)
+        }
+        1 * detector.processTestClass({ it.file.is(class1.file) })
+        0 * detector.detectTestClass(_)
+
+        cleanup:
+        executorFactory.stop()
+    }
+
     FileVisitDetails stubFileVisitDetails(String className) {
         return new DefaultFileVisitDetails(new File("${className}.class"), new RelativePath(false, "${className}.class"), null, null, null)
     }
@@ -21,6 +21,10 @@
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Interns module and module version identifiers, so that every distinct coordinate is represented by a single instance.
+ * This lets resolution compare identifiers by reference in the common case and avoids allocating duplicates.
+ */
 public class DefaultImmutableModuleIdentifierFactory implements ImmutableModuleIdentifierFactory {
     private final Map<String, Map<String, ModuleIdentifier>> groupIdToModules = new ConcurrentHashMap<>();
     private final Map<ModuleIdentifier, Map<String, ModuleVersionIdentifier>> idToVersions = new ConcurrentHashMap<>();
@@ -33,8 +37,8 @@ public ModuleIdentifier module(String group, String name) {
         }
         ModuleIdentifier moduleIdentifier = byName.get(name);
         if (moduleIdentifier == null) {
-            moduleIdentifier = DefaultModuleIdentifier.newId(group, name);
-            byName.put(name, moduleIdentifier);
+            // Use computeIfAbsent on the slow path, so that concurrent resolutions never end up with different instances for the same module
+            moduleIdentifier = byName.computeIfAbsent(name, k -> DefaultModuleIdentifier.newId(group, k));
         }
         return moduleIdentifier;
     }
@@ -53,8 +57,7 @@ public ModuleVersionIdentifier moduleWithVersion(ModuleIdentifier mi, String ver
         }
         ModuleVersionIdentifier identifier = byVersion.get(version);
         if (identifier == null) {
-            identifier =  DefaultModuleVersionIdentifier.newId(mi, version);
-            byVersion.put(version, identifier);
+            identifier = byVersion.computeIfAbsent(version, k -> DefaultModuleVersionIdentifier.newId(mi, k));
         }
         return identifier;
     }
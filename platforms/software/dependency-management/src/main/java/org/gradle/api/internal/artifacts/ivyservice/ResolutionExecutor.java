@@ -68,6 +68,7 @@
 import org.gradle.api.internal.artifacts.ivyservice.resolveengine.result.ResolvedDependencyGraph;
 import org.gradle.api.internal.artifacts.ivyservice.resolveengine.result.StreamingResolutionResultBuilder;
 import org.gradle.api.internal.artifacts.ivyservice.resolveengine.store.ResolutionResultsStoreFactory;
+import org.gradle.api.internal.artifacts.ivyservice.resolveengine.store.ResolvedGraphCache;
 import org.gradle.api.internal.artifacts.ivyservice.resolveengine.store.StoreSet;
 import org.gradle.api.internal.artifacts.repositories.ResolutionAwareRepository;
 import org.gradle.api.internal.artifacts.result.MinimalResolutionResult;
@@ -152,6 +153,7 @@ public class ResolutionExecutor {
     private final VariantArtifactSetCache variantArtifactSetCache;
     private final VariantTransformRegistry transformRegistry;
     private final ComponentMetadataProcessorFactory componentMetadataProcessorFactory;
+    private final ResolvedGraphCache resolvedGraphCache;
 
     @Inject
     public ResolutionExecutor(
@@ -183,7 +185,8 @@ public ResolutionExecutor(
         ResolutionFailureHandler resolutionFailureHandler,
         VariantArtifactSetCache variantArtifactSetCache,
         VariantTransformRegistry transformRegistry,
-        ComponentMetadataProcessorFactory componentMetadataProcessorFactory
+        ComponentMetadataProcessorFactory componentMetadataProcessorFactory,
+        ResolvedGraphCache resolvedGraphCache
     ) {
         this.dependencyGraphResolver = dependencyGraphResolver;
         this.storeFactory = storeFactory;
@@ -214,6 +217,7 @@ public ResolutionExecutor(
         this.variantArtifactSetCache = variantArtifactSetCache;
         this.transformRegistry = transformRegistry;
         this.componentMetadataProcessorFactory = componentMetadataProcessorFactory;
+        this.resolvedGraphCache = resolvedGraphCache;
     }
 
     /**
@@ -308,6 +312,13 @@ public ResolverResults resolveGraph(
         }
 
         ComponentResolvers resolvers = getResolvers(params, legacyParams, repositories);
+
+        ResolvedGraphCache.Resolution cachedGraphResolution = null;
+        if (resolvedGraphCache.isEnabled()) {
+            cachedGraphResolution = resolvedGraphCache.startResolution(params, repositories, resolvers.getComponentResolver());
+            graphVisitors.add(cachedGraphResolution);
+        }
+
         CompositeDependencyArtifactsVisitor artifactVisitors = new CompositeDependencyArtifactsVisitor(ImmutableList.of(
             oldTransientModelBuilder, artifactsBuilder
         ));
@@ -330,6 +341,9 @@ public ResolverResults resolveGraph(
         if (lockingVisitor != null && !graphResults.hasAnyFailure()) {
             lockingVisitor.writeLocks();
         }
+        if (cachedGraphResolution != null && !graphResults.hasAnyFailure()) {
+            cachedGraphResolution.complete();
+        }
 
         TransformUpstreamDependenciesResolver.Factory dependenciesResolverFactory = visitedArtifacts -> new DefaultTransformUpstreamDependenciesResolver(
             params.getResolutionHost(),
@@ -45,6 +45,8 @@
 import org.gradle.api.internal.attributes.immutable.ImmutableAttributesSchema;
 import org.gradle.api.internal.attributes.matching.AttributeMatcher;
 import org.gradle.api.specs.Spec;
+import org.gradle.internal.buildoption.InternalFlag;
+import org.gradle.internal.buildoption.InternalOptions;
 import org.gradle.internal.component.local.model.LocalComponentGraphResolveState;
 import org.gradle.internal.component.local.model.LocalVariantGraphResolveState;
 import org.gradle.internal.component.model.ComponentGraphResolveMetadata;
@@ -69,6 +71,7 @@
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
@@ -79,6 +82,13 @@ public class DependencyGraphBuilder {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DependencyGraphBuilder.class);
 
+    /**
+     * When enabled, the metadata of all the target components of a node is resolved concurrently, including metadata that is already cached locally.
+     * Resolving cached metadata is not free: it is parsed and component metadata rules are applied to it.
+     * The graph itself is still traversed on a single thread, so the result is the same as when the flag is disabled.
+     */
+    public static final InternalFlag CONCURRENT_METADATA_RESOLUTION = new InternalFlag("org.gradle.internal.dependency-resolution.concurrent-metadata");
+
     private final ModuleExclusions moduleExclusions;
     private final AttributesFactory attributesFactory;
     private final AttributeSchemaServices attributeSchemaServices;
@@ -89,6 +99,7 @@ public class DependencyGraphBuilder {
     private final VersionParser versionParser;
     private final GraphVariantSelector variantSelector;
     private final BuildOperationExecutor buildOperationExecutor;
+    private final boolean concurrentMetadataResolution;
 
     @Inject
     public DependencyGraphBuilder(
@@ -101,7 +112,8 @@ public DependencyGraphBuilder(
         ComponentIdGenerator idGenerator,
         VersionParser versionParser,
         GraphVariantSelector variantSelector,
-        BuildOperationExecutor buildOperationExecutor
+        BuildOperationExecutor buildOperationExecutor,
+        InternalOptions internalOptions
     ) {
         this.moduleExclusions = moduleExclusions;
         this.attributesFactory = attributesFactory;
@@ -113,6 +125,7 @@ public DependencyGraphBuilder(
         this.versionParser = versionParser;
         this.variantSelector = variantSelector;
         this.buildOperationExecutor = buildOperationExecutor;
+        this.concurrentMetadataResolution = internalOptions.getOption(CONCURRENT_METADATA_RESOLUTION).get();
     }
 
     public void resolve(
@@ -231,7 +244,7 @@ private void resolveEdges(
         }
 
         performSelectionSerially(dependencies, resolveState);
-        maybeDownloadMetadataInParallel(node, dependencies, buildOperationExecutor, resolveState.getComponentMetadataResolver());
+        maybeDownloadMetadataInParallel(node, dependencies, buildOperationExecutor, resolveState.getComponentMetadataResolver(), concurrentMetadataResolution);
         attachToTargetRevisionsSerially(dependencies);
     }
 
@@ -284,16 +297,18 @@ private static void performSelection(ResolveState resolveState, ModuleResolveSta
     /**
      * Prepares the resolution of edges, either serially or concurrently.
      * It uses a simple heuristic to determine if we should perform concurrent resolution, based on the number of edges, and whether they have unresolved metadata.
+     * With concurrent metadata resolution, all unresolved metadata is resolved concurrently, without checking whether it is cheap to fetch.
      */
-    private static void maybeDownloadMetadataInParallel(NodeState node, List<EdgeState> edges, BuildOperationExecutor buildOperationExecutor, ComponentMetaDataResolver componentMetaDataResolver) {
-        List<ComponentState> requiringDownload = null;
+    private static void maybeDownloadMetadataInParallel(NodeState node, List<EdgeState> edges, BuildOperationExecutor buildOperationExecutor, ComponentMetaDataResolver componentMetaDataResolver, boolean concurrentMetadataResolution) {
+        Collection<ComponentState> requiringDownload = null;
         for (EdgeState edge : edges) {
             ComponentState targetComponent = edge.getTargetComponent();
             if (targetComponent != null && targetComponent.isSelected() && !targetComponent.alreadyResolved()) {
-                if (!componentMetaDataResolver.isFetchingMetadataCheap(targetComponent.getComponentId())) {
+                if (concurrentMetadataResolution || !componentMetaDataResolver.isFetchingMetadataCheap(targetComponent.getComponentId())) {
                     // Avoid initializing the list if there are no components requiring download (a common case)
                     if (requiringDownload == null) {
-                        requiringDownload = new ArrayList<>();
+                        // With concurrent metadata resolution, several edges can target the same component, which must only be resolved once
+                        requiringDownload = concurrentMetadataResolution ? new LinkedHashSet<>() : new ArrayList<>();
                     }
                     requiringDownload.add(targetComponent);
                 }
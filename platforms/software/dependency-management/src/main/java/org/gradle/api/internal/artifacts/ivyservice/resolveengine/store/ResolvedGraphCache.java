@@ -0,0 +1,242 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.resolveengine.store;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.gradle.api.internal.artifacts.ImmutableModuleIdentifierFactory;
+import org.gradle.api.internal.artifacts.ivyservice.ArtifactCacheLockingAccessCoordinator;
+import org.gradle.api.internal.artifacts.ivyservice.ResolutionParameters;
+import org.gradle.api.internal.artifacts.ivyservice.resolveengine.graph.DependencyGraphNode;
+import org.gradle.api.internal.artifacts.ivyservice.resolveengine.graph.DependencyGraphVisitor;
+import org.gradle.api.internal.artifacts.repositories.ResolutionAwareRepository;
+import org.gradle.cache.IndexedCache;
+import org.gradle.internal.buildoption.InternalFlag;
+import org.gradle.internal.buildoption.InternalOptions;
+import org.gradle.internal.component.external.model.DefaultModuleComponentIdentifier;
+import org.gradle.internal.component.model.LocalOriginDependencyMetadata;
+import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.hash.Hasher;
+import org.gradle.internal.hash.Hashing;
+import org.gradle.internal.operations.BuildOperationConstraint;
+import org.gradle.internal.operations.BuildOperationContext;
+import org.gradle.internal.operations.BuildOperationDescriptor;
+import org.gradle.internal.operations.BuildOperationExecutor;
+import org.gradle.internal.operations.RunnableBuildOperation;
+import org.gradle.internal.resolve.resolver.ComponentMetaDataResolver;
+import org.gradle.internal.serialize.AbstractSerializer;
+import org.gradle.internal.serialize.Decoder;
+import org.gradle.internal.serialize.Encoder;
+import org.gradle.internal.serialize.HashCodeSerializer;
+import org.gradle.internal.service.scopes.Scope;
+import org.gradle.internal.service.scopes.ServiceScope;
+import org.gradle.operations.dependencies.configurations.ConfigurationIdentity;
+import org.jspecify.annotations.Nullable;
+
+import javax.inject.Inject;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Remembers, across builds, which external components were selected when resolving a dependency graph with a given set of inputs.
+ * <p>
+ * The resolved graph itself is not reused, as the resolution results reference the projects, artifact sets and transforms of the build
+ * that produced them. Instead, when a graph with the same inputs is resolved again, the cached metadata of the components that were selected
+ * the last time is loaded and processed concurrently, before the graph is traversed. The traversal then finds the processed metadata in memory.
+ * <p>
+ * Loading metadata this way never accesses a repository: metadata that is missing from the cache, or that must be refreshed according to the
+ * cache expiration control of the repositories, is left to the traversal. A stale entry therefore costs some unnecessary work, and never changes the
+ * result of the resolution.
+ */
+@ServiceScope(Scope.BuildTree.class)
+public class ResolvedGraphCache {
+
+    public static final InternalFlag RESOLVED_GRAPH_CACHE = new InternalFlag("org.gradle.internal.dependency-resolution.resolved-graph-cache");
+
+    private static final int COMPONENTS_PER_OPERATION = 32;
+
+    private final ArtifactCacheLockingAccessCoordinator cacheAccessCoordinator;
+    private final ImmutableModuleIdentifierFactory moduleIdentifierFactory;
+    private final BuildOperationExecutor buildOperationExecutor;
+    private final boolean enabled;
+    private IndexedCache<HashCode, List<ModuleComponentIdentifier>> cache;
+
+    @Inject
+    public ResolvedGraphCache(
+        ArtifactCacheLockingAccessCoordinator cacheAccessCoordinator,
+        ImmutableModuleIdentifierFactory moduleIdentifierFactory,
+        BuildOperationExecutor buildOperationExecutor,
+        InternalOptions internalOptions
+    ) {
+        this.cacheAccessCoordinator = cacheAccessCoordinator;
+        this.moduleIdentifierFactory = moduleIdentifierFactory;
+        this.buildOperationExecutor = buildOperationExecutor;
+        this.enabled = internalOptions.getOption(RESOLVED_GRAPH_CACHE).get();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private synchronized IndexedCache<HashCode, List<ModuleComponentIdentifier>> getCache() {
+        if (cache == null) {
+            cache = cacheAccessCoordinator.createCache("resolved-graphs", new HashCodeSerializer(), new ComponentListSerializer(moduleIdentifierFactory));
+        }
+        return cache;
+    }
+
+    /**
+     * Starts the resolution of a graph, preparing the metadata of the components selected by the previous resolution with the same inputs.
+     * The returned visitor records the components selected by this resolution.
+     */
+    public Resolution startResolution(ResolutionParameters params, List<ResolutionAwareRepository> repositories, ComponentMetaDataResolver componentResolver) {
+        HashCode graphInputs = fingerprint(params, repositories);
+        List<ModuleComponentIdentifier> previouslySelected = getCache().getIfPresent(graphInputs);
+        if (previouslySelected != null && !previouslySelected.isEmpty()) {
+            prepareMetadata(previouslySelected, componentResolver);
+        }
+        return new Resolution(graphInputs, previouslySelected);
+    }
+
+    private void prepareMetadata(List<ModuleComponentIdentifier> components, ComponentMetaDataResolver componentResolver) {
+        buildOperationExecutor.runAll(queue -> {
+            for (List<ModuleComponentIdentifier> batch : Lists.partition(components, COMPONENTS_PER_OPERATION)) {
+                queue.add(new PrepareMetadataOperation(batch, componentResolver));
+            }
+        }, BuildOperationConstraint.UNCONSTRAINED);
+    }
+
+    private static HashCode fingerprint(ResolutionParameters params, List<ResolutionAwareRepository> repositories) {
+        Hasher hasher = Hashing.newHasher();
+        ConfigurationIdentity configurationIdentity = params.getConfigurationIdentity();
+        if (configurationIdentity != null) {
+            hasher.putString(configurationIdentity.getBuildPath());
+            hasher.putString(configurationIdentity.getProjectPath());
+            hasher.putString(configurationIdentity.getName());
+        } else {
+            hasher.putNull();
+        }
+        hasher.putString(params.getRootComponent().getModuleVersionId().toString());
+        hasher.putString(params.getRootVariant().getAttributes().toString());
+        List<? extends LocalOriginDependencyMetadata> dependencies = params.getRootVariant().getDependencies();
+        hasher.putInt(dependencies.size());
+        for (LocalOriginDependencyMetadata dependency : dependencies) {
+            hasher.putString(dependency.getSelector().getDisplayName());
+            hasher.putBoolean(dependency.isConstraint());
+            hasher.putBoolean(dependency.isTransitive());
+        }
+        hasher.putInt(params.getModuleVersionLocks().size());
+        for (ResolutionParameters.ModuleVersionLock lock : params.getModuleVersionLocks()) {
+            hasher.putString(lock.getModuleId().toString());
+            hasher.putString(lock.getVersion());
+        }
+        hasher.putInt(repositories.size());
+        for (ResolutionAwareRepository repository : repositories) {
+            hasher.putString(repository.getDescriptor().getId());
+        }
+        return hasher.hash();
+    }
+
+    /**
+     * Records the external components selected by a graph resolution.
+     */
+    public class Resolution implements DependencyGraphVisitor {
+        private final HashCode graphInputs;
+        private final @Nullable List<ModuleComponentIdentifier> previouslySelected;
+        private final Set<ModuleComponentIdentifier> selected = new LinkedHashSet<>();
+
+        private Resolution(HashCode graphInputs, @Nullable List<ModuleComponentIdentifier> previouslySelected) {
+            this.graphInputs = graphInputs;
+            this.previouslySelected = previouslySelected;
+        }
+
+        @Override
+        public void visitNode(DependencyGraphNode node) {
+            ComponentIdentifier componentId = node.getOwner().getComponentId();
+            if (componentId instanceof ModuleComponentIdentifier) {
+                selected.add((ModuleComponentIdentifier) componentId);
+            }
+        }
+
+        /**
+         * Remembers the selected components for the next resolution with the same inputs. Should only be called when the resolution succeeded.
+         */
+        public void complete() {
+            List<ModuleComponentIdentifier> selectedComponents = ImmutableList.copyOf(selected);
+            if (!selectedComponents.equals(previouslySelected)) {
+                getCache().put(graphInputs, selectedComponents);
+            }
+        }
+    }
+
+    private static class PrepareMetadataOperation implements RunnableBuildOperation {
+        private final List<ModuleComponentIdentifier> components;
+        private final ComponentMetaDataResolver componentResolver;
+
+        PrepareMetadataOperation(List<ModuleComponentIdentifier> components, ComponentMetaDataResolver componentResolver) {
+            this.components = components;
+            this.componentResolver = componentResolver;
+        }
+
+        @Override
+        public void run(BuildOperationContext context) {
+            for (ModuleComponentIdentifier component : components) {
+                // Loads and processes the cached metadata, when it is available and does not need to be refreshed
+                componentResolver.isFetchingMetadataCheap(component);
+            }
+        }
+
+        @Override
+        public BuildOperationDescriptor.Builder description() {
+            return BuildOperationDescriptor.displayName("Load cached metadata for " + components.size() + " components");
+        }
+    }
+
+    private static class ComponentListSerializer extends AbstractSerializer<List<ModuleComponentIdentifier>> {
+        private final ImmutableModuleIdentifierFactory moduleIdentifierFactory;
+
+        ComponentListSerializer(ImmutableModuleIdentifierFactory moduleIdentifierFactory) {
+            this.moduleIdentifierFactory = moduleIdentifierFactory;
+        }
+
+        @Override
+        public void write(Encoder encoder, List<ModuleComponentIdentifier> value) throws Exception {
+            encoder.writeSmallInt(value.size());
+            for (ModuleComponentIdentifier component : value) {
+                encoder.writeString(component.getGroup());
+                encoder.writeString(component.getModule());
+                encoder.writeString(component.getVersion());
+            }
+        }
+
+        @Override
+        public List<ModuleComponentIdentifier> read(Decoder decoder) throws Exception {
+            int size = decoder.readSmallInt();
+            ImmutableList.Builder<ModuleComponentIdentifier> components = ImmutableList.builderWithExpectedSize(size);
+            for (int i = 0; i < size; i++) {
+                String group = decoder.readString();
+                String module = decoder.readString();
+                String version = decoder.readString();
+                components.add(DefaultModuleComponentIdentifier.newId(moduleIdentifierFactory.module(group, module), version));
+            }
+            return components.build();
+        }
+    }
+}
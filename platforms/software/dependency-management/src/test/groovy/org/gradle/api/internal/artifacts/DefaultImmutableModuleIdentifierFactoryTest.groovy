@@ -18,6 +18,10 @@ package org.gradle.api.internal.artifacts
 
 import spock.lang.Specification
 
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+
 class DefaultImmutableModuleIdentifierFactoryTest extends Specification {
     def factory = new DefaultImmutableModuleIdentifierFactory()
 
@@ -56,4 +60,26 @@ class DefaultImmutableModuleIdentifierFactoryTest extends Specification {
         then:
         m2.module.is(m1)
     }
+
+    def "returns the same instances when called concurrently"() {
+        def threads = 8
+        def start = new CountDownLatch(1)
+        def executor = Executors.newFixedThreadPool(threads)
+
+        when:
+        def futures = (1..threads).collect {
+            executor.submit({
+                start.await()
+                (1..100).collect { factory.moduleWithVersion('foo', "bar-${it % 10}", '1.0') }
+            } as Callable)
+        }
+        start.countDown()
+        def results = futures.collect { it.get() }
+
+        then:
+        results.every { result -> (0..<100).every { result[it].is(results[0][it]) && result[it].module.is(results[0][it].module) } }
+
+        cleanup:
+        executor.shutdownNow()
+    }
 }
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.resolveengine
+
+import org.gradle.api.Action
+import org.gradle.api.internal.artifacts.ivyservice.resolveengine.graph.builder.DependencyGraphBuilder
+import org.gradle.internal.operations.BuildOperationConstraint
+import org.gradle.internal.operations.BuildOperationContext
+import org.gradle.internal.operations.BuildOperationQueue
+import org.gradle.internal.operations.RunnableBuildOperation
+
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+
+/**
+ * Resolves all the graphs of {@link DependencyGraphBuilderTest} with concurrent metadata resolution, which must produce the same results.
+ */
+class ConcurrentMetadataDependencyGraphBuilderTest extends DependencyGraphBuilderTest {
+    ExecutorService executor = Executors.newFixedThreadPool(4)
+
+    def setup() {
+        buildOperationProcessor.runAll(_, _) >> { Action<BuildOperationQueue<RunnableBuildOperation>> action, BuildOperationConstraint constraint ->
+            List<RunnableBuildOperation> operations = []
+            action.execute(Stub(BuildOperationQueue) {
+                add(_) >> { RunnableBuildOperation operation -> operations << operation }
+            })
+            def context = Stub(BuildOperationContext)
+            operations.collect { operation -> executor.submit { operation.run(context) } }*.get()
+        }
+    }
+
+    def cleanup() {
+        executor.shutdownNow()
+    }
+
+    @Override
+    protected Map<String, String> internalOptions() {
+        return [(DependencyGraphBuilder.CONCURRENT_METADATA_RESOLUTION.propertyName): "true"]
+    }
+}
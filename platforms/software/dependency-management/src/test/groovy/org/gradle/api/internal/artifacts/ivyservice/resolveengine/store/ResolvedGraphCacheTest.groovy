@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.resolveengine.store
+
+import com.google.common.collect.ImmutableList
+import org.gradle.api.artifacts.component.ComponentIdentifier
+import org.gradle.api.internal.artifacts.DefaultImmutableModuleIdentifierFactory
+import org.gradle.api.internal.artifacts.DefaultModuleIdentifier
+import org.gradle.api.internal.artifacts.ivyservice.ArtifactCacheLockingAccessCoordinator
+import org.gradle.api.internal.artifacts.ivyservice.ResolutionParameters
+import org.gradle.api.internal.artifacts.ivyservice.resolveengine.graph.DependencyGraphComponent
+import org.gradle.api.internal.artifacts.ivyservice.resolveengine.graph.DependencyGraphNode
+import org.gradle.api.internal.attributes.ImmutableAttributes
+import org.gradle.cache.IndexedCache
+import org.gradle.internal.buildoption.DefaultInternalOptions
+import org.gradle.internal.component.external.model.DefaultModuleComponentIdentifier
+import org.gradle.internal.component.local.model.LocalComponentGraphResolveState
+import org.gradle.internal.component.local.model.LocalVariantGraphResolveState
+import org.gradle.internal.hash.HashCode
+import org.gradle.internal.operations.TestBuildOperationExecutor
+import org.gradle.internal.resolve.resolver.ComponentMetaDataResolver
+import org.gradle.operations.dependencies.configurations.ConfigurationIdentity
+import spock.lang.Specification
+
+import static org.gradle.api.internal.artifacts.DefaultModuleVersionIdentifier.newId
+import static org.gradle.internal.component.local.model.TestComponentIdentifiers.newProjectId
+
+class ResolvedGraphCacheTest extends Specification {
+    def cacheAccessCoordinator = Mock(ArtifactCacheLockingAccessCoordinator)
+    def componentResolver = Mock(ComponentMetaDataResolver)
+    def internalOptions = new DefaultInternalOptions([(ResolvedGraphCache.RESOLVED_GRAPH_CACHE.propertyName): "true"])
+    def cache = new ResolvedGraphCache(cacheAccessCoordinator, new DefaultImmutableModuleIdentifierFactory(), new TestBuildOperationExecutor(), internalOptions)
+
+    def entries = [:]
+
+    def setup() {
+        _ * cacheAccessCoordinator.createCache("resolved-graphs", _, _) >> Stub(IndexedCache) {
+            getIfPresent(_) >> { HashCode key -> entries[key] }
+            put(_, _) >> { HashCode key, value -> entries[key] = value }
+        }
+    }
+
+    def "is enabled by an internal option"() {
+        expect:
+        cache.enabled
+        !new ResolvedGraphCache(cacheAccessCoordinator, new DefaultImmutableModuleIdentifierFactory(), new TestBuildOperationExecutor(), new DefaultInternalOptions([:])).enabled
+    }
+
+    def "prepares metadata of the external components selected by the previous resolution with the same inputs"() {
+        def a = moduleComponent("a", "1.0")
+        def b = moduleComponent("b", "2.0")
+
+        when:
+        def first = cache.startResolution(params("runtimeClasspath"), [], componentResolver)
+
+        then:
+        0 * componentResolver._
+
+        when:
+        [a, newProjectId(":lib"), b].each { first.visitNode(node(it)) }
+        first.complete()
+        cache.startResolution(params("runtimeClasspath"), [], componentResolver)
+
+        then:
+        1 * componentResolver.isFetchingMetadataCheap(a)
+        1 * componentResolver.isFetchingMetadataCheap(b)
+        0 * componentResolver._
+    }
+
+    def "does not prepare metadata when the resolution inputs are different"() {
+        when:
+        def first = cache.startResolution(params("runtimeClasspath"), [], componentResolver)
+        first.visitNode(node(moduleComponent("a", "1.0")))
+        first.complete()
+        cache.startResolution(params("compileClasspath"), [], componentResolver)
+
+        then:
+        0 * componentResolver._
+    }
+
+    def "does not remember components of resolutions that did not complete"() {
+        when:
+        def first = cache.startResolution(params("runtimeClasspath"), [], componentResolver)
+        first.visitNode(node(moduleComponent("a", "1.0")))
+        cache.startResolution(params("runtimeClasspath"), [], componentResolver)
+
+        then:
+        0 * componentResolver._
+    }
+
+    private ResolutionParameters params(String configurationName) {
+        Stub(ResolutionParameters) {
+            getConfigurationIdentity() >> Stub(ConfigurationIdentity) {
+                getBuildPath() >> ":"
+                getProjectPath() >> ":app"
+                getName() >> configurationName
+            }
+            getRootComponent() >> Stub(LocalComponentGraphResolveState) {
+                getModuleVersionId() >> newId("org", "app", "1.0")
+            }
+            getRootVariant() >> Stub(LocalVariantGraphResolveState) {
+                getAttributes() >> ImmutableAttributes.EMPTY
+                getDependencies() >> []
+            }
+            getModuleVersionLocks() >> ImmutableList.of()
+        }
+    }
+
+    private static ComponentIdentifier moduleComponent(String name, String version) {
+        DefaultModuleComponentIdentifier.newId(DefaultModuleIdentifier.newId("org", name), version)
+    }
+
+    private DependencyGraphNode node(ComponentIdentifier componentId) {
+        Stub(DependencyGraphNode) {
+            getOwner() >> Stub(DependencyGraphComponent) {
+                getComponentId() >> componentId
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.report.generic;
+
+import com.google.common.io.ByteStreams;
+import org.gradle.api.internal.tasks.testing.DecoratingTestDescriptor;
+import org.gradle.api.internal.tasks.testing.DefaultTestClassDescriptor;
+import org.gradle.api.internal.tasks.testing.DefaultTestMethodDescriptor;
+import org.gradle.api.internal.tasks.testing.DefaultTestOutputEvent;
+import org.gradle.api.internal.tasks.testing.DefaultTestSuiteDescriptor;
+import org.gradle.api.internal.tasks.testing.TestCompleteEvent;
+import org.gradle.api.internal.tasks.testing.TestDescriptorInternal;
+import org.gradle.api.internal.tasks.testing.TestStartEvent;
+import org.gradle.api.internal.tasks.testing.junit.result.JUnitXmlResultOptions;
+import org.gradle.api.internal.tasks.testing.junit.result.JUnitXmlResultWriter;
+import org.gradle.api.internal.tasks.testing.results.DefaultTestResult;
+import org.gradle.api.internal.tasks.testing.results.serializable.SerializableTestResultStore;
+import org.gradle.api.tasks.testing.TestOutputEvent;
+import org.gradle.api.tasks.testing.TestResult;
+import org.gradle.util.internal.GFileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+/**
+ * Measures loading a binary test result store into a {@link TestTreeModel} and rendering JUnit XML from it.
+ * <p>
+ * Loading is the part every report generator used to repeat on its own, see {@link LoadedTestResults}.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class TestReportGenerationBenchmark {
+
+    private static final int METHODS_PER_CLASS = 10;
+
+    @Param({"100", "1000", "10000"})
+    int classes;
+
+    Path resultsDir;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        resultsDir = Files.createTempDirectory("test-report-generation");
+        long id = 0;
+        long time = 0;
+        try (SerializableTestResultStore.Writer writer = new SerializableTestResultStore(resultsDir).openWriter(0)) {
+            TestDescriptorInternal root = new DefaultTestSuiteDescriptor(id++, "Gradle Test Run :test");
+            writer.started(root, new TestStartEvent(time));
+            for (int c = 0; c < classes; c++) {
+                String className = "org.gradle.sample.Sample" + c + "Test";
+                TestDescriptorInternal testClass = new DecoratingTestDescriptor(new DefaultTestClassDescriptor(id++, className), root);
+                long classStart = time;
+                writer.started(testClass, new TestStartEvent(classStart, root.getId()));
+                for (int m = 0; m < METHODS_PER_CLASS; m++) {
+                    TestDescriptorInternal method = new DecoratingTestDescriptor(new DefaultTestMethodDescriptor(id++, className, "test" + m), testClass);
+                    long start = time;
+                    writer.started(method, new TestStartEvent(start, testClass.getId()));
+                    writer.output(method, new DefaultTestOutputEvent(TestOutputEvent.Destination.StdOut, "output of " + className + ".test" + m + "\n"));
+                    time += 3;
+                    writer.completed(method, new DefaultTestResult(TestResult.ResultType.SUCCESS, start, time, 1, 1, 0, Collections.emptyList(), null), new TestCompleteEvent(time));
+                }
+                writer.completed(testClass, new DefaultTestResult(TestResult.ResultType.SUCCESS, classStart, time, METHODS_PER_CLASS, METHODS_PER_CLASS, 0, Collections.emptyList(), null), new TestCompleteEvent(time));
+            }
+            writer.completed(root, new DefaultTestResult(TestResult.ResultType.SUCCESS, 0, time, (long) classes * METHODS_PER_CLASS, (long) classes * METHODS_PER_CLASS, 0, Collections.emptyList(), null), new TestCompleteEvent(time));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        GFileUtils.deleteDirectory(resultsDir.toFile());
+    }
+
+    @Benchmark
+    public void loadModel(Blackhole bh) {
+        try (LoadedTestResults results = LoadedTestResults.load(Collections.singletonList(resultsDir))) {
+            bh.consume(results.getModel());
+        }
+    }
+
+    @Benchmark
+    public void loadModelAndWriteJUnitXml(Blackhole bh) {
+        try (LoadedTestResults results = LoadedTestResults.load(Collections.singletonList(resultsDir))) {
+            TestTreeModelResultsProvider provider = new TestTreeModelResultsProvider(results.getModel(), results.getOutputReaders().get(0));
+            JUnitXmlResultWriter writer = new JUnitXmlResultWriter(resultsDir, "localhost", provider, new JUnitXmlResultOptions(false, false, true, true));
+            provider.visitClasses(result -> writer.write(result, ByteStreams.nullOutputStream()));
+            bh.consume(provider);
+        }
+    }
+}
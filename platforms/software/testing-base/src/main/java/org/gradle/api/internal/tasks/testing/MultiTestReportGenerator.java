@@ -16,22 +16,38 @@
 
 package org.gradle.api.internal.tasks.testing;
 
+import com.google.common.collect.ImmutableList;
+import org.gradle.api.internal.tasks.testing.report.generic.LoadedTestResults;
+import org.gradle.api.internal.tasks.testing.report.generic.TestTreeModelReportGenerator;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.operations.BuildOperationConstraint;
+import org.gradle.internal.operations.BuildOperationContext;
+import org.gradle.internal.operations.BuildOperationDescriptor;
+import org.gradle.internal.operations.BuildOperationExecutor;
+import org.gradle.internal.operations.MultipleBuildOperationFailures;
+import org.gradle.internal.operations.RunnableBuildOperation;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
 
 /**
  * A {@link TestReportGenerator} that uses multiple report generators to generate reports. A primary generator is used as the user-facing report.
+ * <p>
+ * The reports are generated concurrently. When all generators render from a {@link org.gradle.api.internal.tasks.testing.report.generic.TestTreeModel},
+ * the results are loaded only once and shared between them.
  */
 @NullMarked
 public final class MultiTestReportGenerator implements TestReportGenerator {
 
     private final TestReportGenerator primary;
     private final Set<TestReportGenerator> others;
+    private final BuildOperationExecutor buildOperationExecutor;
 
-    public MultiTestReportGenerator(TestReportGenerator primary, Set<TestReportGenerator> others) {
+    public MultiTestReportGenerator(TestReportGenerator primary, Set<TestReportGenerator> others, BuildOperationExecutor buildOperationExecutor) {
         if (others.contains(primary)) {
             throw new IllegalArgumentException(
                 "The primary report generator must not be in the set of other report generators."
@@ -39,14 +55,65 @@ public MultiTestReportGenerator(TestReportGenerator primary, Set<TestReportGener
         }
         this.primary = primary;
         this.others = others;
+        this.buildOperationExecutor = buildOperationExecutor;
     }
 
     @Override
     public Path generate(List<Path> resultsDirectories) {
-        Path primaryReport = primary.generate(resultsDirectories);
-        for (TestReportGenerator other : others) {
-            other.generate(resultsDirectories);
+        List<TestReportGenerator> generators = ImmutableList.<TestReportGenerator>builder().add(primary).addAll(others).build();
+        if (generators.stream().allMatch(TestTreeModelReportGenerator.class::isInstance)) {
+            try (LoadedTestResults results = LoadedTestResults.load(resultsDirectories)) {
+                return generateAll(generators, generator -> ((TestTreeModelReportGenerator) generator).generate(results));
+            }
+        }
+        return generateAll(generators, generator -> generator.generate(resultsDirectories));
+    }
+
+    private Path generateAll(List<TestReportGenerator> generators, Function<TestReportGenerator, Path> generate) {
+        ReportGeneration[] generations = new ReportGeneration[generators.size()];
+        try {
+            buildOperationExecutor.runAll(queue -> {
+                for (int i = 0; i < generators.size(); i++) {
+                    generations[i] = new ReportGeneration(generators.get(i), generate);
+                    queue.add(generations[i]);
+                }
+            }, BuildOperationConstraint.UNCONSTRAINED);
+        } catch (MultipleBuildOperationFailures e) {
+            // Report a single failure as is, as if the reports were generated one after the other
+            if (e.getCauses().size() == 1) {
+                throw UncheckedException.throwAsUncheckedException(e.getCauses().get(0));
+            }
+            throw e;
+        }
+        return generations[0].getReport();
+    }
+
+    private static final class ReportGeneration implements RunnableBuildOperation {
+        private final TestReportGenerator generator;
+        private final Function<TestReportGenerator, Path> generate;
+        @Nullable
+        private Path report;
+
+        ReportGeneration(TestReportGenerator generator, Function<TestReportGenerator, Path> generate) {
+            this.generator = generator;
+            this.generate = generate;
+        }
+
+        Path getReport() {
+            if (report == null) {
+                throw new IllegalStateException("Report has not been generated.");
+            }
+            return report;
+        }
+
+        @Override
+        public void run(BuildOperationContext context) {
+            report = generate.apply(generator);
+        }
+
+        @Override
+        public BuildOperationDescriptor.Builder description() {
+            return BuildOperationDescriptor.displayName("Generate test report");
         }
-        return primaryReport;
     }
 }
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.processors;
+
+import org.gradle.api.internal.tasks.testing.ClassTestDefinition;
+import org.gradle.api.internal.tasks.testing.TestCompleteEvent;
+import org.gradle.api.internal.tasks.testing.TestDefinition;
+import org.gradle.api.internal.tasks.testing.TestDefinitionProcessor;
+import org.gradle.api.internal.tasks.testing.TestDescriptorInternal;
+import org.gradle.api.internal.tasks.testing.TestMetadataEvent;
+import org.gradle.api.internal.tasks.testing.TestResultProcessor;
+import org.gradle.api.internal.tasks.testing.TestStartEvent;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.tasks.testing.TestFailure;
+import org.gradle.api.tasks.testing.TestOutputEvent;
+import org.gradle.internal.Cast;
+import org.gradle.internal.Factory;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.actor.Actor;
+import org.gradle.internal.actor.ActorFactory;
+import org.gradle.internal.concurrent.CompositeStoppable;
+import org.gradle.internal.dispatch.DispatchException;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Manages a set of parallel {@link TestDefinitionProcessor}s, balancing the expected work between them.
+ * <p>
+ * Unlike {@link MaxNParallelTestDefinitionProcessor}, test definitions are collected into batches of a bounded size.
+ * When a batch is full, or when {@link #stop()} is called, its definitions are assigned longest-first to the processor with the least expected work,
+ * using the durations of the previous run and the work already assigned by earlier batches.
+ * Definitions without a previous duration are expected to take the average duration of the previous run.
+ * Each processor receives the definitions of a batch in the order they were discovered, so previously failed tests still run first.
+ * <p>
+ * Definitions cannot be handed out as processors become idle, as test frameworks may execute all definitions of a worker in a single batch.
+ */
+public class DurationBalancedTestDefinitionProcessor<D extends TestDefinition> implements TestDefinitionProcessor<D> {
+    /**
+     * The number of definitions per processor that are balanced together.
+     * Bounds how long the first tests wait for discovery, while leaving enough definitions for a longest-first assignment.
+     */
+    static final int BATCH_SIZE_PER_PROCESSOR = 8;
+
+    private static final Logger LOGGER = Logging.getLogger(DurationBalancedTestDefinitionProcessor.class);
+
+    private final int maxProcessors;
+    private final Factory<TestDefinitionProcessor<D>> factory;
+    private final ActorFactory actorFactory;
+    private final Map<String, Long> previousDurations;
+    private final long defaultDuration;
+    private final long[] expectedLoads;
+    private final List<D> batch = new ArrayList<>();
+    private final List<TestDefinitionProcessor<D>> processors = new ArrayList<>();
+    private final List<TestDefinitionProcessor<D>> rawProcessors = new ArrayList<>();
+    private final List<Actor> actors = new ArrayList<>();
+    private final List<ForkResultProcessor> forkResultProcessors = new ArrayList<>();
+    private TestResultProcessor resultProcessor;
+    private Actor resultProcessorActor;
+    private volatile boolean stoppedNow;
+
+    /**
+     * @param previousDurations the duration in milliseconds of each test class in the previous run, keyed by class name
+     */
+    public DurationBalancedTestDefinitionProcessor(int maxProcessors, Factory<TestDefinitionProcessor<D>> factory, ActorFactory actorFactory, Map<String, Long> previousDurations) {
+        this.maxProcessors = maxProcessors;
+        this.factory = factory;
+        this.actorFactory = actorFactory;
+        this.previousDurations = previousDurations;
+        this.defaultDuration = averageDuration(previousDurations);
+        this.expectedLoads = new long[maxProcessors];
+    }
+
+    private static long averageDuration(Map<String, Long> durations) {
+        long total = 0;
+        for (long duration : durations.values()) {
+            total += duration;
+        }
+        // Use at least 1ms, so definitions without any history are still spread evenly
+        return durations.isEmpty() ? 1 : Math.max(1, total / durations.size());
+    }
+
+    @Override
+    public void startProcessing(TestResultProcessor resultProcessor) {
+        // Create a processor that processes events in its own thread
+        resultProcessorActor = actorFactory.createActor(resultProcessor);
+        this.resultProcessor = resultProcessorActor.getProxy(TestResultProcessor.class);
+    }
+
+    @Override
+    public void processTestDefinition(D testDefinition) {
+        if (stoppedNow) {
+            return;
+        }
+        batch.add(testDefinition);
+        if (batch.size() >= maxProcessors * BATCH_SIZE_PER_PROCESSOR) {
+            dispatchBatch();
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (!stoppedNow) {
+            dispatchBatch();
+            logExpectedLoads();
+        }
+        try {
+            CompositeStoppable.stoppable(processors).add(actors).add(resultProcessorActor).stop();
+        } catch (DispatchException e) {
+            throw UncheckedException.throwAsUncheckedException(e.getCause());
+        }
+        logIdleTimes();
+    }
+
+    @Override
+    public void stopNow() {
+        stoppedNow = true;
+        for (TestDefinitionProcessor<D> processor : rawProcessors) {
+            processor.stopNow();
+        }
+    }
+
+    private void dispatchBatch() {
+        int[] assignments = assign();
+        for (int i = 0; i < assignments.length; i++) {
+            while (processors.size() <= assignments[i]) {
+                startProcessor();
+            }
+            if (stoppedNow) {
+                break;
+            }
+            processors.get(assignments[i]).processTestDefinition(batch.get(i));
+        }
+        batch.clear();
+    }
+
+    /**
+     * Assigns each test definition of the current batch to a processor, using the longest processing time first rule.
+     * Processors that have not been started yet have no expected work, and the lowest index wins ties, so processors are started in order.
+     *
+     * @return the index of the processor for each test definition of the batch
+     */
+    private int[] assign() {
+        long[] expectedDurations = new long[batch.size()];
+        for (int i = 0; i < expectedDurations.length; i++) {
+            Long duration = previousDuration(batch.get(i));
+            expectedDurations[i] = duration == null ? defaultDuration : duration;
+        }
+        List<Integer> longestFirst = IntStream.range(0, batch.size()).boxed()
+            .sorted(Comparator.comparingLong((Integer index) -> expectedDurations[index]).reversed())
+            .collect(Collectors.toList());
+
+        int[] assignments = new int[batch.size()];
+        for (int index : longestFirst) {
+            int leastLoaded = 0;
+            for (int processor = 1; processor < maxProcessors; processor++) {
+                if (expectedLoads[processor] < expectedLoads[leastLoaded]) {
+                    leastLoaded = processor;
+                }
+            }
+            assignments[index] = leastLoaded;
+            expectedLoads[leastLoaded] += expectedDurations[index];
+        }
+        return assignments;
+    }
+
+    private void logExpectedLoads() {
+        if (LOGGER.isInfoEnabled()) {
+            for (int processor = 0; processor < processors.size(); processor++) {
+                LOGGER.info("Test worker {} is expected to run for {}ms.", processor + 1, expectedLoads[processor]);
+            }
+        }
+    }
+
+    @Nullable
+    private Long previousDuration(D testDefinition) {
+        if (testDefinition instanceof ClassTestDefinition) {
+            return previousDurations.get(((ClassTestDefinition) testDefinition).getTestClassName());
+        }
+        return null;
+    }
+
+    private void startProcessor() {
+        TestDefinitionProcessor<D> processor = factory.create();
+        rawProcessors.add(processor);
+        Actor actor = actorFactory.createActor(processor);
+        processor = Cast.uncheckedNonnullCast(actor.getProxy(TestDefinitionProcessor.class));
+        actors.add(actor);
+        processors.add(processor);
+        ForkResultProcessor forkResultProcessor = new ForkResultProcessor(resultProcessor);
+        forkResultProcessors.add(forkResultProcessor);
+        processor.startProcessing(forkResultProcessor);
+    }
+
+    private void logIdleTimes() {
+        if (!LOGGER.isInfoEnabled() || forkResultProcessors.isEmpty()) {
+            return;
+        }
+        long firstStart = Long.MAX_VALUE;
+        long lastEnd = Long.MIN_VALUE;
+        for (ForkResultProcessor fork : forkResultProcessors) {
+            if (fork.hasEvents()) {
+                firstStart = Math.min(firstStart, fork.firstStartTime);
+                lastEnd = Math.max(lastEnd, fork.lastEndTime);
+            }
+        }
+        for (int i = 0; i < forkResultProcessors.size(); i++) {
+            ForkResultProcessor fork = forkResultProcessors.get(i);
+            if (fork.hasEvents()) {
+                long idle = (fork.firstStartTime - firstStart) + (lastEnd - fork.lastEndTime);
+                LOGGER.info("Test worker {} ran for {}ms and was idle for {}ms.", i + 1, fork.lastEndTime - fork.firstStartTime, idle);
+            }
+        }
+    }
+
+    /**
+     * Records when a single processor started and finished running tests.
+     */
+    private static class ForkResultProcessor implements TestResultProcessor {
+        private final TestResultProcessor delegate;
+        private volatile long firstStartTime = Long.MAX_VALUE;
+        private volatile long lastEndTime = Long.MIN_VALUE;
+
+        ForkResultProcessor(TestResultProcessor delegate) {
+            this.delegate = delegate;
+        }
+
+        boolean hasEvents() {
+            return firstStartTime != Long.MAX_VALUE && lastEndTime != Long.MIN_VALUE;
+        }
+
+        @Override
+        public void started(TestDescriptorInternal test, TestStartEvent event) {
+            // Events of a single worker are received by a single thread
+            firstStartTime = Math.min(firstStartTime, event.getStartTime());
+            delegate.started(test, event);
+        }
+
+        @Override
+        public void completed(Object testId, TestCompleteEvent event) {
+            lastEndTime = Math.max(lastEndTime, event.getEndTime());
+            delegate.completed(testId, event);
+        }
+
+        @Override
+        public void output(Object testId, TestOutputEvent event) {
+            delegate.output(testId, event);
+        }
+
+        @Override
+        public void failure(Object testId, TestFailure result) {
+            delegate.failure(testId, result);
+        }
+
+        @Override
+        public void published(Object testId, TestMetadataEvent keyValueEvent) {
+            delegate.published(testId, keyValueEvent);
+        }
+    }
+}
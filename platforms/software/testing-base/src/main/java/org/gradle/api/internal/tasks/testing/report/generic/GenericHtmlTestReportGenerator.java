@@ -23,17 +23,13 @@
 import com.google.common.collect.Multimaps;
 import org.apache.commons.io.file.PathUtils;
 import org.gradle.api.GradleException;
-import org.gradle.api.internal.tasks.testing.TestReportGenerator;
 import org.gradle.api.internal.tasks.testing.results.serializable.SerializableTestResult;
 import org.gradle.api.internal.tasks.testing.results.serializable.SerializableTestResultStore;
 import org.gradle.api.internal.tasks.testing.results.serializable.TestOutputReader;
-import org.gradle.api.internal.tasks.testing.worker.TestEventSerializer;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
-import org.gradle.api.tasks.testing.TestOutputEvent;
 import org.gradle.internal.SafeFileLocationUtils;
 import org.gradle.internal.UncheckedException;
-import org.gradle.internal.concurrent.CompositeStoppable;
 import org.gradle.internal.operations.BuildOperationConstraint;
 import org.gradle.internal.operations.BuildOperationContext;
 import org.gradle.internal.operations.BuildOperationDescriptor;
@@ -41,7 +37,6 @@
 import org.gradle.internal.operations.BuildOperationQueue;
 import org.gradle.internal.operations.BuildOperationRunner;
 import org.gradle.internal.operations.RunnableBuildOperation;
-import org.gradle.internal.serialize.Serializer;
 import org.gradle.internal.time.Time;
 import org.gradle.internal.time.Timer;
 import org.gradle.reporting.HtmlReportBuilder;
@@ -64,7 +59,7 @@
  * <p>
  * The root results are recorded into `index.html`, and then each parent tells its children to generate starting at `{childName}/index.html`.
  */
-public abstract class GenericHtmlTestReportGenerator implements TestReportGenerator {
+public abstract class GenericHtmlTestReportGenerator implements TestTreeModelReportGenerator {
 
     private static final Logger LOG = Logging.getLogger(GenericHtmlTestReportGenerator.class);
 
@@ -110,31 +105,19 @@ public GenericHtmlTestReportGenerator(
 
     @Override
     public Path generate(List<Path> resultsDirectories) {
-        List<SerializableTestResultStore> stores = resultsDirectories.stream()
-            .distinct()
-            .map(SerializableTestResultStore::new)
-            .filter(SerializableTestResultStore::hasResults)
-            .collect(Collectors.toList());
+        try (LoadedTestResults results = LoadedTestResults.load(resultsDirectories)) {
+            return generate(results);
+        }
+    }
 
+    @Override
+    public Path generate(LoadedTestResults results) {
         try {
             Files.createDirectories(reportsDirectory);
         } catch (IOException e) {
             throw UncheckedException.throwAsUncheckedException(e);
         }
-        Serializer<TestOutputEvent> testOutputEventSerializer = TestEventSerializer.create().build(TestOutputEvent.class);
-        List<TestOutputReader> outputReaders = new ArrayList<>(stores.size());
-        try {
-            for (SerializableTestResultStore store : stores) {
-                outputReaders.add(store.createOutputReader(testOutputEventSerializer));
-            }
-
-            TestTreeModel root = TestTreeModel.loadModelFromStores(stores);
-            generateReport(root, outputReaders);
-        } catch (Exception e) {
-            throw UncheckedException.throwAsUncheckedException(e);
-        } finally {
-            CompositeStoppable.stoppable(outputReaders).stop();
-        }
+        generateReport(results.getModel(), results.getOutputReaders());
         return reportsDirectory.resolve("index.html");
     }
 
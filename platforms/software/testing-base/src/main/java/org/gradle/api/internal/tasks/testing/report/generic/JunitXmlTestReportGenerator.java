@@ -16,11 +16,13 @@
 
 package org.gradle.api.internal.tasks.testing.report.generic;
 
-import org.gradle.api.internal.tasks.testing.TestReportGenerator;
 import org.gradle.api.internal.tasks.testing.junit.result.Binary2JUnitXmlReportGenerator;
 import org.gradle.api.internal.tasks.testing.junit.result.JUnitXmlResultOptions;
 import org.gradle.api.internal.tasks.testing.results.serializable.SerializableTestResultStore;
+import org.gradle.api.internal.tasks.testing.results.serializable.TestOutputReader;
+import org.gradle.api.internal.tasks.testing.worker.TestEventSerializer;
 import org.gradle.api.model.ObjectFactory;
+import org.gradle.api.tasks.testing.TestOutputEvent;
 import org.gradle.internal.UncheckedException;
 
 import javax.inject.Inject;
@@ -40,7 +42,7 @@
  * <p>
  * The root results are recorded into `index.html`, and then each parent tells its children to generate starting at `{childName}/index.html`.
  */
-public abstract class JunitXmlTestReportGenerator implements TestReportGenerator {
+public abstract class JunitXmlTestReportGenerator implements TestTreeModelReportGenerator {
     private final ObjectFactory objectFactory;
     private final Path reportsDirectory;
     private final JUnitXmlResultOptions xmlResultOptions;
@@ -54,12 +56,20 @@ public JunitXmlTestReportGenerator(ObjectFactory objectFactory, Path reportsDire
 
     @Override
     public Path generate(List<Path> resultsDirectories) {
+        try (LoadedTestResults results = LoadedTestResults.load(resultsDirectories)) {
+            return generate(results);
+        }
+    }
+
+    @Override
+    public Path generate(LoadedTestResults results) {
         try {
             Files.createDirectories(reportsDirectory);
         } catch (IOException e) {
             throw UncheckedException.throwAsUncheckedException(e);
         }
 
+        List<Path> resultsDirectories = results.getResultsDirectories();
         if (resultsDirectories.isEmpty()) {
             return reportsDirectory;
         }
@@ -67,14 +77,24 @@ public Path generate(List<Path> resultsDirectories) {
             throw new IllegalArgumentException("JunitXmlTestReportGenerator can only generate a report from a single results directory. Found: " + resultsDirectories);
         }
 
-        TestTreeModelResultsProvider.useResultsFrom(
-            resultsDirectories.get(0),
-            resultsProvider ->
-                objectFactory.newInstance(
-                    Binary2JUnitXmlReportGenerator.class,
-                    reportsDirectory.toFile(), resultsProvider, xmlResultOptions
-                ).generate()
-        );
+        if (results.getOutputReaders().isEmpty()) {
+            // There are no results, but old reports should still be removed
+            try (TestOutputReader outputReader = new SerializableTestResultStore(resultsDirectories.get(0)).createOutputReader(TestEventSerializer.create().build(TestOutputEvent.class))) {
+                generate(new TestTreeModelResultsProvider(results.getModel(), outputReader));
+            } catch (IOException e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            }
+        } else {
+            // The output reader is owned by the loaded results, so the results provider is not closed
+            generate(new TestTreeModelResultsProvider(results.getModel(), results.getOutputReaders().get(0)));
+        }
         return reportsDirectory;
     }
+
+    private void generate(TestTreeModelResultsProvider resultsProvider) {
+        objectFactory.newInstance(
+            Binary2JUnitXmlReportGenerator.class,
+            reportsDirectory.toFile(), resultsProvider, xmlResultOptions
+        ).generate();
+    }
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.report.generic;
+
+import com.google.common.collect.ImmutableList;
+import org.gradle.api.internal.tasks.testing.results.serializable.SerializableTestResultStore;
+import org.gradle.api.internal.tasks.testing.results.serializable.TestOutputReader;
+import org.gradle.api.internal.tasks.testing.worker.TestEventSerializer;
+import org.gradle.api.tasks.testing.TestOutputEvent;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.concurrent.CompositeStoppable;
+import org.gradle.internal.serialize.Serializer;
+
+import java.io.Closeable;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Test results loaded from a set of results directories, which can be shared by several {@link TestTreeModelReportGenerator}s.
+ * <p>
+ * Loading the {@link TestTreeModel} reads every result in the stores, so it should happen only once no matter how many reports are generated from them.
+ * The output readers are thread-safe, so reports can be rendered from the same results concurrently.
+ */
+public final class LoadedTestResults implements Closeable {
+    private final List<Path> resultsDirectories;
+    private final List<SerializableTestResultStore> stores;
+    private final List<TestOutputReader> outputReaders;
+    private final TestTreeModel model;
+
+    private LoadedTestResults(List<Path> resultsDirectories, List<SerializableTestResultStore> stores, List<TestOutputReader> outputReaders, TestTreeModel model) {
+        this.resultsDirectories = resultsDirectories;
+        this.stores = stores;
+        this.outputReaders = outputReaders;
+        this.model = model;
+    }
+
+    public static LoadedTestResults load(List<Path> resultsDirectories) {
+        List<Path> distinctDirectories = resultsDirectories.stream()
+            .distinct()
+            .collect(ImmutableList.toImmutableList());
+        List<SerializableTestResultStore> stores = distinctDirectories.stream()
+            .map(SerializableTestResultStore::new)
+            .filter(SerializableTestResultStore::hasResults)
+            .collect(Collectors.toList());
+
+        Serializer<TestOutputEvent> testOutputEventSerializer = TestEventSerializer.create().build(TestOutputEvent.class);
+        ImmutableList.Builder<TestOutputReader> outputReaders = ImmutableList.builderWithExpectedSize(stores.size());
+        try {
+            for (SerializableTestResultStore store : stores) {
+                outputReaders.add(store.createOutputReader(testOutputEventSerializer));
+            }
+            TestTreeModel model = TestTreeModel.loadModelFromStores(stores);
+            return new LoadedTestResults(distinctDirectories, stores, outputReaders.build(), model);
+        } catch (Exception e) {
+            CompositeStoppable.stoppable(outputReaders.build()).stop();
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
+    /**
+     * The distinct results directories the results were requested from, including directories without results.
+     */
+    public List<Path> getResultsDirectories() {
+        return resultsDirectories;
+    }
+
+    /**
+     * The stores that contain results, in the order of their results directories.
+     */
+    public List<SerializableTestResultStore> getStores() {
+        return stores;
+    }
+
+    /**
+     * The output readers for each of the {@link #getStores() stores}.
+     */
+    public List<TestOutputReader> getOutputReaders() {
+        return outputReaders;
+    }
+
+    /**
+     * The merged tree model of all stores, with one root per store.
+     */
+    public TestTreeModel getModel() {
+        return model;
+    }
+
+    @Override
+    public void close() {
+        CompositeStoppable.stoppable(outputReaders).stop();
+    }
+}
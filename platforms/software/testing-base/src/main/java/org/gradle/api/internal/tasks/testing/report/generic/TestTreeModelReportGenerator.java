@@ -0,0 +1,35 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.report.generic;
+
+import org.gradle.api.internal.tasks.testing.TestReportGenerator;
+
+import java.nio.file.Path;
+
+/**
+ * A {@link TestReportGenerator} that renders its report from a {@link TestTreeModel}, so the loaded results can be shared with other reports.
+ */
+public interface TestTreeModelReportGenerator extends TestReportGenerator {
+    /**
+     * Generate a report from already loaded results.
+     * The results are owned by the caller, and must not be closed by this generator.
+     *
+     * @param results the loaded results
+     * @return the path to the report
+     */
+    Path generate(LoadedTestResults results);
+}
@@ -588,7 +588,7 @@ private TestReportGenerator createReportGenerator() {
             return reportGenerators.get(0);
         } else {
             // Using get(0) prefers the HTML report if present
-            return new MultiTestReportGenerator(reportGenerators.get(0), ImmutableSet.copyOf(reportGenerators.subList(1, reportGenerators.size())));
+            return new MultiTestReportGenerator(reportGenerators.get(0), ImmutableSet.copyOf(reportGenerators.subList(1, reportGenerators.size())), getBuildOperationExecutor());
         }
     }
 
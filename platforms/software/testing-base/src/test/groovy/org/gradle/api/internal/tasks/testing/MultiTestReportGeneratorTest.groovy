@@ -0,0 +1,158 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing
+
+import org.gradle.api.Action
+import org.gradle.api.internal.tasks.testing.report.generic.LoadedTestResults
+import org.gradle.api.internal.tasks.testing.report.generic.TestTreeModelReportGenerator
+import org.gradle.internal.operations.BuildOperationConstraint
+import org.gradle.internal.operations.BuildOperationContext
+import org.gradle.internal.operations.BuildOperationExecutor
+import org.gradle.internal.operations.BuildOperationQueue
+import org.gradle.internal.operations.MultipleBuildOperationFailures
+import org.gradle.internal.operations.RunnableBuildOperation
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+import java.nio.file.Path
+
+class MultiTestReportGeneratorTest extends Specification {
+    @Rule
+    TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider(getClass())
+
+    def resultsDirectories = [tmpDir.createDir("results").toPath()]
+    def primaryReport = tmpDir.file("primary").toPath()
+    def otherReport = tmpDir.file("other").toPath()
+
+    def buildOperationExecutor = Stub(BuildOperationExecutor) {
+        runAll(_ as Action, _ as BuildOperationConstraint) >> { Action<BuildOperationQueue<RunnableBuildOperation>> schedulingAction, BuildOperationConstraint constraint ->
+            runSequentially(schedulingAction)
+        }
+    }
+
+    def "loads results once when all generators render from a test tree model"() {
+        def primary = Mock(TestTreeModelReportGenerator)
+        def other = Mock(TestTreeModelReportGenerator)
+        def generator = new MultiTestReportGenerator(primary, [other] as Set, buildOperationExecutor)
+        LoadedTestResults primaryResults = null
+        LoadedTestResults otherResults = null
+
+        when:
+        def report = generator.generate(resultsDirectories)
+
+        then:
+        1 * primary.generate(_ as LoadedTestResults) >> { LoadedTestResults results ->
+            primaryResults = results
+            primaryReport
+        }
+        1 * other.generate(_ as LoadedTestResults) >> { LoadedTestResults results ->
+            otherResults = results
+            otherReport
+        }
+        0 * _.generate(_ as List)
+
+        and:
+        report == primaryReport
+        primaryResults.is(otherResults)
+        primaryResults.resultsDirectories == resultsDirectories
+    }
+
+    def "generates each report from the results directories when some generator does not render from a test tree model"() {
+        def primary = Mock(TestTreeModelReportGenerator)
+        def other = Mock(TestReportGenerator)
+        def generator = new MultiTestReportGenerator(primary, [other] as Set, buildOperationExecutor)
+
+        when:
+        def report = generator.generate(resultsDirectories)
+
+        then:
+        1 * primary.generate(resultsDirectories) >> primaryReport
+        1 * other.generate(resultsDirectories) >> otherReport
+        0 * primary.generate(_ as LoadedTestResults)
+
+        and:
+        report == primaryReport
+    }
+
+    def "returns the report of the primary generator"() {
+        def primary = Stub(TestReportGenerator) {
+            generate(resultsDirectories) >> primaryReport
+        }
+        def others = (1..3).collect { index ->
+            Stub(TestReportGenerator) {
+                generate(resultsDirectories) >> tmpDir.file("other-$index").toPath()
+            }
+        } as Set<TestReportGenerator>
+
+        expect:
+        new MultiTestReportGenerator(primary, others, buildOperationExecutor).generate(resultsDirectories) == primaryReport
+    }
+
+    def "rethrows the failure of a single generator as is"() {
+        def failure = new IllegalStateException("broken report")
+        def primary = Stub(TestReportGenerator) {
+            generate(resultsDirectories) >> primaryReport
+        }
+        def other = Stub(TestReportGenerator) {
+            generate(resultsDirectories) >> { throw failure }
+        }
+
+        when:
+        new MultiTestReportGenerator(primary, [other] as Set, buildOperationExecutor).generate(resultsDirectories)
+
+        then:
+        def e = thrown(IllegalStateException)
+        e.is(failure)
+    }
+
+    def "reports the failures of several generators together"() {
+        def primary = Stub(TestReportGenerator) {
+            generate(resultsDirectories) >> { throw new IllegalStateException("broken primary report") }
+        }
+        def other = Stub(TestReportGenerator) {
+            generate(resultsDirectories) >> { throw new IllegalStateException("broken other report") }
+        }
+
+        when:
+        new MultiTestReportGenerator(primary, [other] as Set, buildOperationExecutor).generate(resultsDirectories)
+
+        then:
+        def e = thrown(MultipleBuildOperationFailures)
+        e.causes*.message == ["broken primary report", "broken other report"]
+    }
+
+    /**
+     * Runs the queued operations one after the other, and reports their failures the way the real executor does.
+     */
+    private static void runSequentially(Action<BuildOperationQueue<RunnableBuildOperation>> schedulingAction) {
+        List<Throwable> failures = []
+        def queue = [
+            add: { RunnableBuildOperation operation ->
+                try {
+                    operation.run(null as BuildOperationContext)
+                } catch (Throwable t) {
+                    failures << t
+                }
+            }
+        ] as BuildOperationQueue<RunnableBuildOperation>
+        schedulingAction.execute(queue)
+        if (!failures.empty) {
+            throw new MultipleBuildOperationFailures(failures, null)
+        }
+    }
+}
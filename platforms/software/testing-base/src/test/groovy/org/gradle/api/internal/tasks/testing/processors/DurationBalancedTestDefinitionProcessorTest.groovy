@@ -0,0 +1,195 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.processors
+
+import org.gradle.api.internal.tasks.testing.ClassTestDefinition
+import org.gradle.api.internal.tasks.testing.TestDefinitionProcessor
+import org.gradle.api.internal.tasks.testing.TestResultProcessor
+import org.gradle.internal.Factory
+import org.gradle.internal.actor.Actor
+import org.gradle.internal.actor.ActorFactory
+import spock.lang.Specification
+
+class DurationBalancedTestDefinitionProcessorTest extends Specification {
+    private final Factory<TestDefinitionProcessor> factory = Mock()
+    private final TestResultProcessor resultProcessor = Mock()
+    private final Actor resultProcessorActor = Stub() {
+        getProxy(TestResultProcessor) >> Stub(TestResultProcessor)
+    }
+    private final ActorFactory actorFactory = Mock() {
+        createActor(resultProcessor) >> resultProcessorActor
+    }
+
+    def "does not start processors when no tests are processed"() {
+        def processor = createProcessor(2, [:])
+
+        when:
+        processor.stop()
+
+        then:
+        0 * factory.create()
+    }
+
+    def "collects test definitions until the batch is full"() {
+        def processor = createProcessor(2, [:])
+
+        when:
+        processor.processTestDefinition(new ClassTestDefinition("A"))
+
+        then:
+        0 * factory.create()
+    }
+
+    def "dispatches a full batch before being stopped"() {
+        def definitions = (1..DurationBalancedTestDefinitionProcessor.BATCH_SIZE_PER_PROCESSOR + 1).collect { new ClassTestDefinition("Test$it") }
+        def processor = createProcessor(1, [:])
+        TestDefinitionProcessor asyncProcessor = Mock()
+        expectProcessors(asyncProcessor)
+
+        when:
+        definitions.each { processor.processTestDefinition(it) }
+
+        then:
+        DurationBalancedTestDefinitionProcessor.BATCH_SIZE_PER_PROCESSOR * asyncProcessor.processTestDefinition(_)
+
+        when:
+        processor.stop()
+
+        then:
+        1 * asyncProcessor.processTestDefinition(definitions.last())
+
+        then:
+        1 * asyncProcessor.stop()
+    }
+
+    def "balances later batches against the work assigned by earlier batches"() {
+        def batchSize = 2 * DurationBalancedTestDefinitionProcessor.BATCH_SIZE_PER_PROCESSOR
+        def firstBatch = (1..batchSize).collect { new ClassTestDefinition("Test$it") }
+        def slow = new ClassTestDefinition("Slow")
+        def durations = firstBatch.collectEntries { [(it.testClassName): 10L] }
+        durations[firstBatch[0].testClassName] = 100L
+        durations.Slow = 50L
+        def processor = createProcessor(2, durations)
+        TestDefinitionProcessor asyncProcessor1 = Mock()
+        TestDefinitionProcessor asyncProcessor2 = Mock()
+        expectProcessors(asyncProcessor1, asyncProcessor2)
+
+        given:
+        firstBatch.each { processor.processTestDefinition(it) }
+        processor.processTestDefinition(slow)
+
+        when:
+        processor.stop()
+
+        then:
+        1 * asyncProcessor2.processTestDefinition(slow)
+    }
+
+    def "assigns longest test classes first to the least loaded processor"() {
+        def a = new ClassTestDefinition("A")
+        def b = new ClassTestDefinition("B")
+        def c = new ClassTestDefinition("C")
+        def d = new ClassTestDefinition("D")
+        def processor = createProcessor(2, [A: 100L, B: 60L, C: 50L, D: 10L])
+        TestDefinitionProcessor asyncProcessor1 = Mock()
+        TestDefinitionProcessor asyncProcessor2 = Mock()
+        expectProcessors(asyncProcessor1, asyncProcessor2)
+
+        given:
+        [a, b, c, d].each { processor.processTestDefinition(it) }
+
+        when:
+        processor.stop()
+
+        then:
+        1 * asyncProcessor1.processTestDefinition(a)
+        1 * asyncProcessor2.processTestDefinition(b)
+        1 * asyncProcessor2.processTestDefinition(c)
+        1 * asyncProcessor1.processTestDefinition(d)
+        0 * asyncProcessor1.processTestDefinition(_)
+        0 * asyncProcessor2.processTestDefinition(_)
+
+        then:
+        1 * asyncProcessor1.stop()
+        1 * asyncProcessor2.stop()
+    }
+
+    def "spreads test classes without previous durations evenly"() {
+        def definitions = (1..4).collect { new ClassTestDefinition("Test$it") }
+        def processor = createProcessor(2, [:])
+        TestDefinitionProcessor asyncProcessor1 = Mock()
+        TestDefinitionProcessor asyncProcessor2 = Mock()
+        expectProcessors(asyncProcessor1, asyncProcessor2)
+
+        given:
+        definitions.each { processor.processTestDefinition(it) }
+
+        when:
+        processor.stop()
+
+        then:
+        2 * asyncProcessor1.processTestDefinition(_)
+        2 * asyncProcessor2.processTestDefinition(_)
+    }
+
+    def "does not start more processors than there are test definitions"() {
+        def processor = createProcessor(4, [:])
+        TestDefinitionProcessor asyncProcessor1 = Mock()
+        expectProcessors(asyncProcessor1)
+
+        given:
+        processor.processTestDefinition(new ClassTestDefinition("A"))
+
+        when:
+        processor.stop()
+
+        then:
+        1 * asyncProcessor1.processTestDefinition(_)
+    }
+
+    def "does not process test definitions after stopNow"() {
+        def processor = createProcessor(2, [:])
+
+        given:
+        processor.processTestDefinition(new ClassTestDefinition("A"))
+
+        when:
+        processor.stopNow()
+        processor.stop()
+
+        then:
+        0 * factory.create()
+    }
+
+    private DurationBalancedTestDefinitionProcessor createProcessor(int maxProcessors, Map<String, Long> durations) {
+        def processor = new DurationBalancedTestDefinitionProcessor(maxProcessors, factory, actorFactory, durations)
+        processor.startProcessing(resultProcessor)
+        return processor
+    }
+
+    private void expectProcessors(TestDefinitionProcessor... asyncProcessors) {
+        List<TestDefinitionProcessor> rawProcessors = []
+        for (TestDefinitionProcessor asyncProcessor : asyncProcessors) {
+            TestDefinitionProcessor rawProcessor = Mock()
+            Actor actor = Mock()
+            actorFactory.createActor(rawProcessor) >> actor
+            actor.getProxy(TestDefinitionProcessor) >> asyncProcessor
+            rawProcessors << rawProcessor
+        }
+        factory.create() >>> rawProcessors
+    }
+}
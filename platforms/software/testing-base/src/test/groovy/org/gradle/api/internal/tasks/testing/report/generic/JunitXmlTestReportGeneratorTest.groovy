@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.report.generic
+
+import org.gradle.api.internal.tasks.testing.junit.result.JUnitXmlResultOptions
+import org.gradle.api.model.ObjectFactory
+import org.gradle.internal.nativeintegration.network.HostnameLookup
+import org.gradle.internal.operations.BuildOperationExecutor
+import org.gradle.internal.operations.BuildOperationRunner
+import org.gradle.internal.operations.TestBuildOperationExecutor
+import org.gradle.internal.operations.TestBuildOperationRunner
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.gradle.util.TestUtil
+import org.junit.Rule
+import spock.lang.Specification
+
+class JunitXmlTestReportGeneratorTest extends Specification {
+    @Rule
+    TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider(getClass())
+
+    def objectFactory = TestUtil.createTestServices {
+        it.add(BuildOperationRunner, new TestBuildOperationRunner())
+        it.add(BuildOperationExecutor, new TestBuildOperationExecutor())
+        it.add(HostnameLookup, { "localhost" } as HostnameLookup)
+    }.get(ObjectFactory)
+
+    def reportsDirectory = tmpDir.file("reports")
+    def generator = objectFactory.newInstance(JunitXmlTestReportGenerator, reportsDirectory.toPath(), new JUnitXmlResultOptions(false, false, true, true))
+
+    def "removes old reports when loaded results are empty"() {
+        def resultsDirectory = tmpDir.createDir("results")
+        def oldReport = reportsDirectory.createFile("TEST-org.gradle.OldTest.xml")
+
+        when:
+        def report = LoadedTestResults.load([resultsDirectory.toPath()]).withCloseable { results ->
+            generator.generate(results)
+        }
+
+        then:
+        report == reportsDirectory.toPath()
+        reportsDirectory.directory
+        !oldReport.exists()
+    }
+
+    def "creates the reports directory when there are no results directories"() {
+        when:
+        def report = LoadedTestResults.load([]).withCloseable { results ->
+            generator.generate(results)
+        }
+
+        then:
+        report == reportsDirectory.toPath()
+        reportsDirectory.directory
+    }
+}
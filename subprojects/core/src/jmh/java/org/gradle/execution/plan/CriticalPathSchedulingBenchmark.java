@@ -0,0 +1,233 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.execution.plan;
+
+import org.jspecify.annotations.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the wall-clock time it takes to run a synthetic plan with a fixed number of workers,
+ * when ready nodes are started in the default order or in the {@link CriticalPathExecutionOrder critical path order}.
+ *
+ * Each node sleeps for its duration, so the result does not depend on the number of available processors.
+ */
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class CriticalPathSchedulingBenchmark {
+
+    public enum Shape {
+        /**
+         * Many short independent nodes, and a chain of long nodes that comes last in the default order.
+         */
+        LONG_TAIL,
+        /**
+         * Random layered graph, where a few nodes take much longer than the others.
+         */
+        RANDOM_LAYERS
+    }
+
+    @Param({"LONG_TAIL", "RANDOM_LAYERS"})
+    Shape shape;
+
+    @Param({"false", "true"})
+    boolean criticalPath;
+
+    @Param({"4"})
+    int workers;
+
+    private List<SyntheticNode> nodes;
+    private Comparator<Node> executionOrder;
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        nodes = shape == Shape.LONG_TAIL ? longTail() : randomLayers(new Random(42));
+        List<Node> scheduledNodes = new ArrayList<>(nodes);
+        for (int i = 0; i < scheduledNodes.size(); i++) {
+            scheduledNodes.get(i).setIndex(i);
+        }
+        executionOrder = criticalPath
+            ? CriticalPathExecutionOrder.create(scheduledNodes, node -> ((SyntheticNode) node).durationMillis)
+            : DefaultFinalizedExecutionPlan.NODE_EXECUTION_ORDER;
+        executor = Executors.newFixedThreadPool(workers);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public void runPlan() throws InterruptedException {
+        new SimulatedPlan(nodes, executionOrder).run(executor, workers);
+    }
+
+    private static List<SyntheticNode> longTail() {
+        List<SyntheticNode> nodes = new ArrayList<>();
+        for (int i = 0; i < 24; i++) {
+            nodes.add(new SyntheticNode("short" + i, 5));
+        }
+        SyntheticNode previous = null;
+        for (int i = 0; i < 3; i++) {
+            SyntheticNode node = new SyntheticNode("long" + i, 20);
+            if (previous != null) {
+                node.addDependencySuccessor(previous);
+            }
+            nodes.add(node);
+            previous = node;
+        }
+        return nodes;
+    }
+
+    private static List<SyntheticNode> randomLayers(Random random) {
+        List<SyntheticNode> nodes = new ArrayList<>();
+        List<SyntheticNode> previousLayer = new ArrayList<>();
+        for (int layer = 0; layer < 6; layer++) {
+            List<SyntheticNode> currentLayer = new ArrayList<>();
+            for (int i = 0; i < 12; i++) {
+                long duration = random.nextInt(10) == 0 ? 15 + random.nextInt(15) : 1 + random.nextInt(3);
+                SyntheticNode node = new SyntheticNode("node" + layer + "_" + i, duration);
+                for (SyntheticNode dependency : previousLayer) {
+                    if (random.nextInt(4) == 0) {
+                        node.addDependencySuccessor(dependency);
+                    }
+                }
+                currentLayer.add(node);
+            }
+            nodes.addAll(currentLayer);
+            previousLayer = currentLayer;
+        }
+        return nodes;
+    }
+
+    /**
+     * Runs the nodes of a plan on a fixed number of workers, always starting the first ready node in the given order.
+     */
+    private static class SimulatedPlan {
+        private final TreeSet<SyntheticNode> readyNodes;
+        private final Map<Node, Integer> remainingDependencies = new IdentityHashMap<>();
+        private int remainingNodes;
+
+        SimulatedPlan(List<SyntheticNode> nodes, Comparator<Node> executionOrder) {
+            this.readyNodes = new TreeSet<>(executionOrder);
+            this.remainingNodes = nodes.size();
+            for (SyntheticNode node : nodes) {
+                int dependencies = node.getDependencySuccessors().size();
+                remainingDependencies.put(node, dependencies);
+                if (dependencies == 0) {
+                    readyNodes.add(node);
+                }
+            }
+        }
+
+        void run(ExecutorService executor, int workers) throws InterruptedException {
+            CountDownLatch finished = new CountDownLatch(workers);
+            for (int i = 0; i < workers; i++) {
+                executor.execute(() -> {
+                    try {
+                        SyntheticNode node;
+                        while ((node = selectNext()) != null) {
+                            Thread.sleep(node.durationMillis);
+                            finished(node);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        finished.countDown();
+                    }
+                });
+            }
+            finished.await();
+        }
+
+        @Nullable
+        private synchronized SyntheticNode selectNext() throws InterruptedException {
+            while (readyNodes.isEmpty()) {
+                if (remainingNodes == 0) {
+                    return null;
+                }
+                wait();
+            }
+            return readyNodes.pollFirst();
+        }
+
+        private synchronized void finished(SyntheticNode node) {
+            remainingNodes--;
+            for (Node dependent : node.getDependencyPredecessors()) {
+                int remaining = remainingDependencies.get(dependent) - 1;
+                remainingDependencies.put(dependent, remaining);
+                if (remaining == 0) {
+                    readyNodes.add((SyntheticNode) dependent);
+                }
+            }
+            notifyAll();
+        }
+    }
+
+    private static class SyntheticNode extends Node {
+        private final String name;
+        private final long durationMillis;
+
+        SyntheticNode(String name, long durationMillis) {
+            this.name = name;
+            this.durationMillis = durationMillis;
+        }
+
+        @Nullable
+        @Override
+        public Throwable getNodeFailure() {
+            return null;
+        }
+
+        @Override
+        public void resolveDependencies(TaskDependencyResolver dependencyResolver) {
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
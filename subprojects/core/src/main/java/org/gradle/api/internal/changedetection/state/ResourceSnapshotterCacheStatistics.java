@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.changedetection.state;
+
+import org.gradle.internal.service.scopes.Scope;
+import org.gradle.internal.service.scopes.ServiceScope;
+
+import java.text.MessageFormat;
+import java.util.concurrent.atomic.AtomicLong;
+
+public interface ResourceSnapshotterCacheStatistics {
+    /**
+     * Number of normalized hashes found in the cache.
+     */
+    long getHitCount();
+
+    /**
+     * Number of normalized hashes that had to be calculated.
+     */
+    long getMissCount();
+
+    @ServiceScope(Scope.Global.class)
+    class Collector {
+        private final AtomicLong hitCount = new AtomicLong();
+        private final AtomicLong missCount = new AtomicLong();
+
+        public void reportHit() {
+            hitCount.incrementAndGet();
+        }
+
+        public void reportMiss() {
+            missCount.incrementAndGet();
+        }
+
+        public ResourceSnapshotterCacheStatistics collect() {
+            long hitCount = this.hitCount.getAndSet(0);
+            long missCount = this.missCount.getAndSet(0);
+            return new ResourceSnapshotterCacheStatistics() {
+                @Override
+                public long getHitCount() {
+                    return hitCount;
+                }
+
+                @Override
+                public long getMissCount() {
+                    return missCount;
+                }
+
+                @Override
+                public String toString() {
+                    long requestCount = hitCount + missCount;
+                    return MessageFormat.format("{0,number,integer} hits, {1,number,integer} misses ({2,number,percent} hit rate)",
+                        hitCount, missCount, requestCount == 0 ? 0d : (double) hitCount / requestCount
+                    );
+                }
+            };
+        }
+    }
+}
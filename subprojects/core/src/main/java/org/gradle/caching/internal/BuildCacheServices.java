@@ -30,6 +30,7 @@
 import org.gradle.caching.internal.packaging.impl.DefaultTarPackerFileSystemSupport;
 import org.gradle.caching.internal.packaging.impl.FilePermissionAccess;
 import org.gradle.caching.internal.packaging.impl.GZipBuildCacheEntryPacker;
+import org.gradle.caching.internal.packaging.impl.Lz4BuildCacheEntryPacker;
 import org.gradle.caching.internal.packaging.impl.TarBuildCacheEntryPacker;
 import org.gradle.caching.internal.packaging.impl.TarPackerFileSystemSupport;
 import org.gradle.caching.internal.services.BuildCacheControllerFactory;
@@ -38,6 +39,9 @@
 import org.gradle.caching.local.internal.DirectoryBuildCacheServiceFactory;
 import org.gradle.internal.build.BuildState;
 import org.gradle.internal.build.RootBuildState;
+import org.gradle.internal.buildoption.InternalOption;
+import org.gradle.internal.buildoption.InternalOptions;
+import org.gradle.internal.buildoption.StringInternalOption;
 import org.gradle.internal.file.BufferProvider;
 import org.gradle.internal.file.Deleter;
 import org.gradle.internal.file.FileException;
@@ -64,6 +68,16 @@
  * Build scoped services for build cache usage.
  */
 public final class BuildCacheServices extends AbstractGradleModuleServices {
+    /**
+     * Compression used for storing build cache entries, one of:
+     * <ul>
+     * <li> {@code gzip}: smaller entries, more CPU time spent packing and unpacking;
+     * <li> {@code lz4}: considerably faster packing and unpacking, somewhat larger entries;
+     * </ul>
+     * Default is {@code gzip}. Entries compressed with either one can always be loaded.
+     */
+    private static final InternalOption<String> COMPRESSION_OPTION = StringInternalOption.of("org.gradle.internal.build-cache.compression", "gzip");
+
     @Override
     public void registerGlobalServices(ServiceRegistration registration) {
         registration.addProvider(new ServiceRegistrationProvider() {
@@ -129,10 +143,19 @@ BuildCacheEntryPacker createResultPacker(
                 FileSystem fileSystem,
                 StreamHasher fileHasher,
                 StringInterner stringInterner,
-                BufferProvider bufferProvider
+                BufferProvider bufferProvider,
+                InternalOptions internalOptions
             ) {
-                return new GZipBuildCacheEntryPacker(
-                    new TarBuildCacheEntryPacker(fileSystemSupport, new FilePermissionsAccessAdapter(fileSystem), fileHasher, stringInterner, bufferProvider));
+                TarBuildCacheEntryPacker tarPacker = new TarBuildCacheEntryPacker(fileSystemSupport, new FilePermissionsAccessAdapter(fileSystem), fileHasher, stringInterner, bufferProvider);
+                String compression = internalOptions.getOption(COMPRESSION_OPTION).get();
+                switch (compression) {
+                    case "gzip":
+                        return new GZipBuildCacheEntryPacker(tarPacker);
+                    case "lz4":
+                        return new Lz4BuildCacheEntryPacker(tarPacker);
+                    default:
+                        throw new IllegalArgumentException(String.format("Unknown build cache compression '%s', use 'gzip' or 'lz4'.", compression));
+                }
             }
 
             @Provides
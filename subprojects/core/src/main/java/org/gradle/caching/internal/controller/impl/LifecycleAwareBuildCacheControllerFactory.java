@@ -32,6 +32,7 @@
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
@@ -82,6 +83,11 @@ public void store(BuildCacheKey cacheKey, CacheableEntity entity, Map<String, Fi
             getDelegate().store(cacheKey, entity, snapshots, executionTime);
         }
 
+        @Override
+        public void prefetch(Collection<BuildCacheKey> cacheKeys) {
+            getDelegate().prefetch(cacheKeys);
+        }
+
         @Override
         public void close() {
             resetState();
@@ -28,6 +28,8 @@
 import org.gradle.caching.BuildCacheServiceFactory;
 import org.gradle.caching.local.DirectoryBuildCache;
 import org.gradle.internal.UncheckedException;
+import org.gradle.internal.buildoption.InternalFlag;
+import org.gradle.internal.buildoption.InternalOptions;
 import org.gradle.internal.file.FileAccessTimeJournal;
 import org.gradle.internal.file.FileAccessTracker;
 import org.gradle.internal.file.PathToFileResolver;
@@ -43,6 +45,17 @@
 public class DirectoryBuildCacheServiceFactory implements BuildCacheServiceFactory<DirectoryBuildCache> {
     public static final String FAILED_READ_SUFFIX = ".failed";
 
+    /**
+     * Store entries as manifests pointing into a content-addressed blob store, so files with the same content are only stored once.
+     */
+    private static final InternalFlag CONTENT_ADDRESSED_OPTION = new InternalFlag("org.gradle.internal.build-cache.local.content-addressed");
+
+    /**
+     * Hard-link content-addressed blobs into place when loading entries, instead of copying them.
+     * Outputs then share their contents with the cache, so this is only safe when outputs are never modified in place.
+     */
+    private static final InternalFlag HARD_LINK_OPTION = new InternalFlag("org.gradle.internal.build-cache.local.hard-link");
+
     private static final String BUILD_CACHE_VERSION = "1";
     private static final String BUILD_CACHE_KEY = "build-cache-" + BUILD_CACHE_VERSION;
     private static final String DIRECTORY_BUILD_CACHE_TYPE = "directory";
@@ -54,6 +67,7 @@ public class DirectoryBuildCacheServiceFactory implements BuildCacheServiceFacto
     private final FileAccessTimeJournal fileAccessTimeJournal;
     private final CacheConfigurationsInternal cacheConfigurations;
     private final CacheCleanupStrategyFactory cacheCleanupStrategyFactory;
+    private final InternalOptions internalOptions;
 
     @Inject
     public DirectoryBuildCacheServiceFactory(
@@ -62,7 +76,8 @@ public DirectoryBuildCacheServiceFactory(
         PathToFileResolver resolver,
         FileAccessTimeJournal fileAccessTimeJournal,
         CacheConfigurationsInternal cacheConfigurations,
-        CacheCleanupStrategyFactory cacheCleanupStrategyFactory
+        CacheCleanupStrategyFactory cacheCleanupStrategyFactory,
+        InternalOptions internalOptions
     ) {
         this.unscopedCacheBuilderFactory = unscopedCacheBuilderFactory;
         this.cacheBuilderFactory = cacheBuilderFactory;
@@ -70,6 +85,7 @@ public DirectoryBuildCacheServiceFactory(
         this.fileAccessTimeJournal = fileAccessTimeJournal;
         this.cacheConfigurations = cacheConfigurations;
         this.cacheCleanupStrategyFactory = cacheCleanupStrategyFactory;
+        this.internalOptions = internalOptions;
     }
 
     @Override
@@ -97,6 +113,10 @@ public BuildCacheService createBuildCacheService(DirectoryBuildCache buildCacheC
             .open();
         FileAccessTracker fileAccessTracker = new SingleDepthFileAccessTracker(fileAccessTimeJournal, target, FILE_TREE_DEPTH_TO_TRACK_AND_CLEANUP);
 
+        if (internalOptions.getOption(CONTENT_ADDRESSED_OPTION).get()) {
+            boolean hardLinkBlobs = internalOptions.getOption(HARD_LINK_OPTION).get();
+            return new ContentAddressedDirectoryBuildCacheService(persistentCache, fileAccessTracker, FAILED_READ_SUFFIX, hardLinkBlobs);
+        }
         return new DirectoryBuildCacheService(persistentCache, fileAccessTracker, FAILED_READ_SUFFIX);
     }
 
@@ -59,6 +59,7 @@
 import org.gradle.internal.service.Provides;
 import org.gradle.internal.service.ServiceRegistrationProvider;
 import org.gradle.internal.service.ServiceRegistryBuilder;
+import org.gradle.internal.service.scopes.FileSystemWorkerPools;
 import org.gradle.internal.snapshot.ValueSnapshotter;
 import org.gradle.internal.work.AsyncWorkTracker;
 import org.gradle.normalization.internal.InputNormalizationHandlerInternal;
@@ -141,14 +142,16 @@ TaskExecuter createTaskExecuter(
     FileCollectionFingerprinterRegistrations createFileCollectionFingerprinterRegistrations(
         StringInterner stringInterner,
         ResourceSnapshotterCacheService resourceSnapshotterCacheService,
-        InputNormalizationHandlerInternal inputNormalizationHandler
+        InputNormalizationHandlerInternal inputNormalizationHandler,
+        FileSystemWorkerPools workerPools
     ) {
         return new FileCollectionFingerprinterRegistrations(
             stringInterner,
             resourceSnapshotterCacheService,
             inputNormalizationHandler.getRuntimeClasspath().getClasspathResourceFilter(),
             inputNormalizationHandler.getRuntimeClasspath().getManifestAttributeResourceEntryFilter(),
-            inputNormalizationHandler.getRuntimeClasspath().getPropertiesFileFilters()
+            inputNormalizationHandler.getRuntimeClasspath().getPropertiesFileFilters(),
+            workerPools.getZipHashingPool()
         );
     }
 
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.execution.plan;
+
+import com.google.common.collect.Iterables;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Orders ready nodes so that the nodes with the longest remaining path through the plan start first.
+ *
+ * <p>The remaining path of a node is the node itself plus the longest chain of nodes that depend on it or finalize it.
+ * Its length is the sum of the previous execution times of the nodes on the chain. Nodes without a
+ * previous execution time count as taking no time. When no node has a previous execution time, the
+ * {@link DefaultFinalizedExecutionPlan#NODE_EXECUTION_ORDER default order} is used.</p>
+ *
+ * <p>Priority nodes still start before all other nodes, and nodes with the same remaining time are ordered like the default order.</p>
+ */
+class CriticalPathExecutionOrder implements Comparator<Node> {
+    private final Map<Node, Long> remainingTimes;
+
+    private CriticalPathExecutionOrder(Map<Node, Long> remainingTimes) {
+        this.remainingTimes = remainingTimes;
+    }
+
+    public static Comparator<Node> create(List<Node> scheduledNodes, NodeExecutionTimeHistory executionTimeHistory) {
+        Map<Node, Long> executionTimes = new IdentityHashMap<>();
+        boolean anyKnown = false;
+        for (Node node : scheduledNodes) {
+            long executionTime = executionTimeHistory.getPreviousExecutionTime(node);
+            if (executionTime != NodeExecutionTimeHistory.UNKNOWN) {
+                anyKnown = true;
+            }
+            executionTimes.put(node, Math.max(0, executionTime));
+        }
+        if (!anyKnown) {
+            return DefaultFinalizedExecutionPlan.NODE_EXECUTION_ORDER;
+        }
+        return new CriticalPathExecutionOrder(calculateRemainingTimes(executionTimes));
+    }
+
+    /**
+     * Calculates the remaining time of each node with a depth first traversal over the nodes that depend on it.
+     * Only dependents that are part of the plan are considered.
+     */
+    private static Map<Node, Long> calculateRemainingTimes(Map<Node, Long> executionTimes) {
+        Map<Node, Long> remainingTimes = new IdentityHashMap<>(executionTimes.size());
+        Deque<Node> stack = new ArrayDeque<>();
+        Deque<Iterator<Node>> dependents = new ArrayDeque<>();
+        for (Node start : executionTimes.keySet()) {
+            if (remainingTimes.containsKey(start)) {
+                continue;
+            }
+            // Mark the node as visited before its dependents are done, so a cycle cannot cause an endless traversal
+            remainingTimes.put(start, executionTimes.get(start));
+            stack.push(start);
+            dependents.push(dependentsOf(start).iterator());
+            while (!stack.isEmpty()) {
+                Iterator<Node> iterator = dependents.peek();
+                if (iterator.hasNext()) {
+                    Node dependent = iterator.next();
+                    Long executionTime = executionTimes.get(dependent);
+                    if (executionTime != null && !remainingTimes.containsKey(dependent)) {
+                        remainingTimes.put(dependent, executionTime);
+                        stack.push(dependent);
+                        dependents.push(dependentsOf(dependent).iterator());
+                    }
+                } else {
+                    Node node = stack.pop();
+                    dependents.pop();
+                    long longestDependent = 0;
+                    for (Node dependent : dependentsOf(node)) {
+                        Long remainingTime = remainingTimes.get(dependent);
+                        if (remainingTime != null && remainingTime > longestDependent) {
+                            longestDependent = remainingTime;
+                        }
+                    }
+                    remainingTimes.put(node, executionTimes.get(node) + longestDependent);
+                }
+            }
+        }
+        return remainingTimes;
+    }
+
+    private static Iterable<Node> dependentsOf(Node node) {
+        return Iterables.concat(node.getDependencyPredecessors(), node.getFinalizers());
+    }
+
+    long getRemainingTime(Node node) {
+        Long remainingTime = remainingTimes.get(node);
+        return remainingTime == null ? 0 : remainingTime;
+    }
+
+    @Override
+    public int compare(Node node1, Node node2) {
+        if (node1.isPriority() != node2.isPriority()) {
+            return DefaultFinalizedExecutionPlan.NODE_EXECUTION_ORDER.compare(node1, node2);
+        }
+        int result = Long.compare(getRemainingTime(node2), getRemainingTime(node1));
+        if (result != 0) {
+            return result;
+        }
+        return DefaultFinalizedExecutionPlan.NODE_EXECUTION_ORDER.compare(node1, node2);
+    }
+}
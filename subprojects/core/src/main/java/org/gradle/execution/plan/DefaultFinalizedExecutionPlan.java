@@ -67,7 +67,7 @@ public int compare(Node node1, Node node2) {
     };
 
     private final Set<Node> waitingToStartNodes = new HashSet<>();
-    private final ExecutionQueue readyNodes = new ExecutionQueue();
+    private final ExecutionQueue readyNodes;
     private final List<Throwable> failures = new ArrayList<>();
     private final List<DiagnosticEvent> diagnosticEvents = new ArrayList<>();
     private final String displayName;
@@ -100,9 +100,11 @@ public DefaultFinalizedExecutionPlan(
         List<Node> scheduledNodes,
         boolean continueOnFailure,
         QueryableExecutionPlan contents,
-        Consumer<LocalTaskNode> completionHandler
+        Consumer<LocalTaskNode> completionHandler,
+        Comparator<Node> executionOrder
     ) {
         this.displayName = displayName;
+        this.readyNodes = new ExecutionQueue(executionOrder);
         this.outputHierarchy = outputHierarchy;
         this.destroyableHierarchy = destroyableHierarchy;
         this.lockCoordinator = lockCoordinator;
@@ -154,7 +156,7 @@ public void close() {
     }
 
     private void resourceUnlocked(ResourceLock resourceLock) {
-        if (!(resourceLock instanceof WorkerLeaseRegistry.WorkerLease) && !readyNodes.isEmpty()) {
+        if (!(resourceLock instanceof WorkerLeaseRegistry.WorkerLease) && readyNodes.hasQueuedNodes()) {
             maybeNodesSelectable = true;
         }
     }
@@ -164,7 +166,7 @@ public State executionState() {
         lockCoordinator.assertHasStateLock();
         if (waitingToStartNodes.isEmpty()) {
             return State.NoMoreWorkToStart;
-        } else if (!readyNodes.isEmpty() && maybeNodesSelectable) {
+        } else if (readyNodes.hasQueuedNodes() && maybeNodesSelectable) {
             return State.MaybeWorkReadyToStart;
         } else {
             return State.NoWorkReadyToStart;
@@ -185,7 +187,7 @@ public Diagnostics healthDiagnostics() {
             waitingToStartItems.add(node.healthDiagnostics());
         }
         List<String> readyToStartItems = new ArrayList<>(readyNodes.size());
-        for (Node node : readyNodes.nodes) {
+        for (Node node : readyNodes.getAllNodes()) {
             readyToStartItems.add(node.toString());
         }
         List<String> otherWaitingItems = new ArrayList<>();
@@ -233,7 +235,7 @@ public Selection<Node> selectNext() {
         if (waitingToStartNodes.isEmpty()) {
             return Selection.noMoreWorkToStart();
         }
-        if (readyNodes.isEmpty() || !maybeNodesSelectable) {
+        if (!readyNodes.hasQueuedNodes() || !maybeNodesSelectable) {
             return Selection.noWorkReadyToStart();
         }
 
@@ -276,12 +278,18 @@ public Selection<Node> selectNext() {
                 }
 
                 // Node is ready to execute and all dependencies and pre-execution nodes have completed
-                if (attemptToStart(node, resources)) {
+                StartResult result = attemptToStart(node, resources);
+                if (result == StartResult.STARTED) {
                     readyNodes.remove();
                     waitingToStartNodes.remove(node);
                     node.getConsumerState().started();
                     return Selection.of(node);
                 }
+                if (result == StartResult.CONFLICTS_WITH_OTHER_NODES && !node.isComplete()) {
+                    // The conflict can only go away when some other node finishes or completes, so do not visit this node again until then
+                    readyNodes.setAsideCurrent(node);
+                    continue;
+                }
             }
             if (node.isComplete()) {
                 // Is already complete, for example:
@@ -295,7 +303,7 @@ public Selection<Node> selectNext() {
             return Selection.noMoreWorkToStart();
         }
         // No nodes are able to start, for example
-        // - they are ready to execute but cannot acquire the resources they need to start
+        // - they are ready to execute but cannot acquire the resources they need to start, or conflict with other nodes
         // - they are waiting for their dependencies to complete
         // - they are waiting for some external event
         // - they are a finalizer for nodes that are not yet complete
@@ -307,25 +315,25 @@ private void addNodeToPlan(Node node) {
         maybeWaitingForNewNode(node, "runtime");
     }
 
-    private boolean attemptToStart(Node node, List<ResourceLock> resources) {
+    private StartResult attemptToStart(Node node, List<ResourceLock> resources) {
         resources.clear();
         if (!tryAcquireLocksForNode(node, resources)) {
             releaseLocks(resources);
-            return false;
+            return StartResult.LOCKS_NOT_AVAILABLE;
         }
 
         MutationInfo mutations = node.getMutationInfo();
 
         if (conflictsWithOtherNodes(node, mutations)) {
             releaseLocks(resources);
-            return false;
+            return StartResult.CONFLICTS_WITH_OTHER_NODES;
         }
 
         node.startExecution(this::recordNodeExecutionStarted);
         if (mutations.hasValidationProblem()) {
             invalidNodeRunning = true;
         }
-        return true;
+        return StartResult.STARTED;
     }
 
     private void releaseLocks(List<ResourceLock> resources) {
@@ -525,6 +533,11 @@ private void recordNodeCompleted(Node node) {
             producerConsumerState.consumerCompleted(node);
         }
 
+        // Nodes in a later ordinal group, or that destroy outputs consumed by this node, may not conflict anymore
+        if (readyNodes.requeueSetAside()) {
+            maybeNodesSelectable = true;
+        }
+
         updateAllDependenciesCompleteForPredecessors(node);
 
         if (node instanceof LocalTaskNode) {
@@ -555,7 +568,9 @@ public void finishedExecuting(Node node, @Nullable Throwable failure) {
                 throw new IllegalStateException(format("Cannot finish executing %s as it is in an unexpected state %s.", node, node.getState()));
             }
 
-            if (!readyNodes.isEmpty()) {
+            // Nodes that conflict with this node may be able to start now
+            readyNodes.requeueSetAside();
+            if (readyNodes.hasQueuedNodes()) {
                 maybeNodesSelectable = true;
             }
 
@@ -596,7 +611,7 @@ private void maybeNodeReady(Node node) {
     private void maybeWaitingForNewNode(Node node, String whenAdded) {
         // Add some diagnostics to track down sporadic issue
         if (node instanceof OrdinalNode) {
-            diagnosticEvents.add(new NodeAdded(node, whenAdded, readyNodes.nodes.contains(node)));
+            diagnosticEvents.add(new NodeAdded(node, whenAdded, readyNodes.contains(node)));
         }
         if (node.getDependencyPredecessors().isEmpty()) {
             waitingForNode(node, whenAdded, null);
@@ -606,7 +621,7 @@ private void maybeWaitingForNewNode(Node node, String whenAdded) {
     private void waitingForNode(Node node, String whenAdded, @Nullable Node waitingDueTo) {
         // Add some diagnostics to track down sporadic issue
         if (node instanceof OrdinalNode) {
-            diagnosticEvents.add(new WaitingForNode(node, waitingDueTo, whenAdded, readyNodes.nodes.contains(node)));
+            diagnosticEvents.add(new WaitingForNode(node, waitingDueTo, whenAdded, readyNodes.contains(node)));
         }
         waitingToStartNodes.add(node);
     }
@@ -658,6 +673,7 @@ private boolean abortExecution(boolean abortAll) {
             }
         });
         if (cancelled.get()) {
+            readyNodes.requeueSetAside();
             maybeNodesSelectable = true;
             return true;
         } else {
@@ -678,24 +694,62 @@ public boolean allExecutionComplete() {
         return waitingToStartNodes.isEmpty() && runningNodes.isEmpty();
     }
 
+    private enum StartResult {
+        STARTED,
+        LOCKS_NOT_AVAILABLE,
+        CONFLICTS_WITH_OTHER_NODES
+    }
+
     /**
-     * An ordered queue of nodes, sorted by {@link #NODE_EXECUTION_ORDER}.
+     * An ordered queue of nodes, sorted by {@link #NODE_EXECUTION_ORDER} or a custom order.
+     *
+     * <p>Nodes can be set aside, so they are not visited again until they are requeued.</p>
      */
     static class ExecutionQueue {
-        private final Set<Node> nodes = new TreeSet<>(NODE_EXECUTION_ORDER);
+        private final Set<Node> nodes;
+        private final Set<Node> setAsideNodes = new HashSet<>();
         private Iterator<Node> current;
 
+        ExecutionQueue(Comparator<Node> executionOrder) {
+            this.nodes = new TreeSet<>(executionOrder);
+        }
+
         public void clear() {
             nodes.clear();
+            setAsideNodes.clear();
             current = null;
         }
 
+        /**
+         * Returns true when there are no nodes, including nodes that have been set aside.
+         */
         public boolean isEmpty() {
-            return nodes.isEmpty();
+            return nodes.isEmpty() && setAsideNodes.isEmpty();
+        }
+
+        /**
+         * Returns true when there are nodes that have not been set aside.
+         */
+        public boolean hasQueuedNodes() {
+            return !nodes.isEmpty();
         }
 
         public int size() {
-            return nodes.size();
+            return nodes.size() + setAsideNodes.size();
+        }
+
+        public boolean contains(Node node) {
+            return nodes.contains(node) || setAsideNodes.contains(node);
+        }
+
+        /**
+         * Returns all nodes, including nodes that have been set aside.
+         */
+        public List<Node> getAllNodes() {
+            List<Node> allNodes = new ArrayList<>(size());
+            allNodes.addAll(nodes);
+            allNodes.addAll(setAsideNodes);
+            return allNodes;
         }
 
         public void restart() {
@@ -723,15 +777,41 @@ public void remove() {
             current.remove();
         }
 
+        /**
+         * Remove the current node and set it aside until {@link #requeueSetAside()} is called.
+         */
+        public void setAsideCurrent(Node node) {
+            current.remove();
+            setAsideNodes.add(node);
+        }
+
+        /**
+         * Move the nodes that have been set aside back into the queue.
+         *
+         * @return true if any nodes were moved.
+         */
+        public boolean requeueSetAside() {
+            if (setAsideNodes.isEmpty()) {
+                return false;
+            }
+            nodes.addAll(setAsideNodes);
+            setAsideNodes.clear();
+            current = null;
+            return true;
+        }
+
         public void removeAndRestart(Node node) {
-            nodes.remove(node);
+            if (!nodes.remove(node)) {
+                setAsideNodes.remove(node);
+            }
             restart();
         }
 
         /**
-         * Insert the given node.
+         * Insert the given node. When the node has been set aside, it is moved back into the queue.
          */
         public void insert(Node node) {
+            setAsideNodes.remove(node);
             if (nodes.add(node)) {
                 current = null;
             }
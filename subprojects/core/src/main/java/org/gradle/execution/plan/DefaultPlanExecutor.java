@@ -672,12 +672,33 @@ public void report() {
             LOGGER.lifecycle("worker count: " + workerCount);
             if (workerCount > 0) {
                 LOGGER.lifecycle("average select time: " + format(stats -> stats.totalSelectTime));
+                LOGGER.lifecycle("average wait for work time: " + format(stats -> stats.totalWaitTime));
                 LOGGER.lifecycle("average execute time: " + format(stats -> stats.totalExecuteTime));
                 LOGGER.lifecycle("average finish time: " + format(stats -> stats.totalMarkFinishedTime));
+                reportSchedulingOverhead();
             }
             completedWorkers.clear();
         }
 
+        private void reportSchedulingOverhead() {
+            long selectCount = sum(stats -> stats.selectCount);
+            long executeCount = sum(stats -> stats.executeCount);
+            // Time spent waiting for work is not overhead, as there is nothing to run
+            long schedulingTime = sum(stats -> stats.totalSelectTime - stats.totalWaitTime) + sum(stats -> stats.totalMarkFinishedTime);
+            long totalTime = schedulingTime + sum(stats -> stats.totalExecuteTime);
+            LOGGER.lifecycle("select count: " + selectCount + ", items executed: " + executeCount);
+            if (executeCount > 0) {
+                LOGGER.lifecycle("average scheduling time per item: " + DecimalFormat.getNumberInstance().format(BigDecimal.valueOf(schedulingTime / executeCount).divide(BigDecimal.valueOf(1000), RoundingMode.HALF_UP)) + "us");
+            }
+            if (totalTime > 0) {
+                LOGGER.lifecycle("scheduling overhead: " + DecimalFormat.getPercentInstance().format((double) schedulingTime / totalTime));
+            }
+        }
+
+        private long sum(ToLongFunction<CollectingWorkerStats> statsProperty) {
+            return completedWorkers.stream().mapToLong(statsProperty).sum();
+        }
+
         private String format(ToLongFunction<CollectingWorkerStats> statsProperty) {
             BigDecimal averageNanos = BigDecimal.valueOf(completedWorkers.stream().mapToLong(statsProperty).sum() / completedWorkers.size());
             return DecimalFormat.getNumberInstance().format(averageNanos.divide(BigDecimal.valueOf(1000000), RoundingMode.HALF_UP)) + "ms";
@@ -688,9 +709,13 @@ private static class CollectingWorkerStats implements WorkerStats {
         private final CollectingExecutorStats owner;
         private final WorkerState delegate;
         long startCurrentOperation;
+        long startWaiting;
         long totalSelectTime;
+        long totalWaitTime;
         long totalExecuteTime;
         long totalMarkFinishedTime;
+        long selectCount;
+        long executeCount;
 
         public CollectingWorkerStats(CollectingExecutorStats owner, WorkerState delegate) {
             this.owner = owner;
@@ -705,6 +730,7 @@ public void finish() {
         @Override
         public void startSelect() {
             startCurrentOperation = System.nanoTime();
+            selectCount++;
         }
 
         @Override
@@ -718,6 +744,7 @@ public void finishSelect() {
         @Override
         public void startExecute() {
             startCurrentOperation = System.nanoTime();
+            executeCount++;
         }
 
         @Override
@@ -743,11 +770,19 @@ public void finishMarkFinished() {
 
         @Override
         public void startWaitingForNextItem() {
+            startWaiting = System.nanoTime();
             delegate.startWaitingForNextItem();
         }
 
         @Override
         public void finishWaitingForNextItem() {
+            if (startWaiting != 0) {
+                long duration = System.nanoTime() - startWaiting;
+                if (duration > 0) {
+                    totalWaitTime += duration;
+                }
+                startWaiting = 0;
+            }
             delegate.finishWaitingForNextItem();
         }
     }
@@ -16,12 +16,19 @@
 
 package org.gradle.execution.plan;
 
+import org.gradle.internal.buildoption.InternalFlag;
 import org.gradle.internal.resources.ResourceLockCoordinationService;
 import org.gradle.internal.service.scopes.Scope;
 import org.gradle.internal.service.scopes.ServiceScope;
 
 @ServiceScope(Scope.Build.class)
 public class ExecutionPlanFactory {
+    /**
+     * When enabled, ready nodes with the longest remaining path through the plan are started first,
+     * based on how long the nodes took to execute in a previous build.
+     */
+    public static final InternalFlag CRITICAL_PATH_SCHEDULING = new InternalFlag("org.gradle.internal.execution.critical-path-scheduling");
+
     private final String displayName;
     private final TaskNodeFactory taskNodeFactory;
     private final OrdinalGroupFactory ordinalGroupFactory;
@@ -29,6 +36,7 @@ public class ExecutionPlanFactory {
     private final ExecutionNodeAccessHierarchy outputHierarchy;
     private final ExecutionNodeAccessHierarchy destroyableHierarchy;
     private final ResourceLockCoordinationService lockCoordinationService;
+    private final NodeExecutionTimeHistory executionTimeHistory;
 
     public ExecutionPlanFactory(
         String displayName,
@@ -37,7 +45,8 @@ public ExecutionPlanFactory(
         TaskDependencyResolver dependencyResolver,
         ExecutionNodeAccessHierarchy outputHierarchy,
         ExecutionNodeAccessHierarchy destroyableHierarchy,
-        ResourceLockCoordinationService lockCoordinationService
+        ResourceLockCoordinationService lockCoordinationService,
+        NodeExecutionTimeHistory executionTimeHistory
     ) {
         this.displayName = displayName;
         this.taskNodeFactory = taskNodeFactory;
@@ -46,9 +55,10 @@ public ExecutionPlanFactory(
         this.outputHierarchy = outputHierarchy;
         this.destroyableHierarchy = destroyableHierarchy;
         this.lockCoordinationService = lockCoordinationService;
+        this.executionTimeHistory = executionTimeHistory;
     }
 
     public ExecutionPlan createPlan() {
-        return new DefaultExecutionPlan(displayName, taskNodeFactory, ordinalGroupFactory, dependencyResolver, outputHierarchy, destroyableHierarchy, lockCoordinationService);
+        return new DefaultExecutionPlan(displayName, taskNodeFactory, ordinalGroupFactory, dependencyResolver, outputHierarchy, destroyableHierarchy, lockCoordinationService, executionTimeHistory);
     }
 }
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.execution.plan;
+
+/**
+ * Provides how long nodes took to execute in a previous build.
+ */
+public interface NodeExecutionTimeHistory {
+    long UNKNOWN = -1;
+
+    NodeExecutionTimeHistory NONE = node -> UNKNOWN;
+
+    /**
+     * Returns the execution time in milliseconds of the given node the last time it was executed, or {@link #UNKNOWN}.
+     */
+    long getPreviousExecutionTime(Node node);
+}
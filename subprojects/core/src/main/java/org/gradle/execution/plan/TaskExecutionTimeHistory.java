@@ -0,0 +1,42 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.execution.plan;
+
+import org.gradle.internal.execution.history.ExecutionHistoryStore;
+
+/**
+ * Looks up the execution time of tasks in the execution history of the build.
+ */
+public class TaskExecutionTimeHistory implements NodeExecutionTimeHistory {
+    private final ExecutionHistoryStore executionHistoryStore;
+
+    public TaskExecutionTimeHistory(ExecutionHistoryStore executionHistoryStore) {
+        this.executionHistoryStore = executionHistoryStore;
+    }
+
+    @Override
+    public long getPreviousExecutionTime(Node node) {
+        if (!(node instanceof LocalTaskNode)) {
+            return UNKNOWN;
+        }
+        // Tasks are identified by their path in the execution history, see TaskExecution.identify()
+        String taskPath = ((LocalTaskNode) node).getTask().getPath();
+        return executionHistoryStore.load(taskPath)
+            .map(previousExecutionState -> previousExecutionState.getOriginMetadata().getExecutionTime().toMillis())
+            .orElse(UNKNOWN);
+    }
+}
@@ -26,8 +26,10 @@
 import org.gradle.internal.fingerprint.LineEndingSensitivity;
 import org.gradle.internal.fingerprint.classpath.ClasspathFingerprinter;
 import org.gradle.internal.fingerprint.impl.AbstractFileCollectionFingerprinter;
+import org.jspecify.annotations.Nullable;
 
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 public class DefaultClasspathFingerprinter extends AbstractFileCollectionFingerprinter implements ClasspathFingerprinter {
     public DefaultClasspathFingerprinter(
@@ -37,6 +39,18 @@ public DefaultClasspathFingerprinter(
         Map<String, ResourceEntryFilter> propertiesFileFilters,
         StringInterner stringInterner,
         LineEndingSensitivity lineEndingSensitivity
+    ) {
+        this(cacheService, classpathResourceFilter, manifestAttributeResourceEntryFilter, propertiesFileFilters, stringInterner, lineEndingSensitivity, null);
+    }
+
+    public DefaultClasspathFingerprinter(
+        ResourceSnapshotterCacheService cacheService,
+        ResourceFilter classpathResourceFilter,
+        ResourceEntryFilter manifestAttributeResourceEntryFilter,
+        Map<String, ResourceEntryFilter> propertiesFileFilters,
+        StringInterner stringInterner,
+        LineEndingSensitivity lineEndingSensitivity,
+        @Nullable ForkJoinPool zipHashingPool
     ) {
         super(
             ClasspathFingerprintingStrategy.runtimeClasspath(
@@ -46,7 +60,8 @@ public DefaultClasspathFingerprinter(
                 new RuntimeClasspathResourceHasher(),
                 cacheService,
                 stringInterner,
-                lineEndingSensitivity
+                lineEndingSensitivity,
+                zipHashingPool
             )
         );
     }
@@ -24,13 +24,21 @@
 import org.gradle.internal.fingerprint.FileNormalizer;
 import org.gradle.internal.fingerprint.classpath.CompileClasspathFingerprinter;
 import org.gradle.internal.fingerprint.impl.AbstractFileCollectionFingerprinter;
+import org.jspecify.annotations.Nullable;
+
+import java.util.concurrent.ForkJoinPool;
 
 public class DefaultCompileClasspathFingerprinter extends AbstractFileCollectionFingerprinter implements CompileClasspathFingerprinter {
     public DefaultCompileClasspathFingerprinter(ResourceSnapshotterCacheService cacheService, StringInterner stringInterner) {
+        this(cacheService, stringInterner, null);
+    }
+
+    public DefaultCompileClasspathFingerprinter(ResourceSnapshotterCacheService cacheService, StringInterner stringInterner, @Nullable ForkJoinPool zipHashingPool) {
         super(ClasspathFingerprintingStrategy.compileClasspath(
             new CachingResourceHasher(AbiExtractingClasspathResourceHasher.DEFAULT, cacheService),
             cacheService,
-            stringInterner
+            stringInterner,
+            zipHashingPool
         ));
     }
 
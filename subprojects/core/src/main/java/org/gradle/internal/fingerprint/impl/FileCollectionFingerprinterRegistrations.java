@@ -32,12 +32,14 @@
 import org.gradle.internal.fingerprint.hashing.FileSystemLocationSnapshotHasher;
 import org.gradle.internal.service.scopes.Scope;
 import org.gradle.internal.service.scopes.ServiceScope;
+import org.jspecify.annotations.Nullable;
 
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -54,10 +56,11 @@ public FileCollectionFingerprinterRegistrations(
         ResourceSnapshotterCacheService resourceSnapshotterCacheService,
         ResourceFilter resourceFilter,
         ResourceEntryFilter metaInfFilter,
-        Map<String, ResourceEntryFilter> propertiesFileFilters
+        Map<String, ResourceEntryFilter> propertiesFileFilters,
+        @Nullable ForkJoinPool zipHashingPool
         ) {
 
-        List<? extends FileCollectionFingerprinter> insensitiveFingerprinters = insensitiveFingerprinters(resourceSnapshotterCacheService, stringInterner);
+        List<? extends FileCollectionFingerprinter> insensitiveFingerprinters = insensitiveFingerprinters(resourceSnapshotterCacheService, stringInterner, zipHashingPool);
         this.registrants =
             withAllLineEndingSensitivities(lineEndingSensitivity -> {
                 FileSystemLocationSnapshotHasher normalizedContentHasher = normalizedContentHasher(lineEndingSensitivity, resourceSnapshotterCacheService);
@@ -69,7 +72,8 @@ public FileCollectionFingerprinterRegistrations(
                     resourceFilter,
                     metaInfFilter,
                     propertiesFileFilters,
-                    stringInterner
+                    stringInterner,
+                    zipHashingPool
                 );
 
                 return withAllDirectorySensitivities(directorySensitivity ->
@@ -115,7 +119,8 @@ private static List<? extends FileCollectionFingerprinter> directoryInsensitiveF
         ResourceFilter resourceFilter,
         ResourceEntryFilter metaInfFilter,
         Map<String, ResourceEntryFilter> propertiesFileFilters,
-        StringInterner stringInterner
+        StringInterner stringInterner,
+        @Nullable ForkJoinPool zipHashingPool
     ) {
         return ImmutableList.of(
             new IgnoredPathFileCollectionFingerprinter(normalizedContentHasher),
@@ -125,7 +130,8 @@ private static List<? extends FileCollectionFingerprinter> directoryInsensitiveF
                 metaInfFilter,
                 propertiesFileFilters,
                 stringInterner,
-                lineEndingSensitivity
+                lineEndingSensitivity,
+                zipHashingPool
             )
         );
     }
@@ -133,9 +139,13 @@ private static List<? extends FileCollectionFingerprinter> directoryInsensitiveF
     /**
      * These fingerprinters do not care about line ending or directory sensitivity at all
      */
-    private static List<? extends FileCollectionFingerprinter> insensitiveFingerprinters(ResourceSnapshotterCacheService resourceSnapshotterCacheService, StringInterner stringInterner) {
+    private static List<? extends FileCollectionFingerprinter> insensitiveFingerprinters(
+        ResourceSnapshotterCacheService resourceSnapshotterCacheService,
+        StringInterner stringInterner,
+        @Nullable ForkJoinPool zipHashingPool
+    ) {
         return Collections.singletonList(
-            new DefaultCompileClasspathFingerprinter(resourceSnapshotterCacheService, stringInterner)
+            new DefaultCompileClasspathFingerprinter(resourceSnapshotterCacheService, stringInterner, zipHashingPool)
         );
     }
 
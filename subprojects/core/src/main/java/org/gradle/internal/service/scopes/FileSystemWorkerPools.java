@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.service.scopes;
+
+import org.gradle.internal.concurrent.Stoppable;
+import org.jspecify.annotations.Nullable;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The fork-join pools used to snapshot directory trees and to hash zip entries in parallel.
+ * <p>
+ * The pools are shared by all builds of the daemon and shut down when the global services are stopped.
+ *
+ * @see VirtualFileSystemServices#SNAPSHOT_PARALLELISM_PROPERTY
+ * @see VirtualFileSystemServices#ZIP_HASHING_PARALLELISM_PROPERTY
+ */
+@ServiceScope(Scope.Global.class)
+public class FileSystemWorkerPools implements Stoppable {
+    @Nullable
+    private final ForkJoinPool snapshottingPool;
+    @Nullable
+    private final ForkJoinPool zipHashingPool;
+
+    public FileSystemWorkerPools(int snapshotParallelism, int zipHashingParallelism) {
+        this.snapshottingPool = createPool(snapshotParallelism);
+        this.zipHashingPool = createPool(zipHashingParallelism);
+    }
+
+    /**
+     * The pool to snapshot directory trees on, or {@code null} when they are snapshotted on the requesting thread.
+     */
+    @Nullable
+    public ForkJoinPool getSnapshottingPool() {
+        return snapshottingPool;
+    }
+
+    /**
+     * The pool to hash zip entries on, or {@code null} when they are hashed on the requesting thread.
+     */
+    @Nullable
+    public ForkJoinPool getZipHashingPool() {
+        return zipHashingPool;
+    }
+
+    @Override
+    public void stop() {
+        if (snapshottingPool != null) {
+            snapshottingPool.shutdown();
+        }
+        if (zipHashingPool != null) {
+            zipHashingPool.shutdown();
+        }
+    }
+
+    @Nullable
+    private static ForkJoinPool createPool(int parallelism) {
+        return parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+    }
+}
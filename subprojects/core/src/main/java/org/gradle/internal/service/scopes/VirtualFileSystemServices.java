@@ -32,6 +32,7 @@
 import org.gradle.api.internal.changedetection.state.ResourceEntryFilter;
 import org.gradle.api.internal.changedetection.state.ResourceFilter;
 import org.gradle.api.internal.changedetection.state.ResourceSnapshotterCacheService;
+import org.gradle.api.internal.changedetection.state.ResourceSnapshotterCacheStatistics;
 import org.gradle.api.internal.changedetection.state.SplitFileHasher;
 import org.gradle.api.internal.changedetection.state.SplitResourceSnapshotterCacheService;
 import org.gradle.api.internal.file.FileCollectionFactory;
@@ -93,8 +94,10 @@
 import org.gradle.internal.watch.registry.impl.WindowsFileWatcherRegistryFactory;
 import org.gradle.internal.watch.vfs.BuildLifecycleAwareVirtualFileSystem;
 import org.gradle.internal.watch.vfs.FileChangeListeners;
+import org.gradle.internal.watch.vfs.VirtualFileSystemStateStore;
 import org.gradle.internal.watch.vfs.WatchableFileSystemDetector;
 import org.gradle.internal.watch.vfs.impl.DefaultWatchableFileSystemDetector;
+import org.gradle.internal.watch.vfs.impl.FileBasedVirtualFileSystemStateStore;
 import org.gradle.internal.watch.vfs.impl.FileWatchingFilter;
 import org.gradle.internal.watch.vfs.impl.WatchingNotSupportedVirtualFileSystem;
 import org.gradle.internal.watch.vfs.impl.WatchingVirtualFileSystem;
@@ -119,6 +122,31 @@ public class VirtualFileSystemServices extends AbstractGradleModuleServices {
     public static final IntegerInternalOption MAX_HIERARCHIES_TO_WATCH_PROPERTY = new IntegerInternalOption("org.gradle.internal.vfs.watch.hierarchies.max", DEFAULT_MAX_HIERARCHIES_TO_WATCH);
     private static final int FILE_HASHER_MEMORY_CACHE_SIZE = 300000;
 
+    /**
+     * The number of threads used to snapshot directory trees in parallel.
+     * When not set, or set to 1 or less, directory trees are snapshotted on the requesting thread.
+     * <p>
+     * This is a JVM system property of the daemon, as the virtual file system outlives individual builds.
+     */
+    public static final String SNAPSHOT_PARALLELISM_PROPERTY = "org.gradle.internal.vfs.snapshot.parallelism";
+
+    /**
+     * The number of threads used to hash the entries of zip files on a classpath in parallel.
+     * When not set, or set to 1 or less, the entries are hashed on the requesting thread.
+     *
+     * @see #SNAPSHOT_PARALLELISM_PROPERTY
+     */
+    public static final String ZIP_HASHING_PARALLELISM_PROPERTY = "org.gradle.internal.fingerprint.zip-hashing.parallelism";
+
+    /**
+     * When file system watching is enabled, this system property can be used to save the VFS to the Gradle user home when the daemon stops,
+     * and to restore the parts that did not change when the next daemon starts watching.
+     * <p>
+     * The state store is created together with the Gradle user home scoped VFS, before any build tree and its {@link InternalOptions} exist,
+     * and saving happens on daemon shutdown when no build is running. The option is therefore read from the daemon JVM and not via an {@link InternalFlag}.
+     */
+    public static final String PERSISTENT_STATE_PROPERTY = "org.gradle.internal.vfs.persistent-state";
+
     public static boolean isDropVfs(InternalOptions options) {
         return options.getOption(VFS_DROP_PROPERTY).get();
     }
@@ -143,6 +171,14 @@ public void registerBuildSessionServices(ServiceRegistration registration) {
     }
 
     private static class GlobalScopeServices implements ServiceRegistrationProvider {
+        @Provides
+        FileSystemWorkerPools createFileSystemWorkerPools() {
+            return new FileSystemWorkerPools(
+                Integer.getInteger(SNAPSHOT_PARALLELISM_PROPERTY, 1),
+                Integer.getInteger(ZIP_HASHING_PARALLELISM_PROPERTY, 1)
+            );
+        }
+
         @Provides
         FileHasherStatistics.Collector createCachingFileHasherStatisticsCollector() {
             return new FileHasherStatistics.Collector();
@@ -152,6 +188,11 @@ FileHasherStatistics.Collector createCachingFileHasherStatisticsCollector() {
         DirectorySnapshotterStatistics.Collector createDirectorySnapshotterStatisticsCollector() {
             return new DirectorySnapshotterStatistics.Collector();
         }
+
+        @Provides
+        ResourceSnapshotterCacheStatistics.Collector createResourceSnapshotterCacheStatisticsCollector() {
+            return new ResourceSnapshotterCacheStatistics.Collector();
+        }
     }
 
     @VisibleForTesting
@@ -210,10 +251,14 @@ BuildLifecycleAwareVirtualFileSystem createVirtualFileSystem(
             FileChangeListeners fileChangeListeners,
             NativeServices.FileEventFunctionsProvider fileEvents,
             FileSystem fileSystem,
-            WatchableFileSystemDetector watchableFileSystemDetector
+            WatchableFileSystemDetector watchableFileSystemDetector,
+            GlobalScopedCacheBuilderFactory cacheBuilderFactory
         ) {
             CaseSensitivity caseSensitivity = fileSystem.isCaseSensitive() ? CASE_SENSITIVE : CASE_INSENSITIVE;
             SnapshotHierarchy root = DefaultSnapshotHierarchy.empty(caseSensitivity);
+            VirtualFileSystemStateStore stateStore = Boolean.getBoolean(PERSISTENT_STATE_PROPERTY)
+                ? new FileBasedVirtualFileSystemStateStore(new File(cacheBuilderFactory.baseDirForCache("file-system-watching"), "vfs-state.bin"))
+                : VirtualFileSystemStateStore.NONE;
 
             BuildLifecycleAwareVirtualFileSystem virtualFileSystem = determineWatcherRegistryFactory(
                 OperatingSystem.current(),
@@ -226,7 +271,8 @@ BuildLifecycleAwareVirtualFileSystem createVirtualFileSystem(
                     sectionId -> documentationRegistry.getDocumentationRecommendationFor("details", "file_system_watching", sectionId),
                     fileWatchingFilter,
                     watchableFileSystemDetector,
-                    fileChangeListeners
+                    fileChangeListeners,
+                    stateStore
                 ))
                 .orElse(new WatchingNotSupportedVirtualFileSystem(root));
             listenerManager.addListener((BuildAddedListener) buildState -> {
@@ -245,7 +291,8 @@ FileSystemAccess createFileSystemAccess(
             StringInterner stringInterner,
             FileSystemAccess.WriteListener writeListener,
             DirectorySnapshotterStatistics.Collector statisticsCollector,
-            ListenerManager listenerManager
+            ListenerManager listenerManager,
+            FileSystemWorkerPools workerPools
         ) {
             DefaultFileSystemAccess defaultFileSystemAccess = new DefaultFileSystemAccess(
                 hasher,
@@ -254,6 +301,7 @@ FileSystemAccess createFileSystemAccess(
                 virtualFileSystem,
                 writeListener,
                 statisticsCollector,
+                workerPools.getSnapshottingPool(),
                 DirectoryScanner.getDefaultExcludes()
             );
             listenerManager.addListener(defaultFileSystemAccess);
@@ -289,17 +337,25 @@ FileCollectionSnapshotter createFileCollectionSnapshotter(FileSystemAccess fileS
         }
 
         @Provides
-        ResourceSnapshotterCacheService createResourceSnapshotterCacheService(CrossBuildFileHashCache store) {
+        ResourceSnapshotterCacheService createResourceSnapshotterCacheService(CrossBuildFileHashCache store, ResourceSnapshotterCacheStatistics.Collector statisticsCollector) {
             IndexedCache<HashCode, HashCode> resourceHashesCache = store.createIndexedCache(
                 IndexedCacheParameters.of("resourceHashesCache", HashCode.class, new HashCodeSerializer()),
                 400000,
                 true);
-            return new DefaultResourceSnapshotterCacheService(resourceHashesCache);
+            return new DefaultResourceSnapshotterCacheService(resourceHashesCache, statisticsCollector);
         }
 
         @Provides
-        ClasspathFingerprinter createClasspathFingerprinter(ResourceSnapshotterCacheService resourceSnapshotterCacheService, StringInterner stringInterner) {
-            return new DefaultClasspathFingerprinter(resourceSnapshotterCacheService, ResourceFilter.FILTER_NOTHING, ResourceEntryFilter.FILTER_NOTHING, PropertiesFileFilter.FILTER_NOTHING, stringInterner, LineEndingSensitivity.DEFAULT);
+        ClasspathFingerprinter createClasspathFingerprinter(ResourceSnapshotterCacheService resourceSnapshotterCacheService, StringInterner stringInterner, FileSystemWorkerPools workerPools) {
+            return new DefaultClasspathFingerprinter(
+                resourceSnapshotterCacheService,
+                ResourceFilter.FILTER_NOTHING,
+                ResourceEntryFilter.FILTER_NOTHING,
+                PropertiesFileFilter.FILTER_NOTHING,
+                stringInterner,
+                LineEndingSensitivity.DEFAULT,
+                workerPools.getZipHashingPool()
+            );
         }
 
         @Provides
@@ -350,7 +406,8 @@ FileSystemAccess createFileSystemAccess(
             StringInterner stringInterner,
             VirtualFileSystem root,
             FileSystemAccess.WriteListener writeListener,
-            DirectorySnapshotterStatistics.Collector statisticsCollector
+            DirectorySnapshotterStatistics.Collector statisticsCollector,
+            FileSystemWorkerPools workerPools
         ) {
             DefaultFileSystemAccess buildSessionsScopedVirtualFileSystem = new DefaultFileSystemAccess(
                 hasher,
@@ -359,6 +416,7 @@ FileSystemAccess createFileSystemAccess(
                 root,
                 writeListener,
                 statisticsCollector,
+                workerPools.getSnapshottingPool(),
                 DirectoryScanner.getDefaultExcludes()
             );
 
@@ -381,14 +439,16 @@ OutputSnapshotter createOutputSnapshotter(FileCollectionSnapshotter fileCollecti
         @Provides
         FileCollectionFingerprinterRegistrations createFileCollectionFingerprinterRegistrations(
             StringInterner stringInterner,
-            ResourceSnapshotterCacheService resourceSnapshotterCacheService
+            ResourceSnapshotterCacheService resourceSnapshotterCacheService,
+            FileSystemWorkerPools workerPools
         ) {
             return new FileCollectionFingerprinterRegistrations(
                 stringInterner,
                 resourceSnapshotterCacheService,
                 ResourceFilter.FILTER_NOTHING,
                 ResourceEntryFilter.FILTER_NOTHING,
-                PropertiesFileFilter.FILTER_NOTHING
+                PropertiesFileFilter.FILTER_NOTHING,
+                workerPools.getZipHashingPool()
             );
         }
 
@@ -410,10 +470,11 @@ InputFingerprinter createInputFingerprinter(
         ResourceSnapshotterCacheService createResourceSnapshotterCacheService(
             GlobalCacheLocations globalCacheLocations,
             CrossBuildFileHashCache store,
-            ResourceSnapshotterCacheService globalCache
+            ResourceSnapshotterCacheService globalCache,
+            ResourceSnapshotterCacheStatistics.Collector statisticsCollector
         ) {
             IndexedCache<HashCode, HashCode> resourceHashesCache = store.createIndexedCache(IndexedCacheParameters.of("resourceHashesCache", HashCode.class, new HashCodeSerializer()), 800000, true);
-            DefaultResourceSnapshotterCacheService localCache = new DefaultResourceSnapshotterCacheService(resourceHashesCache);
+            DefaultResourceSnapshotterCacheService localCache = new DefaultResourceSnapshotterCacheService(resourceHashesCache, statisticsCollector);
             return new SplitResourceSnapshotterCacheService(globalCache, localCache, globalCacheLocations);
         }
     }
@@ -41,6 +41,12 @@
      */
     <T> void registerArgumentSerializer(Class<T> type, Serializer<T> serializer);
 
+    /**
+     * Registers a serializer to use for results of exactly type {@link T}. Results of other types are sent using Java serialization.
+     * The worker implementation must register the same result serializers.
+     */
+    <T> void registerResultSerializer(Class<T> type, Serializer<T> serializer);
+
     /**
      * Do not automatically detect the implementation classloader from the worker implementation class.
      * Instead, users of this builder are expected to provide the complete classpath for the worker process,
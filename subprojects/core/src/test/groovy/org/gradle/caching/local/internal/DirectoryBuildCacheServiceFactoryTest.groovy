@@ -29,6 +29,7 @@ import org.gradle.cache.UnscopedCacheBuilderFactory
 import org.gradle.cache.scopes.GlobalScopedCacheBuilderFactory
 import org.gradle.caching.BuildCacheServiceFactory
 import org.gradle.caching.local.DirectoryBuildCache
+import org.gradle.internal.buildoption.DefaultInternalOptions
 import org.gradle.internal.file.FileAccessTimeJournal
 import org.gradle.test.fixtures.file.CleanupTestDirectory
 import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
@@ -52,7 +53,7 @@ class DirectoryBuildCacheServiceFactoryTest extends Specification {
     }
     def cacheConfigurations = Mock(CacheConfigurationsInternal)
     def cacheCleanupStrategyFactory = Mock(CacheCleanupStrategyFactory)
-    def factory = new DirectoryBuildCacheServiceFactory(cacheRepository, globalScopedCache, resolver, fileAccessTimeJournal, cacheConfigurations, cacheCleanupStrategyFactory)
+    def factory = new DirectoryBuildCacheServiceFactory(cacheRepository, globalScopedCache, resolver, fileAccessTimeJournal, cacheConfigurations, cacheCleanupStrategyFactory, new DefaultInternalOptions([:]))
     def cacheBuilder = Stub(CacheBuilder)
     def config = Mock(DirectoryBuildCache)
     def buildCacheDescriber = new NoopBuildCacheDescriber()
@@ -1092,6 +1092,61 @@ class DefaultExecutionPlanParallelTest extends AbstractExecutionPlanSpec {
         tasksAreNotExecutedInParallel(a, b)
     }
 
+    def "task that has the same file in outputs as a running task starts when the running task finishes while other tasks are selected"() {
+        def sharedFile = file("output")
+
+        given:
+        Task a = task("a", type: AsyncWithOutputFile)
+        _ * a.outputFile >> sharedFile
+        Task b = task("b", type: AsyncWithOutputFile)
+        _ * b.outputFile >> sharedFile
+        Task c = task("c", type: Async)
+        Task d = task("d", type: Async)
+
+        when:
+        addToGraphAndPopulate(a, b, c, d)
+        def first = selectNextTaskNode()
+        def second = selectNextTaskNode()
+
+        then:
+        first.task == a
+        second.task == c
+
+        when:
+        finishedExecuting(second)
+        def third = selectNextTaskNode()
+
+        then:
+        third.task == d
+        assertNoTaskReadyToStart()
+
+        when:
+        finishedExecuting(first)
+        def fourth = selectNextTaskNode()
+
+        then:
+        fourth.task == b
+    }
+
+    def "starts task with the longest remaining path first when previous execution times are known"() {
+        given:
+        def executionTimes = [a: 10L, b: 1L, c: 100L]
+        def dependencyResolver = new TaskDependencyResolver([new TaskNodeDependencyResolver(taskNodeFactory)])
+        def executionTimeHistory = { Node node -> node instanceof LocalTaskNode ? executionTimes[node.task.name] : NodeExecutionTimeHistory.UNKNOWN } as NodeExecutionTimeHistory
+        executionPlan = new DefaultExecutionPlan(Path.ROOT.toString(), taskNodeFactory, new OrdinalGroupFactory(), dependencyResolver, accessHierarchies.outputHierarchy, accessHierarchies.destroyableHierarchy, coordinator, executionTimeHistory)
+        Task a = task("a", type: Async)
+        Task b = task("b", type: Async)
+        Task c = task("c", type: Async, dependsOn: [b])
+
+        when:
+        addToGraphAndPopulate(a, c)
+
+        then:
+        selectNextTask() == b
+        selectNextTask() == a
+        assertNoTaskReadyToStart()
+    }
+
     def "two tasks that have the same file as output and local state are not executed in parallel"() {
         def sharedFile = file("output")
 